@@ -0,0 +1,32 @@
+#!/bin/sh
+# Unpack the Spring Boot jar into a layout that class-data sharing can use:
+# CDS only archives classes from plain jar files on the class path, not
+# from the jars nested in the boot jar or from directories.
+#
+#   scripts/cds-layout.sh <boot jar> <target dir>
+#
+# Produces <target dir>/application.jar, <target dir>/lib/*.jar and
+# <target dir>/classpath, a java argument file with the class path in a
+# fixed order (the archive is only used when the class path matches the
+# one it was trained with). Start the application from <target dir> with
+#   java @classpath com.davidbadell.hexagonal.HexagonalApplication
+# POSIX sh on purpose: it also runs in the Alpine build image.
+set -eu
+
+JAR=$1
+OUT=$2
+
+rm -rf "${OUT}"
+mkdir -p "${OUT}/unpacked"
+JAR=$(cd "$(dirname "${JAR}")" && pwd)/$(basename "${JAR}")
+(cd "${OUT}/unpacked" && jar -xf "${JAR}")
+
+mv "${OUT}/unpacked/BOOT-INF/lib" "${OUT}/lib"
+jar --create --file "${OUT}/application.jar" -C "${OUT}/unpacked/BOOT-INF/classes" .
+rm -rf "${OUT}/unpacked"
+
+CLASSPATH=application.jar
+for lib in $(cd "${OUT}" && ls lib/*.jar | sort); do
+  CLASSPATH="${CLASSPATH}:${lib}"
+done
+echo "-cp ${CLASSPATH}" > "${OUT}/classpath"
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Measure time to first request with and without the AppCDS archive.
+#
+#   scripts/cds-startup.sh [runs]    (default: 5 runs per mode)
+#
+# Builds the same unpacked layout and training archive as the Dockerfile
+# under target/cds (retrained when the jar is newer than the archive),
+# then alternately starts the application with the JDK's default CDS
+# archive only and with app.jsa, timing from launch until
+# GET /api/orders answers 200. One extra run logs class loading to report
+# how many classes came from the archive. Results are appended to
+# target/cds-startup.csv so they can be compared across commits.
+#
+# CDS_BENCH_PROFILES selects the runtime profile (default: dev, which
+# needs neither PostgreSQL nor RabbitMQ).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PROFILES=${CDS_BENCH_PROFILES:-dev}
+PORT=${CDS_BENCH_PORT:-18090}
+MAIN=com.davidbadell.hexagonal.HexagonalApplication
+JAR=$(ls target/hexagonal-architecture-ddd-*.jar 2>/dev/null | head -1)
+if [[ -z "${JAR}" ]]; then
+  echo "No application jar found, run 'mvn package' first" >&2
+  exit 1
+fi
+
+DIR=target/cds
+if [[ ! -f ${DIR}/app.jsa || ${JAR} -nt ${DIR}/app.jsa ]]; then
+  echo "Training CDS archive from ${JAR}"
+  sh scripts/cds-layout.sh "${JAR}" "${DIR}"
+  (cd "${DIR}" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.profiles.active=cds-training \
+    @classpath "${MAIN}" > training.log 2>&1) || {
+    echo "Training failed, see ${DIR}/training.log" >&2
+    exit 1
+  }
+fi
+echo "archive: $(du -h "${DIR}/app.jsa" | cut -f1)"
+
+# Prints milliseconds from launch to the first successful request
+time_to_first_request() {
+  local start end pid
+  start=$(date +%s%N)
+  (cd "${DIR}" && exec java "$@" -Dspring.profiles.active="${PROFILES}" -Dserver.port="${PORT}" \
+    -Dspring.shell.interactive.enabled=false -Dapp.cache.orders.snapshot.enabled=false \
+    @classpath "${MAIN}") > "${DIR}/run.log" 2>&1 &
+  pid=$!
+  until [[ $(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${PORT}/api/orders" || true) == 200 ]]; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "Application exited, see ${DIR}/run.log" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  end=$(date +%s%N)
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo $(((end - start) / 1000000))
+}
+
+without=()
+with=()
+for ((i = 1; i <= RUNS; i++)); do
+  without+=("$(time_to_first_request -Xshare:auto)")
+  with+=("$(time_to_first_request -XX:SharedArchiveFile=app.jsa -Xshare:auto)")
+  echo "run ${i}: without archive ${without[-1]} ms, with archive ${with[-1]} ms"
+done
+
+time_to_first_request -XX:SharedArchiveFile=app.jsa -Xshare:auto -Xlog:class+load=info:file=class-load.log > /dev/null
+SHARED=$(grep -c 'shared objects file' "${DIR}/class-load.log" || true)
+LOADED=$(grep -c ' source: ' "${DIR}/class-load.log" || true)
+
+median() { printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+WITHOUT=$(median "${without[@]}")
+WITH=$(median "${with[@]}")
+echo "median time to first request: without archive ${WITHOUT} ms, with archive ${WITH} ms" \
+  "($(awk -v a="${WITHOUT}" -v b="${WITH}" 'BEGIN { printf "%.0f", (a - b) * 100 / a }')% faster)"
+echo "classes from CDS archives: ${SHARED} of ${LOADED}"
+
+mkdir -p target
+CSV=target/cds-startup.csv
+[[ -f ${CSV} ]] || echo "timestamp,commit,profiles,runs,without_ms,with_ms,shared_classes,loaded_classes" > "${CSV}"
+echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$(git rev-parse --short HEAD 2>/dev/null || echo unknown),${PROFILES},${RUNS},${WITHOUT},${WITH},${SHARED},${LOADED}" >> "${CSV}"
@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Measure CLI cold start: time until the first command can run (logged by
+# CliStartupReporter) and wall-clock time of a complete one-off command.
+# Results are appended to target/cli-startup.csv so they can be compared
+# across commits.
+#
+#   scripts/cli-startup.sh [runs] [command...]    (default: 5 runs of "order list")
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+COMMAND=("$@")
+if [[ ${#COMMAND[@]} -eq 0 ]]; then
+  COMMAND=(order list)
+fi
+export ORDER_CLI_PROFILES=${ORDER_CLI_PROFILES:-dev}
+
+ready=()
+total=()
+for ((i = 1; i <= RUNS; i++)); do
+  start=$(date +%s%N)
+  output=$(scripts/order-cli.sh "${COMMAND[@]}" 2>&1)
+  end=$(date +%s%N)
+  ms=$(sed -n 's/.*CLI ready for first command after \([0-9]*\) ms.*/\1/p' <<<"${output}" | head -1)
+  ready+=("${ms:-NaN}")
+  total+=($(((end - start) / 1000000)))
+  echo "run ${i}: ready ${ms:-?} ms, command finished ${total[-1]} ms"
+done
+
+median() { printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+READY=$(median "${ready[@]}")
+TOTAL=$(median "${total[@]}")
+echo "median: ready ${READY} ms, command finished ${TOTAL} ms"
+
+mkdir -p target
+CSV=target/cli-startup.csv
+[[ -f ${CSV} ]] || echo "timestamp,commit,command,runs,ready_ms,total_ms" > "${CSV}"
+echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$(git rev-parse --short HEAD 2>/dev/null || echo unknown),${COMMAND[*]},${RUNS},${READY},${TOTAL}" >> "${CSV}"
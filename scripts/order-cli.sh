@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Run order CLI commands without the web stack.
+#
+#   scripts/order-cli.sh order get --id <orderId>
+#   scripts/order-cli.sh @commands.txt          # one command per line, one JVM
+#   scripts/order-cli.sh                        # interactive shell
+#
+# ORDER_CLI_PROFILES selects the datasource profile (default: none, i.e.
+# the PostgreSQL settings of application.yml), e.g. ORDER_CLI_PROFILES=dev.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=${ORDER_CLI_JAR:-$(ls target/hexagonal-architecture-ddd-*.jar 2>/dev/null | grep -v original | head -1)}
+if [[ -z "${JAR}" ]]; then
+  echo "No application jar found, run 'mvn package' first or set ORDER_CLI_JAR" >&2
+  exit 1
+fi
+
+PROFILES="${ORDER_CLI_PROFILES:+${ORDER_CLI_PROFILES},}cli"
+
+# Short-lived process: C1 only and a small heap start faster than the defaults
+exec java -XX:TieredStopAtLevel=1 -XX:+UseSerialGC -Xss512k ${ORDER_CLI_JAVA_OPTS:-} \
+  -Dspring.profiles.active="${PROFILES}" -jar "${JAR}" "$@"
@@ -13,10 +13,19 @@ public class CreateOrderCommand {
     
     private final String customerId;
     private final List<OrderItemCommand> items;
+    private final String idempotencyKey;
 
     public CreateOrderCommand(String customerId, List<OrderItemCommand> items) {
+        this(customerId, items, null);
+    }
+
+    /**
+     * @param idempotencyKey Client-chosen key identifying this request across retries, or null
+     */
+    public CreateOrderCommand(String customerId, List<OrderItemCommand> items, String idempotencyKey) {
         this.customerId = customerId;
         this.items = items;
+        this.idempotencyKey = idempotencyKey;
     }
 
     public String getCustomerId() {
@@ -27,6 +36,10 @@ public class CreateOrderCommand {
         return items;
     }
 
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
     /**
      * Nested class for order item data
      */
@@ -0,0 +1,45 @@
+package com.davidbadell.hexagonal.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Command for importing one historical order
+ * CQRS Pattern: Command
+ *
+ * Unlike {@link CreateOrderCommand}, an imported order may keep its
+ * original id, creation time and status. The record number identifies
+ * the source row when reporting errors.
+ */
+public class ImportOrderCommand {
+
+    private final long recordNumber;
+    private final String orderId;
+    private final String customerId;
+    private final LocalDateTime createdAt;
+    private final String status;
+    private final List<CreateOrderCommand.OrderItemCommand> items;
+
+    public ImportOrderCommand(long recordNumber, String orderId, String customerId, LocalDateTime createdAt,
+                              String status, List<CreateOrderCommand.OrderItemCommand> items) {
+        this.recordNumber = recordNumber;
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.items = items;
+    }
+
+    public long getRecordNumber() { return recordNumber; }
+    public String getOrderId() { return orderId; }
+    public String getCustomerId() { return customerId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public String getStatus() { return status; }
+    public List<CreateOrderCommand.OrderItemCommand> getItems() { return items; }
+
+    @Override
+    public String toString() {
+        return String.format("ImportOrderCommand{record=%d, orderId='%s', customerId='%s', items=%d}",
+                recordNumber, orderId, customerId, items == null ? 0 : items.size());
+    }
+}
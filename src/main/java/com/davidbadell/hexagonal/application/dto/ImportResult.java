@@ -0,0 +1,39 @@
+package com.davidbadell.hexagonal.application.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of importing a batch of orders
+ *
+ * Records that failed validation or could not be stored are listed
+ * with their record number; all other records of the batch were imported.
+ */
+public class ImportResult {
+
+    private final int imported;
+    private final List<RecordError> errors;
+
+    public ImportResult(int imported, List<RecordError> errors) {
+        this.imported = imported;
+        this.errors = errors;
+    }
+
+    public int getImported() { return imported; }
+    public List<RecordError> getErrors() { return errors; }
+
+    /**
+     * A record rejected during import
+     */
+    public static class RecordError {
+        private final long recordNumber;
+        private final String message;
+
+        public RecordError(long recordNumber, String message) {
+            this.recordNumber = recordNumber;
+            this.message = message;
+        }
+
+        public long getRecordNumber() { return recordNumber; }
+        public String getMessage() { return message; }
+    }
+}
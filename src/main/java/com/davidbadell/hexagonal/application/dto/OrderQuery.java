@@ -1,14 +1,27 @@
 package com.davidbadell.hexagonal.application.dto;
 
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 /**
  * Query for searching orders
  * CQRS Pattern: Query
  * 
  * Queries are used to retrieve data without modifying state.
+ * Results are returned newest first (creation time, then id descending),
+ * which gives every page a stable position across repositories.
  */
 public class OrderQuery {
+
+    /**
+     * Ordering applied to query results before paging
+     */
+    public static final Comparator<Order> RESULT_ORDER = Comparator
+            .comparing(Order::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(order -> order.getId().getValue(), Comparator.reverseOrder());
     
     private final String customerId;
     private final String status;
@@ -33,6 +46,60 @@ public class OrderQuery {
     public int getPage() { return page; }
     public int getSize() { return size; }
 
+    public long getOffset() { return (long) page * size; }
+
+    /**
+     * Status filter as a domain value, or null when absent or unknown
+     * (unknown statuses do not filter anything)
+     */
+    public OrderStatus getStatusFilter() {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check whether an order satisfies the filters of this query
+     */
+    public boolean matches(Order order) {
+        if (customerId != null && !customerId.isBlank()
+                && !order.getCustomerId().getValue().equals(customerId)) {
+            return false;
+        }
+        OrderStatus statusFilter = getStatusFilter();
+        if (statusFilter != null && order.getStatus() != statusFilter) {
+            return false;
+        }
+        if (fromDate != null && order.getCreatedAt().isBefore(fromDate)) {
+            return false;
+        }
+        if (toDate != null && order.getCreatedAt().isAfter(toDate)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Copy of this query widened to return every row up to and including
+     * the requested page, starting from the first page
+     */
+    public OrderQuery upToCurrentPage() {
+        long limit = getOffset() + size;
+        return builder()
+                .customerId(customerId)
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .page(0)
+                .size((int) Math.min(Integer.MAX_VALUE, limit))
+                .build();
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -21,6 +21,7 @@ public class OrderResponse {
     private final LocalDateTime createdAt;
     private final LocalDateTime updatedAt;
     private final List<OrderLineResponse> items;
+    private final long version;
 
     private OrderResponse(Builder builder) {
         this.orderId = builder.orderId;
@@ -30,6 +31,7 @@ public class OrderResponse {
         this.createdAt = builder.createdAt;
         this.updatedAt = builder.updatedAt;
         this.items = builder.items;
+        this.version = builder.version;
     }
 
     /**
@@ -48,6 +50,7 @@ public class OrderResponse {
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .items(items)
+                .version(order.getVersion())
                 .build();
     }
 
@@ -59,6 +62,8 @@ public class OrderResponse {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public List<OrderLineResponse> getItems() { return items; }
+    // Stored version of the order, moved by every change
+    public long getVersion() { return version; }
 
     public static Builder builder() {
         return new Builder();
@@ -111,6 +116,7 @@ public class OrderResponse {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         private List<OrderLineResponse> items;
+        private long version;
 
         public Builder orderId(String orderId) { this.orderId = orderId; return this; }
         public Builder customerId(String customerId) { this.customerId = customerId; return this; }
@@ -119,6 +125,7 @@ public class OrderResponse {
         public Builder createdAt(LocalDateTime createdAt) { this.createdAt = createdAt; return this; }
         public Builder updatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; return this; }
         public Builder items(List<OrderLineResponse> items) { this.items = items; return this; }
+        public Builder version(long version) { this.version = version; return this; }
 
         public OrderResponse build() {
             return new OrderResponse(this);
@@ -0,0 +1,93 @@
+package com.davidbadell.hexagonal.application.dto;
+
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Order counts and revenue for operations dashboards
+ *
+ * Counts cover all orders by status. Today's figures cover the orders
+ * created since midnight, by hour of creation; revenue leaves out
+ * cancelled orders.
+ */
+public class OrderStatistics {
+
+    private final LocalDateTime asOf;
+    private final Map<String, Long> ordersByStatus;
+    private final long ordersToday;
+    private final BigDecimal revenueToday;
+    private final List<HourlyTotals> hourly;
+
+    public OrderStatistics(LocalDateTime asOf, Map<String, Long> ordersByStatus, long ordersToday,
+                           BigDecimal revenueToday, List<HourlyTotals> hourly) {
+        this.asOf = asOf;
+        this.ordersByStatus = ordersByStatus;
+        this.ordersToday = ordersToday;
+        this.revenueToday = revenueToday;
+        this.hourly = hourly;
+    }
+
+    /**
+     * Build the statistics from counts by status and today's hourly totals
+     */
+    public static OrderStatistics of(LocalDateTime asOf, Map<OrderStatus, Long> counts,
+                                     List<HourlyTotals> today) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status.name(), counts.getOrDefault(status, 0L));
+        }
+        long orders = 0;
+        BigDecimal revenue = BigDecimal.ZERO.setScale(2);
+        for (HourlyTotals hour : today) {
+            orders += hour.getOrders();
+            revenue = revenue.add(hour.getRevenue());
+        }
+        return new OrderStatistics(asOf, Collections.unmodifiableMap(byStatus), orders, revenue, List.copyOf(today));
+    }
+
+    public LocalDateTime getAsOf() { return asOf; }
+    public Map<String, Long> getOrdersByStatus() { return ordersByStatus; }
+    public long getOrdersToday() { return ordersToday; }
+    public BigDecimal getRevenueToday() { return revenueToday; }
+    public List<HourlyTotals> getHourly() { return hourly; }
+
+    /**
+     * Orders created within one hour and their revenue
+     */
+    public static class HourlyTotals {
+        private final LocalDateTime hour;
+        private final long orders;
+        private final BigDecimal revenue;
+
+        public HourlyTotals(LocalDateTime hour, long orders, BigDecimal revenue) {
+            this.hour = hour;
+            this.orders = orders;
+            this.revenue = revenue;
+        }
+
+        public LocalDateTime getHour() { return hour; }
+        public long getOrders() { return orders; }
+        public BigDecimal getRevenue() { return revenue; }
+
+        /**
+         * Add up totals of the same hour, sorted by hour
+         */
+        public static List<HourlyTotals> combine(Collection<HourlyTotals> totals) {
+            Map<LocalDateTime, HourlyTotals> byHour = new TreeMap<>();
+            for (HourlyTotals total : totals) {
+                byHour.merge(total.hour, total, (a, b) ->
+                        new HourlyTotals(a.hour, a.orders + b.orders, a.revenue.add(b.revenue)));
+            }
+            return new ArrayList<>(byHour.values());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.davidbadell.hexagonal.application.dto;
+
+import com.davidbadell.hexagonal.domain.model.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Summary DTO of an order, without its lines
+ * Used for order lists, where the lines are not shown
+ */
+public class OrderSummary {
+
+    /**
+     * Most recent first, as {@link OrderQuery#RESULT_ORDER}
+     */
+    public static final Comparator<OrderSummary> RESULT_ORDER = Comparator
+            .comparing(OrderSummary::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(OrderSummary::getOrderId, Comparator.reverseOrder());
+
+    private final String orderId;
+    private final String customerId;
+    private final String status;
+    private final BigDecimal total;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public OrderSummary(String orderId, String customerId, String status, BigDecimal total,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.status = status;
+        this.total = total;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Factory method to create OrderSummary from Order domain object
+     */
+    public static OrderSummary fromDomain(Order order) {
+        return new OrderSummary(order.getId().getValue(), order.getCustomerId().getValue(),
+                order.getStatus().name(), order.getTotal().getAmount(), order.getCreatedAt(), order.getUpdatedAt());
+    }
+
+    public static OrderSummary fromResponse(OrderResponse response) {
+        return new OrderSummary(response.getOrderId(), response.getCustomerId(), response.getStatus(),
+                response.getTotal(), response.getCreatedAt(), response.getUpdatedAt());
+    }
+
+    /**
+     * The same summary after a status change
+     */
+    public OrderSummary withStatus(String status, LocalDateTime updatedAt) {
+        return new OrderSummary(orderId, customerId, status, total, createdAt, updatedAt);
+    }
+
+    public String getOrderId() { return orderId; }
+    public String getCustomerId() { return customerId; }
+    public String getStatus() { return status; }
+    public BigDecimal getTotal() { return total; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
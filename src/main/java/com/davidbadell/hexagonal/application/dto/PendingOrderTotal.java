@@ -0,0 +1,27 @@
+package com.davidbadell.hexagonal.application.dto;
+
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+/**
+ * The amounts of a pending order needed to reprice it
+ *
+ * The subtotal is the sum of the order lines; the quoted total is what the
+ * pricing rules last made of it, null if the order was never quoted.
+ */
+public class PendingOrderTotal {
+
+    private final OrderId orderId;
+    private final Money subtotal;
+    private final Money quotedTotal;
+
+    public PendingOrderTotal(OrderId orderId, Money subtotal, Money quotedTotal) {
+        this.orderId = orderId;
+        this.subtotal = subtotal;
+        this.quotedTotal = quotedTotal;
+    }
+
+    public OrderId getOrderId() { return orderId; }
+    public Money getSubtotal() { return subtotal; }
+    public Money getQuotedTotal() { return quotedTotal; }
+}
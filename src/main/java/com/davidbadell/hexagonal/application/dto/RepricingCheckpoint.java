@@ -0,0 +1,65 @@
+package com.davidbadell.hexagonal.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a repricing run, saved after every chunk
+ *
+ * Pending orders are repriced in order of id; {@code lastOrderId} is the
+ * last one done, so an interrupted run resumes right after it.
+ */
+public class RepricingCheckpoint {
+
+    private final String lastOrderId;
+    private final long scanned;
+    private final long repriced;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime completedAt;
+
+    public RepricingCheckpoint(String lastOrderId, long scanned, long repriced, LocalDateTime startedAt,
+                               LocalDateTime updatedAt, LocalDateTime completedAt) {
+        this.lastOrderId = lastOrderId;
+        this.scanned = scanned;
+        this.repriced = repriced;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * A run that has not done anything yet
+     */
+    public static RepricingCheckpoint start(LocalDateTime now) {
+        return new RepricingCheckpoint(null, 0, 0, now, now, null);
+    }
+
+    /**
+     * The checkpoint after one more chunk
+     */
+    public RepricingCheckpoint advance(String lastOrderId, int scanned, int repriced, LocalDateTime now) {
+        return new RepricingCheckpoint(lastOrderId, this.scanned + scanned, this.repriced + repriced,
+                startedAt, now, null);
+    }
+
+    public RepricingCheckpoint complete(LocalDateTime now) {
+        return new RepricingCheckpoint(lastOrderId, scanned, repriced, startedAt, now, now);
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+
+    public String getLastOrderId() { return lastOrderId; }
+    public long getScanned() { return scanned; }
+    public long getRepriced() { return repriced; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+
+    @Override
+    public String toString() {
+        return String.format("%d pending orders scanned, %d repriced%s", scanned, repriced,
+                isCompleted() ? "" : " (last order " + lastOrderId + ")");
+    }
+}
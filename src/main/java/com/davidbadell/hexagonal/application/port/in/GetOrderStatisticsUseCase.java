@@ -0,0 +1,20 @@
+package com.davidbadell.hexagonal.application.port.in;
+
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+
+/**
+ * Input Port: Get Order Statistics Use Case
+ * Hexagonal Architecture: Input Port (Driving Port)
+ *
+ * Current order counts by status and today's order revenue, for
+ * dashboards that would otherwise page through all orders.
+ */
+public interface GetOrderStatisticsUseCase {
+
+    /**
+     * Get the current order statistics
+     *
+     * @return Counts by status and today's hourly totals
+     */
+    OrderStatistics getStatistics();
+}
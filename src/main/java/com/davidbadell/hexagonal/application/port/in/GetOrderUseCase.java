@@ -2,6 +2,7 @@ package com.davidbadell.hexagonal.application.port.in;
 
 import com.davidbadell.hexagonal.application.dto.OrderQuery;
 import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +31,23 @@ public interface GetOrderUseCase {
      * @return List of orders for the customer
      */
     List<OrderResponse> getOrdersByCustomerId(String customerId);
+
+    /**
+     * Get one page of a customer's orders, most recent first, without their lines
+     *
+     * The default implementation summarizes {@link #queryOrders(OrderQuery)}.
+     *
+     * @param customerId The customer ID
+     * @param page Page number, from 0
+     * @param size Page size
+     * @return The summaries of the orders on the page
+     */
+    default List<OrderSummary> getOrderSummariesByCustomerId(String customerId, int page, int size) {
+        return queryOrders(OrderQuery.builder().customerId(customerId).page(page).size(size).build())
+                .stream()
+                .map(OrderSummary::fromResponse)
+                .toList();
+    }
     
     /**
      * Query orders based on criteria
@@ -0,0 +1,25 @@
+package com.davidbadell.hexagonal.application.port.in;
+
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportResult;
+
+import java.util.List;
+
+/**
+ * Input Port: Import Orders Use Case
+ * Hexagonal Architecture: Input Port (Driving Port)
+ *
+ * Bulk loading of historical orders. Each batch is validated through the
+ * domain model and stored with batched inserts; imported orders do not
+ * publish domain events.
+ */
+public interface ImportOrdersUseCase {
+
+    /**
+     * Import a batch of orders
+     *
+     * @param commands The orders to import
+     * @return The number imported and the records rejected
+     */
+    ImportResult importOrders(List<ImportOrderCommand> commands);
+}
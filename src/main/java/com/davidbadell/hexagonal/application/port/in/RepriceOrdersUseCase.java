@@ -0,0 +1,59 @@
+package com.davidbadell.hexagonal.application.port.in;
+
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.application.dto.RepricingCheckpoint;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Input Port: Reprice Orders Use Case
+ * Hexagonal Architecture: Input Port (Driving Port)
+ *
+ * Re-evaluates every pending order with the current pricing rules, e.g.
+ * after a tax rate or discount change, and stores the totals that changed.
+ * Only one run at a time; an interrupted run resumes from its checkpoint.
+ */
+public interface RepriceOrdersUseCase {
+
+    /**
+     * Reprice all pending orders and wait for the run to finish
+     *
+     * @param restart Start over instead of resuming an unfinished run
+     * @return The checkpoint of the completed run
+     * @throws IllegalStateException if a run is already in progress
+     */
+    RepricingCheckpoint repriceOrders(boolean restart);
+
+    /**
+     * Start repricing all pending orders in the background
+     *
+     * @param restart Start over instead of resuming an unfinished run
+     * @throws IllegalStateException if a run is already in progress
+     */
+    void startRepricing(boolean restart);
+
+    /**
+     * Whether a run is in progress in this instance
+     */
+    boolean isRunning();
+
+    /**
+     * Progress of the latest run
+     */
+    Optional<RepricingCheckpoint> getProgress();
+
+    /**
+     * Why the latest background run stopped early, if it did
+     */
+    Optional<String> getLastFailure();
+
+    /**
+     * The subtotals and stored quotes of pending orders, in order of id
+     *
+     * @param afterOrderId Last order id of the previous page, null for the first page
+     * @param limit Maximum number of orders to return, capped at the chunk size
+     * @return Up to {@code limit} pending orders, with a null quote if never repriced
+     */
+    List<PendingOrderTotal> getQuotedTotals(String afterOrderId, int limit);
+}
@@ -0,0 +1,29 @@
+package com.davidbadell.hexagonal.application.port.out;
+
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Output Port: Local Event Bus
+ * Hexagonal Architecture: Output Port (Driven Port)
+ *
+ * Hands domain events to in-process subscribers (caches, counters,
+ * projections) without a broker round trip. Delivery is asynchronous and
+ * best effort: it must never fail or slow down the use case noticeably.
+ */
+@FunctionalInterface
+public interface LocalEventBus {
+
+    /**
+     * Bus without subscribers
+     */
+    LocalEventBus NONE = events -> { };
+
+    /**
+     * Dispatch the events raised by one use case, in order
+     *
+     * @param events The events to dispatch
+     */
+    void dispatch(List<DomainEvent> events);
+}
@@ -0,0 +1,28 @@
+package com.davidbadell.hexagonal.application.port.out;
+
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+/**
+ * Output Port: Order Identity Generator
+ * Hexagonal Architecture: Output Port (Driven Port)
+ *
+ * Lets the persistence side decide what a new OrderId looks like,
+ * e.g. to embed the shard that will own the order.
+ */
+@FunctionalInterface
+public interface OrderIdGenerator {
+
+    /**
+     * Default generator producing plain random identifiers
+     */
+    OrderIdGenerator RANDOM = customerId -> OrderId.generate();
+
+    /**
+     * Generate the identity for a new order
+     *
+     * @param customerId The customer placing the order
+     * @return A new, unique order ID
+     */
+    OrderId nextId(CustomerId customerId);
+}
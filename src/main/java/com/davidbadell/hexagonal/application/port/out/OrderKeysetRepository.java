@@ -0,0 +1,35 @@
+package com.davidbadell.hexagonal.application.port.out;
+
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+import java.util.List;
+
+/**
+ * Output Port: Order Keyset Repository
+ * Hexagonal Architecture: Output Port (Driven Port)
+ *
+ * Walks all orders in chunks, in order of id: each call passes the last
+ * id of the previous chunk. Implemented by the stores over the primary
+ * key and status indexes.
+ */
+public interface OrderKeysetRepository {
+
+    /**
+     * Read the next order ids after an order id, in order of id
+     *
+     * @param afterOrderId Last order id already seen, null to start from the first
+     * @param limit Maximum number of ids to return
+     * @return Up to {@code limit} order ids
+     */
+    List<OrderId> findIdsAfter(String afterOrderId, int limit);
+
+    /**
+     * Read the next pending orders after an order id, in order of id
+     *
+     * @param afterOrderId Last order id already seen, null to start from the first
+     * @param limit Maximum number of orders to return
+     * @return The amounts of up to {@code limit} pending orders
+     */
+    List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit);
+}
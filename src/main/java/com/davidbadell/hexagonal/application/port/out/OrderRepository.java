@@ -1,9 +1,12 @@
 package com.davidbadell.hexagonal.application.port.out;
 
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
 import com.davidbadell.hexagonal.domain.model.CustomerId;
 import com.davidbadell.hexagonal.domain.model.Order;
 import com.davidbadell.hexagonal.domain.model.OrderId;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +16,9 @@ import java.util.Optional;
  * 
  * This interface defines the contract for order persistence.
  * The implementation will be in the infrastructure layer.
+ * Reporting aggregates and keyset scans have their own ports,
+ * {@link OrderStatisticsRepository} and {@link OrderKeysetRepository}, and
+ * so do the quoted totals of pending orders, {@link QuotedTotalsRepository}.
  */
 public interface OrderRepository {
     
@@ -23,6 +29,21 @@ public interface OrderRepository {
      * @return The saved order
      */
     Order save(Order order);
+
+    /**
+     * Insert new orders in bulk
+     *
+     * Either all orders are stored or none. Fails if any of them already
+     * exists. The default implementation saves them one by one; adapters
+     * should use batched inserts.
+     *
+     * @param orders The orders to insert
+     */
+    default void insertAll(List<Order> orders) {
+        for (Order order : orders) {
+            save(order);
+        }
+    }
     
     /**
      * Find an order by its ID
@@ -31,6 +52,23 @@ public interface OrderRepository {
      * @return Optional containing the order if found
      */
     Optional<Order> findById(OrderId orderId);
+
+    /**
+     * Find the orders with the given IDs
+     *
+     * The default implementation looks them up one by one; adapters
+     * should read them in one query.
+     *
+     * @param orderIds The order IDs
+     * @return The orders found, in no particular order; unknown IDs are left out
+     */
+    default List<Order> findAllById(Collection<OrderId> orderIds) {
+        List<Order> orders = new ArrayList<>(orderIds.size());
+        for (OrderId orderId : orderIds) {
+            findById(orderId).ifPresent(orders::add);
+        }
+        return orders;
+    }
     
     /**
      * Find all orders for a customer
@@ -46,6 +84,16 @@ public interface OrderRepository {
      * @return List of all orders
      */
     List<Order> findAll();
+
+    /**
+     * Find one page of orders matching a query, sorted by {@link OrderQuery#RESULT_ORDER}
+     *
+     * Filtering, sorting and paging are left to the store.
+     *
+     * @param query The filters and page to return
+     * @return The matching orders for the requested page
+     */
+    List<Order> query(OrderQuery query);
     
     /**
      * Delete an order
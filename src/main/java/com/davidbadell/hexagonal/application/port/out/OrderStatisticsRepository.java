@@ -0,0 +1,36 @@
+package com.davidbadell.hexagonal.application.port.out;
+
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Output Port: Order Statistics Repository
+ * Hexagonal Architecture: Output Port (Driven Port)
+ *
+ * Aggregates over all orders for reporting. Kept apart from
+ * {@link OrderRepository} so that only the stores, which can aggregate
+ * in the database, have to answer it.
+ */
+public interface OrderStatisticsRepository {
+
+    /**
+     * Count all orders by status
+     *
+     * @return The number of orders per status, statuses without orders omitted
+     */
+    Map<OrderStatus, Long> countByStatus();
+
+    /**
+     * Count and sum up the orders created since a given time, per hour of creation
+     *
+     * Revenue leaves out cancelled orders.
+     *
+     * @param createdFrom Earliest creation time to include
+     * @return The totals of every hour with orders, sorted by hour
+     */
+    List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom);
+}
@@ -0,0 +1,27 @@
+package com.davidbadell.hexagonal.application.port.out;
+
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+import java.util.Map;
+
+/**
+ * Output Port: Quoted Totals Repository
+ * Hexagonal Architecture: Output Port (Driven Port)
+ *
+ * Stores the totals the pricing rules last quoted for pending orders,
+ * next to the orders but outside the aggregate. They are read back with
+ * {@link OrderKeysetRepository#findPendingTotalsAfter(String, int)}.
+ */
+public interface QuotedTotalsRepository {
+
+    /**
+     * Store the quoted totals of orders that are still pending
+     *
+     * Orders that have left PENDING in the meantime are not touched.
+     *
+     * @param quotedTotals New quoted total by order id
+     * @return The number of orders updated
+     */
+    int updateQuotedTotals(Map<OrderId, Money> quotedTotals);
+}
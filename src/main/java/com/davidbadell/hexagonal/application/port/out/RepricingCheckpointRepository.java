@@ -0,0 +1,25 @@
+package com.davidbadell.hexagonal.application.port.out;
+
+import com.davidbadell.hexagonal.application.dto.RepricingCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * Output Port: Repricing Checkpoint Repository
+ * Hexagonal Architecture: Output Port (Driven Port)
+ *
+ * Keeps the progress of the latest repricing run, so that a run stopped
+ * by a restart resumes where it was.
+ */
+public interface RepricingCheckpointRepository {
+
+    /**
+     * The checkpoint of the latest run, completed or not
+     */
+    Optional<RepricingCheckpoint> findLatest();
+
+    /**
+     * Replace the checkpoint of the latest run
+     */
+    void save(RepricingCheckpoint checkpoint);
+}
@@ -3,12 +3,15 @@ package com.davidbadell.hexagonal.application.service;
 import com.davidbadell.hexagonal.application.dto.OrderResponse;
 import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
 import com.davidbadell.hexagonal.application.port.out.EventPublisher;
+import com.davidbadell.hexagonal.application.port.out.LocalEventBus;
 import com.davidbadell.hexagonal.application.port.out.OrderRepository;
 import com.davidbadell.hexagonal.domain.event.DomainEvent;
 import com.davidbadell.hexagonal.domain.exception.OrderNotFoundException;
 import com.davidbadell.hexagonal.domain.model.Order;
 import com.davidbadell.hexagonal.domain.model.OrderId;
 
+import java.util.List;
+
 /**
  * Application Service: Cancel Order
  * Hexagonal Architecture: Use Case Implementation
@@ -19,10 +22,17 @@ public class CancelOrderService implements CancelOrderUseCase {
     
     private final OrderRepository orderRepository;
     private final EventPublisher eventPublisher;
+    private final LocalEventBus localEventBus;
 
     public CancelOrderService(OrderRepository orderRepository, EventPublisher eventPublisher) {
+        this(orderRepository, eventPublisher, LocalEventBus.NONE);
+    }
+
+    public CancelOrderService(OrderRepository orderRepository, EventPublisher eventPublisher,
+                              LocalEventBus localEventBus) {
         this.orderRepository = orderRepository;
         this.eventPublisher = eventPublisher;
+        this.localEventBus = localEventBus;
     }
 
     @Override
@@ -41,14 +51,19 @@ public class CancelOrderService implements CancelOrderUseCase {
         // Cancel the order (domain logic)
         order.cancel();
 
-        // Save the order
+        // Save the order; the saved copy may be rebuilt without the
+        // events raised above, so they are taken from this aggregate
+        List<DomainEvent> raisedEvents = List.copyOf(order.getDomainEvents());
         Order savedOrder = orderRepository.save(order);
 
+        // Notify in-process subscribers
+        localEventBus.dispatch(raisedEvents);
+
         // Publish domain events
-        for (DomainEvent event : savedOrder.getDomainEvents()) {
+        for (DomainEvent event : raisedEvents) {
             eventPublisher.publish(event);
         }
-        savedOrder.clearDomainEvents();
+        order.clearDomainEvents();
 
         return OrderResponse.fromDomain(savedOrder);
     }
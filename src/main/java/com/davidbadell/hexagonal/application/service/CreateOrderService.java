@@ -4,10 +4,14 @@ import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
 import com.davidbadell.hexagonal.application.dto.OrderResponse;
 import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
 import com.davidbadell.hexagonal.application.port.out.EventPublisher;
+import com.davidbadell.hexagonal.application.port.out.LocalEventBus;
+import com.davidbadell.hexagonal.application.port.out.OrderIdGenerator;
 import com.davidbadell.hexagonal.application.port.out.OrderRepository;
 import com.davidbadell.hexagonal.domain.event.DomainEvent;
 import com.davidbadell.hexagonal.domain.model.*;
 
+import java.util.List;
+
 /**
  * Application Service: Create Order
  * Hexagonal Architecture: Use Case Implementation
@@ -19,18 +23,33 @@ public class CreateOrderService implements CreateOrderUseCase {
     
     private final OrderRepository orderRepository;
     private final EventPublisher eventPublisher;
+    private final OrderIdGenerator orderIdGenerator;
+    private final LocalEventBus localEventBus;
 
     public CreateOrderService(OrderRepository orderRepository, EventPublisher eventPublisher) {
+        this(orderRepository, eventPublisher, OrderIdGenerator.RANDOM);
+    }
+
+    public CreateOrderService(OrderRepository orderRepository, EventPublisher eventPublisher,
+                              OrderIdGenerator orderIdGenerator) {
+        this(orderRepository, eventPublisher, orderIdGenerator, LocalEventBus.NONE);
+    }
+
+    public CreateOrderService(OrderRepository orderRepository, EventPublisher eventPublisher,
+                              OrderIdGenerator orderIdGenerator, LocalEventBus localEventBus) {
         this.orderRepository = orderRepository;
         this.eventPublisher = eventPublisher;
+        this.orderIdGenerator = orderIdGenerator;
+        this.localEventBus = localEventBus;
     }
 
     @Override
     public OrderResponse createOrder(CreateOrderCommand command) {
         // Create the order aggregate
+        CustomerId customerId = CustomerId.of(command.getCustomerId());
         Order order = new Order(
-                OrderId.generate(),
-                CustomerId.of(command.getCustomerId())
+                orderIdGenerator.nextId(customerId),
+                customerId
         );
 
         // Add order lines
@@ -44,14 +63,19 @@ public class CreateOrderService implements CreateOrderUseCase {
             order.addOrderLine(orderLine);
         }
 
-        // Persist the order
+        // Persist the order; the saved copy may be rebuilt without the
+        // events raised above, so they are taken from this aggregate
+        List<DomainEvent> raisedEvents = List.copyOf(order.getDomainEvents());
         Order savedOrder = orderRepository.save(order);
 
+        // Notify in-process subscribers
+        localEventBus.dispatch(raisedEvents);
+
         // Publish domain events
-        for (DomainEvent event : savedOrder.getDomainEvents()) {
+        for (DomainEvent event : raisedEvents) {
             eventPublisher.publish(event);
         }
-        savedOrder.clearDomainEvents();
+        order.clearDomainEvents();
 
         // Return response
         return OrderResponse.fromDomain(savedOrder);
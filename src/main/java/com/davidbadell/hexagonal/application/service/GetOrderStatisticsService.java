@@ -0,0 +1,34 @@
+package com.davidbadell.hexagonal.application.service;
+
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
+import com.davidbadell.hexagonal.application.port.out.OrderStatisticsRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Application Service: Get Order Statistics
+ * Hexagonal Architecture: Use Case Implementation (Query Side - CQRS)
+ *
+ * Aggregates the statistics in the repository on every call. Used when
+ * the in-memory order counters are disabled.
+ */
+public class GetOrderStatisticsService implements GetOrderStatisticsUseCase {
+
+    private final OrderStatisticsRepository statisticsRepository;
+    private final Clock clock;
+
+    public GetOrderStatisticsService(OrderStatisticsRepository statisticsRepository, Clock clock) {
+        this.statisticsRepository = statisticsRepository;
+        this.clock = clock;
+    }
+
+    @Override
+    public OrderStatistics getStatistics() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime midnight = now.toLocalDate().atStartOfDay();
+        return OrderStatistics.of(now, statisticsRepository.countByStatus(),
+                statisticsRepository.totalsByCreatedHour(midnight));
+    }
+}
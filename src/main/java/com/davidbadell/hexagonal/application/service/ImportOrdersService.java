@@ -0,0 +1,114 @@
+package com.davidbadell.hexagonal.application.service;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportResult;
+import com.davidbadell.hexagonal.application.port.in.ImportOrdersUseCase;
+import com.davidbadell.hexagonal.application.port.out.OrderIdGenerator;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application Service: Import Orders
+ * Hexagonal Architecture: Use Case Implementation
+ *
+ * Builds each order through the aggregate so the usual value object and
+ * order line rules apply, then inserts the valid ones in one batch. If the
+ * batch insert fails (e.g. an id already exists), the orders are inserted
+ * one by one to find the records at fault.
+ */
+public class ImportOrdersService implements ImportOrdersUseCase {
+
+    private final OrderRepository orderRepository;
+    private final OrderIdGenerator orderIdGenerator;
+
+    public ImportOrdersService(OrderRepository orderRepository, OrderIdGenerator orderIdGenerator) {
+        this.orderRepository = orderRepository;
+        this.orderIdGenerator = orderIdGenerator;
+    }
+
+    @Override
+    public ImportResult importOrders(List<ImportOrderCommand> commands) {
+        List<ImportResult.RecordError> errors = new ArrayList<>();
+        List<Order> orders = new ArrayList<>(commands.size());
+        List<ImportOrderCommand> sources = new ArrayList<>(commands.size());
+
+        for (ImportOrderCommand command : commands) {
+            try {
+                orders.add(toOrder(command));
+                sources.add(command);
+            } catch (RuntimeException e) {
+                errors.add(new ImportResult.RecordError(command.getRecordNumber(), e.getMessage()));
+            }
+        }
+
+        if (orders.isEmpty()) {
+            return new ImportResult(0, errors);
+        }
+        try {
+            orderRepository.insertAll(orders);
+            return new ImportResult(orders.size(), errors);
+        } catch (RuntimeException batchFailure) {
+            int imported = 0;
+            for (int i = 0; i < orders.size(); i++) {
+                try {
+                    orderRepository.insertAll(List.of(orders.get(i)));
+                    imported++;
+                } catch (RuntimeException e) {
+                    errors.add(new ImportResult.RecordError(sources.get(i).getRecordNumber(), rootMessage(e)));
+                }
+            }
+            return new ImportResult(imported, errors);
+        }
+    }
+
+    private Order toOrder(ImportOrderCommand command) {
+        if (command.getItems() == null || command.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must have at least one item");
+        }
+        CustomerId customerId = CustomerId.of(command.getCustomerId());
+        OrderId orderId = command.getOrderId() != null && !command.getOrderId().isBlank()
+                ? OrderId.of(command.getOrderId())
+                : orderIdGenerator.nextId(customerId);
+
+        Order order = new Order(orderId, customerId);
+        for (CreateOrderCommand.OrderItemCommand item : command.getItems()) {
+            order.addOrderLine(new OrderLine(
+                    ProductId.of(item.getProductId()),
+                    item.getProductName(),
+                    Quantity.of(item.getQuantity()),
+                    Money.of(item.getPrice())
+            ));
+        }
+
+        OrderStatus status = parseStatus(command.getStatus());
+        if (command.getCreatedAt() == null && status == OrderStatus.PENDING) {
+            return order;
+        }
+        return Order.reconstitute(order.getId(), customerId, order.getOrderLines(), status,
+                command.getCreatedAt() != null ? command.getCreatedAt() : order.getCreatedAt(),
+                command.getCreatedAt() != null ? command.getCreatedAt() : order.getUpdatedAt());
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return OrderStatus.PENDING;
+        }
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown order status: " + status);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,193 @@
+package com.davidbadell.hexagonal.application.service;
+
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.application.dto.RepricingCheckpoint;
+import com.davidbadell.hexagonal.application.port.in.RepriceOrdersUseCase;
+import com.davidbadell.hexagonal.application.port.out.OrderKeysetRepository;
+import com.davidbadell.hexagonal.application.port.out.QuotedTotalsRepository;
+import com.davidbadell.hexagonal.application.port.out.RepricingCheckpointRepository;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.service.PriceQuotes;
+import com.davidbadell.hexagonal.domain.service.PricingService;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Application Service: Reprice Orders
+ * Hexagonal Architecture: Use Case Implementation
+ *
+ * Walks the pending orders in chunks by order id (a keyset scan, so every
+ * chunk is an index range read however far the run has got). Each chunk is
+ * priced on a fork-join pool, the totals that differ from the stored quote
+ * are written back in one batch, then the checkpoint moves past the chunk.
+ * A chunk interrupted before its checkpoint is simply priced again, which
+ * changes nothing the second time.
+ */
+public class RepriceOrdersService implements RepriceOrdersUseCase {
+
+    private static final int LEAF_SIZE = 256;
+
+    private final OrderKeysetRepository keysetRepository;
+    private final QuotedTotalsRepository quotedTotalsRepository;
+    private final RepricingCheckpointRepository checkpointRepository;
+    private final PricingService pricingService;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile String lastFailure;
+
+    public RepriceOrdersService(OrderKeysetRepository keysetRepository, QuotedTotalsRepository quotedTotalsRepository,
+                                RepricingCheckpointRepository checkpointRepository, PricingService pricingService,
+                                ForkJoinPool pool, int chunkSize, Clock clock) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.keysetRepository = keysetRepository;
+        this.quotedTotalsRepository = quotedTotalsRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.pricingService = pricingService;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public RepricingCheckpoint repriceOrders(boolean restart) {
+        reserve();
+        try {
+            return run(restart);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public void startRepricing(boolean restart) {
+        reserve();
+        Thread thread = new Thread(() -> {
+            try {
+                run(restart);
+            } catch (RuntimeException e) {
+                lastFailure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            } finally {
+                running.set(false);
+            }
+        }, "order-repricing");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public Optional<RepricingCheckpoint> getProgress() {
+        return checkpointRepository.findLatest();
+    }
+
+    @Override
+    public Optional<String> getLastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    @Override
+    public List<PendingOrderTotal> getQuotedTotals(String afterOrderId, int limit) {
+        return keysetRepository.findPendingTotalsAfter(afterOrderId, Math.max(1, Math.min(limit, chunkSize)));
+    }
+
+    private void reserve() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Orders are already being repriced");
+        }
+        lastFailure = null;
+    }
+
+    private RepricingCheckpoint run(boolean restart) {
+        RepricingCheckpoint checkpoint = restart ? null : checkpointRepository.findLatest()
+                .filter(latest -> !latest.isCompleted())
+                .orElse(null);
+        if (checkpoint == null) {
+            checkpoint = RepricingCheckpoint.start(LocalDateTime.now(clock));
+            checkpointRepository.save(checkpoint);
+        }
+
+        List<PendingOrderTotal> chunk;
+        while (!(chunk = keysetRepository.findPendingTotalsAfter(checkpoint.getLastOrderId(), chunkSize)).isEmpty()) {
+            Map<OrderId, Money> changed = reprice(chunk);
+            if (!changed.isEmpty()) {
+                quotedTotalsRepository.updateQuotedTotals(changed);
+            }
+            String last = chunk.get(chunk.size() - 1).getOrderId().getValue();
+            checkpoint = checkpoint.advance(last, chunk.size(), changed.size(), LocalDateTime.now(clock));
+            checkpointRepository.save(checkpoint);
+        }
+
+        checkpoint = checkpoint.complete(LocalDateTime.now(clock));
+        checkpointRepository.save(checkpoint);
+        return checkpoint;
+    }
+
+    /**
+     * The new quoted totals of the orders in a chunk whose quote changed
+     */
+    private Map<OrderId, Money> reprice(List<PendingOrderTotal> chunk) {
+        long[] subtotals = new long[chunk.size()];
+        for (int i = 0; i < subtotals.length; i++) {
+            subtotals[i] = chunk.get(i).getSubtotal().toCents();
+        }
+        long[] totals = new long[subtotals.length];
+        pool.invoke(new PriceTask(subtotals, totals, 0, subtotals.length));
+
+        Map<OrderId, Money> changed = new LinkedHashMap<>();
+        for (int i = 0; i < totals.length; i++) {
+            Money quoted = chunk.get(i).getQuotedTotal();
+            if (quoted == null || quoted.toCents() != totals[i]) {
+                changed.put(chunk.get(i).getOrderId(), Money.ofCents(totals[i]));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Prices a range of subtotals, split in halves down to batches of {@value #LEAF_SIZE}
+     */
+    private final class PriceTask extends RecursiveAction {
+        private final long[] subtotals;
+        private final long[] totals;
+        private final int from;
+        private final int to;
+
+        PriceTask(long[] subtotals, long[] totals, int from, int to) {
+            this.subtotals = subtotals;
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                PriceQuotes quotes = pricingService.quoteAll(Arrays.copyOfRange(subtotals, from, to), null);
+                for (int i = 0; i < quotes.size(); i++) {
+                    totals[from + i] = quotes.getTotalCents(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PriceTask(subtotals, totals, from, middle), new PriceTask(subtotals, totals, middle, to));
+        }
+    }
+}
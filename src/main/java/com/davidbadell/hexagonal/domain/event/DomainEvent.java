@@ -10,6 +10,12 @@ import java.time.LocalDateTime;
  * that domain experts care about.
  */
 public interface DomainEvent {
+
+    /**
+     * Get the unique identifier of this event occurrence
+     * Consumers use it to discard redelivered events.
+     */
+    String getEventId();
     
     /**
      * Get the timestamp when the event occurred
@@ -1,29 +1,53 @@
 package com.davidbadell.hexagonal.domain.event;
 
+import com.davidbadell.hexagonal.domain.model.Money;
 import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Domain Event: Order Cancelled
  * DDD Pattern: Domain Event
  * 
- * Raised when an order is cancelled.
+ * Raised when an order is cancelled. Carries the status it was cancelled
+ * from and the total and creation time of the order, so that consumers can
+ * take it out of their counts without loading it; these are null on events
+ * built without them.
  */
 public class OrderCancelledEvent implements DomainEvent {
     
+    private final String eventId;
     private final OrderId orderId;
     private final LocalDateTime occurredOn;
     private final String reason;
+    private final OrderStatus previousStatus;
+    private final Money total;
+    private final LocalDateTime orderCreatedAt;
 
     public OrderCancelledEvent(OrderId orderId, LocalDateTime occurredOn) {
         this(orderId, occurredOn, null);
     }
 
     public OrderCancelledEvent(OrderId orderId, LocalDateTime occurredOn, String reason) {
+        this(orderId, occurredOn, reason, null, null, null);
+    }
+
+    public OrderCancelledEvent(OrderId orderId, LocalDateTime occurredOn, String reason,
+                               OrderStatus previousStatus, Money total, LocalDateTime orderCreatedAt) {
+        this.eventId = UUID.randomUUID().toString();
         this.orderId = orderId;
         this.occurredOn = occurredOn;
         this.reason = reason;
+        this.previousStatus = previousStatus;
+        this.total = total;
+        this.orderCreatedAt = orderCreatedAt;
+    }
+
+    @Override
+    public String getEventId() {
+        return eventId;
     }
 
     public OrderId getOrderId() {
@@ -34,6 +58,18 @@ public class OrderCancelledEvent implements DomainEvent {
         return reason;
     }
 
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    public LocalDateTime getOrderCreatedAt() {
+        return orderCreatedAt;
+    }
+
     @Override
     public LocalDateTime getOccurredOn() {
         return occurredOn;
@@ -46,7 +82,7 @@ public class OrderCancelledEvent implements DomainEvent {
 
     @Override
     public String toString() {
-        return String.format("OrderCancelledEvent{orderId=%s, occurredOn=%s, reason='%s'}",
-                orderId, occurredOn, reason);
+        return String.format("OrderCancelledEvent{orderId=%s, from=%s, occurredOn=%s, reason='%s'}",
+                orderId, previousStatus, occurredOn, reason);
     }
 }
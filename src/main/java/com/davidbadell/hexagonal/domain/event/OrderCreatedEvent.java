@@ -1,26 +1,54 @@
 package com.davidbadell.hexagonal.domain.event;
 
 import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
 import com.davidbadell.hexagonal.domain.model.OrderId;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Domain Event: Order Created
  * DDD Pattern: Domain Event
  * 
- * Raised when a new order is created in the system.
+ * Raised when a new order is created in the system. Carries the order
+ * total as it stood when the event was published.
  */
 public class OrderCreatedEvent implements DomainEvent {
     
+    private final String eventId;
     private final OrderId orderId;
     private final CustomerId customerId;
     private final LocalDateTime occurredOn;
+    private final Money total;
 
     public OrderCreatedEvent(OrderId orderId, CustomerId customerId, LocalDateTime occurredOn) {
+        this(orderId, customerId, occurredOn, Money.ZERO);
+    }
+
+    public OrderCreatedEvent(OrderId orderId, CustomerId customerId, LocalDateTime occurredOn, Money total) {
+        this(UUID.randomUUID().toString(), orderId, customerId, occurredOn, total);
+    }
+
+    private OrderCreatedEvent(String eventId, OrderId orderId, CustomerId customerId,
+                              LocalDateTime occurredOn, Money total) {
+        this.eventId = eventId;
         this.orderId = orderId;
         this.customerId = customerId;
         this.occurredOn = occurredOn;
+        this.total = total;
+    }
+
+    /**
+     * The same event, with the total updated
+     */
+    public OrderCreatedEvent withTotal(Money total) {
+        return new OrderCreatedEvent(eventId, orderId, customerId, occurredOn, total);
+    }
+
+    @Override
+    public String getEventId() {
+        return eventId;
     }
 
     public OrderId getOrderId() {
@@ -31,6 +59,10 @@ public class OrderCreatedEvent implements DomainEvent {
         return customerId;
     }
 
+    public Money getTotal() {
+        return total;
+    }
+
     @Override
     public LocalDateTime getOccurredOn() {
         return occurredOn;
@@ -43,7 +75,7 @@ public class OrderCreatedEvent implements DomainEvent {
 
     @Override
     public String toString() {
-        return String.format("OrderCreatedEvent{orderId=%s, customerId=%s, occurredOn=%s}",
-                orderId, customerId, occurredOn);
+        return String.format("OrderCreatedEvent{orderId=%s, customerId=%s, total=%s, occurredOn=%s}",
+                orderId, customerId, total, occurredOn);
     }
 }
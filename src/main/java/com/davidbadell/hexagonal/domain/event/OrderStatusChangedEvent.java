@@ -4,6 +4,7 @@ import com.davidbadell.hexagonal.domain.model.OrderId;
 import com.davidbadell.hexagonal.domain.model.OrderStatus;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Domain Event: Order Status Changed
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
  */
 public class OrderStatusChangedEvent implements DomainEvent {
     
+    private final String eventId;
     private final OrderId orderId;
     private final OrderStatus previousStatus;
     private final OrderStatus newStatus;
@@ -20,12 +22,18 @@ public class OrderStatusChangedEvent implements DomainEvent {
 
     public OrderStatusChangedEvent(OrderId orderId, OrderStatus previousStatus, 
                                    OrderStatus newStatus, LocalDateTime occurredOn) {
+        this.eventId = UUID.randomUUID().toString();
         this.orderId = orderId;
         this.previousStatus = previousStatus;
         this.newStatus = newStatus;
         this.occurredOn = occurredOn;
     }
 
+    @Override
+    public String getEventId() {
+        return eventId;
+    }
+
     public OrderId getOrderId() {
         return orderId;
     }
@@ -0,0 +1,93 @@
+package com.davidbadell.hexagonal.domain.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Bounded pool of canonical immutable values
+ * DDD Pattern: Flyweight for Value Objects
+ *
+ * Returns an instance equal to the requested key that is already in use,
+ * so that thousands of rehydrated orders of the same customer or product
+ * share one object instead of each holding a copy. The pool is a fixed
+ * table of weak references in which each key has two candidate slots: it
+ * never holds values alive, never grows, and when both slots are taken by
+ * live values of other keys the second one is replaced.
+ * Races between threads at worst create an extra, equal instance.
+ *
+ * Started with -Ddomain.canonical-pools=false every lookup creates a new
+ * value, which is the baseline for heap measurements.
+ *
+ * @param <K> lookup key, e.g. the string an identifier is built from
+ * @param <V> immutable value with value-based equality
+ */
+public final class CanonicalPool<K, V> {
+
+    static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("domain.canonical-pools", "true"));
+
+    private final AtomicReferenceArray<WeakReference<V>> slots;
+    private final int mask;
+    private final Function<? super K, ? extends V> factory;
+    private final Function<? super V, ? extends K> keyOf;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     * @param factory  creates the value for a key on a miss
+     * @param keyOf    the key a pooled value was created from
+     */
+    public CanonicalPool(int capacity, Function<? super K, ? extends V> factory,
+                         Function<? super V, ? extends K> keyOf) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.min(size, 1 << 30));
+        this.mask = slots.length() - 1;
+        this.factory = factory;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Canonical value for the key; null keys are not pooled
+     */
+    public V get(K key) {
+        if (key == null || !ENABLED) {
+            return factory.apply(key);
+        }
+        int hash = spread(key.hashCode());
+        int first = hash & mask;
+        int second = first ^ (((hash >>> 16) | 1) & mask);
+        V value = lookup(first, key);
+        if (value == null) {
+            value = lookup(second, key);
+        }
+        if (value != null) {
+            return value;
+        }
+        V created = factory.apply(key);
+        slots.lazySet(isFree(first) ? first : second, new WeakReference<>(created));
+        return created;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    private V lookup(int index, K key) {
+        WeakReference<V> reference = slots.get(index);
+        V value = reference == null ? null : reference.get();
+        return value != null && Objects.equals(keyOf.apply(value), key) ? value : null;
+    }
+
+    private boolean isFree(int index) {
+        WeakReference<V> reference = slots.get(index);
+        return reference == null || reference.get() == null;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -8,7 +8,11 @@ import java.util.UUID;
  * DDD Pattern: Value Object
  */
 public class CustomerId {
-    
+
+    // Orders of one customer share the instance when rehydrated in bulk
+    private static final CanonicalPool<String, CustomerId> POOL =
+            new CanonicalPool<>(8192, CustomerId::new, CustomerId::getValue);
+
     private final String value;
 
     public CustomerId(String value) {
@@ -22,8 +26,11 @@ public class CustomerId {
         return new CustomerId(UUID.randomUUID().toString());
     }
 
+    /**
+     * Returns an equal instance already in use when there is one
+     */
     public static CustomerId of(String value) {
-        return new CustomerId(value);
+        return POOL.get(value);
     }
 
     public String getValue() {
@@ -48,6 +48,14 @@ public class Money {
         return new Money(new BigDecimal(amount));
     }
 
+    public static Money ofCents(long cents) {
+        return new Money(BigDecimal.valueOf(cents, 2));
+    }
+
+    public static Money ofCents(long cents, Currency currency) {
+        return new Money(BigDecimal.valueOf(cents, 2), currency);
+    }
+
     /**
      * Add two monetary values
      */
@@ -123,6 +131,13 @@ public class Money {
         }
     }
 
+    /**
+     * The amount in cents, for arithmetic on whole numbers
+     */
+    public long toCents() {
+        return amount.unscaledValue().longValueExact();
+    }
+
     // Getters
     public BigDecimal getAmount() { return amount; }
     public Currency getCurrency() { return currency; }
@@ -8,6 +8,7 @@ import java.util.List;
 import com.davidbadell.hexagonal.domain.event.DomainEvent;
 import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
 import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
 import com.davidbadell.hexagonal.domain.exception.DomainException;
 
 /**
@@ -26,6 +27,7 @@ public class Order {
     private Money total;
     private final LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private final long version;
     
     private final List<DomainEvent> domainEvents;
 
@@ -37,12 +39,48 @@ public class Order {
         this.total = Money.ZERO;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        this.version = 0;
         this.domainEvents = new ArrayList<>();
         
         // Register creation event
         registerEvent(new OrderCreatedEvent(id, customerId, createdAt));
     }
 
+    private Order(OrderId id, CustomerId customerId, List<OrderLine> orderLines, OrderStatus status,
+                  LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        this.id = id;
+        this.customerId = customerId;
+        this.orderLines = new ArrayList<>(orderLines);
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.domainEvents = new ArrayList<>();
+        recalculateTotal();
+    }
+
+    /**
+     * Rebuild an order from persisted state
+     * No business rules are replayed and no domain events are registered.
+     */
+    public static Order reconstitute(OrderId id, CustomerId customerId, List<OrderLine> orderLines,
+                                     OrderStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return reconstitute(id, customerId, orderLines, status, createdAt, updatedAt, 0);
+    }
+
+    /**
+     * Rebuild an order from persisted state at a stored version
+     * No business rules are replayed and no domain events are registered.
+     */
+    public static Order reconstitute(OrderId id, CustomerId customerId, List<OrderLine> orderLines,
+                                     OrderStatus status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                     long version) {
+        if (id == null || customerId == null || status == null) {
+            throw new IllegalArgumentException("Id, customer and status are required to reconstitute an order");
+        }
+        return new Order(id, customerId, orderLines, status, createdAt, updatedAt, version);
+    }
+
     /**
      * Add an order line to the order
      * Business Rule: Can only add items to pending orders
@@ -73,6 +111,19 @@ public class Order {
         this.total = orderLines.stream()
                 .map(OrderLine::getSubtotal)
                 .reduce(Money.ZERO, Money::add);
+        refreshCreatedEvent();
+    }
+
+    /**
+     * Keep the total of a not yet published creation event up to date,
+     * lines being added after the order was created
+     */
+    private void refreshCreatedEvent() {
+        for (int i = 0; i < domainEvents.size(); i++) {
+            if (domainEvents.get(i) instanceof OrderCreatedEvent created) {
+                domainEvents.set(i, created.withTotal(total));
+            }
+        }
     }
 
     /**
@@ -86,8 +137,7 @@ public class Order {
         if (this.orderLines.isEmpty()) {
             throw new DomainException("Cannot confirm an empty order");
         }
-        this.status = OrderStatus.CONFIRMED;
-        this.updatedAt = LocalDateTime.now();
+        changeStatus(OrderStatus.CONFIRMED);
     }
 
     /**
@@ -98,8 +148,7 @@ public class Order {
         if (this.status != OrderStatus.CONFIRMED) {
             throw new DomainException("Only confirmed orders can be shipped");
         }
-        this.status = OrderStatus.SHIPPED;
-        this.updatedAt = LocalDateTime.now();
+        changeStatus(OrderStatus.SHIPPED);
     }
 
     /**
@@ -110,8 +159,7 @@ public class Order {
         if (this.status != OrderStatus.SHIPPED) {
             throw new DomainException("Only shipped orders can be delivered");
         }
-        this.status = OrderStatus.DELIVERED;
-        this.updatedAt = LocalDateTime.now();
+        changeStatus(OrderStatus.DELIVERED);
     }
 
     /**
@@ -125,11 +173,19 @@ public class Order {
         if (this.status == OrderStatus.CANCELLED) {
             throw new DomainException("Order is already cancelled");
         }
+        OrderStatus previousStatus = this.status;
         this.status = OrderStatus.CANCELLED;
         this.updatedAt = LocalDateTime.now();
         
         // Register cancellation event
-        registerEvent(new OrderCancelledEvent(id, LocalDateTime.now()));
+        registerEvent(new OrderCancelledEvent(id, updatedAt, null, previousStatus, total, createdAt));
+    }
+
+    private void changeStatus(OrderStatus newStatus) {
+        OrderStatus previousStatus = this.status;
+        this.status = newStatus;
+        this.updatedAt = LocalDateTime.now();
+        registerEvent(new OrderStatusChangedEvent(id, previousStatus, newStatus, updatedAt));
     }
 
     private void registerEvent(DomainEvent event) {
@@ -152,6 +208,8 @@ public class Order {
     public Money getTotal() { return total; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    // Stored version this order was loaded at, incremented by the database on every update
+    public long getVersion() { return version; }
 
     @Override
     public boolean equals(Object o) {
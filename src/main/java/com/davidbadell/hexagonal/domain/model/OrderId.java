@@ -1,6 +1,7 @@
 package com.davidbadell.hexagonal.domain.model;
 
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.UUID;
 
 /**
@@ -11,9 +12,15 @@ import java.util.UUID;
  * - Immutable
  * - Equality based on value, not identity
  * - Self-validating
+ *
+ * Identifiers generated for a sharded store carry the shard number as a
+ * prefix ("s3-..."), so lookups by id can go straight to the right shard.
  */
 public class OrderId {
     
+    private static final char SHARD_PREFIX = 's';
+    private static final char SHARD_SEPARATOR = '-';
+
     private final String value;
 
     public OrderId(String value) {
@@ -30,6 +37,16 @@ public class OrderId {
         return new OrderId(UUID.randomUUID().toString());
     }
 
+    /**
+     * Factory method to generate a new OrderId carrying a shard hint
+     */
+    public static OrderId generate(int shardHint) {
+        if (shardHint < 0) {
+            throw new IllegalArgumentException("Shard hint cannot be negative");
+        }
+        return new OrderId(String.valueOf(SHARD_PREFIX) + shardHint + SHARD_SEPARATOR + UUID.randomUUID());
+    }
+
     /**
      * Factory method to create OrderId from string
      */
@@ -41,6 +58,30 @@ public class OrderId {
         return value;
     }
 
+    /**
+     * Shard number embedded in the identifier, if any
+     *
+     * Not named as a getter, so that events serialized with Jackson do not
+     * carry it as a property.
+     */
+    public OptionalInt shardHint() {
+        if (value.length() < 3 || value.charAt(0) != SHARD_PREFIX) {
+            return OptionalInt.empty();
+        }
+        int hint = 0;
+        for (int i = 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == SHARD_SEPARATOR) {
+                return i > 1 ? OptionalInt.of(hint) : OptionalInt.empty();
+            }
+            if (c < '0' || c > '9' || i > 6) {
+                return OptionalInt.empty();
+            }
+            hint = hint * 10 + (c - '0');
+        }
+        return OptionalInt.empty();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,6 +1,7 @@
 package com.davidbadell.hexagonal.domain.model;
 
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * Entity representing a line item in an Order
@@ -9,7 +10,11 @@ import java.util.Objects;
  * OrderLine belongs to Order aggregate and cannot exist independently.
  */
 public class OrderLine {
-    
+
+    // Product names repeat across orders as much as product ids do
+    private static final CanonicalPool<String, String> PRODUCT_NAMES =
+            new CanonicalPool<>(4096, Function.identity(), Function.identity());
+
     private final ProductId productId;
     private final Quantity quantity;
     private final Money unitPrice;
@@ -27,7 +32,7 @@ public class OrderLine {
         }
         
         this.productId = productId;
-        this.productName = productName != null ? productName : "";
+        this.productName = productName != null ? PRODUCT_NAMES.get(productName) : "";
         this.quantity = quantity;
         this.unitPrice = unitPrice;
     }
@@ -8,7 +8,11 @@ import java.util.UUID;
  * DDD Pattern: Value Object
  */
 public class ProductId {
-    
+
+    // Orders of one product share the instance when rehydrated in bulk
+    private static final CanonicalPool<String, ProductId> POOL =
+            new CanonicalPool<>(4096, ProductId::new, ProductId::getValue);
+
     private final String value;
 
     public ProductId(String value) {
@@ -22,8 +26,11 @@ public class ProductId {
         return new ProductId(UUID.randomUUID().toString());
     }
 
+    /**
+     * Returns an equal instance already in use when there is one
+     */
     public static ProductId of(String value) {
-        return new ProductId(value);
+        return POOL.get(value);
     }
 
     public String getValue() {
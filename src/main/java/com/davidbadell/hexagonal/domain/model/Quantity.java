@@ -9,7 +9,17 @@ import java.util.Objects;
  * Self-validating: ensures quantity is always positive
  */
 public class Quantity {
-    
+
+    // Like Integer.valueOf: order lines almost always hold small quantities
+    private static final int CACHE_HIGH = 128;
+    private static final Quantity[] CACHE = new Quantity[CACHE_HIGH];
+
+    static {
+        for (int i = 0; i < CACHE_HIGH; i++) {
+            CACHE[i] = new Quantity(i + 1);
+        }
+    }
+
     private final int value;
 
     public Quantity(int value) {
@@ -19,7 +29,13 @@ public class Quantity {
         this.value = value;
     }
 
+    /**
+     * Returns a shared instance for quantities up to {@value #CACHE_HIGH}
+     */
     public static Quantity of(int value) {
+        if (value > 0 && value <= CACHE_HIGH && CanonicalPool.ENABLED) {
+            return CACHE[value - 1];
+        }
         return new Quantity(value);
     }
 
@@ -27,7 +43,7 @@ public class Quantity {
      * Add quantities
      */
     public Quantity add(Quantity other) {
-        return new Quantity(this.value + other.value);
+        return of(this.value + other.value);
     }
 
     /**
@@ -38,7 +54,7 @@ public class Quantity {
         if (result <= 0) {
             throw new IllegalArgumentException("Resulting quantity must be positive");
         }
-        return new Quantity(result);
+        return of(result);
     }
 
     public int getValue() {
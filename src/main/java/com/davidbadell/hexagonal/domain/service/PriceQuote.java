@@ -0,0 +1,57 @@
+package com.davidbadell.hexagonal.domain.service;
+
+import com.davidbadell.hexagonal.domain.model.Money;
+
+/**
+ * The price of one order: subtotal, discount, tax and shipping
+ * DDD Pattern: Value Object
+ */
+public final class PriceQuote {
+
+    private final long subtotalCents;
+    private final long discountCents;
+    private final long taxCents;
+    private final long shippingCents;
+    private final boolean meetsMinimum;
+
+    PriceQuote(long subtotalCents, long discountCents, long taxCents, long shippingCents, boolean meetsMinimum) {
+        this.subtotalCents = subtotalCents;
+        this.discountCents = discountCents;
+        this.taxCents = taxCents;
+        this.shippingCents = shippingCents;
+        this.meetsMinimum = meetsMinimum;
+    }
+
+    /**
+     * Subtotal after discount, plus tax; shipping not included
+     */
+    public Money getFinalPrice() {
+        return Money.ofCents(getFinalPriceCents());
+    }
+
+    /**
+     * Final price plus shipping
+     */
+    public Money getTotal() {
+        return Money.ofCents(getTotalCents());
+    }
+
+    public Money getSubtotal() { return Money.ofCents(subtotalCents); }
+    public Money getDiscount() { return Money.ofCents(discountCents); }
+    public Money getTax() { return Money.ofCents(taxCents); }
+    public Money getShipping() { return Money.ofCents(shippingCents); }
+    public boolean meetsMinimum() { return meetsMinimum; }
+
+    public long getSubtotalCents() { return subtotalCents; }
+    public long getDiscountCents() { return discountCents; }
+    public long getTaxCents() { return taxCents; }
+    public long getShippingCents() { return shippingCents; }
+    public long getFinalPriceCents() { return subtotalCents - discountCents + taxCents; }
+    public long getTotalCents() { return getFinalPriceCents() + shippingCents; }
+
+    @Override
+    public String toString() {
+        return "PriceQuote{subtotal=" + getSubtotal() + ", discount=" + getDiscount() + ", tax=" + getTax()
+                + ", shipping=" + getShipping() + "}";
+    }
+}
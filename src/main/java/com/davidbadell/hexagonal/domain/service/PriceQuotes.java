@@ -0,0 +1,59 @@
+package com.davidbadell.hexagonal.domain.service;
+
+/**
+ * The prices of a batch of orders, in the order they were given
+ * DDD Pattern: Value Object
+ *
+ * One array per figure rather than one quote per order, so a large batch
+ * is a handful of allocations; {@link #get(int)} builds a single quote on demand.
+ */
+public final class PriceQuotes {
+
+    private final long[] subtotals;
+    private final long[] discounts;
+    private final long[] taxes;
+    private final long[] shipping;
+    private final long minimumCents;
+
+    PriceQuotes(long[] subtotals, long[] discounts, long[] taxes, long[] shipping, long minimumCents) {
+        this.subtotals = subtotals;
+        this.discounts = discounts;
+        this.taxes = taxes;
+        this.shipping = shipping;
+        this.minimumCents = minimumCents;
+    }
+
+    public int size() {
+        return subtotals.length;
+    }
+
+    public PriceQuote get(int index) {
+        return new PriceQuote(subtotals[index], discounts[index], taxes[index], shipping[index],
+                meetsMinimum(index));
+    }
+
+    public long getSubtotalCents(int index) { return subtotals[index]; }
+    public long getDiscountCents(int index) { return discounts[index]; }
+    public long getTaxCents(int index) { return taxes[index]; }
+    public long getShippingCents(int index) { return shipping[index]; }
+    public boolean meetsMinimum(int index) { return subtotals[index] >= minimumCents; }
+
+    public long getFinalPriceCents(int index) {
+        return subtotals[index] - discounts[index] + taxes[index];
+    }
+
+    public long getTotalCents(int index) {
+        return getFinalPriceCents(index) + shipping[index];
+    }
+
+    /**
+     * Final prices plus shipping of the whole batch
+     */
+    public long sumTotalCents() {
+        long sum = 0;
+        for (int i = 0; i < subtotals.length; i++) {
+            sum += getTotalCents(i);
+        }
+        return sum;
+    }
+}
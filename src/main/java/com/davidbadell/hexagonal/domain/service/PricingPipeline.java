@@ -0,0 +1,216 @@
+package com.davidbadell.hexagonal.domain.service;
+
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled pricing rules
+ * DDD Pattern: Domain Service
+ *
+ * Built once from {@link PricingRules} and immutable afterwards. Amounts are
+ * held in cents and rates in millionths, with tiers and bands sorted into
+ * plain arrays, so pricing an order is a few long multiplications and array
+ * scans instead of a chain of BigDecimal and Money instances. Rounding is
+ * half up to the cent, exactly as {@link Money} rounds.
+ *
+ * {@link #quoteAll(List, String)} prices many orders of one region at once
+ * into column arrays, without a quote object per order.
+ */
+public final class PricingPipeline {
+
+    private static final long RATE_SCALE = 1_000_000L;
+    private static final int DEFAULT_REGION = 0;
+
+    private final Map<String, Integer> regionIndexes;
+    private final long[] taxRates;
+    private final long[] discountOver;
+    private final long[] discountRates;
+    private final long[] shippingUpTo;
+    private final long[] shippingCosts;
+    private final long minimumCents;
+
+    PricingPipeline(PricingRules rules) {
+        Map<String, BigDecimal> regional = rules.getRegionalTaxRates();
+        this.regionIndexes = new HashMap<>();
+        this.taxRates = new long[regional.size() + 1];
+        this.taxRates[DEFAULT_REGION] = rate(rules.getDefaultTaxRate(), "Default tax rate", false);
+        int index = 1;
+        for (Map.Entry<String, BigDecimal> entry : regional.entrySet()) {
+            regionIndexes.put(entry.getKey(), index);
+            taxRates[index++] = rate(entry.getValue(), "Tax rate of " + entry.getKey(), false);
+        }
+
+        PricingRules.DiscountTier[] tiers = rules.getDiscountTiers().toArray(new PricingRules.DiscountTier[0]);
+        Arrays.sort(tiers, Comparator.comparing(PricingRules.DiscountTier::getOver));
+        this.discountOver = new long[tiers.length];
+        this.discountRates = new long[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            discountOver[i] = cents(tiers[i].getOver(), "Discount threshold");
+            discountRates[i] = rate(tiers[i].getRate(), "Discount rate", true);
+            if (i > 0 && discountOver[i] == discountOver[i - 1]) {
+                throw new IllegalArgumentException("Two discount tiers start over " + tiers[i].getOver());
+            }
+        }
+
+        PricingRules.ShippingBand[] bands = rules.getShippingBands().toArray(new PricingRules.ShippingBand[0]);
+        Arrays.sort(bands, Comparator.comparing(PricingRules.ShippingBand::getUpTo));
+        this.shippingUpTo = new long[bands.length];
+        this.shippingCosts = new long[bands.length];
+        for (int i = 0; i < bands.length; i++) {
+            shippingUpTo[i] = cents(bands[i].getUpTo(), "Shipping band");
+            shippingCosts[i] = cents(bands[i].getCost(), "Shipping cost");
+            if (i > 0 && shippingUpTo[i] == shippingUpTo[i - 1]) {
+                throw new IllegalArgumentException("Two shipping bands end at " + bands[i].getUpTo());
+            }
+        }
+
+        this.minimumCents = cents(rules.getMinimumOrderAmount(), "Minimum order amount");
+    }
+
+    /**
+     * The index of a region's tax rate; regions without a rate of their own
+     * use the default one
+     */
+    public int regionIndex(String region) {
+        if (region == null) {
+            return DEFAULT_REGION;
+        }
+        return regionIndexes.getOrDefault(region, DEFAULT_REGION);
+    }
+
+    /**
+     * Price an order with the default tax rate
+     */
+    public PriceQuote quote(Order order) {
+        return quote(order.getTotal().toCents(), DEFAULT_REGION);
+    }
+
+    /**
+     * Price an order shipped to a region
+     */
+    public PriceQuote quote(Order order, String region) {
+        return quote(order.getTotal().toCents(), regionIndex(region));
+    }
+
+    /**
+     * Price a subtotal in cents with the tax rate at a region index
+     */
+    public PriceQuote quote(long subtotalCents, int region) {
+        long discount = discountCents(subtotalCents);
+        return new PriceQuote(subtotalCents, discount, taxCents(subtotalCents - discount, region),
+                shippingCents(subtotalCents), subtotalCents >= minimumCents);
+    }
+
+    /**
+     * Price orders shipped to one region
+     */
+    public PriceQuotes quoteAll(List<Order> orders, String region) {
+        long[] subtotals = new long[orders.size()];
+        for (int i = 0; i < subtotals.length; i++) {
+            subtotals[i] = orders.get(i).getTotal().toCents();
+        }
+        return price(subtotals, taxRates[regionIndex(region)]);
+    }
+
+    /**
+     * Price subtotals in cents shipped to one region
+     */
+    public PriceQuotes quoteAll(long[] subtotalCents, String region) {
+        return price(subtotalCents.clone(), taxRates[regionIndex(region)]);
+    }
+
+    private PriceQuotes price(long[] subtotalCents, long taxRate) {
+        int size = subtotalCents.length;
+        long[] discounts = new long[size];
+        long[] taxes = new long[size];
+        long[] shipping = new long[size];
+        for (int i = 0; i < size; i++) {
+            long subtotal = subtotalCents[i];
+            long discount = discountCents(subtotal);
+            discounts[i] = discount;
+            taxes[i] = applyRate(subtotal - discount, taxRate);
+            shipping[i] = shippingCents(subtotal);
+        }
+        return new PriceQuotes(subtotalCents, discounts, taxes, shipping, minimumCents);
+    }
+
+    /**
+     * The discount on a subtotal: the rate of the highest tier it is over
+     */
+    public long discountCents(long subtotalCents) {
+        for (int i = discountOver.length - 1; i >= 0; i--) {
+            if (subtotalCents > discountOver[i]) {
+                return applyRate(subtotalCents, discountRates[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The tax on an amount with the tax rate at a region index
+     */
+    public long taxCents(long amountCents, int region) {
+        return applyRate(amountCents, taxRates[region]);
+    }
+
+    /**
+     * The shipping cost of the first band a subtotal is within; free past the last band
+     */
+    public long shippingCents(long subtotalCents) {
+        for (int i = 0; i < shippingUpTo.length; i++) {
+            if (subtotalCents <= shippingUpTo[i]) {
+                return shippingCosts[i];
+            }
+        }
+        return 0;
+    }
+
+    public boolean meetsMinimum(long subtotalCents) {
+        return subtotalCents >= minimumCents;
+    }
+
+    /**
+     * cents * rate / 1e6, rounded half up (away from zero) like BigDecimal
+     */
+    private static long applyRate(long cents, long rate) {
+        long product;
+        try {
+            product = Math.multiplyExact(cents, rate);
+        } catch (ArithmeticException overflow) {
+            return BigDecimal.valueOf(cents).multiply(BigDecimal.valueOf(rate))
+                    .divide(BigDecimal.valueOf(RATE_SCALE), 0, RoundingMode.HALF_UP).longValueExact();
+        }
+        long half = RATE_SCALE / 2;
+        return product >= 0 ? (product + half) / RATE_SCALE : -((half - product) / RATE_SCALE);
+    }
+
+    private static long rate(BigDecimal rate, String name, boolean atMostOne) {
+        if (rate == null || rate.signum() < 0 || (atMostOne && rate.compareTo(BigDecimal.ONE) > 0)) {
+            throw new IllegalArgumentException(name + " is out of range: " + rate);
+        }
+        try {
+            return rate.movePointRight(6).setScale(0, RoundingMode.UNNECESSARY).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(name + " has more than 6 decimals: " + rate);
+        }
+    }
+
+    private static long cents(BigDecimal amount, String name) {
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException(name + " is out of range: " + amount);
+        }
+        try {
+            return amount.movePointRight(2).setScale(0, RoundingMode.UNNECESSARY).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(name + " is not a whole number of cents: " + amount);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.davidbadell.hexagonal.domain.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pricing rules: tax by region, discount tiers, shipping bands and the minimum order
+ * DDD Pattern: Value Object
+ *
+ * A plain description of how orders are priced, as read from configuration.
+ * Rules are not evaluated directly: {@link #compile()} turns them into a
+ * {@link PricingPipeline} that prices orders with precomputed constants.
+ */
+public class PricingRules {
+
+    private final BigDecimal defaultTaxRate;
+    private final Map<String, BigDecimal> regionalTaxRates;
+    private final List<DiscountTier> discountTiers;
+    private final List<ShippingBand> shippingBands;
+    private final BigDecimal minimumOrderAmount;
+
+    private PricingRules(Builder builder) {
+        this.defaultTaxRate = builder.defaultTaxRate;
+        this.regionalTaxRates = Collections.unmodifiableMap(new LinkedHashMap<>(builder.regionalTaxRates));
+        this.discountTiers = List.copyOf(builder.discountTiers);
+        this.shippingBands = List.copyOf(builder.shippingBands);
+        this.minimumOrderAmount = builder.minimumOrderAmount;
+    }
+
+    /**
+     * The rules orders have always been priced with:
+     * 21% VAT, 10% off orders over $100, $5.99 shipping up to $50 and a $10 minimum
+     */
+    public static PricingRules defaults() {
+        return builder()
+                .defaultTaxRate(new BigDecimal("0.21"))
+                .discountTier(new BigDecimal("100.00"), new BigDecimal("0.10"))
+                .shippingBand(new BigDecimal("50.00"), new BigDecimal("5.99"))
+                .minimumOrderAmount(new BigDecimal("10.00"))
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compile the rules into an immutable evaluator
+     *
+     * @throws IllegalArgumentException if a rule is out of range
+     */
+    public PricingPipeline compile() {
+        return new PricingPipeline(this);
+    }
+
+    public BigDecimal getDefaultTaxRate() { return defaultTaxRate; }
+    public Map<String, BigDecimal> getRegionalTaxRates() { return regionalTaxRates; }
+    public List<DiscountTier> getDiscountTiers() { return discountTiers; }
+    public List<ShippingBand> getShippingBands() { return shippingBands; }
+    public BigDecimal getMinimumOrderAmount() { return minimumOrderAmount; }
+
+    /**
+     * A discount rate for orders whose subtotal is over an amount
+     */
+    public static class DiscountTier {
+        private final BigDecimal over;
+        private final BigDecimal rate;
+
+        public DiscountTier(BigDecimal over, BigDecimal rate) {
+            this.over = over;
+            this.rate = rate;
+        }
+
+        public BigDecimal getOver() { return over; }
+        public BigDecimal getRate() { return rate; }
+    }
+
+    /**
+     * A shipping cost for orders whose subtotal is up to an amount;
+     * orders over the last band ship for free
+     */
+    public static class ShippingBand {
+        private final BigDecimal upTo;
+        private final BigDecimal cost;
+
+        public ShippingBand(BigDecimal upTo, BigDecimal cost) {
+            this.upTo = upTo;
+            this.cost = cost;
+        }
+
+        public BigDecimal getUpTo() { return upTo; }
+        public BigDecimal getCost() { return cost; }
+    }
+
+    public static class Builder {
+        private BigDecimal defaultTaxRate = BigDecimal.ZERO;
+        private final Map<String, BigDecimal> regionalTaxRates = new LinkedHashMap<>();
+        private final List<DiscountTier> discountTiers = new ArrayList<>();
+        private final List<ShippingBand> shippingBands = new ArrayList<>();
+        private BigDecimal minimumOrderAmount = BigDecimal.ZERO;
+
+        public Builder defaultTaxRate(BigDecimal rate) {
+            this.defaultTaxRate = rate;
+            return this;
+        }
+
+        public Builder regionalTaxRate(String region, BigDecimal rate) {
+            this.regionalTaxRates.put(region, rate);
+            return this;
+        }
+
+        public Builder discountTier(BigDecimal over, BigDecimal rate) {
+            this.discountTiers.add(new DiscountTier(over, rate));
+            return this;
+        }
+
+        public Builder shippingBand(BigDecimal upTo, BigDecimal cost) {
+            this.shippingBands.add(new ShippingBand(upTo, cost));
+            return this;
+        }
+
+        public Builder minimumOrderAmount(BigDecimal amount) {
+            this.minimumOrderAmount = amount;
+            return this;
+        }
+
+        public PricingRules build() {
+            return new PricingRules(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.cli;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reports how long the CLI took to become ready for its first command
+ * Infrastructure Layer: CLI
+ *
+ * The shell runs its command right after the context has started, so the
+ * JVM uptime at that point is the cold-start cost a user pays before any
+ * work happens. scripts/cli-startup.sh collects it over several runs.
+ */
+@Component
+@Profile("cli")
+public class CliStartupReporter implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CliStartupReporter.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        logger.info("CLI ready for first command after {} ms (JVM start), context started in {} ms",
+                uptimeMillis, event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis());
+    }
+}
@@ -3,22 +3,33 @@ package com.davidbadell.hexagonal.infrastructure.adapter.in.cli;
 import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
 import com.davidbadell.hexagonal.application.dto.OrderQuery;
 import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.RepricingCheckpoint;
 import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
 import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
 import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+import com.davidbadell.hexagonal.application.port.in.RepriceOrdersUseCase;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing.ImportReport;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing.OrderFileImporter;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecorder;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * CLI Adapter using Spring Shell
  * Hexagonal Architecture: Input Adapter (Driving Adapter)
  * 
  * This adapter exposes the application use cases via command line.
+ * Each command records the bytes it allocates on the shell thread when
+ * allocation accounting is enabled.
  */
 @ShellComponent
 public class OrderCLI {
@@ -26,13 +37,34 @@ public class OrderCLI {
     private final CreateOrderUseCase createOrderUseCase;
     private final GetOrderUseCase getOrderUseCase;
     private final CancelOrderUseCase cancelOrderUseCase;
+    private final OrderFileImporter orderFileImporter;
+    private final RepriceOrdersUseCase repriceOrdersUseCase;
+    private final AllocationRecorder allocations;
+    private final AllocationRecorder.Histogram createAllocations;
+    private final AllocationRecorder.Histogram getAllocations;
+    private final AllocationRecorder.Histogram listAllocations;
+    private final AllocationRecorder.Histogram cancelAllocations;
+    private final AllocationRecorder.Histogram importAllocations;
+    private final AllocationRecorder.Histogram repriceAllocations;
 
     public OrderCLI(CreateOrderUseCase createOrderUseCase,
                    GetOrderUseCase getOrderUseCase,
-                   CancelOrderUseCase cancelOrderUseCase) {
+                   CancelOrderUseCase cancelOrderUseCase,
+                   OrderFileImporter orderFileImporter,
+                   RepriceOrdersUseCase repriceOrdersUseCase,
+                   ObjectProvider<AllocationRecorder> allocationRecorder) {
         this.createOrderUseCase = createOrderUseCase;
         this.getOrderUseCase = getOrderUseCase;
         this.cancelOrderUseCase = cancelOrderUseCase;
+        this.orderFileImporter = orderFileImporter;
+        this.repriceOrdersUseCase = repriceOrdersUseCase;
+        this.allocations = allocationRecorder.getIfAvailable(() -> AllocationRecorder.NONE);
+        this.createAllocations = allocations.histogram(AllocationRecorder.COMMAND, "order create");
+        this.getAllocations = allocations.histogram(AllocationRecorder.COMMAND, "order get");
+        this.listAllocations = allocations.histogram(AllocationRecorder.COMMAND, "order list");
+        this.cancelAllocations = allocations.histogram(AllocationRecorder.COMMAND, "order cancel");
+        this.importAllocations = allocations.histogram(AllocationRecorder.COMMAND, "order import");
+        this.repriceAllocations = allocations.histogram(AllocationRecorder.COMMAND, "order reprice");
     }
 
     /**
@@ -45,9 +77,14 @@ public class OrderCLI {
             @ShellOption(value = "--name", help = "Product name", defaultValue = "Product") String productName,
             @ShellOption(value = "--quantity", help = "Quantity", defaultValue = "1") int quantity,
             @ShellOption(value = "--price", help = "Unit price", defaultValue = "10.00") String price) {
-        
+        return recordAllocations(createAllocations, () -> create(customerId, productId, productName,
+                quantity, new BigDecimal(price)));
+    }
+
+    private String create(String customerId, String productId, String productName, int quantity,
+                          BigDecimal price) {
         CreateOrderCommand.OrderItemCommand item = new CreateOrderCommand.OrderItemCommand(
-                productId, productName, quantity, new BigDecimal(price)
+                productId, productName, quantity, price
         );
         
         CreateOrderCommand command = new CreateOrderCommand(customerId, List.of(item));
@@ -61,9 +98,9 @@ public class OrderCLI {
      */
     @ShellMethod(value = "Get an order by ID", key = "order get")
     public String getOrder(@ShellOption(value = "--id", help = "Order ID") String orderId) {
-        return getOrderUseCase.getOrderById(orderId)
+        return recordAllocations(getAllocations, () -> getOrderUseCase.getOrderById(orderId)
                 .map(this::formatOrderResponse)
-                .orElse("Order not found: " + orderId);
+                .orElse("Order not found: " + orderId));
     }
 
     /**
@@ -73,12 +110,13 @@ public class OrderCLI {
     public String listOrders(
             @ShellOption(value = "--customer", help = "Filter by customer ID", defaultValue = "") String customerId,
             @ShellOption(value = "--status", help = "Filter by status", defaultValue = "") String status) {
-        
-        OrderQuery query = OrderQuery.builder()
+        return recordAllocations(listAllocations, () -> list(OrderQuery.builder()
                 .customerId(customerId.isEmpty() ? null : customerId)
                 .status(status.isEmpty() ? null : status)
-                .build();
-        
+                .build()));
+    }
+
+    private String list(OrderQuery query) {
         List<OrderResponse> orders = getOrderUseCase.queryOrders(query);
         
         if (orders.isEmpty()) {
@@ -101,15 +139,72 @@ public class OrderCLI {
     public String cancelOrder(
             @ShellOption(value = "--id", help = "Order ID") String orderId,
             @ShellOption(value = "--reason", help = "Cancellation reason", defaultValue = "") String reason) {
-        
+        return recordAllocations(cancelAllocations, () -> cancel(orderId, reason.isEmpty() ? null : reason));
+    }
+
+    private String cancel(String orderId, String reason) {
         try {
-            OrderResponse response = cancelOrderUseCase.cancelOrder(orderId, reason.isEmpty() ? null : reason);
+            OrderResponse response = cancelOrderUseCase.cancelOrder(orderId, reason);
             return "Order cancelled successfully:\n" + formatOrderResponse(response);
         } catch (Exception e) {
             return "Error cancelling order: " + e.getMessage();
         }
     }
 
+    /**
+     * Bulk import orders from an NDJSON or CSV file
+     */
+    @ShellMethod(value = "Import orders from an NDJSON or CSV file", key = "order import")
+    public String importOrders(
+            @ShellOption(value = "--file", help = "Path to a .ndjson/.jsonl or .csv file") String file,
+            @ShellOption(value = "--errors", help = "Error file (default: <file>.errors)", defaultValue = "") String errors) {
+        return recordAllocations(importAllocations, () -> importFile(file, errors));
+    }
+
+    private String importFile(String file, String errors) {
+        Path source = Path.of(file);
+        Path errorFile = errors.isEmpty() ? Path.of(file + ".errors") : Path.of(errors);
+        try {
+            ImportReport report = orderFileImporter.importFile(source, errorFile);
+            StringBuilder sb = new StringBuilder();
+            sb.append("Import finished: ").append(report);
+            if (report.getErrorFile() != null) {
+                sb.append("\nRejected records written to ").append(report.getErrorFile());
+            }
+            return sb.toString();
+        } catch (IOException | RuntimeException e) {
+            return "Error importing orders: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Reprice all pending orders with the current pricing rules
+     */
+    @ShellMethod(value = "Reprice pending orders with the current pricing rules", key = "order reprice")
+    public String repriceOrders(
+            @ShellOption(value = "--restart", help = "Start over instead of resuming an unfinished run",
+                    defaultValue = "false") boolean restart) {
+        return recordAllocations(repriceAllocations, () -> reprice(restart));
+    }
+
+    private String reprice(boolean restart) {
+        try {
+            RepricingCheckpoint result = repriceOrdersUseCase.repriceOrders(restart);
+            return "Repricing finished: " + result;
+        } catch (RuntimeException e) {
+            return "Error repricing orders: " + e.getMessage();
+        }
+    }
+
+    private String recordAllocations(AllocationRecorder.Histogram histogram, Supplier<String> command) {
+        AllocationRecorder.Sample sample = allocations.start();
+        try {
+            return command.get();
+        } finally {
+            sample.stop(histogram);
+        }
+    }
+
     private String formatOrderResponse(OrderResponse order) {
         StringBuilder sb = new StringBuilder();
         sb.append("┌─────────────────────────────────────────┐\n");
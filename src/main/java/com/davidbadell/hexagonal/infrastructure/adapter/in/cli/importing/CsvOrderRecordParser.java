@@ -0,0 +1,161 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parser for CSV files with a header row, one order line per row
+ * Infrastructure Layer: Bulk Import
+ *
+ * Required columns: customer_id, product_id, quantity, price. Optional:
+ * order_id, product_name, created_at, status. Rows sharing an order_id
+ * must be adjacent and form one order; rows without one are single-line
+ * orders. Fields may be quoted with double quotes.
+ */
+public class CsvOrderRecordParser implements OrderRecordParser {
+
+    private final int orderId;
+    private final int customerId;
+    private final int createdAt;
+    private final int status;
+    private final int productId;
+    private final int productName;
+    private final int quantity;
+    private final int price;
+
+    public CsvOrderRecordParser(String headerLine) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = split(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalize(header.get(i)), i);
+        }
+        this.orderId = columns.getOrDefault("orderid", -1);
+        this.customerId = required(columns, "customerid");
+        this.createdAt = columns.getOrDefault("createdat", -1);
+        this.status = columns.getOrDefault("status", -1);
+        this.productId = required(columns, "productid");
+        this.productName = columns.getOrDefault("productname", -1);
+        this.quantity = required(columns, "quantity");
+        this.price = required(columns, "price");
+    }
+
+    @Override
+    public String groupKey(String line) {
+        if (orderId < 0) {
+            return null;
+        }
+        String key = field(split(line), orderId);
+        return key == null || key.isEmpty() ? null : key;
+    }
+
+    @Override
+    public ImportOrderCommand parse(long firstLine, List<String> lines) {
+        List<String> first = split(lines.get(0));
+        List<CreateOrderCommand.OrderItemCommand> items = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            List<String> row = i == 0 ? first : split(lines.get(i));
+            items.add(new CreateOrderCommand.OrderItemCommand(
+                    field(row, productId),
+                    field(row, productName),
+                    parseInt(field(row, quantity)),
+                    parseDecimal(field(row, price))));
+        }
+        return new ImportOrderCommand(firstLine, field(first, orderId), field(first, customerId),
+                parseDateTime(field(first, createdAt)), field(first, status), items);
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString().trim());
+        return fields;
+    }
+
+    private static String field(List<String> row, int index) {
+        if (index < 0 || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int parseInt(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Quantity is required");
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid quantity: " + value);
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Price is required");
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid created_at: " + value);
+        }
+    }
+
+    private static String normalize(String column) {
+        return column.replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static int required(Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Missing required CSV column: " + name);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,40 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Summary of a file import
+ */
+public class ImportReport {
+
+    private final long records;
+    private final long imported;
+    private final long rejected;
+    private final Duration elapsed;
+    private final Path errorFile;
+
+    public ImportReport(long records, long imported, long rejected, Duration elapsed, Path errorFile) {
+        this.records = records;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsed = elapsed;
+        this.errorFile = errorFile;
+    }
+
+    public long getRecords() { return records; }
+    public long getImported() { return imported; }
+    public long getRejected() { return rejected; }
+    public Duration getElapsed() { return elapsed; }
+    public Path getErrorFile() { return errorFile; }
+
+    public double getRecordsPerSecond() {
+        return records / Math.max(0.001, elapsed.toNanos() / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records, %d imported, %d rejected in %.1fs (%.0f records/s)",
+                records, imported, rejected, elapsed.toMillis() / 1000.0, getRecordsPerSecond());
+    }
+}
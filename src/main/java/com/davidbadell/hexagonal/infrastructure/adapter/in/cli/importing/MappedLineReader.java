@@ -0,0 +1,98 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Line reader over a memory-mapped file
+ * Infrastructure Layer: Bulk Import
+ *
+ * The file is mapped one region at a time; a line crossing the end of a
+ * region is re-read at the start of the next one, so only the bytes of the
+ * current line are ever copied onto the heap.
+ */
+public final class MappedLineReader {
+
+    /**
+     * Receives each line with its 1-based line number
+     */
+    @FunctionalInterface
+    public interface LineHandler {
+        void onLine(long lineNumber, String line);
+    }
+
+    private static final int DEFAULT_REGION_SIZE = 32 * 1024 * 1024;
+
+    private final int regionSize;
+    private byte[] lineBuffer = new byte[1024];
+    private long lineNumber;
+
+    public MappedLineReader() {
+        this(DEFAULT_REGION_SIZE);
+    }
+
+    public MappedLineReader(int regionSize) {
+        if (regionSize <= 0) {
+            throw new IllegalArgumentException("Region size must be positive");
+        }
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * Read every line of the file in order
+     *
+     * @return the number of lines read
+     */
+    public long read(Path file, LineHandler handler) throws IOException {
+        lineNumber = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(regionSize, size - position);
+                boolean lastRegion = position + length == size;
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int start = 0;
+                for (int i = 0; i < length; i++) {
+                    if (region.get(i) == '\n') {
+                        emit(region, start, i, handler);
+                        start = i + 1;
+                    }
+                }
+                if (lastRegion) {
+                    if (start < length) {
+                        emit(region, start, length, handler);
+                    }
+                    position = size;
+                } else if (start == 0) {
+                    throw new IOException("Line " + (lineNumber + 1) + " is longer than " + regionSize + " bytes");
+                } else {
+                    position += start;
+                }
+            }
+        }
+        return lineNumber;
+    }
+
+    private void emit(MappedByteBuffer region, int start, int end, LineHandler handler) {
+        if (end > start && region.get(end - 1) == '\r') {
+            end--;
+        }
+        int length = end - start;
+        if (lineBuffer.length < length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+        region.get(start, lineBuffer, 0, length);
+        int offset = 0;
+        if (++lineNumber == 1 && length >= 3
+                && lineBuffer[0] == (byte) 0xEF && lineBuffer[1] == (byte) 0xBB && lineBuffer[2] == (byte) 0xBF) {
+            offset = 3;
+        }
+        handler.onLine(lineNumber, new String(lineBuffer, offset, length - offset, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,74 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser for newline-delimited JSON: one order object per line
+ * Infrastructure Layer: Bulk Import
+ *
+ * <pre>{"orderId":"...","customerId":"C1","createdAt":"2023-05-01T10:00:00","status":"DELIVERED",
+ *  "items":[{"productId":"P1","productName":"Widget","quantity":2,"price":9.99}]}</pre>
+ * Only customerId and items are required.
+ */
+public class NdjsonOrderRecordParser implements OrderRecordParser {
+
+    private final ObjectReader reader;
+
+    public NdjsonOrderRecordParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(JsonOrder.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public String groupKey(String line) {
+        return null;
+    }
+
+    @Override
+    public ImportOrderCommand parse(long firstLine, List<String> lines) {
+        JsonOrder order;
+        try {
+            order = reader.readValue(lines.get(0));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        List<CreateOrderCommand.OrderItemCommand> items = new ArrayList<>();
+        if (order.items != null) {
+            for (JsonItem item : order.items) {
+                if (item.quantity == null) {
+                    throw new IllegalArgumentException("Item quantity is required");
+                }
+                items.add(new CreateOrderCommand.OrderItemCommand(
+                        item.productId, item.productName, item.quantity, item.price));
+            }
+        }
+        return new ImportOrderCommand(firstLine, order.orderId, order.customerId, order.createdAt,
+                order.status, items);
+    }
+
+    static class JsonOrder {
+        public String orderId;
+        public String customerId;
+        public LocalDateTime createdAt;
+        public String status;
+        public List<JsonItem> items;
+    }
+
+    static class JsonItem {
+        public String productId;
+        public String productName;
+        public Integer quantity;
+        public BigDecimal price;
+    }
+}
@@ -0,0 +1,305 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing;
+
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportResult;
+import com.davidbadell.hexagonal.application.port.in.ImportOrdersUseCase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Streaming bulk importer for order files
+ * Infrastructure Layer: Bulk Import
+ *
+ * The calling thread reads the file through {@link MappedLineReader} and
+ * cuts it into batches of records; a fixed pool of workers parses each
+ * batch and hands it to the ImportOrdersUseCase. At most
+ * {@code maxPendingBatches} batches are in flight, so memory stays bounded
+ * whatever the file size. Rejected records are written with their line
+ * number and reason to an error file next to the input.
+ */
+public class OrderFileImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderFileImporter.class);
+
+    private final ImportOrdersUseCase importOrdersUseCase;
+    private final ObjectMapper objectMapper;
+    private final int workers;
+    private final int batchSize;
+    private final int maxPendingBatches;
+    private final Duration progressInterval;
+
+    public OrderFileImporter(ImportOrdersUseCase importOrdersUseCase, ObjectMapper objectMapper,
+                             int workers, int batchSize, int maxPendingBatches, Duration progressInterval) {
+        if (workers <= 0 || batchSize <= 0 || maxPendingBatches <= 0) {
+            throw new IllegalArgumentException("Workers, batch size and pending batches must be positive");
+        }
+        this.importOrdersUseCase = importOrdersUseCase;
+        this.objectMapper = objectMapper;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxPendingBatches = maxPendingBatches;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Import a .ndjson/.jsonl or .csv file
+     *
+     * @param file the file to import
+     * @param errorFile where rejected records are written; deleted if there are none
+     */
+    public ImportReport importFile(Path file, Path errorFile) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Not a file: " + file);
+        }
+        boolean csv = isCsv(file);
+        long startNanos = System.nanoTime();
+        Counters counters = new Counters();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, daemonThreads("order-import"));
+        ScheduledExecutorService reporter =
+                Executors.newSingleThreadScheduledExecutor(daemonThreads("order-import-progress"));
+        Semaphore pending = new Semaphore(maxPendingBatches);
+        try (BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+            ErrorSink errorSink = new ErrorSink(errors, counters);
+            reporter.scheduleAtFixedRate(() -> logProgress(file, counters, startNanos),
+                    progressInterval.toMillis(), progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+            BatchingHandler handler = new BatchingHandler(csv,
+                    batch -> submit(batch, pool, pending, errorSink, counters));
+            new MappedLineReader().read(file, handler);
+            handler.flush();
+
+            pending.acquireUninterruptibly(maxPendingBatches);
+            errorSink.rethrowIfFailed();
+        } finally {
+            reporter.shutdownNow();
+            pool.shutdownNow();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        ImportReport report = new ImportReport(counters.records.get(), counters.imported.get(),
+                counters.failed.get(), elapsed, counters.failed.get() > 0 ? errorFile : null);
+        if (report.getErrorFile() == null) {
+            Files.deleteIfExists(errorFile);
+        }
+        logger.info("Import of {} finished: {}", file, report);
+        return report;
+    }
+
+    private void submit(List<RawRecord> batch, ExecutorService pool, Semaphore pending,
+                        ErrorSink errorSink, Counters counters) {
+        pending.acquireUninterruptibly();
+        pool.execute(() -> {
+            try {
+                importBatch(batch, errorSink, counters);
+            } catch (RuntimeException e) {
+                logger.warn("Import batch starting at line {} failed", batch.get(0).firstLine, e);
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    private void importBatch(List<RawRecord> batch, ErrorSink errorSink, Counters counters) {
+        List<ImportOrderCommand> commands = new ArrayList<>(batch.size());
+        Map<Long, RawRecord> byLine = new HashMap<>(batch.size() * 2);
+        for (RawRecord record : batch) {
+            byLine.put(record.firstLine, record);
+            try {
+                commands.add(record.parser.parse(record.firstLine, record.lines));
+            } catch (RuntimeException e) {
+                errorSink.reject(record, e.getMessage());
+            }
+        }
+        counters.records.addAndGet(batch.size());
+        if (commands.isEmpty()) {
+            return;
+        }
+        ImportResult result;
+        try {
+            result = importOrdersUseCase.importOrders(commands);
+        } catch (RuntimeException e) {
+            for (ImportOrderCommand command : commands) {
+                errorSink.reject(byLine.get(command.getRecordNumber()), e.getMessage());
+            }
+            return;
+        }
+        counters.imported.addAndGet(result.getImported());
+        for (ImportResult.RecordError error : result.getErrors()) {
+            errorSink.reject(byLine.get(error.getRecordNumber()), error.getMessage());
+        }
+    }
+
+    private void logProgress(Path file, Counters counters, long startNanos) {
+        double seconds = Math.max(0.001, (System.nanoTime() - startNanos) / 1e9);
+        long records = counters.records.get();
+        logger.info("Importing {}: {} records processed, {} imported, {} rejected ({} records/s)",
+                file.getFileName(), records, counters.imported.get(), counters.failed.get(),
+                String.format(Locale.ROOT, "%.0f", records / seconds));
+    }
+
+    private static boolean isCsv(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return true;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported file type (expected .ndjson, .jsonl or .csv): " + file);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Groups lines into records and records into batches on the reader thread
+     */
+    private final class BatchingHandler implements MappedLineReader.LineHandler {
+
+        private final boolean csv;
+        private final Consumer<List<RawRecord>> sink;
+        private OrderRecordParser parser;
+        private List<RawRecord> batch = new ArrayList<>();
+        private RawRecord current;
+        private String currentKey;
+
+        BatchingHandler(boolean csv, Consumer<List<RawRecord>> sink) {
+            this.csv = csv;
+            this.sink = sink;
+            this.parser = csv ? null : new NdjsonOrderRecordParser(objectMapper);
+        }
+
+        @Override
+        public void onLine(long lineNumber, String line) {
+            if (line.isBlank()) {
+                return;
+            }
+            if (parser == null) {
+                parser = new CsvOrderRecordParser(line);
+                return;
+            }
+            String key;
+            try {
+                key = parser.groupKey(line);
+            } catch (RuntimeException e) {
+                key = null;
+            }
+            if (current != null && key != null && key.equals(currentKey)) {
+                current.lines.add(line);
+                return;
+            }
+            completeCurrent();
+            current = new RawRecord(parser, lineNumber, line);
+            currentKey = key;
+        }
+
+        private void completeCurrent() {
+            if (current == null) {
+                return;
+            }
+            batch.add(current);
+            current = null;
+            if (batch.size() >= batchSize) {
+                sink.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        void flush() {
+            completeCurrent();
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    private static final class RawRecord {
+        private final OrderRecordParser parser;
+        private final long firstLine;
+        private final List<String> lines = new ArrayList<>(1);
+
+        RawRecord(OrderRecordParser parser, long firstLine, String line) {
+            this.parser = parser;
+            this.firstLine = firstLine;
+            this.lines.add(line);
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong records = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+    }
+
+    /**
+     * Serializes writes to the error file from all workers
+     */
+    private static final class ErrorSink {
+
+        private final BufferedWriter writer;
+        private final Counters counters;
+        private volatile RuntimeException failure;
+
+        ErrorSink(BufferedWriter writer, Counters counters) {
+            this.writer = writer;
+            this.counters = counters;
+        }
+
+        synchronized void reject(RawRecord record, String message) {
+            counters.failed.incrementAndGet();
+            try {
+                writer.write("line " + record.firstLine + ": " + sanitize(message));
+                writer.newLine();
+                for (String line : record.lines) {
+                    writer.write("  ");
+                    writer.write(line);
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                failure = new UncheckedIOException("Cannot write error file", e);
+            }
+        }
+
+        void rethrowIfFailed() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private static String sanitize(String message) {
+            return message == null ? "rejected" : message.replace('\n', ' ').replace('\r', ' ');
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing;
+
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+
+import java.util.List;
+
+/**
+ * Turns the lines of one source record into an import command
+ * Infrastructure Layer: Bulk Import
+ *
+ * Implementations must be thread-safe: records are parsed by the workers.
+ */
+public interface OrderRecordParser {
+
+    /**
+     * Key tying consecutive lines to the same order, or null when the line
+     * is a complete record on its own
+     */
+    String groupKey(String line);
+
+    /**
+     * Parse one record
+     *
+     * @param firstLine line number of the first line of the record
+     * @param lines the lines making up the record
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    ImportOrderCommand parse(long firstLine, List<String> lines);
+}
@@ -0,0 +1,27 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.messaging;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Batch-oriented handler for order events consumed from RabbitMQ
+ * Infrastructure Layer: Inbound Messaging
+ *
+ * Register implementations as beans. A queue is only consumed when at
+ * least one handler subscribes to its event type. A batch is acknowledged
+ * when every handler returns; if one throws, its events are handed over
+ * again one at a time and an event that still fails is dead-lettered, so
+ * handlers must tolerate seeing an event again.
+ */
+public interface OrderEventBatchHandler {
+
+    /**
+     * Event types this handler receives, e.g. "OrderCreated"
+     */
+    Set<String> getEventTypes();
+
+    /**
+     * Handle a batch of events of the subscribed types, in delivery order
+     */
+    void handleBatch(List<OrderEventMessage> events);
+}
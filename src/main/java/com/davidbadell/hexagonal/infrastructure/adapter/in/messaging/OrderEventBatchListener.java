@@ -0,0 +1,259 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.messaging;
+
+import com.davidbadell.hexagonal.domain.model.CanonicalPool;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Batch listener for one order event queue
+ * Hexagonal Architecture: Input Adapter (Driving Adapter)
+ *
+ * Receives a batch of deliveries from the listener container, drops
+ * duplicates by event id, dispatches the rest to the subscribed handlers
+ * grouped by event type and then acknowledges the whole batch with a
+ * single multiple-ack. If a handler fails, the events of the batch are
+ * handed over again one at a time and settled one by one, so a single
+ * poison message is rejected on its own instead of taking the batch with
+ * it. Rejected messages are dead-lettered unless {@code requeueOnFailure}
+ * is set. Messages that cannot be parsed are logged and acknowledged with
+ * the batch, since redelivering them would not help.
+ */
+public class OrderEventBatchListener implements ChannelAwareBatchMessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventBatchListener.class);
+
+    // A handful of event type names repeated in every message
+    private static final CanonicalPool<String, String> EVENT_TYPES =
+            new CanonicalPool<>(64, Function.identity(), Function.identity());
+
+    private final String queue;
+    private final List<OrderEventBatchHandler> handlers;
+    private final ProcessedEventIds processedEventIds;
+    private final ObjectMapper objectMapper;
+    private final boolean requeueOnFailure;
+
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSize;
+    private final Counter duplicates;
+    private final Counter malformed;
+    private final Counter failedBatches;
+    private final Counter rejected;
+
+    public OrderEventBatchListener(String queue, List<OrderEventBatchHandler> handlers,
+                                   ProcessedEventIds processedEventIds, ObjectMapper objectMapper,
+                                   boolean requeueOnFailure, MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.handlers = List.copyOf(handlers);
+        this.processedEventIds = processedEventIds;
+        this.objectMapper = objectMapper;
+        this.requeueOnFailure = requeueOnFailure;
+        this.batchTimer = Timer.builder("orders.events.consumer.batch")
+                .description("Time to handle and acknowledge one batch")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("orders.events.consumer.lag")
+                .description("Delay between an event occurring and its consumption")
+                .tag("queue", queue)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("orders.events.consumer.batch.size")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        this.duplicates = counter(meterRegistry, "duplicate");
+        this.malformed = counter(meterRegistry, "malformed");
+        this.failedBatches = Counter.builder("orders.events.consumer.batch.failures")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.events.consumer.rejected")
+                .description("Messages a handler failed on when retried on their own")
+                .tag("queue", queue)
+                .tag("requeued", String.valueOf(requeueOnFailure))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onMessageBatch(List<Message> messages, Channel channel) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long lastDeliveryTag = 0L;
+        LocalDateTime now = LocalDateTime.now();
+        OrderEventMessage[] events = new OrderEventMessage[messages.size()];
+        Map<String, List<OrderEventMessage>> byType = new LinkedHashMap<>();
+
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            lastDeliveryTag = Math.max(lastDeliveryTag, message.getMessageProperties().getDeliveryTag());
+            OrderEventMessage event;
+            try {
+                event = parse(message);
+            } catch (IOException | RuntimeException e) {
+                malformed.increment();
+                logger.warn("Dropping malformed message on {}: {}", queue, e.getMessage());
+                continue;
+            }
+            if (!processedEventIds.claim(event.getEventId())) {
+                duplicates.increment();
+                continue;
+            }
+            events[i] = event;
+            if (event.getOccurredOn() != null) {
+                lagTimer.record(Duration.between(event.getOccurredOn(), now).abs());
+            }
+            byType.computeIfAbsent(event.getEventType(), type -> new ArrayList<>()).add(event);
+        }
+
+        try {
+            dispatch(byType);
+            settle(channel, lastDeliveryTag, true, true);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            logger.warn("Failed to handle batch of {} messages from {}, retrying them one at a time",
+                    messages.size(), queue, e);
+            settleIndividually(messages, events, channel);
+        } finally {
+            batchSize.record(messages.size());
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void dispatch(Map<String, List<OrderEventMessage>> byType) {
+        for (Map.Entry<String, List<OrderEventMessage>> entry : byType.entrySet()) {
+            for (OrderEventBatchHandler handler : handlers) {
+                if (handler.getEventTypes().contains(entry.getKey())) {
+                    handler.handleBatch(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Dispatch each claimed event on its own and ack or reject its message
+     * alone. Malformed and duplicate messages are acked as in a good batch.
+     */
+    private void settleIndividually(List<Message> messages, OrderEventMessage[] events, Channel channel) {
+        for (int i = 0; i < messages.size(); i++) {
+            long deliveryTag = messages.get(i).getMessageProperties().getDeliveryTag();
+            OrderEventMessage event = events[i];
+            boolean handled = true;
+            if (event != null) {
+                try {
+                    dispatch(Map.of(event.getEventType(), List.of(event)));
+                } catch (RuntimeException e) {
+                    handled = false;
+                    processedEventIds.release(List.of(event.getEventId()));
+                    rejected.increment();
+                    logger.error("Rejecting event {} ({}) from {}, requeue={}", event.getEventId(),
+                            event.getEventType(), queue, requeueOnFailure, e);
+                }
+            }
+            settle(channel, deliveryTag, false, handled);
+        }
+    }
+
+    private void settle(Channel channel, long deliveryTag, boolean multiple, boolean ack) {
+        try {
+            if (ack) {
+                channel.basicAck(deliveryTag, multiple);
+            } else {
+                channel.basicNack(deliveryTag, multiple, requeueOnFailure);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not settle delivery {} on {}, it will be redelivered on reconnect",
+                    deliveryTag, queue, e);
+        }
+    }
+
+    /**
+     * Parse a published event. The publisher sends the event JSON as a
+     * JSON string (double encoded), so a textual root is decoded once more.
+     */
+    OrderEventMessage parse(Message message) throws IOException {
+        JsonNode root = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (root.isTextual()) {
+            root = objectMapper.readTree(root.asText());
+        }
+        if (root == null || !root.isObject()) {
+            throw new IOException("Expected a JSON object");
+        }
+        String eventType = EVENT_TYPES.get(text(root.get("eventType")));
+        if (eventType == null) {
+            eventType = message.getMessageProperties().getType();
+        }
+        if (eventType == null) {
+            throw new IOException("Missing eventType");
+        }
+        String eventId = text(root.get("eventId"));
+        if (eventId == null) {
+            eventId = message.getMessageProperties().getMessageId();
+        }
+        if (eventId == null) {
+            // Events published before ids existed: derive a stable id from the payload
+            eventId = UUID.nameUUIDFromBytes(message.getBody()).toString();
+        }
+        JsonNode occurredOn = root.get("occurredOn");
+        return new OrderEventMessage(
+                eventId,
+                eventType,
+                text(root.get("orderId")),
+                customerId(root.get("customerId")),
+                text(root.get("reason")),
+                occurredOn == null || occurredOn.isNull()
+                        ? null : objectMapper.treeToValue(occurredOn, LocalDateTime.class),
+                queue);
+    }
+
+    /**
+     * The customer id string shared with the pooled CustomerId, so a
+     * batch of one customer's events does not hold a copy per message
+     */
+    private static String customerId(JsonNode node) {
+        String value = text(node);
+        return value == null || value.isBlank() ? value : CustomerId.of(value).getValue();
+    }
+
+    /**
+     * Value objects are serialized as {"value": "..."}; plain strings are accepted too
+     */
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isObject()) {
+            return text(node.get("value"));
+        }
+        return node.asText();
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("orders.events.consumer.skipped")
+                .tag("queue", queue)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.messaging;
+
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+
+/**
+ * Lifecycle of the order event listener containers
+ * Infrastructure Layer: Inbound Messaging
+ *
+ * The set of containers depends on which queues have handlers, so they are
+ * created by the configuration and started and stopped together here.
+ */
+public class OrderEventListenerContainers implements SmartLifecycle {
+
+    private final List<SimpleMessageListenerContainer> containers;
+    private volatile boolean running;
+
+    public OrderEventListenerContainers(List<SimpleMessageListenerContainer> containers) {
+        this.containers = List.copyOf(containers);
+    }
+
+    @Override
+    public void start() {
+        containers.forEach(SimpleMessageListenerContainer::start);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        containers.forEach(SimpleMessageListenerContainer::stop);
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public List<SimpleMessageListenerContainer> getContainers() {
+        return containers;
+    }
+
+    public void destroy() {
+        containers.forEach(SimpleMessageListenerContainer::destroy);
+    }
+}
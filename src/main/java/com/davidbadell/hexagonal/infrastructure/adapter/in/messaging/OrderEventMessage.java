@@ -0,0 +1,47 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.messaging;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order event as received from the broker
+ * Infrastructure Layer: Inbound Messaging
+ *
+ * A flat, transport-level view of the published domain events. Fields that
+ * an event type does not carry (e.g. the reason of an OrderCreated event)
+ * are null.
+ */
+public class OrderEventMessage {
+
+    private final String eventId;
+    private final String eventType;
+    private final String orderId;
+    private final String customerId;
+    private final String reason;
+    private final LocalDateTime occurredOn;
+    private final String queue;
+
+    public OrderEventMessage(String eventId, String eventType, String orderId, String customerId,
+                             String reason, LocalDateTime occurredOn, String queue) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.reason = reason;
+        this.occurredOn = occurredOn;
+        this.queue = queue;
+    }
+
+    public String getEventId() { return eventId; }
+    public String getEventType() { return eventType; }
+    public String getOrderId() { return orderId; }
+    public String getCustomerId() { return customerId; }
+    public String getReason() { return reason; }
+    public LocalDateTime getOccurredOn() { return occurredOn; }
+    public String getQueue() { return queue; }
+
+    @Override
+    public String toString() {
+        return String.format("OrderEventMessage{eventId=%s, type=%s, orderId=%s, occurredOn=%s}",
+                eventId, eventType, orderId, occurredOn);
+    }
+}
@@ -0,0 +1,53 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the order events consumed from the broker
+ * Infrastructure Layer: Inbound Messaging
+ *
+ * The order event queues are shared by all instances, so each event is
+ * consumed once across the cluster and the sum of
+ * {@code orders.events.consumed} over instances is the number of orders
+ * created and cancelled anywhere. In-memory projections stay on the local
+ * event bus, since a shared queue would hand them only part of the events.
+ */
+public class OrderEventMetricsHandler implements OrderEventBatchHandler {
+
+    private static final Set<String> EVENT_TYPES = Set.of("OrderCreated", "OrderCancelled");
+
+    private final Map<String, Counter> consumed;
+
+    public OrderEventMetricsHandler(MeterRegistry meterRegistry) {
+        this.consumed = Map.of(
+                "OrderCreated", counter(meterRegistry, "OrderCreated"),
+                "OrderCancelled", counter(meterRegistry, "OrderCancelled"));
+    }
+
+    @Override
+    public Set<String> getEventTypes() {
+        return EVENT_TYPES;
+    }
+
+    @Override
+    public void handleBatch(List<OrderEventMessage> events) {
+        for (OrderEventMessage event : events) {
+            Counter counter = consumed.get(event.getEventType());
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String eventType) {
+        return Counter.builder("orders.events.consumed")
+                .description("Order events consumed from the broker")
+                .tag("type", eventType)
+                .register(meterRegistry);
+    }
+}
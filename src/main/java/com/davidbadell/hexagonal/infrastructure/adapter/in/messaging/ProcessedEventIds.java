@@ -0,0 +1,58 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.messaging;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded set of recently processed event ids
+ * Infrastructure Layer: Inbound Messaging
+ *
+ * Consumers claim an id before handling the event and release it if
+ * handling fails. The oldest ids are forgotten once the capacity is
+ * reached, so deduplication covers redeliveries within that window only.
+ */
+public class ProcessedEventIds {
+
+    private final int capacity;
+    private final Set<String> ids = ConcurrentHashMap.newKeySet();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public ProcessedEventIds(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return true if the id was not seen before and is now claimed
+     */
+    public boolean claim(String eventId) {
+        if (!ids.add(eventId)) {
+            return false;
+        }
+        insertionOrder.add(eventId);
+        while (ids.size() > capacity) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            ids.remove(oldest);
+        }
+        return true;
+    }
+
+    /**
+     * Forget ids whose processing failed so that a redelivery is handled
+     */
+    public void release(Collection<String> eventIds) {
+        ids.removeAll(eventIds);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
+
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecorder;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the bytes allocated by the thread handling each endpoint call
+ * Infrastructure Layer: REST
+ *
+ * The sample covers reading the request body, the controller, the use
+ * cases and writing the response, but not the servlet filters in front.
+ * Endpoints are named by HTTP method and mapping pattern, e.g.
+ * {@code GET /api/orders/{orderId}}, and bucketed by the order lines the
+ * use cases they called returned.
+ */
+public class AllocationRecordingInterceptor implements HandlerInterceptor {
+
+    private static final String SAMPLE = AllocationRecordingInterceptor.class.getName() + ".sample";
+
+    private final AllocationRecorder recorder;
+    private final Map<Method, AllocationRecorder.Histogram> histograms = new ConcurrentHashMap<>();
+
+    public AllocationRecordingInterceptor(AllocationRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(SAMPLE, recorder.start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(SAMPLE) instanceof AllocationRecorder.Sample sample
+                && handler instanceof HandlerMethod handlerMethod) {
+            request.removeAttribute(SAMPLE);
+            sample.stop(histogram(request, handlerMethod.getMethod()));
+        }
+    }
+
+    private AllocationRecorder.Histogram histogram(HttpServletRequest request, Method method) {
+        AllocationRecorder.Histogram histogram = histograms.get(method);
+        if (histogram == null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            histogram = histograms.computeIfAbsent(method,
+                    m -> recorder.histogram(AllocationRecorder.ENDPOINT, name));
+        }
+        return histogram;
+    }
+}
@@ -3,12 +3,20 @@ package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
 import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
 import com.davidbadell.hexagonal.application.dto.OrderQuery;
 import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
 import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
 import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
 import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
 import com.davidbadell.hexagonal.domain.exception.DomainException;
 import com.davidbadell.hexagonal.domain.exception.OrderNotFoundException;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotentRequestInProgressException;
+import com.davidbadell.hexagonal.infrastructure.idempotency.InvalidIdempotencyKeyException;
+import com.davidbadell.hexagonal.infrastructure.resilience.ConcurrencyLimitExceededException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,26 +37,43 @@ public class OrderController {
     private final CreateOrderUseCase createOrderUseCase;
     private final GetOrderUseCase getOrderUseCase;
     private final CancelOrderUseCase cancelOrderUseCase;
+    private final GetOrderStatisticsUseCase getOrderStatisticsUseCase;
 
     public OrderController(CreateOrderUseCase createOrderUseCase,
                           GetOrderUseCase getOrderUseCase,
-                          CancelOrderUseCase cancelOrderUseCase) {
+                          CancelOrderUseCase cancelOrderUseCase,
+                          GetOrderStatisticsUseCase getOrderStatisticsUseCase) {
         this.createOrderUseCase = createOrderUseCase;
         this.getOrderUseCase = getOrderUseCase;
         this.cancelOrderUseCase = cancelOrderUseCase;
+        this.getOrderStatisticsUseCase = getOrderStatisticsUseCase;
     }
 
     /**
      * Create a new order
      * POST /api/orders
+     *
+     * A retry carrying the same Idempotency-Key returns the order created
+     * by the first request instead of creating another one.
      */
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@RequestBody CreateOrderRequest request) {
-        CreateOrderCommand command = mapToCommand(request);
+    public ResponseEntity<OrderResponse> createOrder(@RequestBody CreateOrderRequest request,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false)
+                                                     String idempotencyKey) {
+        CreateOrderCommand command = mapToCommand(request, idempotencyKey);
         OrderResponse response = createOrderUseCase.createOrder(command);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Get order counts by status and today's revenue
+     * GET /api/orders/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatistics> getStatistics() {
+        return ResponseEntity.ok(getOrderStatisticsUseCase.getStatistics());
+    }
+
     /**
      * Get order by ID
      * GET /api/orders/{orderId}
@@ -70,6 +95,19 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Get a page of a customer's orders, most recent first, without their lines
+     * GET /api/orders/customer/{customerId}/summaries?page=0&size=20
+     */
+    @GetMapping("/customer/{customerId}/summaries")
+    public ResponseEntity<List<OrderSummary>> getOrderSummariesByCustomerId(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<OrderSummary> orders = getOrderUseCase.getOrderSummariesByCustomerId(customerId, page, size);
+        return ResponseEntity.ok(orders);
+    }
+
     /**
      * Query orders with filters
      * GET /api/orders
@@ -121,8 +159,35 @@ public class OrderController {
                 .body(new ErrorResponse("DOMAIN_ERROR", ex.getMessage()));
     }
 
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceeded(ConcurrencyLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("PERSISTENCE_OVERLOADED", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorResponse("INVALID_IDEMPOTENCY_KEY", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotentRequestInProgress(IdempotentRequestInProgressException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("REQUEST_IN_PROGRESS", ex.getMessage()));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("CONCURRENT_MODIFICATION",
+                        "The order was changed by another request, reload it and try again"));
+    }
+
     // Request/Response DTOs for REST layer
-    private CreateOrderCommand mapToCommand(CreateOrderRequest request) {
+    private CreateOrderCommand mapToCommand(CreateOrderRequest request, String idempotencyKey) {
         List<CreateOrderCommand.OrderItemCommand> items = request.getItems().stream()
                 .map(item -> new CreateOrderCommand.OrderItemCommand(
                         item.getProductId(),
@@ -132,7 +197,7 @@ public class OrderController {
                 ))
                 .toList();
         
-        return new CreateOrderCommand(request.getCustomerId(), items);
+        return new CreateOrderCommand(request.getCustomerId(), items, idempotencyKey);
     }
 
     // Inner classes for REST DTOs
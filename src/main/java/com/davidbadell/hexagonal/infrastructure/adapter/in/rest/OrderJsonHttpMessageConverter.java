@@ -0,0 +1,83 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Writes order responses with {@link OrderJsonWriter}
+ * Infrastructure Layer: REST
+ *
+ * Registered ahead of the Jackson converter for {@code application/json}
+ * bodies of type OrderResponse or a collection of them; everything else,
+ * and all request bodies, still go through Jackson.
+ */
+public class OrderJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final OrderJsonWriter writer;
+
+    public OrderJsonHttpMessageConverter(OrderJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return OrderResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type == null) {
+            return supports(clazz);
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (resolved.resolve() != null && OrderResponse.class.isAssignableFrom(resolved.resolve())) {
+            return true;
+        }
+        return resolved.asCollection() != ResolvableType.NONE
+                && OrderResponse.class.equals(resolved.asCollection().getGeneric(0).resolve());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof OrderResponse response) {
+            writer.write(response, outputMessage.getBody());
+        } else {
+            writer.writeAll((Collection<OrderResponse>) body, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Order responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Order responses are write-only", inputMessage);
+    }
+}
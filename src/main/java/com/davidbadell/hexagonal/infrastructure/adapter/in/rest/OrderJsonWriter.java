@@ -0,0 +1,406 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streaming JSON writer for orders
+ * Infrastructure Layer: REST
+ *
+ * Writes an OrderResponse, a list of them or an Order aggregate as UTF-8
+ * straight into an output stream, without reflection, a token generator
+ * or, for the aggregate, the intermediate DTO graph. The output is byte
+ * for byte what the application's ObjectMapper produces for
+ * OrderResponse: the same property order, BigDecimal.toString() numbers,
+ * ISO-8601 local date-times, nulls written out and the same escaping
+ * (short or upper-case \\uXXXX escapes for control characters and for
+ * each half of a surrogate pair, everything else as raw UTF-8).
+ *
+ * Output goes through fixed-size byte buffers taken from a bounded pool
+ * and flushed to the stream whenever full.
+ */
+public class OrderJsonWriter {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] ORDER_ID = field("{", "orderId");
+    private static final byte[] CUSTOMER_ID = field(",", "customerId");
+    private static final byte[] STATUS = field(",", "status");
+    private static final byte[] TOTAL = field(",", "total");
+    private static final byte[] CREATED_AT = field(",", "createdAt");
+    private static final byte[] UPDATED_AT = field(",", "updatedAt");
+    private static final byte[] ITEMS = field(",", "items");
+    private static final byte[] VERSION = field(",", "version");
+    private static final byte[] PRODUCT_ID = field("{", "productId");
+    private static final byte[] PRODUCT_NAME = field(",", "productName");
+    private static final byte[] QUANTITY = field(",", "quantity");
+    private static final byte[] UNIT_PRICE = field(",", "unitPrice");
+    private static final byte[] SUBTOTAL = field(",", "subtotal");
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    /**
+     * @param bufferSize        bytes written to the stream at a time
+     * @param maxPooledBuffers  buffers kept for reuse; more are allocated
+     *                          under load and dropped afterwards
+     */
+    public OrderJsonWriter(int bufferSize, int maxPooledBuffers) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size must be at least 64 bytes");
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, maxPooledBuffers));
+    }
+
+    public void write(OrderResponse response, OutputStream out) throws IOException {
+        Sink sink = open(out);
+        try {
+            writeResponse(sink, response);
+            sink.flush();
+        } finally {
+            release(sink);
+        }
+    }
+
+    public void writeAll(Collection<OrderResponse> responses, OutputStream out) throws IOException {
+        Sink sink = open(out);
+        try {
+            sink.raw((byte) '[');
+            boolean first = true;
+            for (OrderResponse response : responses) {
+                if (!first) {
+                    sink.raw((byte) ',');
+                }
+                first = false;
+                writeResponse(sink, response);
+            }
+            sink.raw((byte) ']');
+            sink.flush();
+        } finally {
+            release(sink);
+        }
+    }
+
+    /**
+     * Same JSON as {@code write(OrderResponse.fromDomain(order), out)}
+     */
+    public void write(Order order, OutputStream out) throws IOException {
+        Sink sink = open(out);
+        try {
+            writeOrder(sink, order);
+            sink.flush();
+        } finally {
+            release(sink);
+        }
+    }
+
+    private void writeResponse(Sink sink, OrderResponse response) throws IOException {
+        if (response == null) {
+            sink.raw(NULL);
+            return;
+        }
+        sink.raw(ORDER_ID);
+        sink.string(response.getOrderId());
+        sink.raw(CUSTOMER_ID);
+        sink.string(response.getCustomerId());
+        sink.raw(STATUS);
+        sink.string(response.getStatus());
+        sink.raw(TOTAL);
+        sink.decimal(response.getTotal());
+        sink.raw(CREATED_AT);
+        sink.dateTime(response.getCreatedAt());
+        sink.raw(UPDATED_AT);
+        sink.dateTime(response.getUpdatedAt());
+        sink.raw(ITEMS);
+        List<OrderResponse.OrderLineResponse> items = response.getItems();
+        if (items == null) {
+            sink.raw(NULL);
+        } else {
+            sink.raw((byte) '[');
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    sink.raw((byte) ',');
+                }
+                OrderResponse.OrderLineResponse item = items.get(i);
+                if (item == null) {
+                    sink.raw(NULL);
+                    continue;
+                }
+                sink.raw(PRODUCT_ID);
+                sink.string(item.getProductId());
+                sink.raw(PRODUCT_NAME);
+                sink.string(item.getProductName());
+                sink.raw(QUANTITY);
+                sink.integer(item.getQuantity());
+                sink.raw(UNIT_PRICE);
+                sink.decimal(item.getUnitPrice());
+                sink.raw(SUBTOTAL);
+                sink.decimal(item.getSubtotal());
+                sink.raw((byte) '}');
+            }
+            sink.raw((byte) ']');
+        }
+        sink.raw(VERSION);
+        sink.ascii(Long.toString(response.getVersion()));
+        sink.raw((byte) '}');
+    }
+
+    private void writeOrder(Sink sink, Order order) throws IOException {
+        sink.raw(ORDER_ID);
+        sink.string(order.getId().getValue());
+        sink.raw(CUSTOMER_ID);
+        sink.string(order.getCustomerId().getValue());
+        sink.raw(STATUS);
+        sink.string(order.getStatus().name());
+        sink.raw(TOTAL);
+        sink.decimal(order.getTotal().getAmount());
+        sink.raw(CREATED_AT);
+        sink.dateTime(order.getCreatedAt());
+        sink.raw(UPDATED_AT);
+        sink.dateTime(order.getUpdatedAt());
+        sink.raw(ITEMS);
+        sink.raw((byte) '[');
+        List<OrderLine> lines = order.getOrderLines();
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                sink.raw((byte) ',');
+            }
+            OrderLine line = lines.get(i);
+            sink.raw(PRODUCT_ID);
+            sink.string(line.getProductId().getValue());
+            sink.raw(PRODUCT_NAME);
+            sink.string(line.getProductName());
+            sink.raw(QUANTITY);
+            sink.integer(line.getQuantity().getValue());
+            sink.raw(UNIT_PRICE);
+            sink.decimal(line.getUnitPrice().getAmount());
+            sink.raw(SUBTOTAL);
+            sink.decimal(line.getSubtotal().getAmount());
+            sink.raw((byte) '}');
+        }
+        sink.raw((byte) ']');
+        sink.raw(VERSION);
+        sink.ascii(Long.toString(order.getVersion()));
+        sink.raw((byte) '}');
+    }
+
+    private Sink open(OutputStream out) {
+        byte[] buffer = buffers.poll();
+        return new Sink(out, buffer != null ? buffer : new byte[bufferSize]);
+    }
+
+    private void release(Sink sink) {
+        buffers.offer(sink.buffer);
+    }
+
+    private static byte[] field(String prefix, String name) {
+        return (prefix + '"' + name + "\":").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Buffered UTF-8 output with JSON escaping
+     */
+    private static final class Sink {
+
+        private final OutputStream out;
+        private final byte[] buffer;
+        private int position;
+
+        Sink(OutputStream out, byte[] buffer) {
+            this.out = out;
+            this.buffer = buffer;
+        }
+
+        void raw(byte value) throws IOException {
+            if (position == buffer.length) {
+                drain();
+            }
+            buffer[position++] = value;
+        }
+
+        void raw(byte[] bytes) throws IOException {
+            if (buffer.length - position < bytes.length) {
+                drain();
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void ascii(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                raw((byte) value.charAt(i));
+            }
+        }
+
+        void string(String value) throws IOException {
+            if (value == null) {
+                raw(NULL);
+                return;
+            }
+            raw((byte) '"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                // Room for the longest sequence, a \\uXXXX escape
+                if (buffer.length - position < 6) {
+                    drain();
+                }
+                if (c >= 0x20 && c < 0x80) {
+                    if (c == '"' || c == '\\') {
+                        buffer[position++] = '\\';
+                    }
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | (c >> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Jackson's UTF-8 generator escapes each surrogate
+                    // instead of encoding the pair as four bytes
+                    unicodeEscape(c);
+                } else {
+                    buffer[position++] = (byte) (0xE0 | (c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            raw((byte) '"');
+        }
+
+        private void escapeControl(char c) {
+            byte shortEscape = switch (c) {
+                case '\b' -> 'b';
+                case '\t' -> 't';
+                case '\n' -> 'n';
+                case '\f' -> 'f';
+                case '\r' -> 'r';
+                default -> 0;
+            };
+            if (shortEscape == 0) {
+                unicodeEscape(c);
+            } else {
+                buffer[position++] = '\\';
+                buffer[position++] = shortEscape;
+            }
+        }
+
+        private void unicodeEscape(char c) {
+            buffer[position++] = '\\';
+            buffer[position++] = 'u';
+            buffer[position++] = HEX[(c >> 12) & 0xF];
+            buffer[position++] = HEX[(c >> 8) & 0xF];
+            buffer[position++] = HEX[(c >> 4) & 0xF];
+            buffer[position++] = HEX[c & 0xF];
+        }
+
+        void decimal(BigDecimal value) throws IOException {
+            if (value == null) {
+                raw(NULL);
+            } else {
+                ascii(value.toString());
+            }
+        }
+
+        void integer(int value) throws IOException {
+            if (value < 0) {
+                if (value == Integer.MIN_VALUE) {
+                    ascii(Integer.toString(value));
+                    return;
+                }
+                raw((byte) '-');
+                value = -value;
+            }
+            if (buffer.length - position < 10) {
+                drain();
+            }
+            int digits = 1;
+            for (int limit = 10; digits < 10 && value >= limit; limit *= 10) {
+                digits++;
+            }
+            for (int i = position + digits - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += digits;
+        }
+
+        /**
+         * ISO_LOCAL_DATE_TIME as Jackson's LocalDateTimeSerializer writes it:
+         * seconds always, the fraction only when non-zero and without
+         * trailing zeros
+         */
+        void dateTime(LocalDateTime value) throws IOException {
+            if (value == null) {
+                raw(NULL);
+                return;
+            }
+            int year = value.getYear();
+            if (year < 0 || year > 9999) {
+                raw((byte) '"');
+                ascii(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                raw((byte) '"');
+                return;
+            }
+            if (buffer.length - position < 31) {
+                drain();
+            }
+            buffer[position++] = '"';
+            digits(year, 4);
+            buffer[position++] = '-';
+            digits(value.getMonthValue(), 2);
+            buffer[position++] = '-';
+            digits(value.getDayOfMonth(), 2);
+            buffer[position++] = 'T';
+            digits(value.getHour(), 2);
+            buffer[position++] = ':';
+            digits(value.getMinute(), 2);
+            buffer[position++] = ':';
+            digits(value.getSecond(), 2);
+            int nano = value.getNano();
+            if (nano != 0) {
+                int width = 9;
+                while (nano % 10 == 0) {
+                    nano /= 10;
+                    width--;
+                }
+                buffer[position++] = '.';
+                digits(nano, width);
+            }
+            buffer[position++] = '"';
+        }
+
+        private void digits(int value, int width) {
+            for (int i = position + width - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += width;
+        }
+
+        void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+
+        private void drain() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inbound rate limiting filter
+ * Hexagonal Architecture: Input Adapter concern (REST)
+ *
+ * Applies token buckets in front of the order endpoints, with separate
+ * quotas for reads (GET/HEAD) and writes. Every request is charged to its
+ * client address, and on top of that to its API key and to the customer
+ * named in the path, if any.
+ * Rejected requests get 429 with a Retry-After header before any use case runs,
+ * and do not count against the quotas that would have let them through.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String CUSTOMER_PATH_PREFIX = "/api/orders/customer/";
+
+    private final TokenBucketRegistry readBuckets;
+    private final TokenBucketRegistry writeBuckets;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(TokenBucketRegistry readBuckets,
+                           TokenBucketRegistry writeBuckets,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.readBuckets = readBuckets;
+        this.writeBuckets = writeBuckets;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("orders.ratelimit.buckets", List.of(Tag.of("quota", "read")),
+                readBuckets, TokenBucketRegistry::size);
+        meterRegistry.gauge("orders.ratelimit.buckets", List.of(Tag.of("quota", "write")),
+                writeBuckets, TokenBucketRegistry::size);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean read = isRead(request);
+        String quota = read ? "read" : "write";
+        TokenBucketRegistry buckets = read ? readBuckets : writeBuckets;
+        long now = System.nanoTime();
+
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        String customerId = resolveCustomerId(request);
+
+        List<String> charged = new ArrayList<>(3);
+        List<String> limits = new ArrayList<>(3);
+        charged.add("client:" + request.getRemoteAddr());
+        limits.add("client");
+        if (apiKey != null && !apiKey.isBlank()) {
+            charged.add("key:" + apiKey);
+            limits.add("api_key");
+        }
+        if (customerId != null) {
+            charged.add("customer:" + customerId);
+            limits.add("customer");
+        }
+
+        long waitNanos = 0L;
+        String limitedBy = null;
+        for (int i = 0; i < charged.size() && waitNanos == 0L; i++) {
+            waitNanos = buckets.tryAcquire(charged.get(i), now);
+            limitedBy = limits.get(i);
+            if (waitNanos > 0L) {
+                // Rejected requests must not use up the quotas that let them through
+                for (int j = 0; j < i; j++) {
+                    buckets.refund(charged.get(j), now);
+                }
+            }
+        }
+
+        if (waitNanos > 0L) {
+            decisionCounter(quota, "rejected", limitedBy).increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        decisionCounter(quota, "allowed", limitedBy).increment();
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    /**
+     * The customer named by the path; headers and parameters are free-form
+     * and would hand out a fresh bucket per value
+     */
+    private String resolveCustomerId(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith(CUSTOMER_PATH_PREFIX) && uri.length() > CUSTOMER_PATH_PREFIX.length()) {
+            int end = uri.indexOf('/', CUSTOMER_PATH_PREFIX.length());
+            return uri.substring(CUSTOMER_PATH_PREFIX.length(), end >= 0 ? end : uri.length());
+        }
+        return null;
+    }
+
+    private Counter decisionCounter(String quota, String outcome, String limitedBy) {
+        return Counter.builder("orders.ratelimit.decisions")
+                .tag("quota", quota)
+                .tag("outcome", outcome)
+                .tag("key", limitedBy)
+                .register(meterRegistry);
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new OrderController.ErrorResponse(
+                "RATE_LIMITED", "Too many requests, retry after " + retryAfterSeconds + "s"));
+    }
+}
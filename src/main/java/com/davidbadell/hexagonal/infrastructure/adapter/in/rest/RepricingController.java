@@ -0,0 +1,116 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
+
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.application.dto.RepricingCheckpoint;
+import com.davidbadell.hexagonal.application.port.in.RepriceOrdersUseCase;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Admin REST Controller for repricing pending orders
+ * Hexagonal Architecture: Input Adapter (Driving Adapter)
+ *
+ * A run takes a while on a large backlog, so it is started in the
+ * background and followed through its checkpoint. The quotes it stored
+ * can be listed page by page to check a pricing rule change.
+ */
+@RestController
+@RequestMapping("/api/admin/repricing")
+public class RepricingController {
+
+    private final RepriceOrdersUseCase repriceOrdersUseCase;
+
+    public RepricingController(RepriceOrdersUseCase repriceOrdersUseCase) {
+        this.repriceOrdersUseCase = repriceOrdersUseCase;
+    }
+
+    /**
+     * Start repricing pending orders
+     * POST /api/admin/repricing?restart=false
+     */
+    @PostMapping
+    public ResponseEntity<RepricingStatus> start(@RequestParam(defaultValue = "false") boolean restart) {
+        try {
+            repriceOrdersUseCase.startRepricing(restart);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status());
+        }
+    }
+
+    /**
+     * Progress of the latest run
+     * GET /api/admin/repricing
+     */
+    @GetMapping
+    public ResponseEntity<RepricingStatus> getStatus() {
+        return ResponseEntity.ok(status());
+    }
+
+    /**
+     * Subtotal and stored quote of pending orders, in order of id
+     * GET /api/admin/repricing/quotes?after=&limit=100
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<List<QuotedTotal>> getQuotes(@RequestParam(required = false) String after,
+                                                       @RequestParam(defaultValue = "100") int limit) {
+        List<QuotedTotal> quotes = repriceOrdersUseCase.getQuotedTotals(after, limit).stream()
+                .map(QuotedTotal::from)
+                .toList();
+        return ResponseEntity.ok(quotes);
+    }
+
+    private RepricingStatus status() {
+        return new RepricingStatus(repriceOrdersUseCase.isRunning(),
+                repriceOrdersUseCase.getProgress().orElse(null),
+                repriceOrdersUseCase.getLastFailure().orElse(null));
+    }
+
+    /**
+     * Whether a run is in progress, and the checkpoint of the latest one
+     */
+    public static class RepricingStatus {
+        private final boolean running;
+        private final RepricingCheckpoint checkpoint;
+        private final String failure;
+
+        public RepricingStatus(boolean running, RepricingCheckpoint checkpoint, String failure) {
+            this.running = running;
+            this.checkpoint = checkpoint;
+            this.failure = failure;
+        }
+
+        public boolean isRunning() { return running; }
+        public RepricingCheckpoint getCheckpoint() { return checkpoint; }
+        public String getFailure() { return failure; }
+    }
+
+    /**
+     * Subtotal of a pending order and the total last quoted for it, null if never repriced
+     */
+    public static class QuotedTotal {
+        private final String orderId;
+        private final BigDecimal subtotal;
+        private final BigDecimal quotedTotal;
+
+        public QuotedTotal(String orderId, BigDecimal subtotal, BigDecimal quotedTotal) {
+            this.orderId = orderId;
+            this.subtotal = subtotal;
+            this.quotedTotal = quotedTotal;
+        }
+
+        static QuotedTotal from(PendingOrderTotal total) {
+            return new QuotedTotal(total.getOrderId().getValue(), total.getSubtotal().getAmount(),
+                    total.getQuotedTotal() != null ? total.getQuotedTotal().getAmount() : null);
+        }
+
+        public String getOrderId() { return orderId; }
+        public BigDecimal getSubtotal() { return subtotal; }
+        public BigDecimal getQuotedTotal() { return quotedTotal; }
+    }
+}
@@ -0,0 +1,73 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket
+ * Infrastructure Layer: Rate Limiting
+ *
+ * Implemented in its GCRA form: instead of a token count and a refill
+ * timestamp, the bucket keeps a single "theoretical arrival time" that is
+ * advanced with a CAS on every accepted request. A bucket whose arrival time
+ * lies in the past is full, which lets the registry drop it without changing
+ * any limiting decision.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * @param capacity maximum number of tokens (burst size)
+     * @param refillPerSecond tokens added per second
+     * @param nowNanos current time used to start the bucket full
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token
+     *
+     * @param nowNanos current monotonic time
+     * @return 0 if the token was granted, otherwise the nanoseconds to wait
+     *         before a token becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long arrival = Math.max(current, nowNanos);
+            long waitNanos = arrival - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by {@link #tryAcquire(long)}, e.g. when another
+     * limit rejected the request it was taken for
+     */
+    public void refund() {
+        theoreticalArrivalNanos.addAndGet(-emissionIntervalNanos);
+    }
+
+    /**
+     * A bucket is idle when it has refilled completely
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrivalNanos.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,78 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.in.rest;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory-bounded table of token buckets keyed by client identity
+ * Infrastructure Layer: Rate Limiting
+ *
+ * Buckets are created on demand. When the table reaches its maximum size,
+ * idle (completely refilled) buckets are swept; if the table is still full,
+ * unknown clients share a single overflow bucket so that a flood of distinct
+ * keys cannot grow the heap.
+ */
+public class TokenBucketRegistry {
+
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final int capacity;
+    private final double refillPerSecond;
+    private final int maxEntries;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+    private final AtomicLong lastSweepNanos = new AtomicLong();
+
+    public TokenBucketRegistry(int capacity, double refillPerSecond, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.maxEntries = maxEntries;
+        this.overflowBucket = new TokenBucket(capacity, refillPerSecond, System.nanoTime());
+    }
+
+    /**
+     * Try to take one token for the given key
+     *
+     * @return 0 if granted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        return bucketFor(key, nowNanos).tryAcquire(nowNanos);
+    }
+
+    /**
+     * Give back a token granted for the given key
+     */
+    public void refund(String key, long nowNanos) {
+        bucketFor(key, nowNanos).refund();
+    }
+
+    private TokenBucket bucketFor(String key, long nowNanos) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxEntries) {
+            sweepIdle(nowNanos);
+            if (buckets.size() >= maxEntries) {
+                return overflowBucket;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond, nowNanos));
+    }
+
+    private void sweepIdle(long nowNanos) {
+        long last = lastSweepNanos.get();
+        if (nowNanos - last < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(nowNanos));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
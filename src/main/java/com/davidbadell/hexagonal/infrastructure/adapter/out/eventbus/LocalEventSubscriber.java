@@ -0,0 +1,31 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus;
+
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+
+/**
+ * Subscriber of the in-process event bus
+ * Infrastructure Layer: Local Event Bus
+ *
+ * Each subscriber runs on its own consumer thread and sees every event in
+ * publication order. Events that were already waiting are delivered back
+ * to back; {@code endOfBatch} is true on the last one, which is the place
+ * to flush anything accumulated over the batch.
+ */
+public interface LocalEventSubscriber {
+
+    /**
+     * Handle one event. Exceptions are logged and counted, delivery goes on.
+     *
+     * @param event the event
+     * @param sequence position of the event on the bus
+     * @param endOfBatch whether no further event is available right now
+     */
+    void onEvent(DomainEvent event, long sequence, boolean endOfBatch) throws Exception;
+
+    /**
+     * Name used for the consumer thread and the metrics
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
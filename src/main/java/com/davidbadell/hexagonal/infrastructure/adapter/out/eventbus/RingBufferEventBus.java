@@ -0,0 +1,326 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus;
+
+import com.davidbadell.hexagonal.application.port.out.LocalEventBus;
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process event bus on a preallocated ring buffer
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Producers claim a range of slots with a CAS on the cursor, fill them and
+ * mark each one available; nothing is allocated per event. Every
+ * subscriber has its own consumer thread and position, and reads all slots
+ * between its position and the highest available one as a batch. The
+ * slowest subscriber gates the producers: when the ring is full they wait
+ * up to {@code publishTimeout} and then drop the events, because local
+ * subscribers must not stall the use cases.
+ *
+ * The last subscriber to read a slot clears it, so a handled event is not
+ * kept reachable until its slot comes round again. Claimed slots are
+ * always published, if need be empty: consumers skip an empty slot rather
+ * than wait for a producer that failed while filling it.
+ */
+public class RingBufferEventBus implements LocalEventBus, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferEventBus.class);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray availableRounds;
+    private final AtomicIntegerArray pendingReaders;
+    private final Sequence cursor = new Sequence();
+    private final Sequence gatingCache = new Sequence();
+    private final WaitStrategy waitStrategy;
+    private final long publishTimeoutNanos;
+    private final List<Consumer> consumers;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    public RingBufferEventBus(int bufferSize, WaitStrategy waitStrategy, Duration publishTimeout,
+                              List<? extends LocalEventSubscriber> subscribers) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of 2: " + bufferSize);
+        }
+        this.slots = new Slot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.availableRounds = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            availableRounds.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+        List<Consumer> list = new ArrayList<>(subscribers.size());
+        for (LocalEventSubscriber subscriber : subscribers) {
+            list.add(new Consumer(subscriber));
+        }
+        this.consumers = List.copyOf(list);
+        // With a single subscriber, it is the last reader of every slot
+        this.pendingReaders = consumers.size() > 1 ? new AtomicIntegerArray(bufferSize) : null;
+    }
+
+    /**
+     * Start one consumer thread per subscriber
+     */
+    public void start() {
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    @Override
+    public void dispatch(List<DomainEvent> events) {
+        int size = events.size();
+        if (size == 0 || consumers.isEmpty()) {
+            return;
+        }
+        if (closed) {
+            dropped.addAndGet(size);
+            return;
+        }
+        for (int from = 0; from < size; from += slots.length) {
+            int count = Math.min(slots.length, size - from);
+            long high = next(count);
+            if (high == Long.MIN_VALUE) {
+                long lost = size - from;
+                if (dropped.getAndAdd(lost) == 0L) {
+                    logger.warn("Local event bus is full, dropping events (slowest subscriber is behind)");
+                }
+                return;
+            }
+            long low = high - count + 1;
+            int filled = 0;
+            try {
+                for (; filled < count; filled++) {
+                    slots[(int) ((low + filled) & mask)].event = events.get(from + filled);
+                }
+            } finally {
+                for (int i = filled; i < count; i++) {
+                    slots[(int) ((low + i) & mask)].event = null;
+                }
+                publish(low, high);
+            }
+        }
+    }
+
+    /**
+     * Claim {@code count} slots, waiting while the slowest consumer is a
+     * full lap behind
+     *
+     * @return the highest claimed sequence, or Long.MIN_VALUE on timeout
+     */
+    private long next(int count) {
+        long waitStart = 0L;
+        while (true) {
+            long current = cursor.get();
+            long next = current + count;
+            long wrapPoint = next - slots.length;
+            long cachedGating = gatingCache.get();
+            if (wrapPoint > cachedGating || cachedGating > current) {
+                long gating = minimumConsumerSequence(current);
+                if (wrapPoint > gating) {
+                    if (waitStart == 0L) {
+                        waitStart = System.nanoTime();
+                    } else if (System.nanoTime() - waitStart > publishTimeoutNanos) {
+                        return Long.MIN_VALUE;
+                    }
+                    LockSupport.parkNanos(1L);
+                    continue;
+                }
+                gatingCache.set(gating);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private void publish(long low, long high) {
+        for (long sequence = low; sequence <= high; sequence++) {
+            int index = (int) (sequence & mask);
+            if (pendingReaders != null) {
+                pendingReaders.set(index, consumers.size());
+            }
+            availableRounds.lazySet(index, (int) (sequence >>> indexShift));
+        }
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private boolean isAvailable(long sequence) {
+        return availableRounds.get((int) (sequence & mask)) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Claimed slots are filled out of order by concurrent producers, so a
+     * consumer may only read up to the first gap
+     */
+    private long highestPublished(long low, long available) {
+        for (long sequence = low; sequence <= available; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Clear a slot once every subscriber has read it; done before the
+     * reader moves its sequence past the slot, which is what lets a
+     * producer claim it again
+     */
+    private void release(long sequence) {
+        int index = (int) (sequence & mask);
+        if (pendingReaders == null || pendingReaders.decrementAndGet(index) == 0) {
+            slots[index].event = null;
+        }
+    }
+
+    private long minimumConsumerSequence(long minimum) {
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * Stop accepting events, let the consumers drain what was published and
+     * wait for them to finish
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Consumer consumer : consumers) {
+            consumer.halted = true;
+        }
+        waitStrategy.signalAllWhenBlocking();
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(5_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public int getBufferSize() {
+        return slots.length;
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public List<String> getSubscriberNames() {
+        return consumers.stream().map(consumer -> consumer.subscriber.getName()).toList();
+    }
+
+    /**
+     * Events published but not yet handled by a subscriber
+     */
+    public long getBacklog(int subscriber) {
+        return Math.max(0L, cursor.get() - consumers.get(subscriber).sequence.get());
+    }
+
+    public long getFailures(int subscriber) {
+        return consumers.get(subscriber).failures.get();
+    }
+
+    /**
+     * Errors (not exceptions) thrown by a subscriber, each skipping one event
+     */
+    public long getErrors(int subscriber) {
+        return consumers.get(subscriber).errors.get();
+    }
+
+    private static final class Slot {
+        private DomainEvent event;
+    }
+
+    private final class Consumer implements Runnable {
+
+        private final LocalEventSubscriber subscriber;
+        private final Sequence sequence = new Sequence();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final Thread thread;
+        private volatile boolean halted;
+
+        Consumer(LocalEventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.thread = new Thread(this, "event-bus-" + subscriber.getName());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                long available = waitStrategy.waitFor(next, cursor, () -> halted);
+                if (available < next) {
+                    if (halted) {
+                        return;
+                    }
+                    continue;
+                }
+                long highest = highestPublished(next, available);
+                if (highest < next) {
+                    // Claimed but not yet filled by its producer
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long last = highest;
+                while (last >= next && slots[(int) (last & mask)].event == null) {
+                    last--;
+                }
+                for (long current = next; current <= last; current++) {
+                    DomainEvent event = slots[(int) (current & mask)].event;
+                    if (event != null) {
+                        deliver(event, current, current == last);
+                    }
+                }
+                for (long current = next; current <= highest; current++) {
+                    release(current);
+                }
+                sequence.set(highest);
+                next = highest + 1;
+            }
+        }
+
+        /**
+         * Errors are caught too: the thread is this subscriber's only
+         * consumer, and if it died the subscriber would stop receiving
+         * events while still gating the producers.
+         */
+        private void deliver(DomainEvent event, long position, boolean endOfBatch) {
+            try {
+                subscriber.onEvent(event, position, endOfBatch);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                logger.warn("Subscriber {} failed on event {} ({})",
+                        subscriber.getName(), event.getEventId(), event.getEventType(), e);
+            } catch (Throwable e) {
+                errors.incrementAndGet();
+                logger.error("Subscriber {} raised an error on event {} ({}), skipping the event",
+                        subscriber.getName(), event.getEventId(), event.getEventType(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * How a consumer thread waits for the producer cursor
+ * Infrastructure Layer: Local Event Bus
+ *
+ * The strategies trade latency for CPU: BUSY_SPIN and YIELDING keep a core
+ * busy per subscriber and react within nanoseconds, SLEEPING backs off to
+ * short parks, BLOCKING parks on a condition and costs the producer a
+ * signal whenever a consumer is asleep.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Wait until the cursor reaches {@code sequence} or the consumer is halted
+     *
+     * @return the cursor value seen last; lower than {@code sequence} when halted
+     */
+    long waitFor(long sequence, Sequence cursor, BooleanSupplier halted);
+
+    /**
+     * Called by the producer after publishing
+     */
+    void signalAllWhenBlocking();
+
+    enum Kind {
+        BLOCKING, SLEEPING, YIELDING, BUSY_SPIN;
+
+        public WaitStrategy create() {
+            return switch (this) {
+                case BLOCKING -> new Blocking();
+                case SLEEPING -> new Sleeping();
+                case YIELDING -> new Yielding();
+                case BUSY_SPIN -> new BusySpin();
+            };
+        }
+    }
+
+    final class BusySpin implements WaitStrategy {
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+            long available;
+            while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+            int counter = SPIN_TRIES;
+            long available;
+            while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+                if (counter > 0) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    final class Sleeping implements WaitStrategy {
+
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+            int counter = SPIN_TRIES + YIELD_TRIES;
+            long available;
+            while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+                if (counter > YIELD_TRIES) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else if (counter > 0) {
+                    counter--;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    /**
+     * Parks on a condition; the producer only takes the lock when a
+     * consumer announced that it is about to sleep
+     */
+    final class Blocking implements WaitStrategy {
+
+        private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+            long available = cursor.get();
+            if (available >= sequence) {
+                return available;
+            }
+            lock.lock();
+            try {
+                while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+                    signalNeeded.set(true);
+                    if ((available = cursor.get()) >= sequence) {
+                        break;
+                    }
+                    // Timed so that a halt is noticed without a signal
+                    published.awaitNanos(MAX_PARK_NANOS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            if (signalNeeded.get() && signalNeeded.getAndSet(false)) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
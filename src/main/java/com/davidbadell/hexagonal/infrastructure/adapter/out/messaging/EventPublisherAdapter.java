@@ -2,6 +2,7 @@ package com.davidbadell.hexagonal.infrastructure.adapter.out.messaging;
 
 import com.davidbadell.hexagonal.application.port.out.EventPublisher;
 import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.infrastructure.jfr.EventPublicationEvent;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,6 +10,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,8 +18,10 @@ import org.springframework.stereotype.Component;
  * Hexagonal Architecture: Output Adapter (Driven Adapter)
  * 
  * This adapter implements the EventPublisher port using RabbitMQ.
+ * Every publication emits an EventPublicationEvent.
  */
 @Component
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class EventPublisherAdapter implements EventPublisher {
     
     private static final Logger logger = LoggerFactory.getLogger(EventPublisherAdapter.class);
@@ -39,17 +43,28 @@ public class EventPublisherAdapter implements EventPublisher {
 
     @Override
     public void publish(DomainEvent event, String topic) {
+        EventPublicationEvent publication = new EventPublicationEvent();
+        publication.begin();
+        String message = null;
+        boolean failed = true;
         try {
             String routingKey = event.getEventType().toLowerCase();
-            String message = objectMapper.writeValueAsString(event);
+            message = objectMapper.writeValueAsString(event);
             
-            rabbitTemplate.convertAndSend(topic, routingKey, message);
+            rabbitTemplate.convertAndSend(topic, routingKey, message, amqpMessage -> {
+                amqpMessage.getMessageProperties().setMessageId(event.getEventId());
+                amqpMessage.getMessageProperties().setType(event.getEventType());
+                return amqpMessage;
+            });
+            failed = false;
             
             logger.info("Published event {} to exchange {} with routing key {}", 
                     event.getEventType(), topic, routingKey);
         } catch (JsonProcessingException e) {
             logger.error("Failed to serialize event {}: {}", event.getEventType(), e.getMessage());
             throw new RuntimeException("Failed to publish event", e);
+        } finally {
+            publication.finish(event, topic, message, failed);
         }
     }
 }
@@ -0,0 +1,34 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.messaging;
+
+import com.davidbadell.hexagonal.application.port.out.EventPublisher;
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event Publisher used when messaging is disabled
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Active with {@code app.messaging.enabled=false} (CLI, local development
+ * without a broker). Events are only logged; local subscribers still get
+ * them through the LocalEventBus.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "false")
+public class NoOpEventPublisher implements EventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoOpEventPublisher.class);
+
+    @Override
+    public void publish(DomainEvent event) {
+        logger.debug("Messaging disabled, not publishing event {} ({})", event.getEventType(), event.getEventId());
+    }
+
+    @Override
+    public void publish(DomainEvent event, String topic) {
+        publish(event);
+    }
+}
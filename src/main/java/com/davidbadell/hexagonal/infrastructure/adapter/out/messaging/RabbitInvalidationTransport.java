@@ -0,0 +1,122 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.messaging;
+
+import com.davidbadell.hexagonal.infrastructure.cache.InvalidationTransport;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderInvalidationBatch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Order cache invalidations over a RabbitMQ fanout exchange
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Batches are published to the fanout exchange as one JSON message each;
+ * every instance consumes them from its own exclusive, auto-delete queue
+ * bound to the exchange, so each instance receives every batch once.
+ * Invalidations are not worth redelivering: the queue is auto-acked and
+ * a malformed message is logged and dropped.
+ */
+public class RabbitInvalidationTransport implements InvalidationTransport, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(RabbitInvalidationTransport.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final SimpleMessageListenerContainer container;
+    private final ObjectMapper objectMapper;
+    private volatile boolean running;
+
+    public RabbitInvalidationTransport(RabbitTemplate rabbitTemplate, String exchange,
+                                       SimpleMessageListenerContainer container, ObjectMapper objectMapper) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.container = container;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void send(OrderInvalidationBatch batch) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("origin", batch.getOrigin());
+        ArrayNode orderIds = body.putArray("orderIds");
+        ArrayNode versions = body.putArray("versions");
+        for (int i = 0; i < batch.size(); i++) {
+            orderIds.add(batch.getOrderIds().get(i));
+            versions.add(batch.getVersion(i));
+        }
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        try {
+            rabbitTemplate.send(exchange, "", new Message(objectMapper.writeValueAsBytes(body), properties));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order cache invalidations", e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<OrderInvalidationBatch> receiver) {
+        container.setMessageListener(message -> {
+            OrderInvalidationBatch batch = parse(message);
+            if (batch != null) {
+                receiver.accept(batch);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        container.start();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void destroy() {
+        container.destroy();
+    }
+
+    private OrderInvalidationBatch parse(Message message) {
+        try {
+            JsonNode body = objectMapper.readTree(message.getBody());
+            JsonNode orderIds = body.path("orderIds");
+            JsonNode versions = body.path("versions");
+            if (!body.hasNonNull("origin") || !orderIds.isArray() || orderIds.size() != versions.size()) {
+                throw new IOException("Missing origin, or not one version per order id");
+            }
+            List<String> ids = new ArrayList<>(orderIds.size());
+            long[] orderVersions = new long[orderIds.size()];
+            for (int i = 0; i < orderIds.size(); i++) {
+                ids.add(orderIds.get(i).asText());
+                orderVersions[i] = versions.get(i).asLong();
+            }
+            return new OrderInvalidationBatch(body.get("origin").asText(), ids, orderVersions);
+        } catch (IOException e) {
+            logger.warn("Dropping malformed order cache invalidation message: {}", e.getMessage());
+            return null;
+        }
+    }
+}
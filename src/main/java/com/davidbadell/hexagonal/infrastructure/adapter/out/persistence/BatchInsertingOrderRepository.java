@@ -0,0 +1,221 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository decorator adding JDBC batched inserts
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * JPA cannot batch the order line inserts because their ids are
+ * database-generated, so bulk inserts bypass the entity manager and write
+ * both tables with two JDBC batches in one transaction; with lines stored
+ * as documents only the orders are written. Quoted totals,
+ * which the aggregate does not carry, are also written with a JDBC batch.
+ * Everything else goes to the delegate.
+ */
+public class BatchInsertingOrderRepository implements OrderStore {
+
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (id, customer_id, status, total, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_WITH_LINES =
+            "INSERT INTO orders (id, customer_id, status, total, created_at, updated_at, lines_document) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_LINE =
+            "INSERT INTO order_lines (order_id, product_id, product_name, quantity, unit_price, subtotal) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_QUOTED_TOTAL =
+            "UPDATE orders SET quoted_total = ? WHERE id = ? AND status = 'PENDING'";
+
+    private final OrderStore delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean linesAsDocument;
+
+    public BatchInsertingOrderRepository(OrderStore delegate, JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager) {
+        this(delegate, jdbcTemplate, transactionManager, OrderLinesStorage.TABLE);
+    }
+
+    public BatchInsertingOrderRepository(OrderStore delegate, JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         OrderLinesStorage linesStorage) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.linesAsDocument = linesStorage == OrderLinesStorage.DOCUMENT;
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        if (linesAsDocument) {
+            transactionTemplate.executeWithoutResult(status -> insertOrders(orders));
+            return;
+        }
+        List<Order> owners = new ArrayList<>();
+        List<OrderLine> lines = new ArrayList<>();
+        for (Order order : orders) {
+            for (OrderLine line : order.getOrderLines()) {
+                owners.add(order);
+                lines.add(line);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            insertOrders(orders);
+            jdbcTemplate.batchUpdate(INSERT_ORDER_LINE, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    OrderLine line = lines.get(i);
+                    ps.setString(1, owners.get(i).getId().getValue());
+                    ps.setString(2, line.getProductId().getValue());
+                    ps.setString(3, line.getProductName());
+                    ps.setInt(4, line.getQuantity().getValue());
+                    ps.setBigDecimal(5, line.getUnitPrice().getAmount());
+                    ps.setBigDecimal(6, line.getSubtotal().getAmount());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return lines.size();
+                }
+            });
+        });
+    }
+
+    private void insertOrders(List<Order> orders) {
+        jdbcTemplate.batchUpdate(linesAsDocument ? INSERT_ORDER_WITH_LINES : INSERT_ORDER,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Order order = orders.get(i);
+                        ps.setString(1, order.getId().getValue());
+                        ps.setString(2, order.getCustomerId().getValue());
+                        ps.setString(3, order.getStatus().name());
+                        ps.setBigDecimal(4, order.getTotal().getAmount());
+                        ps.setTimestamp(5, Timestamp.valueOf(order.getCreatedAt()));
+                        ps.setTimestamp(6, Timestamp.valueOf(order.getUpdatedAt()));
+                        if (linesAsDocument) {
+                            ps.setBytes(7, OrderLinesCodec.encode(order.getOrderLines()));
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                });
+    }
+
+    @Override
+    public Order save(Order order) {
+        return delegate.save(order);
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        return delegate.countByStatus();
+    }
+
+    @Override
+    public List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom) {
+        return delegate.totalsByCreatedHour(createdFrom);
+    }
+
+    @Override
+    public List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit) {
+        return delegate.findPendingTotalsAfter(afterOrderId, limit);
+    }
+
+    @Override
+    public List<OrderId> findIdsAfter(String afterOrderId, int limit) {
+        return delegate.findIdsAfter(afterOrderId, limit);
+    }
+
+    @Override
+    public int updateQuotedTotals(Map<OrderId, Money> quotedTotals) {
+        if (quotedTotals.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<OrderId, Money>> entries = new ArrayList<>(quotedTotals.entrySet());
+        int[] counts = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(UPDATE_QUOTED_TOTAL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setBigDecimal(1, entries.get(i).getValue().getAmount());
+                        ps.setString(2, entries.get(i).getKey().getValue());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                }));
+        int updated = 0;
+        for (int count : counts) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        delegate.deleteById(orderId);
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return delegate.existsById(orderId);
+    }
+}
@@ -0,0 +1,210 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.DataSourceRole;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.DataSourceRoutingContext;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Repository decorator that coalesces concurrent lookups by id
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Concurrent lookups of the same id share one load. Lookups of different
+ * ids are gathered into batches read with one {@link #findAllById} query:
+ * the first lookup of a batch leads it, and while another batch of its
+ * route is being loaded it waits up to {@code window} for more ids, or
+ * until the batch holds {@code maxBatchSize} of them. A lone lookup is
+ * never delayed.
+ *
+ * Callers sharing a load get the same Order instance, so this decorator
+ * belongs on the query side only, where orders are read and not changed.
+ * Lookups only coalesce with lookups routed to the same data source: the
+ * leader loads under its own {@link DataSourceRoutingContext} role, so a
+ * primary read-your-writes lookup never joins a replica load.
+ */
+public class CoalescingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Map<Key, CompletableFuture<Optional<Order>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<DataSourceRole, AtomicInteger> loading = new EnumMap<>(DataSourceRole.class);
+    private final Object lock = new Object();
+
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    // Guarded by lock
+    private final Map<DataSourceRole, Batch> open = new EnumMap<>(DataSourceRole.class);
+
+    public CoalescingOrderRepository(OrderRepository delegate, Duration window, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        for (DataSourceRole role : DataSourceRole.values()) {
+            loading.put(role, new AtomicInteger());
+        }
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        DataSourceRole role = DataSourceRoutingContext.current();
+        CompletableFuture<Optional<Order>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Order>> running = inFlight.putIfAbsent(new Key(role, orderId), mine);
+        if (running != null) {
+            joined.increment();
+            return await(running);
+        }
+
+        Batch batch;
+        boolean leader = false;
+        synchronized (lock) {
+            batch = open.get(role);
+            if (batch == null) {
+                batch = new Batch(role);
+                open.put(role, batch);
+                leader = true;
+            }
+            batch.lookups.put(orderId, mine);
+            if (batch.lookups.size() >= maxBatchSize) {
+                open.remove(role);
+                batch.full.countDown();
+            }
+        }
+        if (leader) {
+            lead(batch);
+        }
+        return await(mine);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+
+    public long getLoaded() { return loaded.sum(); }
+    public long getJoined() { return joined.sum(); }
+    public long getBatches() { return batches.sum(); }
+
+    private void lead(Batch batch) {
+        if (windowNanos > 0 && loading.get(batch.role).get() > 0) {
+            try {
+                batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (lock) {
+            open.remove(batch.role, batch);
+        }
+        load(batch.role, batch.lookups);
+    }
+
+    private void load(DataSourceRole role, Map<OrderId, CompletableFuture<Optional<Order>>> lookups) {
+        AtomicInteger running = loading.get(role);
+        running.incrementAndGet();
+        batches.increment();
+        loaded.add(lookups.size());
+        try {
+            if (lookups.size() == 1) {
+                Map.Entry<OrderId, CompletableFuture<Optional<Order>>> only = lookups.entrySet().iterator().next();
+                only.getValue().complete(delegate.findById(only.getKey()));
+            } else {
+                Map<OrderId, Order> found = new HashMap<>();
+                for (Order order : delegate.findAllById(lookups.keySet())) {
+                    found.put(order.getId(), order);
+                }
+                lookups.forEach((orderId, lookup) -> lookup.complete(Optional.ofNullable(found.get(orderId))));
+            }
+        } catch (RuntimeException | Error e) {
+            lookups.values().forEach(lookup -> lookup.completeExceptionally(e));
+        } finally {
+            running.decrementAndGet();
+            lookups.forEach((orderId, lookup) -> inFlight.remove(new Key(role, orderId), lookup));
+        }
+    }
+
+    private static Optional<Order> await(CompletableFuture<Optional<Order>> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Order save(Order order) {
+        return delegate.save(order);
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        delegate.insertAll(orders);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        delegate.deleteById(orderId);
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return delegate.existsById(orderId);
+    }
+
+    private record Key(DataSourceRole role, OrderId orderId) {}
+
+    private static final class Batch {
+        final DataSourceRole role;
+        final Map<OrderId, CompletableFuture<Optional<Order>>> lookups = new LinkedHashMap<>();
+        final CountDownLatch full = new CountDownLatch(1);
+
+        Batch(DataSourceRole role) {
+            this.role = role;
+        }
+    }
+}
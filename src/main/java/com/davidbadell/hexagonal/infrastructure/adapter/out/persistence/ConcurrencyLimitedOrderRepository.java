@@ -0,0 +1,105 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository decorator that runs every call through a bulkhead
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * One instance guards the write path and another the query path,
+ * so a burst of reads cannot take the permits order creation needs.
+ */
+public class ConcurrencyLimitedOrderRepository implements OrderStore {
+
+    private final OrderStore delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedOrderRepository(OrderStore delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return limiter.execute(() -> delegate.save(order));
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        limiter.execute(() -> delegate.insertAll(orders));
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        return limiter.execute(() -> delegate.findById(orderId));
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        return limiter.execute(() -> delegate.findAllById(orderIds));
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return limiter.execute(() -> delegate.findByCustomerId(customerId));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return limiter.execute(delegate::findAll);
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return limiter.execute(() -> delegate.query(query));
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        return limiter.execute(() -> delegate.countByStatus());
+    }
+
+    @Override
+    public List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom) {
+        return limiter.execute(() -> delegate.totalsByCreatedHour(createdFrom));
+    }
+
+    @Override
+    public List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit) {
+        return limiter.execute(() -> delegate.findPendingTotalsAfter(afterOrderId, limit));
+    }
+
+    @Override
+    public List<OrderId> findIdsAfter(String afterOrderId, int limit) {
+        return limiter.execute(() -> delegate.findIdsAfter(afterOrderId, limit));
+    }
+
+    @Override
+    public int updateQuotedTotals(Map<OrderId, Money> quotedTotals) {
+        return limiter.execute(() -> delegate.updateQuotedTotals(quotedTotals));
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        limiter.execute(() -> delegate.deleteById(orderId));
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return limiter.execute(() -> delegate.existsById(orderId));
+    }
+}
@@ -0,0 +1,217 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.jfr.RepositoryCallEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository decorator emitting a flight recorder event per call
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Sits directly on the store, so the events time the database work and
+ * not the waits in the bulkheads or coalescing windows above it.
+ */
+public class FlightRecordingOrderRepository implements OrderStore {
+
+    private final OrderStore delegate;
+
+    public FlightRecordingOrderRepository(OrderStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Order save(Order order) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Order saved = null;
+        try {
+            saved = delegate.save(order);
+            return saved;
+        } finally {
+            event.finish("save", order.getId().getValue(), saved != null ? saved : order, saved == null);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            delegate.insertAll(orders);
+            failed = false;
+        } finally {
+            event.finish("insertAll", orders, failed);
+        }
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Optional<Order> order = null;
+        try {
+            order = delegate.findById(orderId);
+            return order;
+        } finally {
+            event.finish("findById", orderId.getValue(), order != null ? order.orElse(null) : null, order == null);
+        }
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        List<Order> orders = null;
+        try {
+            orders = delegate.findAllById(orderIds);
+            return orders;
+        } finally {
+            event.finish("findAllById", orders, false);
+        }
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        List<Order> orders = null;
+        try {
+            orders = delegate.findByCustomerId(customerId);
+            return orders;
+        } finally {
+            event.finish("findByCustomerId", orders, false);
+        }
+    }
+
+    @Override
+    public List<Order> findAll() {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        List<Order> orders = null;
+        try {
+            orders = delegate.findAll();
+            return orders;
+        } finally {
+            event.finish("findAll", orders, false);
+        }
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        List<Order> orders = null;
+        try {
+            orders = delegate.query(query);
+            return orders;
+        } finally {
+            event.finish("query", orders, false);
+        }
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Map<OrderStatus, Long> counts = null;
+        try {
+            counts = delegate.countByStatus();
+            return counts;
+        } finally {
+            event.finish("countByStatus", null, counts != null ? counts.size() : 0, counts == null);
+        }
+    }
+
+    @Override
+    public List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        List<OrderStatistics.HourlyTotals> totals = null;
+        try {
+            totals = delegate.totalsByCreatedHour(createdFrom);
+            return totals;
+        } finally {
+            event.finish("totalsByCreatedHour", null, totals != null ? totals.size() : 0, totals == null);
+        }
+    }
+
+    @Override
+    public List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        List<PendingOrderTotal> totals = null;
+        try {
+            totals = delegate.findPendingTotalsAfter(afterOrderId, limit);
+            return totals;
+        } finally {
+            event.finish("findPendingTotalsAfter", afterOrderId, totals != null ? totals.size() : 0,
+                    totals == null);
+        }
+    }
+
+    @Override
+    public List<OrderId> findIdsAfter(String afterOrderId, int limit) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        List<OrderId> ids = null;
+        try {
+            ids = delegate.findIdsAfter(afterOrderId, limit);
+            return ids;
+        } finally {
+            event.finish("findIdsAfter", afterOrderId, ids != null ? ids.size() : 0, ids == null);
+        }
+    }
+
+    @Override
+    public int updateQuotedTotals(Map<OrderId, Money> quotedTotals) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        int updated = -1;
+        try {
+            updated = delegate.updateQuotedTotals(quotedTotals);
+            return updated;
+        } finally {
+            event.finish("updateQuotedTotals", null, updated, updated < 0);
+        }
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            delegate.deleteById(orderId);
+            failed = false;
+        } finally {
+            event.finish("deleteById", orderId.getValue(), -1, failed);
+        }
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        int found = -1;
+        try {
+            boolean exists = delegate.existsById(orderId);
+            found = exists ? 1 : 0;
+            return exists;
+        } finally {
+            event.finish("existsById", orderId.getValue(), found, found < 0);
+        }
+    }
+}
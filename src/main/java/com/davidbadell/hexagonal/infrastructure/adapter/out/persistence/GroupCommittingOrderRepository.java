@@ -0,0 +1,232 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Repository decorator committing concurrent order creations together
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * A new order (one whose creation event has not been published yet) is
+ * queued instead of being saved in a transaction of its own. The first
+ * order of a group leads it: while another group is being committed it
+ * waits up to {@code maxWait} for more orders, or until the group holds
+ * {@code maxBatchSize} of them, then inserts the whole group with
+ * {@link #insertAll} in one transaction. A lone creation is never delayed
+ * and is saved as usual. Grouped orders are returned as saved copies
+ * without their pending events, as a save returns them. If a group
+ * fails, its orders are saved one by one so that each creation gets its
+ * own result or failure.
+ *
+ * Updates of stored orders are not grouped.
+ */
+public class GroupCommittingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final long maxWaitNanos;
+    private final int maxBatchSize;
+    private final AtomicInteger committing = new AtomicInteger();
+    private final Object lock = new Object();
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    // Guarded by lock
+    private Group open;
+
+    public GroupCommittingOrderRepository(OrderRepository delegate, Duration maxWait, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.delegate = delegate;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Order save(Order order) {
+        if (!isNew(order)) {
+            return delegate.save(order);
+        }
+        CompletableFuture<Order> mine = new CompletableFuture<>();
+        Group group;
+        boolean leader = false;
+        synchronized (lock) {
+            if (open == null) {
+                open = new Group();
+                leader = true;
+            }
+            group = open;
+            group.orders.add(order);
+            group.creations.add(mine);
+            if (group.orders.size() >= maxBatchSize) {
+                open = null;
+                group.full.countDown();
+            }
+        }
+        if (leader) {
+            lead(group);
+        }
+        return await(mine);
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        delegate.insertAll(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+
+    /**
+     * Transactions committed for new orders, alone or grouped
+     */
+    public long getCommits() { return commits.sum(); }
+    public long getCommitted() { return committed.sum(); }
+    public long getFallbacks() { return fallbacks.sum(); }
+
+    private void lead(Group group) {
+        if (maxWaitNanos > 0 && committing.get() > 0) {
+            try {
+                group.full.await(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (lock) {
+            if (open == group) {
+                open = null;
+            }
+        }
+        commit(group.orders, group.creations);
+    }
+
+    private void commit(List<Order> orders, List<CompletableFuture<Order>> creations) {
+        committing.incrementAndGet();
+        commits.increment();
+        try {
+            if (orders.size() == 1) {
+                creations.get(0).complete(delegate.save(orders.get(0)));
+            } else {
+                delegate.insertAll(orders);
+                for (int i = 0; i < orders.size(); i++) {
+                    creations.get(i).complete(saved(orders.get(i)));
+                }
+            }
+            committed.add(orders.size());
+        } catch (RuntimeException e) {
+            if (orders.size() == 1) {
+                creations.get(0).completeExceptionally(e);
+            } else {
+                fallbacks.increment();
+                saveOneByOne(orders, creations);
+            }
+        } catch (Error e) {
+            creations.forEach(creation -> creation.completeExceptionally(e));
+        } finally {
+            committing.decrementAndGet();
+        }
+    }
+
+    private void saveOneByOne(List<Order> orders, List<CompletableFuture<Order>> creations) {
+        for (int i = 0; i < orders.size(); i++) {
+            try {
+                creations.get(i).complete(delegate.save(orders.get(i)));
+                committed.increment();
+            } catch (RuntimeException | Error e) {
+                creations.get(i).completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * An order that still holds its creation event was never stored
+     */
+    private static boolean isNew(Order order) {
+        for (DomainEvent event : order.getDomainEvents()) {
+            if (event instanceof OrderCreatedEvent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The stored copy of an inserted order, as a save would return it:
+     * without the pending events, at the first version
+     */
+    private static Order saved(Order order) {
+        return Order.reconstitute(order.getId(), order.getCustomerId(), order.getOrderLines(), order.getStatus(),
+                order.getCreatedAt(), order.getUpdatedAt(), 0);
+    }
+
+    private static Order await(CompletableFuture<Order> creation) {
+        try {
+            return creation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        delegate.deleteById(orderId);
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return delegate.existsById(orderId);
+    }
+
+    private static final class Group {
+        final List<Order> orders = new ArrayList<>();
+        final List<CompletableFuture<Order>> creations = new ArrayList<>();
+        final CountDownLatch full = new CountDownLatch(1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity for a stored idempotent response
+ * Infrastructure Layer: Persistence Entity
+ *
+ * The response is kept as a versioned JSON document (see IdempotentResponseCodec).
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_stored_at", columnList = "stored_at")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key", nullable = false, length = 400)
+    private String key;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Lob
+    @Column(name = "response", nullable = false)
+    private byte[] response;
+
+    @Column(name = "stored_at", nullable = false)
+    private long storedAt;
+
+    // Default constructor for JPA
+    protected IdempotencyKeyEntity() {}
+
+    public IdempotencyKeyEntity(String key, String fingerprint, byte[] response, long storedAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.response = response;
+        this.storedAt = storedAt;
+    }
+
+    public String getKey() { return key; }
+    public String getFingerprint() { return fingerprint; }
+    public byte[] getResponse() { return response; }
+    public long getStoredAt() { return storedAt; }
+}
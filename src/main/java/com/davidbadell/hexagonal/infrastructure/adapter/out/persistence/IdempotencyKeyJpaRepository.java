@@ -0,0 +1,34 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA Repository for stored idempotent responses
+ * Infrastructure Layer: Repository Interface
+ */
+@Repository
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    /**
+     * Delete the responses stored before a time, in one statement
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.storedAt < :storedAt")
+    int deleteStoredBefore(@Param("storedAt") long storedAt);
+
+    /**
+     * Overwrite the response under a key, if it was stored before a time
+     *
+     * @return 1 if the expired response was replaced, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyKeyEntity k SET k.fingerprint = :fingerprint, k.response = :response, "
+            + "k.storedAt = :storedAt WHERE k.key = :key AND k.storedAt < :expiredBefore")
+    int replaceStoredBefore(@Param("key") String key, @Param("fingerprint") String fingerprint,
+                            @Param("response") byte[] response, @Param("storedAt") long storedAt,
+                            @Param("expiredBefore") long expiredBefore);
+}
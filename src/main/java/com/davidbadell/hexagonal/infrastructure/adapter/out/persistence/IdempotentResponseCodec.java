@@ -0,0 +1,127 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON form of the responses kept in the idempotency_keys table
+ * Infrastructure Layer: Persistence Mapping
+ *
+ * Each document carries a format number, so rows written in a form this
+ * version does not know are reported as unreadable rather than misread.
+ * Amounts are kept as decimal strings so no scale is lost.
+ */
+class IdempotentResponseCodec {
+
+    static final int FORMAT = 1;
+
+    private final ObjectMapper objectMapper;
+
+    IdempotentResponseCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    byte[] encode(OrderResponse response) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("format", FORMAT);
+        body.put("orderId", response.getOrderId());
+        body.put("customerId", response.getCustomerId());
+        body.put("status", response.getStatus());
+        body.put("total", toText(response.getTotal()));
+        body.put("createdAt", toText(response.getCreatedAt()));
+        body.put("updatedAt", toText(response.getUpdatedAt()));
+        body.put("version", response.getVersion());
+        ArrayNode items = body.putArray("items");
+        if (response.getItems() != null) {
+            for (OrderResponse.OrderLineResponse line : response.getItems()) {
+                items.addObject()
+                        .put("productId", line.getProductId())
+                        .put("productName", line.getProductName())
+                        .put("quantity", line.getQuantity())
+                        .put("unitPrice", toText(line.getUnitPrice()))
+                        .put("subtotal", toText(line.getSubtotal()));
+            }
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    /**
+     * @throws IOException if the bytes are not a response in a known format
+     */
+    OrderResponse decode(byte[] bytes) throws IOException {
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new IOException("Not a JSON document", e);
+        }
+        if (body == null || body.path("format").asInt() != FORMAT) {
+            throw new IOException("Unknown format " + (body != null ? body.path("format") : null));
+        }
+        JsonNode items = body.path("items");
+        List<OrderResponse.OrderLineResponse> lines = new ArrayList<>(items.size());
+        for (JsonNode line : items) {
+            lines.add(new OrderResponse.OrderLineResponse(
+                    textOf(line, "productId"),
+                    textOf(line, "productName"),
+                    line.path("quantity").asInt(),
+                    decimalOf(line, "unitPrice"),
+                    decimalOf(line, "subtotal")));
+        }
+        try {
+            return OrderResponse.builder()
+                    .orderId(textOf(body, "orderId"))
+                    .customerId(textOf(body, "customerId"))
+                    .status(textOf(body, "status"))
+                    .total(decimalOf(body, "total"))
+                    .createdAt(dateTimeOf(body, "createdAt"))
+                    .updatedAt(dateTimeOf(body, "updatedAt"))
+                    .items(lines)
+                    .version(body.path("version").asLong())
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed response", e);
+        }
+    }
+
+    private static String toText(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    private static String textOf(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+
+    private static BigDecimal decimalOf(JsonNode node, String field) throws IOException {
+        String text = textOf(node, field);
+        try {
+            return text != null ? new BigDecimal(text) : null;
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed " + field, e);
+        }
+    }
+
+    private static LocalDateTime dateTimeOf(JsonNode node, String field) {
+        String text = textOf(node, field);
+        return text != null ? LocalDateTime.parse(text) : null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderInvalidations;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository decorator invalidating cached copies of the orders it changes
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Used on the write chain. Once a change is stored, the order is
+ * invalidated in the caches of this instance and queued for the others,
+ * with its new version; a deletion invalidates every version. Inserted
+ * orders are new, so there is nothing to invalidate.
+ */
+public class InvalidatingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final OrderInvalidations invalidations;
+
+    public InvalidatingOrderRepository(OrderRepository delegate, OrderInvalidations invalidations) {
+        this.delegate = delegate;
+        this.invalidations = invalidations;
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        invalidations.publish(saved.getId().getValue(), saved.getVersion());
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        delegate.insertAll(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return delegate.existsById(orderId);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        delegate.deleteById(orderId);
+        invalidations.publish(orderId.getValue(), Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,130 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotencyStore;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotentResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency store in the primary database
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Lets keys outlive a restart and be shared between instances. Two
+ * instances racing on the same key both run the request, since only
+ * requests in flight on one instance wait for each other; the first
+ * response stored wins and later replays return it until it expires.
+ * Expired rows are purged in the background, or replaced when their key
+ * is used again before that.
+ */
+public class JpaIdempotencyStore implements IdempotencyStore, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaIdempotencyStore.class);
+
+    private final IdempotencyKeyJpaRepository jpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotentResponseCodec codec;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final ScheduledExecutorService purger;
+
+    public JpaIdempotencyStore(IdempotencyKeyJpaRepository jpaRepository, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper, Duration ttl, Clock clock) {
+        this.jpaRepository = jpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.codec = new IdempotentResponseCodec(objectMapper);
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Purge expired keys every interval
+     */
+    public void start(Duration interval) {
+        purger.scheduleWithFixedDelay(this::purgeQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        return jpaRepository.findById(key)
+                .filter(entity -> clock.millis() - entity.getStoredAt() < ttlMillis)
+                .map(this::toResponse)
+                .orElse(null);
+    }
+
+    @Override
+    public void put(String key, IdempotentResponse response) {
+        try {
+            byte[] encoded = codec.encode(response.getResponse());
+            long expiredBefore = clock.millis() - ttlMillis;
+            transactionTemplate.executeWithoutResult(status -> {
+                // An expired row the purge has not reached yet is replaced, a live one kept
+                if (jpaRepository.replaceStoredBefore(key, response.getFingerprint(), encoded,
+                        response.getStoredAtMillis(), expiredBefore) == 0 && !jpaRepository.existsById(key)) {
+                    jpaRepository.save(new IdempotencyKeyEntity(key, response.getFingerprint(), encoded,
+                            response.getStoredAtMillis()));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the key first; its response stands
+            logger.debug("Idempotency key {} was stored concurrently", key);
+        }
+    }
+
+    /**
+     * Delete the expired keys
+     *
+     * @return the number of keys deleted
+     */
+    public int purge() {
+        long cutoff = clock.millis() - ttlMillis;
+        Integer deleted = transactionTemplate.execute(status -> jpaRepository.deleteStoredBefore(cutoff));
+        return deleted != null ? deleted : 0;
+    }
+
+    @Override
+    public void close() {
+        purger.shutdownNow();
+    }
+
+    private IdempotentResponse toResponse(IdempotencyKeyEntity entity) {
+        try {
+            return new IdempotentResponse(entity.getFingerprint(), codec.decode(entity.getResponse()),
+                    entity.getStoredAt());
+        } catch (IOException e) {
+            // Treated as a missing key: the row goes so the response of the rerun request can take its place
+            logger.warn("Dropping unreadable response stored under idempotency key {}: {}",
+                    entity.getKey(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> jpaRepository.deleteById(entity.getKey()));
+            return null;
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted = purge();
+            if (deleted > 0) {
+                logger.debug("Purged {} expired idempotency keys", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Cannot purge expired idempotency keys", e);
+        }
+    }
+}
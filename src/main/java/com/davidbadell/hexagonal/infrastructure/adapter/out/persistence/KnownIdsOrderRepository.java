@@ -0,0 +1,103 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.knownids.KnownOrderIds;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository decorator that answers lookups of unknown ids without a query
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Lookups and existence checks of ids the known order ids rule out return
+ * empty straight away, so GetOrderService and CancelOrderService report
+ * definite misses without a database round trip. Stored orders are added
+ * to the known ids. Both repository chains share one KnownOrderIds.
+ */
+public class KnownIdsOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final KnownOrderIds knownIds;
+
+    public KnownIdsOrderRepository(OrderRepository delegate, KnownOrderIds knownIds) {
+        this.delegate = delegate;
+        this.knownIds = knownIds;
+    }
+
+    @Override
+    public Order save(Order order) {
+        knownIds.add(order.getId());
+        Order saved = delegate.save(order);
+        knownIds.add(order.getId());
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        orders.forEach(order -> knownIds.add(order.getId()));
+        delegate.insertAll(orders);
+        orders.forEach(order -> knownIds.add(order.getId()));
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        if (!knownIds.mightExist(orderId)) {
+            return Optional.empty();
+        }
+        Optional<Order> order = delegate.findById(orderId);
+        if (order.isEmpty()) {
+            knownIds.recordMiss();
+        }
+        return order;
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        List<OrderId> known = new ArrayList<>(orderIds.size());
+        for (OrderId orderId : orderIds) {
+            if (knownIds.mightExist(orderId)) {
+                known.add(orderId);
+            }
+        }
+        return known.isEmpty() ? List.of() : delegate.findAllById(known);
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        if (!knownIds.mightExist(orderId)) {
+            return false;
+        }
+        boolean exists = delegate.existsById(orderId);
+        if (!exists) {
+            knownIds.recordMiss();
+        }
+        return exists;
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        delegate.deleteById(orderId);
+    }
+}
@@ -0,0 +1,99 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderNearCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository decorator serving lookups by id from the near cache
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Used on the query chain only, as commands must read the stored order.
+ * Orders found by id are cached; the cache is kept coherent across
+ * instances by the invalidations that {@link InvalidatingOrderRepository}
+ * publishes on the write chain.
+ */
+public class NearCachingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final OrderNearCache cache;
+
+    public NearCachingOrderRepository(OrderRepository delegate, OrderNearCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Order save(Order order) {
+        return delegate.save(order);
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        delegate.insertAll(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        Order cached = cache.get(orderId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Order> order = delegate.findById(orderId);
+        order.ifPresent(cache::put);
+        return order;
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        List<Order> found = new ArrayList<>(orderIds.size());
+        List<OrderId> missing = new ArrayList<>();
+        for (OrderId orderId : orderIds) {
+            Order cached = cache.get(orderId);
+            if (cached != null) {
+                found.add(cached);
+            } else {
+                missing.add(orderId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Order> loaded = delegate.findAllById(missing);
+            loaded.forEach(cache::put);
+            found.addAll(loaded);
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return cache.get(orderId) != null || delegate.existsById(orderId);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        delegate.deleteById(orderId);
+    }
+}
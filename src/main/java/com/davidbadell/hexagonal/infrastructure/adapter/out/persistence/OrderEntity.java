@@ -13,7 +13,10 @@ import java.util.List;
  * This entity is used for ORM mapping and should not be used in domain logic.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at", columnList = "created_at"),
+        @Index(name = "idx_orders_status_id", columnList = "status, id")
+})
 public class OrderEntity {
     
     @Id
@@ -30,12 +33,26 @@ public class OrderEntity {
     @Column(name = "total", nullable = false, precision = 19, scale = 2)
     private BigDecimal total;
     
+    // Written by the repricing job only (JDBC), never by saving the aggregate
+    @Column(name = "quoted_total", precision = 19, scale = 2, insertable = false, updatable = false)
+    private BigDecimal quotedTotal;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Incremented on every update, by Hibernate here and by the JDBC adapter in SQL.
+    // The default covers the JDBC inserts and lets ddl-auto add the column to existing rows
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0 not null")
+    private long version;
+    
+    // The lines as one OrderLinesCodec document, or null when they are order_lines rows
+    @Column(name = "lines_document", length = 16 * 1024 * 1024)
+    private byte[] linesDocument;
+    
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderLineEntity> orderLines = new ArrayList<>();
 
@@ -75,12 +92,20 @@ public class OrderEntity {
     public BigDecimal getTotal() { return total; }
     public void setTotal(BigDecimal total) { this.total = total; }
     
+    public BigDecimal getQuotedTotal() { return quotedTotal; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
+    public byte[] getLinesDocument() { return linesDocument; }
+    public void setLinesDocument(byte[] linesDocument) { this.linesDocument = linesDocument; }
+    
     public List<OrderLineEntity> getOrderLines() { return orderLines; }
     public void setOrderLines(List<OrderLineEntity> orderLines) { this.orderLines = orderLines; }
 }
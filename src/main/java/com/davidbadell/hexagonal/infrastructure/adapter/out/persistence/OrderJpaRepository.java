@@ -1,8 +1,16 @@
 package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -10,8 +18,14 @@ import java.util.List;
  * Infrastructure Layer: Repository Interface
  */
 @Repository
-public interface OrderJpaRepository extends JpaRepository<OrderEntity, String> {
+public interface OrderJpaRepository extends JpaRepository<OrderEntity, String>, JpaSpecificationExecutor<OrderEntity> {
     
+    /**
+     * Find orders by ID with their lines, in one query
+     */
+    @Query("select distinct o from OrderEntity o left join fetch o.orderLines where o.id in :ids")
+    List<OrderEntity> findAllWithLinesByIdIn(@Param("ids") Collection<String> ids);
+
     /**
      * Find orders by customer ID
      */
@@ -26,4 +40,44 @@ public interface OrderJpaRepository extends JpaRepository<OrderEntity, String> {
      * Find orders by customer ID and status
      */
     List<OrderEntity> findByCustomerIdAndStatus(String customerId, OrderStatusEntity status);
+
+    /**
+     * Count orders by status, as (status, count) rows
+     */
+    @Query("select o.status, count(o) from OrderEntity o group by o.status")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * Count and sum up orders created since a time by hour of creation,
+     * as (date, hour, count, revenue) rows; revenue leaves out cancelled orders
+     */
+    @Query("select cast(o.createdAt as LocalDate), extract(hour from o.createdAt), count(o), "
+            + "sum(case when o.status = com.davidbadell.hexagonal.infrastructure.adapter.out.persistence"
+            + ".OrderStatusEntity.CANCELLED then 0 else o.total end) "
+            + "from OrderEntity o where o.createdAt >= :createdFrom "
+            + "group by cast(o.createdAt as LocalDate), extract(hour from o.createdAt)")
+    List<Object[]> sumGroupedByCreatedHour(@Param("createdFrom") LocalDateTime createdFrom);
+
+    /**
+     * Pending orders after an id, in order of id, as (id, total, quotedTotal) rows
+     */
+    @Query("select o.id, o.total, o.quotedTotal from OrderEntity o "
+            + "where o.status = com.davidbadell.hexagonal.infrastructure.adapter.out.persistence"
+            + ".OrderStatusEntity.PENDING and o.id > :afterId order by o.id")
+    List<Object[]> findPendingTotalsAfter(@Param("afterId") String afterId, Pageable page);
+
+    /**
+     * Order ids after an id, in order of id
+     */
+    @Query("select o.id from OrderEntity o where o.id > :afterId order by o.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Pageable page);
+
+    /**
+     * Store the quoted total of an order if it is still pending
+     */
+    @Modifying
+    @Query("update OrderEntity o set o.quotedTotal = :quotedTotal where o.id = :id "
+            + "and o.status = com.davidbadell.hexagonal.infrastructure.adapter.out.persistence"
+            + ".OrderStatusEntity.PENDING")
+    int updateQuotedTotal(@Param("id") String id, @Param("quotedTotal") BigDecimal quotedTotal);
 }
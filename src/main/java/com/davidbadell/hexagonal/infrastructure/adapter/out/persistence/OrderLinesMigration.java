@@ -0,0 +1,152 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves existing order lines from {@code order_lines} rows into documents
+ * Infrastructure Layer: Persistence
+ *
+ * Walks the orders that have no lines document yet in order of id,
+ * {@code batchSize} at a time, one transaction per batch: the orders are
+ * locked, their rows are read and encoded with {@link OrderLinesCodec},
+ * written to {@code lines_document} and deleted. Every batch leaves each
+ * order complete in one form or the other, so the migration can be stopped
+ * and run again at any time, also while instances still writing rows are
+ * being rolled out; orders they save meanwhile are picked up by the next run.
+ */
+public class OrderLinesMigration implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderLinesMigration.class);
+
+    private static final String SELECT_ORDERS = "SELECT id FROM orders WHERE lines_document IS NULL AND id > ? "
+            + "ORDER BY id FETCH FIRST %d ROWS ONLY FOR UPDATE";
+    private static final String SELECT_LINES = "SELECT order_id, product_id, product_name, quantity, unit_price "
+            + "FROM order_lines WHERE order_id IN (%s) ORDER BY order_id, id";
+    private static final String UPDATE_DOCUMENT =
+            "UPDATE orders SET lines_document = ? WHERE id = ? AND lines_document IS NULL";
+    private static final String DELETE_LINES = "DELETE FROM order_lines WHERE order_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final AtomicLong migrated = new AtomicLong();
+    private final ExecutorService executor;
+
+    public OrderLinesMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "order-lines-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run the migration in the background
+     */
+    public void start() {
+        executor.execute(() -> {
+            try {
+                long count = migrate();
+                logger.info("Moved the lines of {} orders into documents", count);
+            } catch (RuntimeException e) {
+                logger.warn("Order lines migration stopped after {} orders; it resumes on the next start",
+                        migrated.get(), e);
+            }
+        });
+    }
+
+    /**
+     * Migrate every order that has no lines document
+     *
+     * @return the number of orders migrated by this call
+     */
+    public long migrate() {
+        long count = 0;
+        String afterId = "";
+        while (!Thread.currentThread().isInterrupted()) {
+            List<String> ids = migrateBatch(afterId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            count += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        return count;
+    }
+
+    public long getMigrated() {
+        return migrated.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private List<String> migrateBatch(String afterId) {
+        return transactionTemplate.execute(status -> {
+            List<String> ids = jdbcTemplate.queryForList(String.format(SELECT_ORDERS, batchSize), String.class,
+                    afterId);
+            if (ids.isEmpty()) {
+                return ids;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            Map<String, List<OrderLine>> lines = new LinkedHashMap<>();
+            for (String id : ids) {
+                lines.put(id, new ArrayList<>());
+            }
+            jdbcTemplate.query(String.format(SELECT_LINES, placeholders), rs -> {
+                lines.get(rs.getString(1)).add(new OrderLine(
+                        ProductId.of(rs.getString(2)),
+                        rs.getString(3),
+                        Quantity.of(rs.getInt(4)),
+                        Money.of(rs.getBigDecimal(5))));
+            }, ids.toArray());
+
+            List<Map.Entry<String, List<OrderLine>>> documents = new ArrayList<>(lines.entrySet());
+            jdbcTemplate.batchUpdate(UPDATE_DOCUMENT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setBytes(1, OrderLinesCodec.encode(documents.get(i).getValue()));
+                    ps.setString(2, documents.get(i).getKey());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return documents.size();
+                }
+            });
+            jdbcTemplate.update(String.format(DELETE_LINES, placeholders), ids.toArray());
+            migrated.addAndGet(ids.size());
+            return ids;
+        });
+    }
+}
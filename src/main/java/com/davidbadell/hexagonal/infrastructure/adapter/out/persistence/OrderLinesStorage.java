@@ -0,0 +1,16 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+/**
+ * Where the lines of an order are written
+ * Infrastructure Layer: Persistence
+ *
+ * TABLE writes one {@code order_lines} row per line; DOCUMENT writes all
+ * lines as one {@link OrderLinesCodec} document in the
+ * {@code lines_document} column of the order row. Reads accept both in
+ * either mode, so a database can hold a mix of the two while it is being
+ * migrated.
+ */
+public enum OrderLinesStorage {
+    TABLE,
+    DOCUMENT
+}
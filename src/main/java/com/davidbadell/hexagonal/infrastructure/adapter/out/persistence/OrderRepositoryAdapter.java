@@ -1,11 +1,25 @@
 package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
 
-import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
 import com.davidbadell.hexagonal.domain.model.*;
+import com.davidbadell.hexagonal.infrastructure.jfr.AggregateMappingEvent;
 
-import org.springframework.stereotype.Component;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -13,21 +27,48 @@ import java.util.stream.Collectors;
  * Repository Adapter
  * Hexagonal Architecture: Output Adapter (Driven Adapter)
  * 
- * This adapter implements the OrderRepository port using JPA.
+ * This adapter implements the order ports ({@link OrderStore}) using JPA.
+ * Reads run in a read-only transaction so that the lazy order lines are
+ * loaded while mapping, also where no request-scoped session is open
+ * (CLI, background jobs).
+ *
+ * Lines are written as {@code order_lines} rows or, with
+ * {@link OrderLinesStorage#DOCUMENT}, as one document on the order row,
+ * which saves the join and the lazy collection load on reads and a row
+ * insert per line on writes. Reads take the document when there is one,
+ * whatever the mode, and saving an order rewrites its lines in the current
+ * mode, deleting the rows it replaces.
+ *
+ * Every order mapped emits an AggregateMappingEvent; from rows, its
+ * duration includes loading the lazy lines.
  */
-@Component
-public class OrderRepositoryAdapter implements OrderRepository {
+@Transactional(readOnly = true)
+public class OrderRepositoryAdapter implements OrderStore {
+
+    private static final Sort RESULT_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
     
     private final OrderJpaRepository jpaRepository;
+    private final OrderLinesStorage linesStorage;
 
     public OrderRepositoryAdapter(OrderJpaRepository jpaRepository) {
+        this(jpaRepository, OrderLinesStorage.TABLE);
+    }
+
+    public OrderRepositoryAdapter(OrderJpaRepository jpaRepository, OrderLinesStorage linesStorage) {
         this.jpaRepository = jpaRepository;
+        this.linesStorage = linesStorage;
+    }
+
+    public OrderLinesStorage getLinesStorage() {
+        return linesStorage;
     }
 
     @Override
+    @Transactional
     public Order save(Order order) {
         OrderEntity entity = toEntity(order);
-        OrderEntity savedEntity = jpaRepository.save(entity);
+        // Flushed so that the returned order carries the version the update produced
+        OrderEntity savedEntity = jpaRepository.saveAndFlush(entity);
         return toDomain(savedEntity);
     }
 
@@ -37,6 +78,21 @@ public class OrderRepositoryAdapter implements OrderRepository {
                 .map(this::toDomain);
     }
 
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = new ArrayList<>(orderIds.size());
+        for (OrderId orderId : orderIds) {
+            ids.add(orderId.getValue());
+        }
+        return jpaRepository.findAllWithLinesByIdIn(ids)
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Order> findByCustomerId(CustomerId customerId) {
         return jpaRepository.findByCustomerId(customerId.getValue())
@@ -54,6 +110,73 @@ public class OrderRepositoryAdapter implements OrderRepository {
     }
 
     @Override
+    public List<Order> query(OrderQuery query) {
+        if (query.getSize() <= 0) {
+            return List.of();
+        }
+        return jpaRepository.findAll(toSpecification(query), PageRequest.of(query.getPage(), query.getSize(), RESULT_SORT))
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : jpaRepository.countGroupedByStatus()) {
+            counts.put(OrderStatus.valueOf(((OrderStatusEntity) row[0]).name()), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom) {
+        List<OrderStatistics.HourlyTotals> totals = new ArrayList<>();
+        for (Object[] row : jpaRepository.sumGroupedByCreatedHour(createdFrom)) {
+            LocalDateTime hour = ((LocalDate) row[0]).atTime(((Number) row[1]).intValue(), 0);
+            BigDecimal revenue = new BigDecimal(row[3].toString()).setScale(2);
+            totals.add(new OrderStatistics.HourlyTotals(hour, ((Number) row[2]).longValue(), revenue));
+        }
+        return OrderStatistics.HourlyTotals.combine(totals);
+    }
+
+    @Override
+    public List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit) {
+        List<PendingOrderTotal> totals = new ArrayList<>();
+        // Every id sorts after the empty string
+        for (Object[] row : jpaRepository.findPendingTotalsAfter(afterOrderId != null ? afterOrderId : "",
+                PageRequest.ofSize(limit))) {
+            totals.add(new PendingOrderTotal(OrderId.of((String) row[0]), Money.of((BigDecimal) row[1]),
+                    row[2] != null ? Money.of((BigDecimal) row[2]) : null));
+        }
+        return totals;
+    }
+
+    @Override
+    public List<OrderId> findIdsAfter(String afterOrderId, int limit) {
+        // Every id sorts after the empty string
+        return jpaRepository.findIdsAfter(afterOrderId != null ? afterOrderId : "", PageRequest.ofSize(limit))
+                .stream()
+                .map(OrderId::of)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One update statement per order; {@link BatchInsertingOrderRepository}
+     * sends them as a single JDBC batch instead.
+     */
+    @Override
+    @Transactional
+    public int updateQuotedTotals(Map<OrderId, Money> quotedTotals) {
+        int updated = 0;
+        for (Map.Entry<OrderId, Money> entry : quotedTotals.entrySet()) {
+            updated += jpaRepository.updateQuotedTotal(entry.getKey().getValue(), entry.getValue().getAmount());
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
     public void deleteById(OrderId orderId) {
         jpaRepository.deleteById(orderId.getValue());
     }
@@ -65,6 +188,22 @@ public class OrderRepositoryAdapter implements OrderRepository {
 
     // Mapping methods
     private OrderEntity toEntity(Order order) {
+        AggregateMappingEvent event = new AggregateMappingEvent();
+        event.begin();
+        OrderEntity entity = mapToEntity(order);
+        event.finish(AggregateMappingEvent.AGGREGATE_TO_ENTITY, order);
+        return entity;
+    }
+
+    private Order toDomain(OrderEntity entity) {
+        AggregateMappingEvent event = new AggregateMappingEvent();
+        event.begin();
+        Order order = mapToDomain(entity);
+        event.finish(AggregateMappingEvent.ENTITY_TO_AGGREGATE, order);
+        return order;
+    }
+
+    private OrderEntity mapToEntity(Order order) {
         OrderEntity entity = new OrderEntity(
                 order.getId().getValue(),
                 order.getCustomerId().getValue(),
@@ -73,6 +212,11 @@ public class OrderRepositoryAdapter implements OrderRepository {
                 order.getCreatedAt(),
                 order.getUpdatedAt()
         );
+        entity.setVersion(order.getVersion());
+        if (linesStorage == OrderLinesStorage.DOCUMENT) {
+            entity.setLinesDocument(OrderLinesCodec.encode(order.getOrderLines()));
+            return entity;
+        }
         
         for (OrderLine line : order.getOrderLines()) {
             OrderLineEntity lineEntity = new OrderLineEntity(
@@ -88,35 +232,50 @@ public class OrderRepositoryAdapter implements OrderRepository {
         return entity;
     }
 
-    private Order toDomain(OrderEntity entity) {
-        Order order = new Order(
+    private Order mapToDomain(OrderEntity entity) {
+        List<OrderLine> lines;
+        if (entity.getLinesDocument() != null) {
+            lines = OrderLinesCodec.decode(entity.getLinesDocument());
+        } else {
+            lines = new ArrayList<>(entity.getOrderLines().size());
+            for (OrderLineEntity lineEntity : entity.getOrderLines()) {
+                lines.add(new OrderLine(
+                        ProductId.of(lineEntity.getProductId()),
+                        lineEntity.getProductName(),
+                        Quantity.of(lineEntity.getQuantity()),
+                        Money.of(lineEntity.getUnitPrice())
+                ));
+            }
+        }
+
+        return Order.reconstitute(
                 OrderId.of(entity.getId()),
-                CustomerId.of(entity.getCustomerId())
+                CustomerId.of(entity.getCustomerId()),
+                lines,
+                OrderStatus.valueOf(entity.getStatus().name()),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getVersion()
         );
-        
-        // Add order lines
-        for (OrderLineEntity lineEntity : entity.getOrderLines()) {
-            OrderLine line = new OrderLine(
-                    ProductId.of(lineEntity.getProductId()),
-                    lineEntity.getProductName(),
-                    Quantity.of(lineEntity.getQuantity()),
-                    Money.of(lineEntity.getUnitPrice())
-            );
-            order.addOrderLine(line);
-        }
-        
-        // Set status based on persisted status
-        switch (entity.getStatus()) {
-            case CONFIRMED -> order.confirm();
-            case SHIPPED -> { order.confirm(); order.ship(); }
-            case DELIVERED -> { order.confirm(); order.ship(); order.deliver(); }
-            case CANCELLED -> order.cancel();
-            default -> {} // PENDING is the default
-        }
-        
-        // Clear events generated during reconstruction
-        order.clearDomainEvents();
-        
-        return order;
+    }
+
+    private Specification<OrderEntity> toSpecification(OrderQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.getCustomerId() != null && !query.getCustomerId().isBlank()) {
+                predicates.add(cb.equal(root.get("customerId"), query.getCustomerId()));
+            }
+            OrderStatus status = query.getStatusFilter();
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), OrderStatusEntity.valueOf(status.name())));
+            }
+            if (query.getFromDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), query.getFromDate()));
+            }
+            if (query.getToDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), query.getToDate()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
     }
 }
@@ -0,0 +1,18 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.port.out.OrderKeysetRepository;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.application.port.out.OrderStatisticsRepository;
+import com.davidbadell.hexagonal.application.port.out.QuotedTotalsRepository;
+
+/**
+ * All the order ports answered by one store
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Implemented by the JPA, JDBC and sharded stores and by the decorators
+ * sitting directly on them (transactions, flight recording, bulkheads).
+ * The decorators further up the chains only deal with {@link OrderRepository}.
+ */
+public interface OrderStore extends OrderRepository, OrderStatisticsRepository, OrderKeysetRepository,
+        QuotedTotalsRepository {
+}
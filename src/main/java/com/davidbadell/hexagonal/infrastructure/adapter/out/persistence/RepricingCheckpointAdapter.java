@@ -0,0 +1,42 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.RepricingCheckpoint;
+import com.davidbadell.hexagonal.application.port.out.RepricingCheckpointRepository;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repricing Checkpoint Adapter
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Stores the checkpoint in the primary database, also when orders are
+ * sharded: the repricing job walks all shards as one.
+ */
+@Component
+@Transactional(readOnly = true)
+public class RepricingCheckpointAdapter implements RepricingCheckpointRepository {
+
+    private final RepricingCheckpointJpaRepository jpaRepository;
+
+    public RepricingCheckpointAdapter(RepricingCheckpointJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public Optional<RepricingCheckpoint> findLatest() {
+        return jpaRepository.findById(RepricingCheckpointEntity.LATEST)
+                .map(entity -> new RepricingCheckpoint(entity.getLastOrderId(), entity.getScanned(),
+                        entity.getRepriced(), entity.getStartedAt(), entity.getUpdatedAt(), entity.getCompletedAt()));
+    }
+
+    @Override
+    @Transactional
+    public void save(RepricingCheckpoint checkpoint) {
+        jpaRepository.save(new RepricingCheckpointEntity(RepricingCheckpointEntity.LATEST,
+                checkpoint.getLastOrderId(), checkpoint.getScanned(), checkpoint.getRepriced(),
+                checkpoint.getStartedAt(), checkpoint.getUpdatedAt(), checkpoint.getCompletedAt()));
+    }
+}
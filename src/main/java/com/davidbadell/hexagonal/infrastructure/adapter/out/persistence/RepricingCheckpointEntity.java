@@ -0,0 +1,61 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for the repricing checkpoint
+ * Infrastructure Layer: Persistence Entity
+ *
+ * A single row, overwritten after every chunk of a repricing run.
+ */
+@Entity
+@Table(name = "repricing_checkpoints")
+public class RepricingCheckpointEntity {
+
+    public static final String LATEST = "latest";
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private String id;
+
+    @Column(name = "last_order_id")
+    private String lastOrderId;
+
+    @Column(name = "scanned", nullable = false)
+    private long scanned;
+
+    @Column(name = "repriced", nullable = false)
+    private long repriced;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Default constructor for JPA
+    protected RepricingCheckpointEntity() {}
+
+    public RepricingCheckpointEntity(String id, String lastOrderId, long scanned, long repriced,
+                                     LocalDateTime startedAt, LocalDateTime updatedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.lastOrderId = lastOrderId;
+        this.scanned = scanned;
+        this.repriced = repriced;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+    }
+
+    public String getId() { return id; }
+    public String getLastOrderId() { return lastOrderId; }
+    public long getScanned() { return scanned; }
+    public long getRepriced() { return repriced; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+}
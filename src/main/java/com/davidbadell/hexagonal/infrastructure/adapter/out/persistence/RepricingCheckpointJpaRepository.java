@@ -0,0 +1,12 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA Repository for the repricing checkpoint
+ * Infrastructure Layer: Repository Interface
+ */
+@Repository
+public interface RepricingCheckpointJpaRepository extends JpaRepository<RepricingCheckpointEntity, String> {
+}
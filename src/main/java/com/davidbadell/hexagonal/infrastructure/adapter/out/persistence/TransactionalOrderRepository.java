@@ -0,0 +1,112 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository decorator that runs every call in a transaction
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Used where the adapter is not a Spring-managed bean and so gets no
+ * transactional proxy, e.g. the per-shard repositories. Reads run in a
+ * read-only transaction so that lazy order lines are loaded while mapping.
+ */
+public class TransactionalOrderRepository implements OrderStore {
+
+    private final OrderStore delegate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+
+    public TransactionalOrderRepository(OrderStore delegate, PlatformTransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public Order save(Order order) {
+        return writeTransaction.execute(status -> delegate.save(order));
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        writeTransaction.executeWithoutResult(status -> delegate.insertAll(orders));
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        return readTransaction.execute(status -> delegate.findById(orderId));
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        return readTransaction.execute(status -> delegate.findAllById(orderIds));
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return readTransaction.execute(status -> delegate.findByCustomerId(customerId));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return readTransaction.execute(status -> delegate.findAll());
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return readTransaction.execute(status -> delegate.query(query));
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        return readTransaction.execute(status -> delegate.countByStatus());
+    }
+
+    @Override
+    public List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom) {
+        return readTransaction.execute(status -> delegate.totalsByCreatedHour(createdFrom));
+    }
+
+    @Override
+    public List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit) {
+        return readTransaction.execute(status -> delegate.findPendingTotalsAfter(afterOrderId, limit));
+    }
+
+    @Override
+    public List<OrderId> findIdsAfter(String afterOrderId, int limit) {
+        return readTransaction.execute(status -> delegate.findIdsAfter(afterOrderId, limit));
+    }
+
+    @Override
+    public int updateQuotedTotals(Map<OrderId, Money> quotedTotals) {
+        Integer updated = writeTransaction.execute(status -> delegate.updateQuotedTotals(quotedTotals));
+        return updated != null ? updated : 0;
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        writeTransaction.executeWithoutResult(status -> delegate.deleteById(orderId));
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return Boolean.TRUE.equals(readTransaction.execute(status -> delegate.existsById(orderId)));
+    }
+}
@@ -0,0 +1,349 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.jdbc;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesCodec;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository Adapter on plain JDBC
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Same tables and the same contract as the JPA adapter, without an entity
+ * manager: no persistence context, dirty checking or merge, and no
+ * reflective entity mapping. An order and its lines are read in one
+ * statement, orders joined to their lines and mapped by
+ * {@link OrderResultSetExtractor}; lines are written with multi-row
+ * inserts of up to {@value #ROWS_PER_INSERT} rows. Saving an existing
+ * order updates its row and rewrites its lines, and increments its version
+ * as Hibernate does: the update only applies to the version the order was
+ * loaded at, and fails otherwise. Lines stored as documents
+ * ({@link OrderLinesStorage}) are read and written as the JPA adapter does.
+ */
+public class JdbcOrderRepository implements OrderStore {
+
+    static final int ROWS_PER_INSERT = 256;
+
+    private static final String SELECT_ORDERS = "SELECT o.id, o.customer_id, o.status, o.created_at, o.updated_at, "
+            + "o.version, o.lines_document, l.product_id, l.product_name, l.quantity, l.unit_price FROM ";
+    private static final String JOIN_LINES = " LEFT JOIN order_lines l ON l.order_id = o.id ";
+    private static final String SELECT_BY_ID = SELECT_ORDERS + "orders o" + JOIN_LINES
+            + "WHERE o.id = ? ORDER BY l.id";
+    private static final String SELECT_BY_IDS = SELECT_ORDERS + "orders o" + JOIN_LINES
+            + "WHERE o.id IN (%s) ORDER BY o.id, l.id";
+    private static final String SELECT_BY_CUSTOMER = SELECT_ORDERS + "orders o" + JOIN_LINES
+            + "WHERE o.customer_id = ? ORDER BY o.id, l.id";
+    private static final String SELECT_ALL = SELECT_ORDERS + "orders o" + JOIN_LINES + "ORDER BY o.id, l.id";
+    // The page is cut from the orders before joining, so that lines do not count against it
+    private static final String SELECT_PAGE = SELECT_ORDERS + "(SELECT * FROM orders WHERE 1 = 1%s "
+            + "ORDER BY created_at DESC, id DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY) o" + JOIN_LINES
+            + "ORDER BY o.created_at DESC, o.id DESC, l.id";
+
+    private static final String INSERT_ORDER = "INSERT INTO orders "
+            + "(id, customer_id, status, total, created_at, updated_at, lines_document) VALUES ";
+    private static final String ORDER_VALUES = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINE = "INSERT INTO order_lines "
+            + "(order_id, product_id, product_name, quantity, unit_price, subtotal) VALUES ";
+    private static final String LINE_VALUES = "(?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ORDER = "UPDATE orders SET customer_id = ?, status = ?, total = ?, "
+            + "created_at = ?, updated_at = ?, lines_document = ?, version = version + 1 WHERE id = ? AND version = ?";
+    private static final String DELETE_LINES = "DELETE FROM order_lines WHERE order_id = ?";
+    private static final String DELETE_ORDER = "DELETE FROM orders WHERE id = ?";
+    private static final String EXISTS = "SELECT COUNT(*) FROM orders WHERE id = ?";
+
+    private static final String COUNT_BY_STATUS = "SELECT status, COUNT(*) FROM orders GROUP BY status";
+    private static final String SUM_BY_HOUR = "SELECT CAST(created_at AS DATE), EXTRACT(HOUR FROM created_at), "
+            + "COUNT(*), SUM(CASE WHEN status = 'CANCELLED' THEN 0 ELSE total END) FROM orders "
+            + "WHERE created_at >= ? GROUP BY CAST(created_at AS DATE), EXTRACT(HOUR FROM created_at)";
+    private static final String PENDING_TOTALS_AFTER = "SELECT id, total, quoted_total FROM orders "
+            + "WHERE status = 'PENDING' AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String IDS_AFTER = "SELECT id FROM orders WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String UPDATE_QUOTED_TOTAL =
+            "UPDATE orders SET quoted_total = ? WHERE id = ? AND status = 'PENDING'";
+
+    private static final String FULL_LINE_INSERT = insert(INSERT_LINE, LINE_VALUES, ROWS_PER_INSERT);
+    private static final String FULL_ORDER_INSERT = insert(INSERT_ORDER, ORDER_VALUES, ROWS_PER_INSERT);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean linesAsDocument;
+
+    public JdbcOrderRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               OrderLinesStorage linesStorage) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.linesAsDocument = linesStorage == OrderLinesStorage.DOCUMENT;
+    }
+
+    @Override
+    public Order save(Order order) {
+        String id = order.getId().getValue();
+        Boolean inserted = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update(UPDATE_ORDER, ps -> {
+                ps.setString(1, order.getCustomerId().getValue());
+                ps.setString(2, order.getStatus().name());
+                ps.setBigDecimal(3, order.getTotal().getAmount());
+                ps.setTimestamp(4, Timestamp.valueOf(order.getCreatedAt()));
+                ps.setTimestamp(5, Timestamp.valueOf(order.getUpdatedAt()));
+                ps.setBytes(6, document(order));
+                ps.setString(7, id);
+                ps.setLong(8, order.getVersion());
+            });
+            if (updated == 0 && order.getVersion() > 0) {
+                throw new OptimisticLockingFailureException(
+                        "Order " + id + " was updated or deleted since version " + order.getVersion());
+            }
+            if (updated == 0) {
+                insertOrders(List.of(order));
+            } else {
+                jdbcTemplate.update(DELETE_LINES, id);
+            }
+            if (!linesAsDocument) {
+                insertLines(List.of(order));
+            }
+            return updated == 0;
+        });
+        // A detached copy, as the JPA adapter returns; inserted rows start at the column default, 0
+        long version = Boolean.TRUE.equals(inserted) ? 0 : order.getVersion() + 1;
+        return Order.reconstitute(order.getId(), order.getCustomerId(), order.getOrderLines(), order.getStatus(),
+                order.getCreatedAt(), order.getUpdatedAt(), version);
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            insertOrders(orders);
+            if (!linesAsDocument) {
+                insertLines(orders);
+            }
+        });
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        List<Order> orders = jdbcTemplate.query(SELECT_BY_ID, new OrderResultSetExtractor(), orderId.getValue());
+        return orders.isEmpty() ? Optional.empty() : Optional.of(orders.get(0));
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Object[] ids = new Object[orderIds.size()];
+        int i = 0;
+        for (OrderId orderId : orderIds) {
+            ids[i++] = orderId.getValue();
+        }
+        return jdbcTemplate.query(String.format(SELECT_BY_IDS, placeholders(ids.length)),
+                new OrderResultSetExtractor(), ids);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return jdbcTemplate.query(SELECT_BY_CUSTOMER, new OrderResultSetExtractor(), customerId.getValue());
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return jdbcTemplate.query(SELECT_ALL, new OrderResultSetExtractor());
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        if (query.getSize() <= 0) {
+            return List.of();
+        }
+        StringBuilder filters = new StringBuilder();
+        List<Object> parameters = new ArrayList<>();
+        if (query.getCustomerId() != null && !query.getCustomerId().isBlank()) {
+            filters.append(" AND customer_id = ?");
+            parameters.add(query.getCustomerId());
+        }
+        OrderStatus status = query.getStatusFilter();
+        if (status != null) {
+            filters.append(" AND status = ?");
+            parameters.add(status.name());
+        }
+        if (query.getFromDate() != null) {
+            filters.append(" AND created_at >= ?");
+            parameters.add(Timestamp.valueOf(query.getFromDate()));
+        }
+        if (query.getToDate() != null) {
+            filters.append(" AND created_at <= ?");
+            parameters.add(Timestamp.valueOf(query.getToDate()));
+        }
+        parameters.add(query.getOffset());
+        parameters.add(query.getSize());
+        return jdbcTemplate.query(String.format(SELECT_PAGE, filters), new OrderResultSetExtractor(),
+                parameters.toArray());
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        jdbcTemplate.query(COUNT_BY_STATUS, rs -> {
+            counts.put(OrderStatus.valueOf(rs.getString(1)), rs.getLong(2));
+        });
+        return counts;
+    }
+
+    @Override
+    public List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom) {
+        List<OrderStatistics.HourlyTotals> totals = jdbcTemplate.query(SUM_BY_HOUR, (rs, row) ->
+                new OrderStatistics.HourlyTotals(rs.getObject(1, LocalDate.class).atTime(rs.getInt(2), 0),
+                        rs.getLong(3), rs.getBigDecimal(4).setScale(2)),
+                Timestamp.valueOf(createdFrom));
+        return OrderStatistics.HourlyTotals.combine(totals);
+    }
+
+    @Override
+    public List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit) {
+        // Every id sorts after the empty string
+        return jdbcTemplate.query(PENDING_TOTALS_AFTER, (rs, row) -> {
+            BigDecimal quoted = rs.getBigDecimal(3);
+            return new PendingOrderTotal(OrderId.of(rs.getString(1)), Money.of(rs.getBigDecimal(2)),
+                    quoted != null ? Money.of(quoted) : null);
+        }, afterOrderId != null ? afterOrderId : "", limit);
+    }
+
+    @Override
+    public List<OrderId> findIdsAfter(String afterOrderId, int limit) {
+        // Every id sorts after the empty string
+        return jdbcTemplate.query(IDS_AFTER, (rs, row) -> OrderId.of(rs.getString(1)),
+                afterOrderId != null ? afterOrderId : "", limit);
+    }
+
+    @Override
+    public int updateQuotedTotals(Map<OrderId, Money> quotedTotals) {
+        if (quotedTotals.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<OrderId, Money>> entries = new ArrayList<>(quotedTotals.entrySet());
+        int[] counts = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(UPDATE_QUOTED_TOTAL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setBigDecimal(1, entries.get(i).getValue().getAmount());
+                        ps.setString(2, entries.get(i).getKey().getValue());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                }));
+        int updated = 0;
+        for (int count : counts) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_LINES, orderId.getValue());
+            jdbcTemplate.update(DELETE_ORDER, orderId.getValue());
+        });
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS, Integer.class, orderId.getValue());
+        return count != null && count > 0;
+    }
+
+    private void insertOrders(List<Order> orders) {
+        for (int from = 0; from < orders.size(); from += ROWS_PER_INSERT) {
+            List<Order> chunk = orders.subList(from, Math.min(orders.size(), from + ROWS_PER_INSERT));
+            String sql = chunk.size() == ROWS_PER_INSERT
+                    ? FULL_ORDER_INSERT : insert(INSERT_ORDER, ORDER_VALUES, chunk.size());
+            jdbcTemplate.update(sql, ps -> {
+                int p = 1;
+                for (Order order : chunk) {
+                    ps.setString(p++, order.getId().getValue());
+                    ps.setString(p++, order.getCustomerId().getValue());
+                    ps.setString(p++, order.getStatus().name());
+                    ps.setBigDecimal(p++, order.getTotal().getAmount());
+                    ps.setTimestamp(p++, Timestamp.valueOf(order.getCreatedAt()));
+                    ps.setTimestamp(p++, Timestamp.valueOf(order.getUpdatedAt()));
+                    ps.setBytes(p++, document(order));
+                }
+            });
+        }
+    }
+
+    private void insertLines(List<Order> orders) {
+        List<String> owners = new ArrayList<>();
+        List<OrderLine> lines = new ArrayList<>();
+        for (Order order : orders) {
+            for (OrderLine line : order.getOrderLines()) {
+                owners.add(order.getId().getValue());
+                lines.add(line);
+            }
+        }
+        for (int from = 0; from < lines.size(); from += ROWS_PER_INSERT) {
+            int start = from;
+            int size = Math.min(lines.size() - from, ROWS_PER_INSERT);
+            String sql = size == ROWS_PER_INSERT ? FULL_LINE_INSERT : insert(INSERT_LINE, LINE_VALUES, size);
+            jdbcTemplate.update(sql, ps -> {
+                int p = 1;
+                for (int i = start; i < start + size; i++) {
+                    OrderLine line = lines.get(i);
+                    ps.setString(p++, owners.get(i));
+                    ps.setString(p++, line.getProductId().getValue());
+                    ps.setString(p++, line.getProductName());
+                    ps.setInt(p++, line.getQuantity().getValue());
+                    ps.setBigDecimal(p++, line.getUnitPrice().getAmount());
+                    ps.setBigDecimal(p++, line.getSubtotal().getAmount());
+                }
+            });
+        }
+    }
+
+    private byte[] document(Order order) {
+        return linesAsDocument ? OrderLinesCodec.encode(order.getOrderLines()) : null;
+    }
+
+    private static String insert(String prefix, String values, int rows) {
+        return prefix + String.join(", ", Collections.nCopies(rows, values));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.jdbc;
+
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesCodec;
+import com.davidbadell.hexagonal.infrastructure.jfr.AggregateMappingEvent;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps orders joined to their lines into aggregates
+ * Infrastructure Layer: Persistence
+ *
+ * Expects the columns of {@code JdbcOrderRepository}'s selects by position
+ * (order columns up to the version, lines document, then line columns) and
+ * the rows of one order next to each other. An order without line rows comes as a single
+ * row whose line columns are null; an order with a lines document has no
+ * line rows. Every order emits an AggregateMappingEvent timed from its
+ * first row to the aggregate.
+ */
+class OrderResultSetExtractor implements ResultSetExtractor<List<Order>> {
+
+    @Override
+    public List<Order> extractData(ResultSet rs) throws SQLException {
+        List<Order> orders = new ArrayList<>();
+        String currentId = null;
+        String customerId = null;
+        String status = null;
+        LocalDateTime createdAt = null;
+        LocalDateTime updatedAt = null;
+        long version = 0;
+        List<OrderLine> lines = null;
+        AggregateMappingEvent event = null;
+        while (rs.next()) {
+            String id = rs.getString(1);
+            if (!id.equals(currentId)) {
+                if (currentId != null) {
+                    orders.add(toOrder(event, currentId, customerId, status, createdAt, updatedAt, version, lines));
+                }
+                event = new AggregateMappingEvent();
+                event.begin();
+                currentId = id;
+                customerId = rs.getString(2);
+                status = rs.getString(3);
+                createdAt = rs.getObject(4, LocalDateTime.class);
+                updatedAt = rs.getObject(5, LocalDateTime.class);
+                version = rs.getLong(6);
+                byte[] document = rs.getBytes(7);
+                lines = document != null ? OrderLinesCodec.decode(document) : new ArrayList<>();
+            }
+            String productId = rs.getString(8);
+            if (productId != null) {
+                lines.add(new OrderLine(ProductId.of(productId), rs.getString(9), Quantity.of(rs.getInt(10)),
+                        Money.of(rs.getBigDecimal(11))));
+            }
+        }
+        if (currentId != null) {
+            orders.add(toOrder(event, currentId, customerId, status, createdAt, updatedAt, version, lines));
+        }
+        return orders;
+    }
+
+    private static Order toOrder(AggregateMappingEvent event, String id, String customerId, String status,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt, long version,
+                                 List<OrderLine> lines) {
+        Order order = Order.reconstitute(OrderId.of(id), CustomerId.of(customerId), lines,
+                OrderStatus.valueOf(status), createdAt, updatedAt, version);
+        event.finish(AggregateMappingEvent.ROWS_TO_AGGREGATE, order);
+        return order;
+    }
+}
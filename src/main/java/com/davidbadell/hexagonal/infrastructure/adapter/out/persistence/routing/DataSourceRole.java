@@ -0,0 +1,8 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+/**
+ * Target database for the current unit of work
+ */
+public enum DataSourceRole {
+    PRIMARY, REPLICA
+}
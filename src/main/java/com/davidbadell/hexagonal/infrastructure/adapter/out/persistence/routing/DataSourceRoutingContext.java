@@ -0,0 +1,40 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing decision
+ * Infrastructure Layer: Persistence Routing
+ *
+ * Set by the use case decorators before any repository call, read by
+ * {@link ReadWriteRoutingDataSource} when a connection is acquired.
+ * Unset means primary.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<DataSourceRole> CURRENT = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {}
+
+    public static DataSourceRole current() {
+        DataSourceRole role = CURRENT.get();
+        return role != null ? role : DataSourceRole.PRIMARY;
+    }
+
+    /**
+     * Run the operation with the given role, restoring the previous one afterwards
+     */
+    public static <T> T callOn(DataSourceRole role, Supplier<T> operation) {
+        DataSourceRole previous = CURRENT.get();
+        CURRENT.set(role);
+        try {
+            return operation.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for streaming replication between two local H2 databases
+ * Infrastructure Layer: Persistence Routing
+ *
+ * Creates the schema Hibernate generated for the primary on the replica,
+ * then copies every table of it from the primary at a fixed interval and
+ * records in {@code replica_heartbeat} when the copied state was read.
+ * The replica trails the primary by up to one interval, which
+ * {@link #LAG_QUERY} reports, so lag fallback and read-your-writes
+ * stickiness can be watched without a real replica.
+ */
+public class LocalReplicaFeeder implements SmartLifecycle {
+
+    public static final String LAG_QUERY =
+            "SELECT DATEDIFF('MILLISECOND', copied_at, LOCALTIMESTAMP) / 1000.0 FROM replica_heartbeat";
+
+    private static final String HEARTBEAT_TABLE = "REPLICA_HEARTBEAT";
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalReplicaFeeder.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration interval;
+    private final StringWriter schema = new StringWriter();
+    private final List<String> tables = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    /**
+     * @param primary Source of the copied rows
+     * @param replica Writable connections to the replica database
+     * @param interval Time between two copies
+     */
+    public LocalReplicaFeeder(DataSource primary, DataSource replica, Duration interval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.interval = interval;
+    }
+
+    /**
+     * Where Hibernate writes the create script of the schema
+     */
+    public Writer getSchemaTarget() {
+        return schema;
+    }
+
+    @Override
+    public void start() {
+        createSchema();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "local-replica-feeder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                copy();
+            } catch (Exception e) {
+                logger.warn("Copy to the local replica failed: {}", e.getMessage());
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Run the generated create script and the heartbeat table on the replica
+     */
+    public void createSchema() {
+        String script = schema.toString();
+        if (script.isBlank()) {
+            throw new IllegalStateException("Hibernate wrote no schema script for the local replica");
+        }
+        new ResourceDatabasePopulator(new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)))
+                .execute(replica);
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE + " (copied_at TIMESTAMP NOT NULL)");
+            tables.clear();
+            try (ResultSet rs = connection.getMetaData().getTables(null, "PUBLIC", null, new String[]{"TABLE"})) {
+                while (rs.next()) {
+                    String table = rs.getString("TABLE_NAME");
+                    if (!HEARTBEAT_TABLE.equalsIgnoreCase(table)) {
+                        tables.add(table);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot prepare the local replica", e);
+        }
+        logger.info("Local replica created with tables {}, copied every {}", tables, interval);
+    }
+
+    /**
+     * Replace the replica's rows with the primary's, in one replica transaction
+     */
+    public void copy() throws SQLException {
+        Timestamp readAt = Timestamp.valueOf(LocalDateTime.now());
+        List<List<Object[]>> rows = new ArrayList<>(tables.size());
+        List<String[]> columns = new ArrayList<>(tables.size());
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                try (ResultSet rs = statement.executeQuery("SELECT * FROM " + table)) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    String[] names = new String[meta.getColumnCount()];
+                    for (int i = 0; i < names.length; i++) {
+                        names[i] = meta.getColumnName(i + 1);
+                    }
+                    List<Object[]> tableRows = new ArrayList<>();
+                    while (rs.next()) {
+                        Object[] row = new Object[names.length];
+                        for (int i = 0; i < names.length; i++) {
+                            row[i] = detach(rs.getObject(i + 1));
+                        }
+                        tableRows.add(row);
+                    }
+                    columns.add(names);
+                    rows.add(tableRows);
+                }
+            }
+        }
+
+        try (Connection connection = replica.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                for (int t = 0; t < tables.size(); t++) {
+                    statement.execute("DELETE FROM " + tables.get(t));
+                    insert(connection, tables.get(t), columns.get(t), rows.get(t));
+                }
+                statement.execute("DELETE FROM " + HEARTBEAT_TABLE);
+                try (PreparedStatement heartbeat = connection.prepareStatement(
+                        "INSERT INTO " + HEARTBEAT_TABLE + " (copied_at) VALUES (?)")) {
+                    heartbeat.setTimestamp(1, readAt);
+                    heartbeat.executeUpdate();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                }
+            }
+        }
+    }
+
+    private static void insert(Connection connection, String table, String[] names, List<Object[]> rows)
+            throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", names) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(names.length, "?")) + ")";
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    insert.setObject(i + 1, row[i]);
+                }
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /**
+     * Large objects are only valid on the connection that read them
+     */
+    private static Object detach(Object value) throws SQLException {
+        if (value instanceof Blob blob) {
+            return blob.getBytes(1, (int) blob.length());
+        }
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,32 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
+
+/**
+ * Command use case decorator pinned to the primary
+ * Infrastructure Layer: Persistence Routing
+ */
+public class PrimaryRoutingCancelOrderUseCase implements CancelOrderUseCase {
+
+    private final CancelOrderUseCase delegate;
+    private final ReadYourWritesTracker writesTracker;
+
+    public PrimaryRoutingCancelOrderUseCase(CancelOrderUseCase delegate, ReadYourWritesTracker writesTracker) {
+        this.delegate = delegate;
+        this.writesTracker = writesTracker;
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId) {
+        return cancelOrder(orderId, null);
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId, String reason) {
+        OrderResponse response = DataSourceRoutingContext.callOn(DataSourceRole.PRIMARY,
+                () -> delegate.cancelOrder(orderId, reason));
+        writesTracker.recordWrite(response.getCustomerId(), response.getOrderId());
+        return response;
+    }
+}
@@ -0,0 +1,28 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+
+/**
+ * Command use case decorator pinned to the primary
+ * Infrastructure Layer: Persistence Routing
+ */
+public class PrimaryRoutingCreateOrderUseCase implements CreateOrderUseCase {
+
+    private final CreateOrderUseCase delegate;
+    private final ReadYourWritesTracker writesTracker;
+
+    public PrimaryRoutingCreateOrderUseCase(CreateOrderUseCase delegate, ReadYourWritesTracker writesTracker) {
+        this.delegate = delegate;
+        this.writesTracker = writesTracker;
+    }
+
+    @Override
+    public OrderResponse createOrder(CreateOrderCommand command) {
+        OrderResponse response = DataSourceRoutingContext.callOn(DataSourceRole.PRIMARY,
+                () -> delegate.createOrder(command));
+        writesTracker.recordWrite(response.getCustomerId(), response.getOrderId());
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routing DataSource choosing primary or replica per connection
+ * Infrastructure Layer: Persistence Routing
+ *
+ * Replica reads are only honoured while the lag monitor reports the
+ * replica healthy; otherwise the connection comes from the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter lagFallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = routeCounter(meterRegistry, "primary");
+        this.replicaConnections = routeCounter(meterRegistry, "replica");
+        this.lagFallbacks = routeCounter(meterRegistry, "lag_fallback");
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (DataSourceRoutingContext.current() == DataSourceRole.REPLICA) {
+            if (lagMonitor.isReplicaAvailable()) {
+                replicaConnections.increment();
+                return DataSourceRole.REPLICA;
+            }
+            lagFallbacks.increment();
+        }
+        primaryConnections.increment();
+        return DataSourceRole.PRIMARY;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("orders.datasource.routing")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers recent writes so that follow-up reads stay on the primary
+ * Infrastructure Layer: Persistence Routing
+ *
+ * Entries expire after the sticky window; the table is bounded and
+ * expired entries are purged whenever it reaches its maximum size.
+ */
+public class ReadYourWritesTracker {
+
+    private final long stickyWindowNanos;
+    private final int maxEntries;
+    private final ConcurrentMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration stickyWindow, int maxEntries) {
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public void recordWrite(String customerId, String orderId) {
+        long now = System.nanoTime();
+        if (lastWriteNanos.size() >= maxEntries) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt > stickyWindowNanos);
+            if (lastWriteNanos.size() >= maxEntries) {
+                // Table is full of live entries: forget them rather than grow
+                lastWriteNanos.clear();
+            }
+        }
+        if (customerId != null) {
+            lastWriteNanos.put(customerKey(customerId), now);
+        }
+        if (orderId != null) {
+            lastWriteNanos.put(orderKey(orderId), now);
+        }
+    }
+
+    public boolean isCustomerSticky(String customerId) {
+        return customerId != null && isRecent(customerKey(customerId));
+    }
+
+    public boolean isOrderSticky(String orderId) {
+        return orderId != null && isRecent(orderKey(orderId));
+    }
+
+    private boolean isRecent(String key) {
+        Long writtenAt = lastWriteNanos.get(key);
+        return writtenAt != null && System.nanoTime() - writtenAt <= stickyWindowNanos;
+    }
+
+    private static String customerKey(String customerId) {
+        return "c:" + customerId;
+    }
+
+    private static String orderKey(String orderId) {
+        return "o:" + orderId;
+    }
+}
@@ -0,0 +1,90 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic replica lag probe
+ * Infrastructure Layer: Persistence Routing
+ *
+ * Runs the configured lag query against the replica and marks it
+ * unavailable when the lag exceeds the threshold or the probe fails,
+ * so that reads fall back to the primary until it catches up.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean replicaAvailable = true;
+    private volatile double lastLagSeconds;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run one lag probe and update availability
+     */
+    public void probe() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            double lag = rs.next() ? rs.getDouble(1) : 0.0;
+            lastLagSeconds = lag;
+            updateAvailability(lag <= maxLagSeconds,
+                    String.format("lag %.2fs (max %.2fs)", lag, maxLagSeconds));
+        } catch (Exception e) {
+            lastLagSeconds = Double.NaN;
+            updateAvailability(false, "probe failed: " + e.getMessage());
+        }
+    }
+
+    private void updateAvailability(boolean available, String reason) {
+        if (available != replicaAvailable) {
+            if (available) {
+                logger.info("Replica back in rotation: {}", reason);
+            } else {
+                logger.warn("Replica taken out of rotation, reads go to primary: {}", reason);
+            }
+        }
+        replicaAvailable = available;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public double getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,55 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query use case decorator that sends reads to the replica
+ * Infrastructure Layer: Persistence Routing
+ *
+ * Reads touching a customer or order written within the sticky window
+ * stay on the primary (read-your-writes).
+ */
+public class ReplicaRoutingGetOrderUseCase implements GetOrderUseCase {
+
+    private final GetOrderUseCase delegate;
+    private final ReadYourWritesTracker writesTracker;
+
+    public ReplicaRoutingGetOrderUseCase(GetOrderUseCase delegate, ReadYourWritesTracker writesTracker) {
+        this.delegate = delegate;
+        this.writesTracker = writesTracker;
+    }
+
+    @Override
+    public Optional<OrderResponse> getOrderById(String orderId) {
+        return DataSourceRoutingContext.callOn(
+                writesTracker.isOrderSticky(orderId) ? DataSourceRole.PRIMARY : DataSourceRole.REPLICA,
+                () -> delegate.getOrderById(orderId));
+    }
+
+    @Override
+    public List<OrderResponse> getOrdersByCustomerId(String customerId) {
+        return DataSourceRoutingContext.callOn(
+                writesTracker.isCustomerSticky(customerId) ? DataSourceRole.PRIMARY : DataSourceRole.REPLICA,
+                () -> delegate.getOrdersByCustomerId(customerId));
+    }
+
+    @Override
+    public List<OrderSummary> getOrderSummariesByCustomerId(String customerId, int page, int size) {
+        return DataSourceRoutingContext.callOn(
+                writesTracker.isCustomerSticky(customerId) ? DataSourceRole.PRIMARY : DataSourceRole.REPLICA,
+                () -> delegate.getOrderSummariesByCustomerId(customerId, page, size));
+    }
+
+    @Override
+    public List<OrderResponse> queryOrders(OrderQuery query) {
+        return DataSourceRoutingContext.callOn(
+                writesTracker.isCustomerSticky(query.getCustomerId()) ? DataSourceRole.PRIMARY : DataSourceRole.REPLICA,
+                () -> delegate.queryOrders(query));
+    }
+}
@@ -0,0 +1,82 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistent hash ring over a fixed list of shards
+ * Infrastructure Layer: Sharding
+ *
+ * Every shard is placed on the ring at a number of virtual nodes derived
+ * from its name, so appending a shard only moves about 1/N of the keys and
+ * the load stays even. The ring is immutable; lookups are a binary search
+ * over a sorted array of node hashes.
+ */
+public class ConsistentHashRing {
+
+    private final long[] nodeHashes;
+    private final int[] nodeShards;
+    private final int shardCount;
+
+    /**
+     * @param shardNames names of the shards, in shard index order
+     * @param virtualNodes number of ring positions per shard
+     */
+    public ConsistentHashRing(List<String> shardNames, int virtualNodes) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        this.shardCount = shardNames.size();
+        int nodes = shardCount * virtualNodes;
+        long[][] ring = new long[nodes][];
+        int n = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring[n++] = new long[] {hash(shardNames.get(shard) + "#" + v), shard};
+            }
+        }
+        Arrays.sort(ring, (a, b) -> Long.compare(a[0], b[0]));
+        this.nodeHashes = new long[nodes];
+        this.nodeShards = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            nodeHashes[i] = ring[i][0];
+            nodeShards[i] = (int) ring[i][1];
+        }
+    }
+
+    /**
+     * Shard index owning the given key
+     */
+    public int shardFor(String key) {
+        int i = Arrays.binarySearch(nodeHashes, hash(key));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return nodeShards[i == nodeHashes.length ? 0 : i];
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer for a good spread
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
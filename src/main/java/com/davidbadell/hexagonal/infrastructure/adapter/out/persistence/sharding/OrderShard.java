@@ -0,0 +1,40 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+
+/**
+ * One shard of the order store
+ * Infrastructure Layer: Sharding
+ *
+ * Pairs the repository of a shard with the resources backing it
+ * (entity manager factory, connection pool) so they can be closed together.
+ */
+public class OrderShard implements AutoCloseable {
+
+    private final String name;
+    private final OrderStore repository;
+    private final AutoCloseable resources;
+
+    public OrderShard(String name, OrderStore repository) {
+        this(name, repository, () -> {});
+    }
+
+    public OrderShard(String name, OrderStore repository, AutoCloseable resources) {
+        this.name = name;
+        this.repository = repository;
+        this.resources = resources;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public OrderStore getRepository() {
+        return repository;
+    }
+
+    @Override
+    public void close() throws Exception {
+        resources.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.BatchInsertingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderEntity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderJpaRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderRepositoryAdapter;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.TransactionalOrderRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Builds a self-contained JPA stack for one shard
+ * Infrastructure Layer: Sharding
+ *
+ * Each shard gets its own entity manager factory and transaction manager
+ * over its DataSource, and reuses the regular JPA adapter on top of a
+ * Spring Data repository created for that entity manager.
+ */
+public final class OrderShardFactory {
+
+    private OrderShardFactory() {
+    }
+
+    public static OrderShard create(String name, DataSource dataSource, Map<String, Object> jpaProperties) {
+        return create(name, dataSource, jpaProperties, OrderLinesStorage.TABLE);
+    }
+
+    public static OrderShard create(String name, DataSource dataSource, Map<String, Object> jpaProperties,
+                                    OrderLinesStorage linesStorage) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setPersistenceUnitName("orders-" + name);
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(OrderEntity.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        // JPA exceptions become DataAccessExceptions, as on the repositories Spring creates
+        repositoryFactory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                proxyFactory.addAdvice(new PersistenceExceptionTranslationInterceptor(factoryBean)));
+        OrderJpaRepository jpaRepository = repositoryFactory.getRepository(OrderJpaRepository.class);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        TransactionalOrderRepository repository = new TransactionalOrderRepository(
+                new BatchInsertingOrderRepository(new OrderRepositoryAdapter(jpaRepository, linesStorage),
+                        new JdbcTemplate(dataSource), transactionManager, linesStorage),
+                transactionManager);
+
+        return new OrderShard(name, repository, () -> {
+            factoryBean.destroy();
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,390 @@
+package com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.application.port.out.OrderIdGenerator;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Customer-sharded Order Repository
+ * Hexagonal Architecture: Output Adapter (Driven Adapter)
+ *
+ * Orders are placed on a shard chosen by a consistent hash of their
+ * CustomerId, so all orders of a customer live together. New order ids
+ * carry the owning shard as a hint, which lets point lookups go straight
+ * to one shard; ids without a hint (created before sharding) are looked up
+ * on every shard. Queries that are not restricted to one customer run as a
+ * parallel scatter-gather and the sorted partial results are merged.
+ *
+ * Shards may only be appended to the configured list, never reordered,
+ * because the hint stored in an id is the shard index. Moving existing
+ * customers after adding a shard is a data migration, not handled here.
+ */
+public class ShardedOrderRepository implements OrderStore, OrderIdGenerator, AutoCloseable {
+
+    private final List<OrderShard> shards;
+    private final ConsistentHashRing ring;
+    private final ExecutorService executor;
+    private final long scatterTimeoutNanos;
+
+    public ShardedOrderRepository(List<OrderShard> shards, int virtualNodes, Duration scatterTimeout) {
+        this.shards = List.copyOf(shards);
+        this.ring = new ConsistentHashRing(this.shards.stream().map(OrderShard::getName).toList(), virtualNodes);
+        this.scatterTimeoutNanos = scatterTimeout.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(2, this.shards.size() * 2), runnable -> {
+            Thread thread = new Thread(runnable, "order-shard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public OrderId nextId(CustomerId customerId) {
+        return OrderId.generate(ring.shardFor(customerId.getValue()));
+    }
+
+    @Override
+    public Order save(Order order) {
+        return ownerOf(order).save(order);
+    }
+
+    /**
+     * Orders are grouped by owning shard and each group is inserted on its
+     * shard in parallel. Atomicity holds per shard only.
+     */
+    @Override
+    public void insertAll(List<Order> orders) {
+        Map<OrderStore, List<Order>> byShard = new IdentityHashMap<>();
+        for (Order order : orders) {
+            byShard.computeIfAbsent(ownerOf(order), shard -> new ArrayList<>()).add(order);
+        }
+        if (byShard.size() == 1) {
+            Map.Entry<OrderStore, List<Order>> only = byShard.entrySet().iterator().next();
+            only.getKey().insertAll(only.getValue());
+            return;
+        }
+        scatter(repository -> {
+            List<Order> group = byShard.get(repository);
+            if (group != null) {
+                repository.insertAll(group);
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        OrderStore shard = hintedShard(orderId);
+        if (shard != null) {
+            return shard.findById(orderId);
+        }
+        return scatter(repository -> repository.findById(orderId)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    /**
+     * Ids go to the shard named by their hint; ids without a hint are
+     * looked up on every shard
+     */
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<OrderStore, List<OrderId>> byShard = new IdentityHashMap<>();
+        List<OrderId> unhinted = new ArrayList<>();
+        for (OrderId orderId : orderIds) {
+            OrderStore shard = hintedShard(orderId);
+            if (shard != null) {
+                byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(orderId);
+            } else {
+                unhinted.add(orderId);
+            }
+        }
+        if (unhinted.isEmpty() && byShard.size() == 1) {
+            Map.Entry<OrderStore, List<OrderId>> only = byShard.entrySet().iterator().next();
+            return only.getKey().findAllById(only.getValue());
+        }
+        List<Order> orders = new ArrayList<>();
+        for (List<Order> partial : scatter(repository -> {
+            List<OrderId> group = new ArrayList<>(byShard.getOrDefault(repository, List.of()));
+            group.addAll(unhinted);
+            return group.isEmpty() ? List.<Order>of() : repository.findAllById(group);
+        })) {
+            orders.addAll(partial);
+        }
+        return orders;
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return shardFor(customerId).findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        List<Order> orders = new ArrayList<>();
+        for (List<Order> partial : scatter(OrderStore::findAll)) {
+            orders.addAll(partial);
+        }
+        orders.sort(OrderQuery.RESULT_ORDER);
+        return orders;
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        if (query.getCustomerId() != null && !query.getCustomerId().isBlank()) {
+            return shardFor(CustomerId.of(query.getCustomerId())).query(query);
+        }
+        if (query.getSize() <= 0) {
+            return List.of();
+        }
+        // Every shard returns its own first (page + 1) * size rows; the
+        // requested page is then cut out of the merged stream
+        OrderQuery upToPage = query.upToCurrentPage();
+        return mergePage(scatter(repository -> repository.query(upToPage)), query.getOffset(), query.getSize());
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (Map<OrderStatus, Long> partial : scatter(OrderStore::countByStatus)) {
+            partial.forEach((status, count) -> counts.merge(status, count, Long::sum));
+        }
+        return counts;
+    }
+
+    @Override
+    public List<OrderStatistics.HourlyTotals> totalsByCreatedHour(LocalDateTime createdFrom) {
+        List<OrderStatistics.HourlyTotals> totals = new ArrayList<>();
+        for (List<OrderStatistics.HourlyTotals> partial : scatter(repository -> repository.totalsByCreatedHour(createdFrom))) {
+            totals.addAll(partial);
+        }
+        return OrderStatistics.HourlyTotals.combine(totals);
+    }
+
+    /**
+     * Every shard returns its own next {@code limit} pending orders; the
+     * first {@code limit} of their merge are the next ones overall
+     */
+    @Override
+    public List<PendingOrderTotal> findPendingTotalsAfter(String afterOrderId, int limit) {
+        List<PendingOrderTotal> merged = new ArrayList<>();
+        for (List<PendingOrderTotal> partial : scatter(repository -> repository.findPendingTotalsAfter(afterOrderId, limit))) {
+            merged.addAll(partial);
+        }
+        merged.sort(Comparator.comparing(total -> total.getOrderId().getValue()));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Every shard returns its own next {@code limit} ids; the first
+     * {@code limit} of their merge are the next ones overall
+     */
+    @Override
+    public List<OrderId> findIdsAfter(String afterOrderId, int limit) {
+        List<OrderId> merged = new ArrayList<>();
+        for (List<OrderId> partial : scatter(repository -> repository.findIdsAfter(afterOrderId, limit))) {
+            merged.addAll(partial);
+        }
+        merged.sort(Comparator.comparing(OrderId::getValue));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Totals go to the shard named by the id hint; ids without a hint are
+     * updated on every shard, where only the owner matches
+     */
+    @Override
+    public int updateQuotedTotals(Map<OrderId, Money> quotedTotals) {
+        Map<OrderStore, Map<OrderId, Money>> byShard = new IdentityHashMap<>();
+        Map<OrderId, Money> unhinted = new HashMap<>();
+        quotedTotals.forEach((orderId, total) -> {
+            OrderStore shard = hintedShard(orderId);
+            if (shard != null) {
+                byShard.computeIfAbsent(shard, key -> new HashMap<>()).put(orderId, total);
+            } else {
+                unhinted.put(orderId, total);
+            }
+        });
+        int updated = 0;
+        for (int count : scatter(repository -> {
+            Map<OrderId, Money> group = new HashMap<>(byShard.getOrDefault(repository, Map.of()));
+            group.putAll(unhinted);
+            return group.isEmpty() ? 0 : repository.updateQuotedTotals(group);
+        })) {
+            updated += count;
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        OrderStore shard = hintedShard(orderId);
+        if (shard != null) {
+            shard.deleteById(orderId);
+            return;
+        }
+        scatter(repository -> {
+            repository.deleteById(orderId);
+            return Boolean.TRUE;
+        });
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        OrderStore shard = hintedShard(orderId);
+        if (shard != null) {
+            return shard.existsById(orderId);
+        }
+        return scatter(repository -> repository.existsById(orderId)).contains(Boolean.TRUE);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Index of the shard owning the orders of a customer
+     */
+    public int shardIndexFor(CustomerId customerId) {
+        return ring.shardFor(customerId.getValue());
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        for (OrderShard shard : shards) {
+            shard.close();
+        }
+    }
+
+    private OrderStore ownerOf(Order order) {
+        OrderStore shard = hintedShard(order.getId());
+        return shard != null ? shard : shardFor(order.getCustomerId());
+    }
+
+    private OrderStore shardFor(CustomerId customerId) {
+        return shards.get(ring.shardFor(customerId.getValue())).getRepository();
+    }
+
+    private OrderStore hintedShard(OrderId orderId) {
+        OptionalInt hint = orderId.shardHint();
+        if (hint.isPresent() && hint.getAsInt() < shards.size()) {
+            return shards.get(hint.getAsInt()).getRepository();
+        }
+        return null;
+    }
+
+    /**
+     * Run a call on every shard in parallel and collect the results in shard order
+     */
+    private <T> List<T> scatter(Function<OrderStore, T> call) {
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (OrderShard shard : shards) {
+            futures.add(executor.submit(() -> call.apply(shard.getRepository())));
+        }
+        long deadline = System.nanoTime() + scatterTimeoutNanos;
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    throw new QueryTimeoutException("Shard " + shards.get(i).getName() + " did not answer in time", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    throw new IllegalStateException("Shard " + shards.get(i).getName() + " failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * K-way merge of per-shard results, each already sorted by
+     * {@link OrderQuery#RESULT_ORDER}, keeping only the requested window
+     */
+    static List<Order> mergePage(List<List<Order>> partials, long offset, int size) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(
+                Math.max(1, partials.size()), (a, b) -> OrderQuery.RESULT_ORDER.compare(a.head, b.head));
+        for (List<Order> partial : partials) {
+            Iterator<Order> iterator = partial.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor(iterator));
+            }
+        }
+        List<Order> page = new ArrayList<>(size);
+        long position = 0;
+        while (!heads.isEmpty() && page.size() < size) {
+            Cursor cursor = heads.poll();
+            if (position++ >= offset) {
+                page.add(cursor.head);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return page;
+    }
+
+    private static final class Cursor {
+        private final Iterator<Order> iterator;
+        private Order head;
+
+        Cursor(Iterator<Order> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+    }
+}
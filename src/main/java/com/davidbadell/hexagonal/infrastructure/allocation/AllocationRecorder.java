@@ -0,0 +1,197 @@
+package com.davidbadell.hexagonal.infrastructure.allocation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-thread allocation accounting of requests, commands and use cases
+ * Infrastructure Layer: Allocation Accounting
+ *
+ * A {@link Sample} reads the bytes the current thread has allocated so
+ * far ({@code ThreadMXBean.getCurrentThreadAllocatedBytes}) and, when
+ * stopped, records the difference in the {@code orders.allocation.bytes}
+ * histogram of its {@link Histogram}, tagged with the kind (endpoint,
+ * command, use-case), the name and the order size bucket. The size is
+ * the number of order lines noted with {@link #noteOrderLines(int)} while
+ * the sample ran; samples nest, so an endpoint is bucketed by the lines
+ * of the use cases it called.
+ *
+ * Work handed to other threads is not counted. Without allocation
+ * accounting in the JVM, samples record nothing.
+ */
+public class AllocationRecorder {
+
+    public static final String METER = "orders.allocation.bytes";
+
+    public static final String ENDPOINT = "endpoint";
+    public static final String COMMAND = "command";
+    public static final String USE_CASE = "use-case";
+
+    /**
+     * Records nothing; for adapters built without allocation accounting
+     */
+    public static final AllocationRecorder NONE = new AllocationRecorder(null, false);
+
+    private static final String[] SIZE_BUCKETS = {"none", "0", "1-9", "10-99", "100-999", "1000+"};
+    private static final int NO_LINES = -1;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean percentileHistogram;
+    private final com.sun.management.ThreadMXBean threadBean;
+    // [0] lines noted in the innermost running sample, [1] samples running
+    private final ThreadLocal<int[]> scope = ThreadLocal.withInitial(() -> new int[] {NO_LINES, 0});
+
+    public AllocationRecorder(MeterRegistry meterRegistry, boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = percentileHistogram;
+        this.threadBean = meterRegistry != null ? allocationAccounting() : null;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationAccounting() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    /**
+     * Whether samples record anything in this JVM
+     */
+    public boolean isSupported() {
+        return threadBean != null;
+    }
+
+    /**
+     * The histograms of one endpoint, command or use case; create once and keep
+     */
+    public Histogram histogram(String kind, String name) {
+        return new Histogram(this, kind, name);
+    }
+
+    /**
+     * Start counting the bytes the current thread allocates
+     *
+     * Stop the sample on the same thread, in a finally block.
+     */
+    public Sample start() {
+        if (threadBean == null) {
+            return Sample.DISABLED;
+        }
+        int[] current = scope.get();
+        int outerLines = current[0];
+        current[0] = NO_LINES;
+        current[1]++;
+        return new Sample(this, threadBean.getCurrentThreadAllocatedBytes(), outerLines);
+    }
+
+    /**
+     * Add order lines to the size of the samples running on this thread
+     */
+    public void noteOrderLines(int lines) {
+        if (threadBean == null) {
+            return;
+        }
+        int[] current = scope.get();
+        if (current[1] > 0) {
+            current[0] = current[0] == NO_LINES ? lines : current[0] + lines;
+        }
+    }
+
+    private void stop(Sample sample, Histogram histogram) {
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - sample.startBytes;
+        int[] current = scope.get();
+        int lines = current[0];
+        current[0] = sample.outerLines == NO_LINES ? lines
+                : lines == NO_LINES ? sample.outerLines : sample.outerLines + lines;
+        current[1]--;
+        if (allocated >= 0) {
+            histogram.record(allocated, lines);
+        }
+    }
+
+    private static int bucketIndex(int lines) {
+        if (lines < 0) {
+            return 0;
+        }
+        if (lines == 0) {
+            return 1;
+        }
+        if (lines < 10) {
+            return 2;
+        }
+        if (lines < 100) {
+            return 3;
+        }
+        return lines < 1000 ? 4 : 5;
+    }
+
+    /**
+     * Bytes allocated by the thread between start and stop
+     */
+    public static final class Sample {
+
+        static final Sample DISABLED = new Sample(null, 0, NO_LINES);
+
+        private final AllocationRecorder recorder;
+        private final long startBytes;
+        private final int outerLines;
+
+        private Sample(AllocationRecorder recorder, long startBytes, int outerLines) {
+            this.recorder = recorder;
+            this.startBytes = startBytes;
+            this.outerLines = outerLines;
+        }
+
+        public void stop(Histogram histogram) {
+            if (recorder != null) {
+                recorder.stop(this, histogram);
+            }
+        }
+    }
+
+    /**
+     * The {@code orders.allocation.bytes} summaries of one name, one per size
+     * bucket, registered on first use
+     */
+    public static final class Histogram {
+
+        private final AllocationRecorder recorder;
+        private final String kind;
+        private final String name;
+        private final AtomicReferenceArray<DistributionSummary> bySize =
+                new AtomicReferenceArray<>(SIZE_BUCKETS.length);
+
+        private Histogram(AllocationRecorder recorder, String kind, String name) {
+            this.recorder = recorder;
+            this.kind = kind;
+            this.name = name;
+        }
+
+        private void record(long bytes, int lines) {
+            int bucket = bucketIndex(lines);
+            DistributionSummary summary = bySize.get(bucket);
+            if (summary == null) {
+                // Registering again returns the same summary, so a race is harmless
+                summary = DistributionSummary.builder(METER)
+                        .description("Bytes allocated by the thread handling one call")
+                        .baseUnit("bytes")
+                        .tag("kind", kind)
+                        .tag("name", name)
+                        .tag("size", SIZE_BUCKETS[bucket])
+                        .publishPercentileHistogram(recorder.percentileHistogram)
+                        .minimumExpectedValue(1024.0)
+                        .maximumExpectedValue(1024.0 * 1024 * 1024)
+                        .register(recorder.meterRegistry);
+                bySize.set(bucket, summary);
+            }
+            summary.record(bytes);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.davidbadell.hexagonal.infrastructure.allocation;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
+
+/**
+ * Cancel use case decorator recording the bytes allocated per call
+ * Infrastructure Layer: Allocation Accounting
+ *
+ * Bucketed by the lines of the cancelled order.
+ */
+public class AllocationRecordingCancelOrderUseCase implements CancelOrderUseCase {
+
+    private final CancelOrderUseCase delegate;
+    private final AllocationRecorder recorder;
+    private final AllocationRecorder.Histogram cancelOrder;
+
+    public AllocationRecordingCancelOrderUseCase(CancelOrderUseCase delegate, AllocationRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.cancelOrder = recorder.histogram(AllocationRecorder.USE_CASE, "cancelOrder");
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId) {
+        return cancelOrder(orderId, null);
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId, String reason) {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            OrderResponse response = delegate.cancelOrder(orderId, reason);
+            if (response != null) {
+                recorder.noteOrderLines(response.getItems().size());
+            }
+            return response;
+        } finally {
+            sample.stop(cancelOrder);
+        }
+    }
+}
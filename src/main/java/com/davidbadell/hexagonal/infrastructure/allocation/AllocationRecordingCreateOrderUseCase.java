@@ -0,0 +1,36 @@
+package com.davidbadell.hexagonal.infrastructure.allocation;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+
+/**
+ * Create use case decorator recording the bytes allocated per call
+ * Infrastructure Layer: Allocation Accounting
+ *
+ * Bucketed by the lines of the created order.
+ */
+public class AllocationRecordingCreateOrderUseCase implements CreateOrderUseCase {
+
+    private final CreateOrderUseCase delegate;
+    private final AllocationRecorder recorder;
+    private final AllocationRecorder.Histogram createOrder;
+
+    public AllocationRecordingCreateOrderUseCase(CreateOrderUseCase delegate, AllocationRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.createOrder = recorder.histogram(AllocationRecorder.USE_CASE, "createOrder");
+    }
+
+    @Override
+    public OrderResponse createOrder(CreateOrderCommand command) {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            OrderResponse response = delegate.createOrder(command);
+            recorder.noteOrderLines(response.getItems().size());
+            return response;
+        } finally {
+            sample.stop(createOrder);
+        }
+    }
+}
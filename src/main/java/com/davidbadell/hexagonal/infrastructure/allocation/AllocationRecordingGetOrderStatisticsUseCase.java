@@ -0,0 +1,34 @@
+package com.davidbadell.hexagonal.infrastructure.allocation;
+
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
+
+/**
+ * Statistics use case decorator recording the bytes allocated per call
+ * Infrastructure Layer: Allocation Accounting
+ *
+ * Statistics are not about orders of one size and are recorded without one.
+ */
+public class AllocationRecordingGetOrderStatisticsUseCase implements GetOrderStatisticsUseCase {
+
+    private final GetOrderStatisticsUseCase delegate;
+    private final AllocationRecorder recorder;
+    private final AllocationRecorder.Histogram getStatistics;
+
+    public AllocationRecordingGetOrderStatisticsUseCase(GetOrderStatisticsUseCase delegate,
+                                                        AllocationRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.getStatistics = recorder.histogram(AllocationRecorder.USE_CASE, "getStatistics");
+    }
+
+    @Override
+    public OrderStatistics getStatistics() {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            return delegate.getStatistics();
+        } finally {
+            sample.stop(getStatistics);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.davidbadell.hexagonal.infrastructure.allocation;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query use case decorator recording the bytes allocated per call
+ * Infrastructure Layer: Allocation Accounting
+ *
+ * Bucketed by the lines of all the orders returned; summaries carry no
+ * lines and are recorded without a size.
+ */
+public class AllocationRecordingGetOrderUseCase implements GetOrderUseCase {
+
+    private final GetOrderUseCase delegate;
+    private final AllocationRecorder recorder;
+    private final AllocationRecorder.Histogram getOrderById;
+    private final AllocationRecorder.Histogram getOrdersByCustomerId;
+    private final AllocationRecorder.Histogram getOrderSummariesByCustomerId;
+    private final AllocationRecorder.Histogram queryOrders;
+
+    public AllocationRecordingGetOrderUseCase(GetOrderUseCase delegate, AllocationRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.getOrderById = recorder.histogram(AllocationRecorder.USE_CASE, "getOrderById");
+        this.getOrdersByCustomerId = recorder.histogram(AllocationRecorder.USE_CASE, "getOrdersByCustomerId");
+        this.getOrderSummariesByCustomerId =
+                recorder.histogram(AllocationRecorder.USE_CASE, "getOrderSummariesByCustomerId");
+        this.queryOrders = recorder.histogram(AllocationRecorder.USE_CASE, "queryOrders");
+    }
+
+    @Override
+    public Optional<OrderResponse> getOrderById(String orderId) {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            Optional<OrderResponse> order = delegate.getOrderById(orderId);
+            recorder.noteOrderLines(order.isPresent() ? order.get().getItems().size() : 0);
+            return order;
+        } finally {
+            sample.stop(getOrderById);
+        }
+    }
+
+    @Override
+    public List<OrderResponse> getOrdersByCustomerId(String customerId) {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            return noteLines(delegate.getOrdersByCustomerId(customerId));
+        } finally {
+            sample.stop(getOrdersByCustomerId);
+        }
+    }
+
+    @Override
+    public List<OrderSummary> getOrderSummariesByCustomerId(String customerId, int page, int size) {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            return delegate.getOrderSummariesByCustomerId(customerId, page, size);
+        } finally {
+            sample.stop(getOrderSummariesByCustomerId);
+        }
+    }
+
+    @Override
+    public List<OrderResponse> queryOrders(OrderQuery query) {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            return noteLines(delegate.queryOrders(query));
+        } finally {
+            sample.stop(queryOrders);
+        }
+    }
+
+    private List<OrderResponse> noteLines(List<OrderResponse> orders) {
+        int lines = 0;
+        for (OrderResponse order : orders) {
+            lines += order.getItems().size();
+        }
+        recorder.noteOrderLines(lines);
+        return orders;
+    }
+}
@@ -0,0 +1,43 @@
+package com.davidbadell.hexagonal.infrastructure.allocation;
+
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportResult;
+import com.davidbadell.hexagonal.application.port.in.ImportOrdersUseCase;
+
+import java.util.List;
+
+/**
+ * Import use case decorator recording the bytes allocated per batch
+ * Infrastructure Layer: Allocation Accounting
+ *
+ * Bucketed by the lines of all the orders in the batch, rejected ones
+ * included. Batches run on the import workers, so this is where the
+ * allocations of an import show up.
+ */
+public class AllocationRecordingImportOrdersUseCase implements ImportOrdersUseCase {
+
+    private final ImportOrdersUseCase delegate;
+    private final AllocationRecorder recorder;
+    private final AllocationRecorder.Histogram importOrders;
+
+    public AllocationRecordingImportOrdersUseCase(ImportOrdersUseCase delegate, AllocationRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.importOrders = recorder.histogram(AllocationRecorder.USE_CASE, "importOrders");
+    }
+
+    @Override
+    public ImportResult importOrders(List<ImportOrderCommand> commands) {
+        AllocationRecorder.Sample sample = recorder.start();
+        try {
+            int lines = 0;
+            for (ImportOrderCommand command : commands) {
+                lines += command.getItems() != null ? command.getItems().size() : 0;
+            }
+            recorder.noteOrderLines(lines);
+            return delegate.importOrders(commands);
+        } finally {
+            sample.stop(importOrders);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
+
+/**
+ * Cancel use case decorator writing the result through to the cache
+ * Infrastructure Layer: Caching
+ *
+ * The cancelled order replaces the cached one before the response is
+ * returned, so a read right after the cancellation never sees it pending.
+ */
+public class CachingCancelOrderUseCase implements CancelOrderUseCase {
+
+    private final CancelOrderUseCase delegate;
+    private final OrderResponseCache cache;
+
+    public CachingCancelOrderUseCase(CancelOrderUseCase delegate, OrderResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId) {
+        return writeThrough(orderId, delegate.cancelOrder(orderId));
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId, String reason) {
+        return writeThrough(orderId, delegate.cancelOrder(orderId, reason));
+    }
+
+    private OrderResponse writeThrough(String orderId, OrderResponse response) {
+        if (response != null) {
+            cache.put(response);
+        } else {
+            cache.evict(orderId);
+        }
+        return response;
+    }
+}
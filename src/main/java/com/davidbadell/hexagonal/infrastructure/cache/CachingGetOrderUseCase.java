@@ -0,0 +1,54 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query use case decorator serving single orders from the cache
+ * Infrastructure Layer: Caching
+ *
+ * Only lookups by id are cached; list queries always reach the delegate.
+ * A lookup whose order changes while it is loaded is returned uncached.
+ */
+public class CachingGetOrderUseCase implements GetOrderUseCase {
+
+    private final GetOrderUseCase delegate;
+    private final OrderResponseCache cache;
+
+    public CachingGetOrderUseCase(GetOrderUseCase delegate, OrderResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<OrderResponse> getOrderById(String orderId) {
+        OrderResponse cached = cache.get(orderId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadToken = cache.beginLoad();
+        Optional<OrderResponse> loaded = delegate.getOrderById(orderId);
+        loaded.ifPresent(response -> cache.put(response, loadToken));
+        return loaded;
+    }
+
+    @Override
+    public List<OrderResponse> getOrdersByCustomerId(String customerId) {
+        return delegate.getOrdersByCustomerId(customerId);
+    }
+
+    @Override
+    public List<OrderSummary> getOrderSummariesByCustomerId(String customerId, int page, int size) {
+        return delegate.getOrderSummariesByCustomerId(customerId, page, size);
+    }
+
+    @Override
+    public List<OrderResponse> queryOrders(OrderQuery query) {
+        return delegate.queryOrders(query);
+    }
+}
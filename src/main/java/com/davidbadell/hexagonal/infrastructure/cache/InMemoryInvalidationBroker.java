@@ -0,0 +1,30 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for the invalidation fanout exchange
+ * Infrastructure Layer: Caching
+ *
+ * Delivers every batch to all subscribers on the sending thread. Used when
+ * messaging is disabled, where the only subscriber is this instance, and
+ * by tests that run several instances against one broker.
+ */
+public class InMemoryInvalidationBroker implements InvalidationTransport {
+
+    private final List<Consumer<OrderInvalidationBatch>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(OrderInvalidationBatch batch) {
+        for (Consumer<OrderInvalidationBatch> receiver : receivers) {
+            receiver.accept(batch);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<OrderInvalidationBatch> receiver) {
+        receivers.add(receiver);
+    }
+}
@@ -0,0 +1,16 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast of order cache invalidations between instances
+ * Infrastructure Layer: Caching
+ *
+ * Every batch sent reaches every subscribed instance, the sender included.
+ */
+public interface InvalidationTransport {
+
+    void send(OrderInvalidationBatch batch);
+
+    void subscribe(Consumer<OrderInvalidationBatch> receiver);
+}
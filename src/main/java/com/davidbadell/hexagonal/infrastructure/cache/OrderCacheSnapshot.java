@@ -0,0 +1,343 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hot-set snapshot of the order cache
+ * Infrastructure Layer: Caching
+ *
+ * Writes the most frequently read cache entries to a gzip'd binary file:
+ * a header, then per entry its load time, access count and the
+ * length-prefixed encoded OrderResponse. The file is replaced atomically.
+ * On startup the payloads are decoded in parallel chunks and put back in
+ * the cache; entries that would already have expired are skipped.
+ *
+ * Orders may have changed while the application was down, so each chunk
+ * is checked against the current orders, read in one batch: entries at
+ * the current version keep their load time, changed ones are replaced by
+ * the current order, and orders that no longer exist are skipped. The
+ * current orders go through the cache's version checks like any load.
+ */
+public class OrderCacheSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCacheSnapshot.class);
+
+    private static final int MAGIC = 0x4F524353; // "ORCS"
+    private static final int VERSION = 2;
+    private static final int CHUNK_SIZE = 512;
+
+    private final OrderResponseCache cache;
+    private final Function<List<String>, List<OrderResponse>> currentOrders;
+    private final Path file;
+    private final int maxEntries;
+    private final int loadThreads;
+
+    /**
+     * @param currentOrders reads the current state of the given orders, leaving out those that do not exist
+     */
+    public OrderCacheSnapshot(OrderResponseCache cache, Function<List<String>, List<OrderResponse>> currentOrders,
+                              Path file, int maxEntries, int loadThreads) {
+        this.cache = cache;
+        this.currentOrders = currentOrders;
+        this.file = file;
+        this.maxEntries = maxEntries;
+        this.loadThreads = loadThreads > 0 ? loadThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Write the current hot set and let access counts decay
+     *
+     * @return number of entries written
+     */
+    public synchronized int write() throws IOException {
+        List<OrderResponseCache.Entry> hotSet = cache.hotSet(maxEntries);
+        cache.decayFrequencies();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(hotSet.size());
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+                for (OrderResponseCache.Entry entry : hotSet) {
+                    buffer.reset();
+                    encode(entry.response, new DataOutputStream(buffer));
+                    out.writeLong(entry.loadedAt);
+                    out.writeInt(entry.frequency);
+                    out.writeInt(buffer.size());
+                    buffer.writeTo(out);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return hotSet.size();
+    }
+
+    /**
+     * Load the snapshot into the cache, decoding in parallel
+     *
+     * @return what was loaded and how long it took
+     */
+    public WarmUpResult load() throws IOException {
+        long start = System.nanoTime();
+        if (!Files.isRegularFile(file)) {
+            return new WarmUpResult(0, 0, 0, Duration.ofNanos(System.nanoTime() - start));
+        }
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger changed = new AtomicInteger();
+        AtomicInteger deleted = new AtomicInteger();
+        int skipped = 0;
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(loadThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-cache-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> chunks = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.warn("Ignoring order cache snapshot {} with unknown format", file);
+                return new WarmUpResult(0, 0, 0, Duration.ofNanos(System.nanoTime() - start));
+            }
+            int count = in.readInt();
+            List<RawEntry> chunk = new ArrayList<>(CHUNK_SIZE);
+            try {
+                for (int i = 0; i < count; i++) {
+                    long loadedAt = in.readLong();
+                    int frequency = in.readInt();
+                    byte[] payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                    if (!cache.isLive(loadedAt)) {
+                        skipped++;
+                        continue;
+                    }
+                    chunk.add(new RawEntry(loadedAt, frequency, payload));
+                    if (chunk.size() == CHUNK_SIZE) {
+                        chunks.add(pool.submit(decodeInto(chunk, loaded, changed, deleted)));
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+            } catch (EOFException e) {
+                logger.warn("Order cache snapshot {} is truncated, using what could be read", file);
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(pool.submit(decodeInto(chunk, loaded, changed, deleted)));
+            }
+            for (Future<?> future : chunks) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + file, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Cannot decode or revalidate " + file, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new WarmUpResult(loaded.get(), changed.get(), skipped + deleted.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private Runnable decodeInto(List<RawEntry> chunk, AtomicInteger loaded, AtomicInteger changed,
+                                AtomicInteger deleted) {
+        return () -> {
+            long loadToken = cache.beginLoad();
+            List<OrderResponse> saved = new ArrayList<>(chunk.size());
+            for (RawEntry raw : chunk) {
+                try {
+                    saved.add(decode(new DataInputStream(new ByteArrayInputStream(raw.payload))));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            List<String> orderIds = saved.stream().map(OrderResponse::getOrderId).toList();
+            Map<String, OrderResponse> current = currentOrders.apply(orderIds).stream()
+                    .collect(Collectors.toMap(OrderResponse::getOrderId, Function.identity(), (a, b) -> a));
+            for (int i = 0; i < chunk.size(); i++) {
+                OrderResponse response = current.get(saved.get(i).getOrderId());
+                if (response == null) {
+                    deleted.incrementAndGet();
+                    continue;
+                }
+                long loadedAt = chunk.get(i).loadedAt;
+                if (!isUnchanged(saved.get(i), response)) {
+                    loadedAt = cache.now();
+                    changed.incrementAndGet();
+                }
+                cache.put(new OrderResponseCache.Entry(response, loadedAt, chunk.get(i).frequency), loadToken);
+                loaded.incrementAndGet();
+            }
+        };
+    }
+
+    // Every change of an order moves its version
+    private static boolean isUnchanged(OrderResponse saved, OrderResponse current) {
+        return saved.getVersion() == current.getVersion();
+    }
+
+    static void encode(OrderResponse response, DataOutputStream out) throws IOException {
+        writeString(out, response.getOrderId());
+        writeString(out, response.getCustomerId());
+        writeString(out, response.getStatus());
+        writeDecimal(out, response.getTotal());
+        writeDateTime(out, response.getCreatedAt());
+        writeDateTime(out, response.getUpdatedAt());
+        List<OrderResponse.OrderLineResponse> items = response.getItems() == null ? List.of() : response.getItems();
+        out.writeInt(items.size());
+        for (OrderResponse.OrderLineResponse item : items) {
+            writeString(out, item.getProductId());
+            writeString(out, item.getProductName());
+            out.writeInt(item.getQuantity());
+            writeDecimal(out, item.getUnitPrice());
+            writeDecimal(out, item.getSubtotal());
+        }
+        out.writeLong(response.getVersion());
+    }
+
+    static OrderResponse decode(DataInputStream in) throws IOException {
+        OrderResponse.Builder builder = OrderResponse.builder()
+                .orderId(readString(in))
+                .customerId(readString(in))
+                .status(readString(in))
+                .total(readDecimal(in))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in));
+        int count = in.readInt();
+        List<OrderResponse.OrderLineResponse> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new OrderResponse.OrderLineResponse(
+                    readString(in), readString(in), in.readInt(), readDecimal(in), readDecimal(in)));
+        }
+        return builder.items(items).version(in.readLong()).build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+        out.writeInt(value.scale());
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int length = in.readShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), in.readInt());
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    private static final class RawEntry {
+        private final long loadedAt;
+        private final int frequency;
+        private final byte[] payload;
+
+        RawEntry(long loadedAt, int frequency, byte[] payload) {
+            this.loadedAt = loadedAt;
+            this.frequency = frequency;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Outcome of a warm-up
+     */
+    public static final class WarmUpResult {
+        private final int loaded;
+        private final int changed;
+        private final int skipped;
+        private final Duration elapsed;
+
+        WarmUpResult(int loaded, int changed, int skipped, Duration elapsed) {
+            this.loaded = loaded;
+            this.changed = changed;
+            this.skipped = skipped;
+            this.elapsed = elapsed;
+        }
+
+        public int getLoaded() { return loaded; }
+        // Loaded orders that changed since the snapshot was written, cached in their current state
+        public int getChanged() { return changed; }
+        // Expired entries and orders that no longer exist
+        public int getSkipped() { return skipped; }
+        public Duration getElapsed() { return elapsed; }
+    }
+}
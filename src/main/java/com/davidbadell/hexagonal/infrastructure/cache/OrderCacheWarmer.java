@@ -0,0 +1,119 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup warm-up and periodic snapshots of the order cache
+ * Infrastructure Layer: Caching
+ *
+ * {@link #warmUp()} loads the last snapshot and is meant to run before the
+ * application reports ready. It then measures the hit rate over a first
+ * window (one minute by default) and logs it, which tells whether the
+ * snapshot held the right orders. While running, the hot set is written
+ * every interval and once more on shutdown, so a redeploy starts from a
+ * recent one.
+ */
+public class OrderCacheWarmer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCacheWarmer.class);
+
+    private final OrderResponseCache cache;
+    private final OrderCacheSnapshot snapshot;
+    private final Duration measurementWindow;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile OrderCacheSnapshot.WarmUpResult lastWarmUp;
+    private volatile double firstWindowHitRatio = Double.NaN;
+
+    public OrderCacheWarmer(OrderResponseCache cache, OrderCacheSnapshot snapshot, Duration measurementWindow) {
+        this.cache = cache;
+        this.snapshot = snapshot;
+        this.measurementWindow = measurementWindow;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::writeSnapshot,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Load the snapshot into the cache. Failures are logged: a cold cache
+     * is slower, not wrong.
+     */
+    public OrderCacheSnapshot.WarmUpResult warmUp() {
+        OrderCacheSnapshot.WarmUpResult result;
+        try {
+            result = snapshot.load();
+            logger.info("Order cache warmed up from {}: {} orders loaded ({} changed since), "
+                            + "{} expired or deleted skipped in {} ms",
+                    snapshot.getFile(), result.getLoaded(), result.getChanged(), result.getSkipped(),
+                    result.getElapsed().toMillis());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Order cache warm-up from {} failed, starting cold", snapshot.getFile(), e);
+            result = null;
+        }
+        lastWarmUp = result;
+        cache.startMeasurementWindow(measurementWindow);
+        scheduler.schedule(this::reportFirstWindow, measurementWindow.toMillis(), TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    public void writeSnapshot() {
+        try {
+            long start = System.nanoTime();
+            int written = snapshot.write();
+            logger.debug("Wrote {} hot orders to {} in {} ms", written, snapshot.getFile(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Cannot write order cache snapshot {}", snapshot.getFile(), e);
+        }
+    }
+
+    private void reportFirstWindow() {
+        firstWindowHitRatio = cache.getWindowHitRatio();
+        logger.info("Order cache hit rate in the first {}s after warm-up: {} over {} lookups",
+                measurementWindow.toSeconds(),
+                Double.isNaN(firstWindowHitRatio) ? "n/a"
+                        : String.format(Locale.ROOT, "%.1f%%", firstWindowHitRatio * 100),
+                cache.getWindowRequests());
+    }
+
+    /**
+     * Duration of the last warm-up in seconds, NaN before it ran or if it failed
+     */
+    public double getWarmUpSeconds() {
+        OrderCacheSnapshot.WarmUpResult result = lastWarmUp;
+        return result == null ? Double.NaN : result.getElapsed().toNanos() / 1e9;
+    }
+
+    public double getWarmUpLoaded() {
+        OrderCacheSnapshot.WarmUpResult result = lastWarmUp;
+        return result == null ? Double.NaN : result.getLoaded();
+    }
+
+    /**
+     * Hit ratio while the first window is open, then frozen at its final value
+     */
+    public double getFirstWindowHitRatio() {
+        return Double.isNaN(firstWindowHitRatio) ? cache.getWindowHitRatio() : firstWindowHitRatio;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        writeSnapshot();
+    }
+}
@@ -0,0 +1,35 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import java.util.List;
+
+/**
+ * Invalidations of cached orders sent to the other instances at once
+ * Infrastructure Layer: Caching
+ *
+ * Each order id comes with the version the change produced, as stored by
+ * the database, or {@link Long#MAX_VALUE} for a deletion. {@code origin} is the id of the sending instance, which
+ * ignores its own batches.
+ */
+public class OrderInvalidationBatch {
+
+    private final String origin;
+    private final List<String> orderIds;
+    private final long[] versions;
+
+    public OrderInvalidationBatch(String origin, List<String> orderIds, long[] versions) {
+        if (orderIds.size() != versions.length) {
+            throw new IllegalArgumentException("One version per order id is required");
+        }
+        this.origin = origin;
+        this.orderIds = List.copyOf(orderIds);
+        this.versions = versions.clone();
+    }
+
+    public String getOrigin() { return origin; }
+    public List<String> getOrderIds() { return orderIds; }
+    public int size() { return orderIds.size(); }
+
+    public long getVersion(int index) {
+        return versions[index];
+    }
+}
@@ -0,0 +1,177 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cluster-wide invalidation of cached orders
+ * Infrastructure Layer: Caching
+ *
+ * A change of an order invalidates the local caches at once and is queued
+ * for the other instances. Queued invalidations are coalesced by order id,
+ * keeping the highest version, and sent in batches of at most
+ * {@code maxBatchSize} every flush interval, or as soon as a full batch is
+ * waiting. Batches that cannot be sent are dropped: the other instances
+ * then serve the old order until their cache entries expire.
+ */
+public class OrderInvalidations implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderInvalidations.class);
+
+    /**
+     * A cache that drops orders older than an invalidated version
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void invalidate(String orderId, long version);
+    }
+
+    private final String nodeId;
+    private final InvalidationTransport transport;
+    private final int maxBatchSize;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder sentBatches = new LongAdder();
+    private final LongAdder sentOrders = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    public OrderInvalidations(String nodeId, InvalidationTransport transport, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-cache-invalidations");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Receive the other instances' invalidations and send ours every interval
+     */
+    public void start(Duration flushInterval) {
+        transport.subscribe(this::receive);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Invalidate an order changed by this instance, here and on the others
+     */
+    public void publish(String orderId, long version) {
+        published.increment();
+        for (Listener listener : listeners) {
+            listener.invalidate(orderId, version);
+        }
+        pending.merge(orderId, version, Math::max);
+        if (pending.size() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Send the queued invalidations now
+     *
+     * @return the number of orders sent
+     */
+    public int flush() {
+        flushRequested.set(false);
+        int sent = 0;
+        Iterator<String> orderIds = pending.keySet().iterator();
+        while (orderIds.hasNext()) {
+            List<String> batchIds = new ArrayList<>(maxBatchSize);
+            long[] versions = new long[maxBatchSize];
+            while (orderIds.hasNext() && batchIds.size() < maxBatchSize) {
+                String orderId = orderIds.next();
+                Long version = pending.remove(orderId);
+                if (version != null) {
+                    versions[batchIds.size()] = version;
+                    batchIds.add(orderId);
+                }
+            }
+            if (batchIds.isEmpty()) {
+                break;
+            }
+            OrderInvalidationBatch batch = new OrderInvalidationBatch(nodeId, batchIds,
+                    Arrays.copyOf(versions, batchIds.size()));
+            try {
+                transport.send(batch);
+                sentBatches.increment();
+                sentOrders.add(batch.size());
+                sent += batch.size();
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                logger.warn("Cannot send {} order cache invalidations: {}", batch.size(), e.getMessage());
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Apply invalidations sent by an instance
+     */
+    public void receive(OrderInvalidationBatch batch) {
+        if (nodeId.equals(batch.getOrigin())) {
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            for (Listener listener : listeners) {
+                listener.invalidate(batch.getOrderIds().get(i), batch.getVersion(i));
+            }
+        }
+        received.add(batch.size());
+    }
+
+    public String getNodeId() { return nodeId; }
+    public int getPending() { return pending.size(); }
+    public long getPublished() { return published.sum(); }
+    public long getReceived() { return received.sum(); }
+    public long getSentBatches() { return sentBatches.sum(); }
+    public long getSentOrders() { return sentOrders.sum(); }
+    public long getFailedBatches() { return failedBatches.sum(); }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Cannot flush order cache invalidations", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Near cache of orders read from the repository
+ * Infrastructure Layer: Caching
+ *
+ * Holds copies of loaded orders by id, with the version the database
+ * stored them at. An invalidation drops the entry
+ * unless it is at least as new as the invalidated version, so a late
+ * invalidation does not remove a newer order. The highest invalidated
+ * version of an order is remembered for one {@code ttl}: a load that
+ * returns an older order (started before the change, or read from a
+ * lagging replica) is not cached.
+ */
+public class OrderNearCache implements OrderInvalidations.Listener {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Invalidated> invalidated = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder staleLoads = new LongAdder();
+
+    public OrderNearCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * A copy of the cached order, or null
+     */
+    public Order get(OrderId orderId) {
+        Entry entry = entries.get(orderId.getValue());
+        if (entry != null && clock.millis() - entry.loadedAt >= ttlMillis) {
+            entries.remove(orderId.getValue(), entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.order);
+    }
+
+    /**
+     * Cache a loaded order unless the cache knows of a newer version
+     */
+    public void put(Order order) {
+        long version = order.getVersion();
+        long now = clock.millis();
+        Entry candidate = new Entry(copy(order), version, now);
+        entries.compute(order.getId().getValue(), (orderId, current) -> {
+            Invalidated change = invalidated.get(orderId);
+            if (change != null && now - change.at < ttlMillis && version < change.version) {
+                staleLoads.increment();
+                return current;
+            }
+            return current != null && current.version > version ? current : candidate;
+        });
+        if (entries.size() > maxEntries || invalidated.size() > maxEntries) {
+            sweep();
+        }
+    }
+
+    @Override
+    public void invalidate(String orderId, long version) {
+        long now = clock.millis();
+        // Under the entry's lock, so that a concurrent put sees the invalidation
+        entries.compute(orderId, (id, current) -> {
+            invalidated.merge(id, new Invalidated(version, now),
+                    (previous, change) -> previous.version >= change.version ? new Invalidated(previous.version, now)
+                            : change);
+            return current != null && current.version >= version ? current : null;
+        });
+        invalidations.increment();
+    }
+
+    public int size() { return entries.size(); }
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getInvalidations() { return invalidations.sum(); }
+    public long getStaleLoads() { return staleLoads.sum(); }
+
+    /**
+     * Drop expired entries and invalidations, then the oldest entries until
+     * the cache is back to 90% of its capacity. One thread sweeps at a time.
+     */
+    private void sweep() {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.millis();
+            entries.values().removeIf(entry -> now - entry.loadedAt >= ttlMillis);
+            invalidated.values().removeIf(change -> now - change.at >= ttlMillis);
+            int excess = entries.size() - maxEntries * 9 / 10;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Entry>> oldest = new ArrayList<>(entries.entrySet());
+            oldest.sort(Comparator.comparingLong(candidate -> candidate.getValue().loadedAt));
+            for (int i = 0; i < excess && i < oldest.size(); i++) {
+                entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue());
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /**
+     * Orders are mutable: callers get their own copy
+     */
+    private static Order copy(Order order) {
+        return Order.reconstitute(order.getId(), order.getCustomerId(), order.getOrderLines(), order.getStatus(),
+                order.getCreatedAt(), order.getUpdatedAt(), order.getVersion());
+    }
+
+    private static final class Entry {
+        final Order order;
+        final long version;
+        final long loadedAt;
+
+        Entry(Order order, long version, long loadedAt) {
+            this.order = order;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Invalidated {
+        final long version;
+        final long at;
+
+        Invalidated(long version, long at) {
+            this.version = version;
+            this.at = at;
+        }
+    }
+}
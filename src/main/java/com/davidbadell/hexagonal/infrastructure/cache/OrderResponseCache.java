@@ -0,0 +1,328 @@
+package com.davidbadell.hexagonal.infrastructure.cache;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.LocalEventSubscriber;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory cache of order read models
+ * Infrastructure Layer: Caching
+ *
+ * Keeps OrderResponse payloads by order id for a bounded time. Every entry
+ * counts its hits; counts are halved periodically so they reflect recent
+ * access frequency, which drives both eviction when the cache is full and
+ * the choice of the hot set written to the snapshot. Entries carry the
+ * version the database stored the order at and are replaced by newer
+ * versions only.
+ *
+ * An invalidation leaves a tombstone with the highest invalidated version
+ * for a short while, as in OrderNearCache: a load that returns an older
+ * version (started before the change, or read from a lagging replica) is
+ * not cached. Local events report changes without their version, so an
+ * eviction by event is tracked by a counter instead: a read takes a token
+ * from {@link #beginLoad()} before it loads the order, and its result is
+ * not cached if the order was evicted in between.
+ */
+public class OrderResponseCache implements LocalEventSubscriber, OrderInvalidations.Listener {
+
+    static final Duration DEFAULT_TOMBSTONE_TTL = Duration.ofSeconds(30);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Tombstone> tombstones = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long tombstoneTtlMillis;
+    private final Clock clock;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder windowHits = new LongAdder();
+    private final LongAdder windowMisses = new LongAdder();
+    private final LongAdder staleLoads = new LongAdder();
+    private volatile long windowEndMillis;
+
+    public OrderResponseCache(int maxEntries, Duration ttl, Clock clock) {
+        this(maxEntries, ttl, DEFAULT_TOMBSTONE_TTL, clock);
+    }
+
+    public OrderResponseCache(int maxEntries, Duration ttl, Duration tombstoneTtl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.tombstoneTtlMillis = tombstoneTtl.toMillis();
+        this.clock = clock;
+    }
+
+    public OrderResponse get(String orderId) {
+        long now = clock.millis();
+        Entry entry = entries.get(orderId);
+        if (entry != null && now - entry.loadedAt >= ttlMillis) {
+            entries.remove(orderId, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            record(misses, windowMisses, now);
+            return null;
+        }
+        // Racy increment: an approximate count is all eviction needs
+        entry.frequency++;
+        record(hits, windowHits, now);
+        return entry.response;
+    }
+
+    /**
+     * The token to pass to {@link #put(OrderResponse, long)} with the
+     * response of a load started now
+     */
+    public long beginLoad() {
+        return evictions.get();
+    }
+
+    /**
+     * Cache the response of a change. Its version is the newest there is,
+     * so loads of older versions are not cached from now on.
+     */
+    public void put(OrderResponse response) {
+        Entry entry = new Entry(response, clock.millis(), 1);
+        tombstones.merge(response.getOrderId(), new Tombstone(0L, entry.version, entry.loadedAt), Tombstone::merge);
+        put(entry, Long.MAX_VALUE);
+    }
+
+    /**
+     * Cache a loaded response unless the order was evicted since the load began
+     */
+    public void put(OrderResponse response, long loadToken) {
+        put(new Entry(response, clock.millis(), 1), loadToken);
+    }
+
+    /**
+     * Insert an entry unless the cache already holds a newer version, or a
+     * tombstone newer than the entry or than the load that produced it
+     */
+    void put(Entry entry, long loadToken) {
+        long now = clock.millis();
+        entries.compute(entry.response.getOrderId(), (orderId, current) -> {
+            Tombstone tombstone = tombstones.get(orderId);
+            if (tombstone != null && now - tombstone.at < tombstoneTtlMillis
+                    && (loadToken < tombstone.eviction || entry.version < tombstone.version)) {
+                staleLoads.increment();
+                return current;
+            }
+            return current != null ? newer(current, entry) : entry;
+        });
+        if (entries.size() > maxEntries || tombstones.size() > maxEntries) {
+            sweep();
+        }
+    }
+
+    /**
+     * Evict an order changed to an unknown version
+     */
+    public void evict(String orderId) {
+        long now = clock.millis();
+        // Under the entry's lock, so that a concurrent put sees the tombstone
+        entries.compute(orderId, (id, current) -> {
+            tombstones.merge(id, new Tombstone(evictions.incrementAndGet(), 0L, now), Tombstone::merge);
+            return null;
+        });
+        if (tombstones.size() > maxEntries) {
+            sweep();
+        }
+    }
+
+    /**
+     * Drop the order unless the cached version is at least the invalidated one
+     */
+    @Override
+    public void invalidate(String orderId, long version) {
+        long now = clock.millis();
+        entries.compute(orderId, (id, current) -> {
+            tombstones.merge(id, new Tombstone(0L, version, now), Tombstone::merge);
+            return current != null && current.version >= version ? current : null;
+        });
+        if (tombstones.size() > maxEntries) {
+            sweep();
+        }
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, long sequence, boolean endOfBatch) {
+        if (event instanceof OrderCancelledEvent cancelled) {
+            evict(cancelled.getOrderId().getValue());
+        } else if (event instanceof OrderStatusChangedEvent changed) {
+            evict(changed.getOrderId().getValue());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "order-response-cache";
+    }
+
+    /**
+     * The most frequently read live entries, hottest first
+     */
+    List<Entry> hotSet(int limit) {
+        long now = clock.millis();
+        PriorityQueue<Entry> top = new PriorityQueue<>(Math.max(1, limit),
+                Comparator.comparingInt(entry -> entry.frequency));
+        for (Entry entry : entries.values()) {
+            if (now - entry.loadedAt >= ttlMillis) {
+                continue;
+            }
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Entry> hottest = new ArrayList<>(top);
+        hottest.sort(Comparator.comparingInt((Entry entry) -> entry.frequency).reversed());
+        return hottest;
+    }
+
+    /**
+     * Halve all access counts so that old popularity fades
+     */
+    void decayFrequencies() {
+        for (Entry entry : entries.values()) {
+            entry.frequency >>>= 1;
+        }
+    }
+
+    long now() {
+        return clock.millis();
+    }
+
+    /**
+     * Whether an entry loaded at the given time would still be served
+     */
+    boolean isLive(long loadedAt) {
+        return clock.millis() - loadedAt < ttlMillis;
+    }
+
+    /**
+     * Start counting hits and misses separately for the given window,
+     * e.g. the first minute after a warm-up
+     */
+    void startMeasurementWindow(Duration window) {
+        windowHits.reset();
+        windowMisses.reset();
+        windowEndMillis = clock.millis() + window.toMillis();
+    }
+
+    public double getWindowHitRatio() {
+        long hit = windowHits.sum();
+        long total = hit + windowMisses.sum();
+        return total == 0 ? Double.NaN : (double) hit / total;
+    }
+
+    public long getWindowRequests() {
+        return windowHits.sum() + windowMisses.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStaleLoads() {
+        return staleLoads.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void record(LongAdder total, LongAdder window, long now) {
+        total.increment();
+        if (now < windowEndMillis) {
+            window.increment();
+        }
+    }
+
+    /**
+     * Drop expired entries and then the least frequently used ones until
+     * the cache is back to 90% of its capacity. One thread sweeps at a time.
+     */
+    private void sweep() {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.millis();
+            entries.values().removeIf(entry -> now - entry.loadedAt >= ttlMillis);
+            tombstones.values().removeIf(tombstone -> now - tombstone.at >= tombstoneTtlMillis);
+            int excess = entries.size() - maxEntries * 9 / 10;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Entry>> candidates = new ArrayList<>(entries.entrySet());
+            candidates.sort(Comparator.comparingInt(candidate -> candidate.getValue().frequency));
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                entries.remove(candidates.get(i).getKey(), candidates.get(i).getValue());
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private static Entry newer(Entry current, Entry candidate) {
+        if (candidate.version < current.version) {
+            return current;
+        }
+        candidate.frequency = Math.max(candidate.frequency, current.frequency);
+        return candidate;
+    }
+
+    private static final class Tombstone {
+        final long eviction;
+        final long version;
+        final long at;
+
+        Tombstone(long eviction, long version, long at) {
+            this.eviction = eviction;
+            this.version = version;
+            this.at = at;
+        }
+
+        static Tombstone merge(Tombstone previous, Tombstone change) {
+            return new Tombstone(Math.max(previous.eviction, change.eviction),
+                    Math.max(previous.version, change.version), change.at);
+        }
+    }
+
+    static final class Entry {
+        final OrderResponse response;
+        final long version;
+        final long loadedAt;
+        int frequency;
+
+        Entry(OrderResponse response, long loadedAt, int frequency) {
+            this.response = response;
+            this.version = response.getVersion();
+            this.loadedAt = loadedAt;
+            this.frequency = frequency;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.AllocationRecordingInterceptor;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecorder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Allocation Accounting Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Creates the allocation recorder behind the {@code orders.allocation.bytes}
+ * histograms. The use cases are wrapped to record their calls in
+ * BeanConfiguration, CLI commands record themselves, and endpoints under
+ * {@code /api} are recorded by an interceptor registered here.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.allocation", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(AllocationAccountingProperties.class)
+public class AllocationAccountingConfiguration {
+
+    @Bean
+    public AllocationRecorder allocationRecorder(AllocationAccountingProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        return new AllocationRecorder(meterRegistry, properties.isPercentileHistogram());
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication
+    static class EndpointAllocationConfiguration implements WebMvcConfigurer {
+
+        private final AllocationRecorder recorder;
+
+        EndpointAllocationConfiguration(AllocationRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new AllocationRecordingInterceptor(recorder)).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Allocation Accounting Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.allocation} prefix. With
+ * {@code percentileHistogram}, the {@code orders.allocation.bytes}
+ * summaries publish histogram buckets for dashboards to compute
+ * percentiles from.
+ */
+@ConfigurationProperties(prefix = "app.allocation")
+public class AllocationAccountingProperties {
+
+    private boolean enabled = true;
+    private boolean percentileHistogram = true;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public boolean isPercentileHistogram() { return percentileHistogram; }
+    public void setPercentileHistogram(boolean percentileHistogram) { this.percentileHistogram = percentileHistogram; }
+}
@@ -2,23 +2,68 @@ package com.davidbadell.hexagonal.infrastructure.config;
 
 import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
 import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
 import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+import com.davidbadell.hexagonal.application.port.in.ImportOrdersUseCase;
 import com.davidbadell.hexagonal.application.port.out.EventPublisher;
+import com.davidbadell.hexagonal.application.port.out.LocalEventBus;
+import com.davidbadell.hexagonal.application.port.out.OrderIdGenerator;
 import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.application.port.out.OrderStatisticsRepository;
 import com.davidbadell.hexagonal.application.service.CancelOrderService;
 import com.davidbadell.hexagonal.application.service.CreateOrderService;
 import com.davidbadell.hexagonal.application.service.GetOrderService;
-import com.davidbadell.hexagonal.domain.service.PricingService;
+import com.davidbadell.hexagonal.application.service.GetOrderStatisticsService;
+import com.davidbadell.hexagonal.application.service.ImportOrdersService;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecorder;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecordingCancelOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecordingCreateOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecordingGetOrderStatisticsUseCase;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecordingGetOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecordingImportOrdersUseCase;
+import com.davidbadell.hexagonal.infrastructure.cache.CachingCancelOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.cache.CachingGetOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderResponseCache;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.PrimaryRoutingCancelOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.PrimaryRoutingCreateOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReadYourWritesTracker;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReplicaRoutingGetOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotencyRecordingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotentCreateOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotentRequests;
+import com.davidbadell.hexagonal.infrastructure.jfr.FlightRecordingCancelOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.jfr.FlightRecordingCreateOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.jfr.FlightRecordingGetOrderStatisticsUseCase;
+import com.davidbadell.hexagonal.infrastructure.jfr.FlightRecordingGetOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.jfr.FlightRecordingImportOrdersUseCase;
+import com.davidbadell.hexagonal.infrastructure.projection.CustomerOrderSummaries;
+import com.davidbadell.hexagonal.infrastructure.projection.ProjectedGetOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.stats.OrderStatsCounters;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+
 /**
  * Bean Configuration
  * Infrastructure Layer: Configuration
  * 
  * This class configures the dependency injection for the application.
  * It wires together the use cases with their dependencies (ports).
+ * When replica routing is enabled, the use cases are wrapped so that
+ * queries run on the replica and commands on the primary. New order ids
+ * come from an OrderIdGenerator bean when one exists (sharding), and
+ * commands dispatch their events to the LocalEventBus when one exists.
+ * With the order cache enabled, lookups by id are served from it and
+ * cancellations write through to it. Order statistics come from the
+ * live counters when they are enabled. Order creation honours idempotency
+ * keys when idempotency is enabled. Customer order lists are served from
+ * the customer orders projection when it is enabled. With allocation
+ * accounting enabled, a wrapper records the bytes each call allocates.
+ * The outermost wrapper emits a flight recorder event per call.
  */
 @Configuration
 public class BeanConfiguration {
@@ -28,16 +73,60 @@ public class BeanConfiguration {
      */
     @Bean
     public CreateOrderUseCase createOrderUseCase(OrderRepository orderRepository, 
-                                                  EventPublisher eventPublisher) {
-        return new CreateOrderService(orderRepository, eventPublisher);
+                                                  EventPublisher eventPublisher,
+                                                  ObjectProvider<OrderIdGenerator> orderIdGenerator,
+                                                  ObjectProvider<LocalEventBus> localEventBus,
+                                                  ObjectProvider<ReadYourWritesTracker> replicaRouting,
+                                                  ObjectProvider<IdempotentRequests> idempotency,
+                                                  ObjectProvider<AllocationRecorder> allocations) {
+        IdempotentRequests requests = idempotency.getIfAvailable();
+        // Keyed responses are stored as soon as the order is saved
+        OrderRepository repository = requests != null
+                ? new IdempotencyRecordingOrderRepository(orderRepository, requests) : orderRepository;
+        CreateOrderUseCase useCase = new CreateOrderService(repository, eventPublisher,
+                orderIdGenerator.getIfAvailable(() -> OrderIdGenerator.RANDOM),
+                localEventBus.getIfAvailable(() -> LocalEventBus.NONE));
+        ReadYourWritesTracker writesTracker = replicaRouting.getIfAvailable();
+        if (writesTracker != null) {
+            useCase = new PrimaryRoutingCreateOrderUseCase(useCase, writesTracker);
+        }
+        if (requests != null) {
+            useCase = new IdempotentCreateOrderUseCase(useCase, requests);
+        }
+        AllocationRecorder recorder = allocations.getIfAvailable();
+        if (recorder != null) {
+            useCase = new AllocationRecordingCreateOrderUseCase(useCase, recorder);
+        }
+        return new FlightRecordingCreateOrderUseCase(useCase);
     }
     
     /**
      * Get Order Use Case
      */
     @Bean
-    public GetOrderUseCase getOrderUseCase(OrderRepository orderRepository) {
-        return new GetOrderService(orderRepository);
+    public GetOrderUseCase getOrderUseCase(@Qualifier("readOrderRepository") OrderRepository orderRepository,
+                                           ObjectProvider<ReadYourWritesTracker> replicaRouting,
+                                           ObjectProvider<OrderResponseCache> orderCache,
+                                           ObjectProvider<CustomerOrderSummaries> customerOrders,
+                                           ObjectProvider<AllocationRecorder> allocations) {
+        GetOrderUseCase useCase = new GetOrderService(orderRepository);
+        ReadYourWritesTracker writesTracker = replicaRouting.getIfAvailable();
+        if (writesTracker != null) {
+            useCase = new ReplicaRoutingGetOrderUseCase(useCase, writesTracker);
+        }
+        OrderResponseCache cache = orderCache.getIfAvailable();
+        if (cache != null) {
+            useCase = new CachingGetOrderUseCase(useCase, cache);
+        }
+        CustomerOrderSummaries summaries = customerOrders.getIfAvailable();
+        if (summaries != null) {
+            useCase = new ProjectedGetOrderUseCase(useCase, summaries);
+        }
+        AllocationRecorder recorder = allocations.getIfAvailable();
+        if (recorder != null) {
+            useCase = new AllocationRecordingGetOrderUseCase(useCase, recorder);
+        }
+        return new FlightRecordingGetOrderUseCase(useCase);
     }
     
     /**
@@ -45,15 +134,59 @@ public class BeanConfiguration {
      */
     @Bean
     public CancelOrderUseCase cancelOrderUseCase(OrderRepository orderRepository,
-                                                  EventPublisher eventPublisher) {
-        return new CancelOrderService(orderRepository, eventPublisher);
+                                                  EventPublisher eventPublisher,
+                                                  ObjectProvider<LocalEventBus> localEventBus,
+                                                  ObjectProvider<ReadYourWritesTracker> replicaRouting,
+                                                  ObjectProvider<OrderResponseCache> orderCache,
+                                                  ObjectProvider<AllocationRecorder> allocations) {
+        CancelOrderUseCase useCase = new CancelOrderService(orderRepository, eventPublisher,
+                localEventBus.getIfAvailable(() -> LocalEventBus.NONE));
+        ReadYourWritesTracker writesTracker = replicaRouting.getIfAvailable();
+        if (writesTracker != null) {
+            useCase = new PrimaryRoutingCancelOrderUseCase(useCase, writesTracker);
+        }
+        OrderResponseCache cache = orderCache.getIfAvailable();
+        if (cache != null) {
+            useCase = new CachingCancelOrderUseCase(useCase, cache);
+        }
+        AllocationRecorder recorder = allocations.getIfAvailable();
+        if (recorder != null) {
+            useCase = new AllocationRecordingCancelOrderUseCase(useCase, recorder);
+        }
+        return new FlightRecordingCancelOrderUseCase(useCase);
+    }
+    
+    /**
+     * Get Order Statistics Use Case
+     */
+    @Bean
+    public GetOrderStatisticsUseCase getOrderStatisticsUseCase(
+            @Qualifier("readOrderStore") OrderStatisticsRepository statistics,
+            ObjectProvider<OrderStatsCounters> counters,
+            ObjectProvider<AllocationRecorder> allocations) {
+        OrderStatsCounters live = counters.getIfAvailable();
+        GetOrderStatisticsUseCase useCase = live != null ? live
+                : new GetOrderStatisticsService(statistics, Clock.systemDefaultZone());
+        AllocationRecorder recorder = allocations.getIfAvailable();
+        if (recorder != null) {
+            useCase = new AllocationRecordingGetOrderStatisticsUseCase(useCase, recorder);
+        }
+        return new FlightRecordingGetOrderStatisticsUseCase(useCase);
     }
     
     /**
-     * Domain Service: Pricing Service
+     * Import Orders Use Case
      */
     @Bean
-    public PricingService pricingService() {
-        return new PricingService();
+    public ImportOrdersUseCase importOrdersUseCase(OrderRepository orderRepository,
+                                                   ObjectProvider<OrderIdGenerator> orderIdGenerator,
+                                                   ObjectProvider<AllocationRecorder> allocations) {
+        ImportOrdersUseCase useCase = new ImportOrdersService(orderRepository,
+                orderIdGenerator.getIfAvailable(() -> OrderIdGenerator.RANDOM));
+        AllocationRecorder recorder = allocations.getIfAvailable();
+        if (recorder != null) {
+            useCase = new AllocationRecordingImportOrdersUseCase(useCase, recorder);
+        }
+        return new FlightRecordingImportOrdersUseCase(useCase);
     }
 }
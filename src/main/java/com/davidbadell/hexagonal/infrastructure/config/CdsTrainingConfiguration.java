@@ -0,0 +1,28 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.startup.CdsTrainingWorkload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * CDS Training Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Active with the {@code cds-training} profile only, which the image build
+ * uses to record the AppCDS archive (see Dockerfile and
+ * scripts/cds-startup.sh). The application exits after the workload.
+ */
+@Configuration
+@Profile("cds-training")
+@EnableConfigurationProperties(CdsTrainingProperties.class)
+public class CdsTrainingConfiguration {
+
+    @Bean
+    public CdsTrainingWorkload cdsTrainingWorkload(ObjectMapper objectMapper, CdsTrainingProperties properties) {
+        return new CdsTrainingWorkload(objectMapper, properties.getIterations(), properties.getCustomers());
+    }
+}
@@ -0,0 +1,23 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CDS Training Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.cds-training} prefix. One iteration creates
+ * an order and reads it back through every query endpoint; every third
+ * order is cancelled.
+ */
+@ConfigurationProperties(prefix = "app.cds-training")
+public class CdsTrainingProperties {
+
+    private int iterations = 100;
+    private int customers = 10;
+
+    public int getIterations() { return iterations; }
+    public void setIterations(int iterations) { this.iterations = iterations; }
+    public int getCustomers() { return customers; }
+    public void setCustomers(int customers) { this.customers = customers; }
+}
@@ -0,0 +1,55 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Persistence Concurrency Limit Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.persistence.concurrency} prefix. The write
+ * bulkhead serves the command use cases, the read bulkhead the queries.
+ */
+@ConfigurationProperties(prefix = "app.persistence.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private double tolerance = 1.5;
+    private double smoothing = 0.2;
+    private Bulkhead write = new Bulkhead(20, 4, 80);
+    private Bulkhead read = new Bulkhead(20, 4, 80);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+    public Bulkhead getWrite() { return write; }
+    public void setWrite(Bulkhead write) { this.write = write; }
+    public Bulkhead getRead() { return read; }
+    public void setRead(Bulkhead read) { this.read = read; }
+
+    /**
+     * Limit bounds for one bulkhead
+     */
+    public static class Bulkhead {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Bulkhead() {}
+
+        public Bulkhead(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+    }
+}
@@ -0,0 +1,52 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.projection.CustomerOrderSummaries;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Customer Orders Projection Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Creates the per-customer order lists, which subscribe to the local event
+ * bus and serve {@code GET /api/orders/customer/{customerId}}. The lists
+ * are only kept up to date by events, so the projection is off whenever
+ * the event bus is.
+ */
+@Configuration
+@ConditionalOnExpression("${app.projection.customer-orders.enabled:true} and ${app.event-bus.enabled:true}")
+@EnableConfigurationProperties(CustomerOrdersProperties.class)
+public class CustomerOrdersConfiguration {
+
+    @Bean
+    public CustomerOrderSummaries customerOrderSummaries(CustomerOrdersProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        CustomerOrderSummaries summaries = new CustomerOrderSummaries(properties.getMaxCustomers(),
+                properties.getMaxOrdersPerCustomer(), properties.getTtl(), Clock.systemUTC());
+        Gauge.builder("orders.projection.customers", summaries, CustomerOrderSummaries::size)
+                .description("Customers whose recent orders are held in memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.projection.pages", summaries, CustomerOrderSummaries::getServed)
+                .description("Customer order pages by where they were read from")
+                .tag("source", "memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.projection.pages", summaries, CustomerOrderSummaries::getFallbacks)
+                .tag("source", "database")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.projection.loads", summaries, CustomerOrderSummaries::getLoads)
+                .description("Customer order lists loaded from the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.projection.evictions", summaries, CustomerOrderSummaries::getEvictions)
+                .description("Customer order lists evicted for the least recently active customer")
+                .register(meterRegistry);
+        return summaries;
+    }
+}
@@ -0,0 +1,32 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Customer Orders Projection Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.projection.customer-orders} prefix. The
+ * {@code maxOrdersPerCustomer} most recent orders of at most
+ * {@code maxCustomers} customers are kept in memory, each list reloaded
+ * from the database after {@code ttl}.
+ */
+@ConfigurationProperties(prefix = "app.projection.customer-orders")
+public class CustomerOrdersProperties {
+
+    private boolean enabled = true;
+    private int maxCustomers = 10_000;
+    private int maxOrdersPerCustomer = 50;
+    private Duration ttl = Duration.ofMinutes(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxCustomers() { return maxCustomers; }
+    public void setMaxCustomers(int maxCustomers) { this.maxCustomers = maxCustomers; }
+    public int getMaxOrdersPerCustomer() { return maxOrdersPerCustomer; }
+    public void setMaxOrdersPerCustomer(int maxOrdersPerCustomer) { this.maxOrdersPerCustomer = maxOrdersPerCustomer; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+}
@@ -0,0 +1,111 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.LocalReplicaFeeder;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReadWriteRoutingDataSource;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReadYourWritesTracker;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReplicaLagMonitor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.Action;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/Write DataSource Routing Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Replaces the single Boot DataSource with a routing one over a primary
+ * and a replica pool. The lazy proxy defers connection acquisition until
+ * the first statement, after the use case decorators have chosen a route.
+ * Locally the replica can be a second embedded database fed by
+ * {@link LocalReplicaFeeder}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.datasource.primary")
+    public HikariDataSource primaryDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               DataSourceRoutingProperties properties,
+                                               MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties.getLagQuery(), properties.getMaxLag());
+        Gauge.builder("orders.datasource.replica.lag", monitor, ReplicaLagMonitor::getLastLagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        monitor.start(properties.getCheckInterval());
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+
+    /**
+     * Replication stand-in feeding the replica from the primary, with the
+     * schema Hibernate generates for the entities
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.routing.local-replica", name = "enabled", havingValue = "true")
+    public LocalReplicaFeeder localReplicaFeeder(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                 @Qualifier("replicaDataSource") HikariDataSource replica,
+                                                 DataSourceRoutingProperties properties) {
+        // The replica pool is read-only; the feeder writes through its own connections
+        DataSource writable = new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(),
+                replica.getPassword());
+        return new LocalReplicaFeeder(primary, writable, properties.getLocalReplica().getInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.routing.local-replica", name = "enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer localReplicaSchemaScript(LocalReplicaFeeder localReplicaFeeder) {
+        return properties -> {
+            Object auto = properties.get(AvailableSettings.HBM2DDL_AUTO);
+            if (auto != null) {
+                // A script action alone would turn off the database action implied by ddl-auto
+                properties.putIfAbsent(AvailableSettings.JAKARTA_HBM2DDL_DATABASE_ACTION,
+                        Action.interpretHbm2ddlSetting(auto));
+            }
+            properties.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_ACTION, "create");
+            properties.put(AvailableSettings.JAKARTA_HBM2DDL_SCRIPTS_CREATE_TARGET,
+                    localReplicaFeeder.getSchemaTarget());
+            properties.put(AvailableSettings.HBM2DDL_DELIMITER, ";");
+        };
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickyWindow(), properties.getMaxTrackedWrites());
+    }
+}
@@ -0,0 +1,55 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read/Write DataSource Routing Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.datasource.routing} prefix. The pools
+ * themselves are configured under {@code app.datasource.primary} and
+ * {@code app.datasource.replica} (Hikari property names). With
+ * {@code local-replica} enabled the replica is a local database fed from
+ * the primary every {@code interval}.
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+    private String lagQuery =
+            "SELECT COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0)";
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration checkInterval = Duration.ofSeconds(2);
+    private Duration stickyWindow = Duration.ofSeconds(5);
+    private int maxTrackedWrites = 100_000;
+    private final LocalReplica localReplica = new LocalReplica();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+    public Duration getCheckInterval() { return checkInterval; }
+    public void setCheckInterval(Duration checkInterval) { this.checkInterval = checkInterval; }
+    public Duration getStickyWindow() { return stickyWindow; }
+    public void setStickyWindow(Duration stickyWindow) { this.stickyWindow = stickyWindow; }
+    public int getMaxTrackedWrites() { return maxTrackedWrites; }
+    public void setMaxTrackedWrites(int maxTrackedWrites) { this.maxTrackedWrites = maxTrackedWrites; }
+    public LocalReplica getLocalReplica() { return localReplica; }
+
+    /**
+     * Local stand-in for replication, for running with two embedded databases
+     */
+    public static class LocalReplica {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofSeconds(1);
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public Duration getInterval() { return interval; }
+        public void setInterval(Duration interval) { this.interval = interval; }
+    }
+}
@@ -0,0 +1,29 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Group Commit Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.persistence.group-commit} prefix. When
+ * enabled, concurrent order creations are inserted together in one
+ * transaction: a group waits up to {@code maxWait} for at most
+ * {@code maxBatchSize} orders while another group is being committed.
+ */
+@ConfigurationProperties(prefix = "app.persistence.group-commit")
+public class GroupCommitProperties {
+
+    private boolean enabled = false;
+    private Duration maxWait = Duration.ofMillis(2);
+    private int maxBatchSize = 64;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+}
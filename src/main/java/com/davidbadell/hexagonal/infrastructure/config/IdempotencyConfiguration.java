@@ -0,0 +1,82 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.IdempotencyKeyJpaRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.JpaIdempotencyStore;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotencyStore;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotentRequests;
+import com.davidbadell.hexagonal.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.davidbadell.hexagonal.infrastructure.idempotency.TieredIdempotencyStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+
+/**
+ * Idempotency Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Creates the idempotent request runner, which BeanConfiguration puts in
+ * front of the create order use case. Keys live in memory, and also in
+ * the primary database when {@code app.idempotency.persistent} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfiguration {
+
+    @Bean
+    public InMemoryIdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(properties.getMaxEntries(),
+                properties.getTtl(), Clock.systemUTC());
+        Gauge.builder("orders.idempotency.keys", store, InMemoryIdempotencyStore::size)
+                .description("Idempotency keys held in memory")
+                .register(meterRegistry);
+        return store;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "persistent", havingValue = "true")
+    public JpaIdempotencyStore jpaIdempotencyStore(IdempotencyKeyJpaRepository jpaRepository,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ObjectMapper objectMapper,
+                                                   IdempotencyProperties properties) {
+        JpaIdempotencyStore store = new JpaIdempotencyStore(jpaRepository, transactionManager, objectMapper,
+                properties.getTtl(), Clock.systemUTC());
+        store.start(properties.getPurgeInterval());
+        return store;
+    }
+
+    @Bean
+    public IdempotentRequests idempotentRequests(InMemoryIdempotencyStore inMemoryStore,
+                                                 ObjectProvider<JpaIdempotencyStore> persistentStore,
+                                                 IdempotencyProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        JpaIdempotencyStore persistent = persistentStore.getIfAvailable();
+        IdempotencyStore store = persistent != null
+                ? new TieredIdempotencyStore(inMemoryStore, persistent) : inMemoryStore;
+        IdempotentRequests requests = new IdempotentRequests(store, properties.getWaitTimeout(), Clock.systemUTC());
+        FunctionCounter.builder("orders.idempotency.requests", requests, IdempotentRequests::getExecuted)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.idempotency.requests", requests, IdempotentRequests::getReplayed)
+                .tag("result", "replayed")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.idempotency.requests", requests, IdempotentRequests::getJoined)
+                .tag("result", "joined")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.idempotency.store.failures", requests, IdempotentRequests::getStoreFailures)
+                .description("Responses that could not be stored under their idempotency key")
+                .register(meterRegistry);
+        return requests;
+    }
+}
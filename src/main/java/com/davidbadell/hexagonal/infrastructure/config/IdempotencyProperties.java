@@ -0,0 +1,39 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.idempotency} prefix. Responses are replayed
+ * for {@code ttl}, with at most {@code maxEntries} keys in memory; a
+ * duplicate waits up to {@code waitTimeout} for the original request.
+ * With {@code persistent}, keys are also stored in the database and
+ * purged every {@code purgeInterval}.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 100_000;
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private boolean persistent = false;
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public Duration getWaitTimeout() { return waitTimeout; }
+    public void setWaitTimeout(Duration waitTimeout) { this.waitTimeout = waitTimeout; }
+    public boolean isPersistent() { return persistent; }
+    public void setPersistent(boolean persistent) { this.persistent = persistent; }
+    public Duration getPurgeInterval() { return purgeInterval; }
+    public void setPurgeInterval(Duration purgeInterval) { this.purgeInterval = purgeInterval; }
+}
@@ -0,0 +1,35 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Known Order Ids Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.persistence.known-ids} prefix. The bloom filter
+ * of order ids starts sized for {@code expectedOrders} and grows past it
+ * while staying under {@code falsePositiveRate}. It is rebuilt from a scan
+ * of {@code scanBatchSize} ids at a time every {@code rebuildInterval}.
+ */
+@ConfigurationProperties(prefix = "app.persistence.known-ids")
+public class KnownOrderIdsProperties {
+
+    private boolean enabled = false;
+    private long expectedOrders = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    private Duration rebuildInterval = Duration.ofHours(1);
+    private int scanBatchSize = 10_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getExpectedOrders() { return expectedOrders; }
+    public void setExpectedOrders(long expectedOrders) { this.expectedOrders = expectedOrders; }
+    public double getFalsePositiveRate() { return falsePositiveRate; }
+    public void setFalsePositiveRate(double falsePositiveRate) { this.falsePositiveRate = falsePositiveRate; }
+    public Duration getRebuildInterval() { return rebuildInterval; }
+    public void setRebuildInterval(Duration rebuildInterval) { this.rebuildInterval = rebuildInterval; }
+    public int getScanBatchSize() { return scanBatchSize; }
+    public void setScanBatchSize(int scanBatchSize) { this.scanBatchSize = scanBatchSize; }
+}
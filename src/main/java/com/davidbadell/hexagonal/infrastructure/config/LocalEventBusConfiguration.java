@@ -0,0 +1,63 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.application.port.out.LocalEventBus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.LocalEventSubscriber;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.RingBufferEventBus;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Local Event Bus Configuration
+ * Infrastructure Layer: Local Event Bus Configuration
+ *
+ * Creates the ring buffer event bus for all {@link LocalEventSubscriber}
+ * beans and starts one consumer thread per subscriber. Without
+ * subscribers the use cases get {@link LocalEventBus#NONE}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.event-bus", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LocalEventBusProperties.class)
+public class LocalEventBusConfiguration {
+
+    @Bean
+    public LocalEventBus localEventBus(ObjectProvider<LocalEventSubscriber> subscribers,
+                                       LocalEventBusProperties properties,
+                                       MeterRegistry meterRegistry) {
+        List<LocalEventSubscriber> ordered = subscribers.orderedStream().toList();
+        if (ordered.isEmpty()) {
+            return LocalEventBus.NONE;
+        }
+        RingBufferEventBus bus = new RingBufferEventBus(properties.getBufferSize(),
+                properties.getWaitStrategy().create(), properties.getPublishTimeout(), ordered);
+        List<String> names = bus.getSubscriberNames();
+        for (int i = 0; i < names.size(); i++) {
+            int subscriber = i;
+            Gauge.builder("orders.eventbus.backlog", bus, b -> b.getBacklog(subscriber))
+                    .description("Events published but not yet handled by the subscriber")
+                    .tag("subscriber", names.get(i))
+                    .register(meterRegistry);
+            FunctionCounter.builder("orders.eventbus.failures", bus, b -> b.getFailures(subscriber))
+                    .tag("subscriber", names.get(i))
+                    .register(meterRegistry);
+            FunctionCounter.builder("orders.eventbus.errors", bus, b -> b.getErrors(subscriber))
+                    .description("Errors thrown by the subscriber, which skip the event")
+                    .tag("subscriber", names.get(i))
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("orders.eventbus.published", bus, b -> b.getCursor() + 1)
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.eventbus.dropped", bus, RingBufferEventBus::getDropped)
+                .register(meterRegistry);
+        bus.start();
+        return bus;
+    }
+}
@@ -0,0 +1,33 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.WaitStrategy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Local Event Bus Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.event-bus} prefix. The buffer size must be a
+ * power of two; {@code publishTimeout} is how long a use case may wait for
+ * room in a full ring before its events are dropped.
+ */
+@ConfigurationProperties(prefix = "app.event-bus")
+public class LocalEventBusProperties {
+
+    private boolean enabled = true;
+    private int bufferSize = 4096;
+    private WaitStrategy.Kind waitStrategy = WaitStrategy.Kind.BLOCKING;
+    private Duration publishTimeout = Duration.ofMillis(100);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+    public WaitStrategy.Kind getWaitStrategy() { return waitStrategy; }
+    public void setWaitStrategy(WaitStrategy.Kind waitStrategy) { this.waitStrategy = waitStrategy; }
+    public Duration getPublishTimeout() { return publishTimeout; }
+    public void setPublishTimeout(Duration publishTimeout) { this.publishTimeout = publishTimeout; }
+}
@@ -0,0 +1,139 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.messaging.RabbitInvalidationTransport;
+import com.davidbadell.hexagonal.infrastructure.cache.InMemoryInvalidationBroker;
+import com.davidbadell.hexagonal.infrastructure.cache.InvalidationTransport;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderInvalidations;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderNearCache;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderResponseCache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * Near Cache Configuration
+ * Infrastructure Layer: Caching Configuration
+ *
+ * Creates the near cache that PersistenceConfiguration puts on the query
+ * chain and the invalidations published by the write chain. Invalidations
+ * also evict the order read cache. Between instances they travel over the
+ * RabbitMQ fanout exchange; with messaging disabled an in-memory broker
+ * stands in and only this instance is invalidated.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.near", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(NearCacheProperties.class)
+public class NearCacheConfiguration {
+
+    @Bean
+    public OrderNearCache orderNearCache(NearCacheProperties properties, MeterRegistry meterRegistry) {
+        OrderNearCache cache = new OrderNearCache(properties.getMaxEntries(), properties.getTtl(), Clock.systemUTC());
+        Gauge.builder("orders.cache.near.size", cache, OrderNearCache::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.near.requests", cache, OrderNearCache::getHits)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.near.requests", cache, OrderNearCache::getMisses)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.near.stale.loads", cache, OrderNearCache::getStaleLoads)
+                .description("Loaded orders not cached because a newer version was invalidated")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    @Bean(destroyMethod = "close")
+    public OrderInvalidations orderInvalidations(InvalidationTransport transport, OrderNearCache nearCache,
+                                                 ObjectProvider<OrderResponseCache> orderCache,
+                                                 NearCacheProperties properties, MeterRegistry meterRegistry) {
+        String nodeId = properties.getNodeId() == null || properties.getNodeId().isBlank()
+                ? UUID.randomUUID().toString() : properties.getNodeId();
+        OrderInvalidations invalidations = new OrderInvalidations(nodeId, transport, properties.getMaxBatchSize());
+        invalidations.addListener(nearCache);
+        OrderResponseCache responseCache = orderCache.getIfAvailable();
+        if (responseCache != null) {
+            invalidations.addListener(responseCache);
+        }
+        FunctionCounter.builder("orders.cache.invalidations", invalidations, OrderInvalidations::getPublished)
+                .tag("source", "local")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.invalidations", invalidations, OrderInvalidations::getReceived)
+                .tag("source", "remote")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.invalidations.sent", invalidations, OrderInvalidations::getSentOrders)
+                .description("Invalidated orders sent to the other instances, after coalescing")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.invalidations.batches", invalidations,
+                        OrderInvalidations::getSentBatches)
+                .tag("result", "sent")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.invalidations.batches", invalidations,
+                        OrderInvalidations::getFailedBatches)
+                .tag("result", "failed")
+                .register(meterRegistry);
+        invalidations.start(properties.getFlushInterval());
+        return invalidations;
+    }
+
+    /**
+     * One exclusive queue per instance on the invalidations fanout exchange
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class RabbitTransport {
+
+        @Bean
+        public Queue orderCacheInvalidationQueue() {
+            return new AnonymousQueue();
+        }
+
+        @Bean
+        public Binding orderCacheInvalidationBinding(Queue orderCacheInvalidationQueue,
+                                                     FanoutExchange orderCacheInvalidationsExchange) {
+            return BindingBuilder.bind(orderCacheInvalidationQueue).to(orderCacheInvalidationsExchange);
+        }
+
+        @Bean(destroyMethod = "destroy")
+        public RabbitInvalidationTransport invalidationTransport(RabbitTemplate rabbitTemplate,
+                                                                 ConnectionFactory connectionFactory,
+                                                                 Queue orderCacheInvalidationQueue,
+                                                                 ObjectMapper objectMapper) {
+            SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+            container.setQueues(orderCacheInvalidationQueue);
+            container.setAcknowledgeMode(AcknowledgeMode.NONE);
+            container.setMissingQueuesFatal(false);
+            container.afterPropertiesSet();
+            return new RabbitInvalidationTransport(rabbitTemplate,
+                    RabbitMQConfiguration.ORDER_CACHE_INVALIDATIONS_EXCHANGE, container, objectMapper);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "false")
+    static class InMemoryTransport {
+
+        @Bean
+        public InMemoryInvalidationBroker invalidationTransport() {
+            return new InMemoryInvalidationBroker();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Near Cache Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.cache.near} prefix. Up to {@code maxEntries}
+ * orders read on the query side are kept for {@code ttl}. Changes are
+ * broadcast to the other instances every {@code flushInterval}, at most
+ * {@code maxBatchSize} orders per message. {@code nodeId} identifies this
+ * instance in the broadcasts; a random one is used when it is blank.
+ */
+@ConfigurationProperties(prefix = "app.cache.near")
+public class NearCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    private Duration ttl = Duration.ofSeconds(30);
+    private Duration flushInterval = Duration.ofMillis(20);
+    private int maxBatchSize = 256;
+    private String nodeId = "";
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+}
@@ -0,0 +1,92 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderCacheSnapshot;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderCacheWarmer;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderResponseCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Order Cache Configuration
+ * Infrastructure Layer: Caching Configuration
+ *
+ * Creates the order read cache, which BeanConfiguration puts in front of
+ * the query use case, and its snapshot warm-up. The warm-up runs as an
+ * ApplicationRunner: Spring Boot only switches readiness to
+ * ACCEPTING_TRAFFIC after all runners completed.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.orders", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(OrderCacheProperties.class)
+public class OrderCacheConfiguration {
+
+    @Bean
+    public OrderResponseCache orderResponseCache(OrderCacheProperties properties, MeterRegistry meterRegistry) {
+        OrderResponseCache cache = new OrderResponseCache(properties.getMaxEntries(), properties.getTtl(),
+                properties.getTombstoneTtl(), Clock.systemUTC());
+        Gauge.builder("orders.cache.size", cache, OrderResponseCache::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.requests", cache, OrderResponseCache::getHits)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.requests", cache, OrderResponseCache::getMisses)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.cache.stale.loads", cache, OrderResponseCache::getStaleLoads)
+                .description("Loaded orders not cached because the order was evicted while they loaded")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.cache.orders.snapshot", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public OrderCacheWarmer orderCacheWarmer(OrderResponseCache cache, OrderCacheProperties properties,
+                                             @Qualifier("readOrderRepository") OrderRepository orderRepository,
+                                             MeterRegistry meterRegistry) {
+        OrderCacheProperties.Snapshot snapshot = properties.getSnapshot();
+        // Restored entries are revalidated against the orders as the query side reads them
+        Function<List<String>, List<OrderResponse>> currentOrders = orderIds -> orderRepository
+                .findAllById(orderIds.stream().map(OrderId::of).toList())
+                .stream()
+                .map(OrderResponse::fromDomain)
+                .toList();
+        OrderCacheWarmer warmer = new OrderCacheWarmer(cache,
+                new OrderCacheSnapshot(cache, currentOrders, Path.of(snapshot.getPath()), snapshot.getMaxEntries(),
+                        snapshot.getLoadThreads()),
+                snapshot.getMeasurementWindow());
+        Gauge.builder("orders.cache.warmup.duration", warmer, OrderCacheWarmer::getWarmUpSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("orders.cache.warmup.loaded", warmer, OrderCacheWarmer::getWarmUpLoaded)
+                .register(meterRegistry);
+        Gauge.builder("orders.cache.warmup.hit.ratio", warmer, OrderCacheWarmer::getFirstWindowHitRatio)
+                .description("Hit ratio over the first window after the warm-up")
+                .register(meterRegistry);
+        warmer.start(snapshot.getInterval());
+        return warmer;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.orders.snapshot", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public ApplicationRunner orderCacheWarmUp(OrderCacheWarmer warmer) {
+        return arguments -> warmer.warmUp();
+    }
+}
@@ -0,0 +1,59 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Order Cache Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.cache.orders} prefix. Entries live for
+ * {@code ttl}, which also bounds how stale a read can be when another
+ * instance changed the order. An evicted order refuses loads started
+ * before the eviction for {@code tombstone-ttl}.
+ */
+@ConfigurationProperties(prefix = "app.cache.orders")
+public class OrderCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 50_000;
+    private Duration ttl = Duration.ofMinutes(5);
+    private Duration tombstoneTtl = Duration.ofSeconds(30);
+    private final Snapshot snapshot = new Snapshot();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    public Duration getTombstoneTtl() { return tombstoneTtl; }
+    public void setTombstoneTtl(Duration tombstoneTtl) { this.tombstoneTtl = tombstoneTtl; }
+    public Snapshot getSnapshot() { return snapshot; }
+
+    /**
+     * Hot-set snapshot used to warm the cache on startup
+     */
+    public static class Snapshot {
+        private boolean enabled = true;
+        private String path = System.getProperty("java.io.tmpdir") + "/order-cache.snapshot";
+        private Duration interval = Duration.ofMinutes(1);
+        private int maxEntries = 10_000;
+        private int loadThreads = 0;
+        private Duration measurementWindow = Duration.ofMinutes(1);
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+        public Duration getInterval() { return interval; }
+        public void setInterval(Duration interval) { this.interval = interval; }
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+        public int getLoadThreads() { return loadThreads; }
+        public void setLoadThreads(int loadThreads) { this.loadThreads = loadThreads; }
+        public Duration getMeasurementWindow() { return measurementWindow; }
+        public void setMeasurementWindow(Duration measurementWindow) { this.measurementWindow = measurementWindow; }
+    }
+}
@@ -0,0 +1,89 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventBatchHandler;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventBatchListener;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventListenerContainers;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventMetricsHandler;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.ProcessedEventIds;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order Event Consumer Configuration
+ * Infrastructure Layer: Messaging Configuration
+ *
+ * Creates one batching listener container per order event queue that has
+ * at least one {@link OrderEventBatchHandler}. Acknowledgement is manual
+ * so that each batch is settled with a single ack. The event counters
+ * subscribe to both queues, so both are always consumed.
+ */
+@Configuration
+@ConditionalOnExpression("${app.messaging.enabled:true} and ${app.messaging.consumer.enabled:true}")
+@EnableConfigurationProperties(OrderEventConsumerProperties.class)
+public class OrderEventConsumerConfiguration {
+
+    private static final Map<String, String> QUEUE_EVENT_TYPES = Map.of(
+            RabbitMQConfiguration.ORDER_CREATED_QUEUE, "OrderCreated",
+            RabbitMQConfiguration.ORDER_CANCELLED_QUEUE, "OrderCancelled");
+
+    @Bean
+    public ProcessedEventIds processedEventIds(OrderEventConsumerProperties properties, MeterRegistry meterRegistry) {
+        ProcessedEventIds processedEventIds = new ProcessedEventIds(properties.getDedupCapacity());
+        Gauge.builder("orders.events.consumer.dedup.size", processedEventIds, ProcessedEventIds::size)
+                .register(meterRegistry);
+        return processedEventIds;
+    }
+
+    @Bean
+    public OrderEventMetricsHandler orderEventMetricsHandler(MeterRegistry meterRegistry) {
+        return new OrderEventMetricsHandler(meterRegistry);
+    }
+
+    @Bean(destroyMethod = "destroy")
+    public OrderEventListenerContainers orderEventListenerContainers(ConnectionFactory connectionFactory,
+                                                                     ObjectProvider<OrderEventBatchHandler> handlers,
+                                                                     ProcessedEventIds processedEventIds,
+                                                                     ObjectMapper objectMapper,
+                                                                     OrderEventConsumerProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        List<SimpleMessageListenerContainer> containers = new ArrayList<>();
+        for (Map.Entry<String, String> queue : QUEUE_EVENT_TYPES.entrySet()) {
+            List<OrderEventBatchHandler> subscribed = handlers.orderedStream()
+                    .filter(handler -> handler.getEventTypes().contains(queue.getValue()))
+                    .toList();
+            if (subscribed.isEmpty()) {
+                continue;
+            }
+            SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+            container.setQueueNames(queue.getKey());
+            container.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+            container.setPrefetchCount(Math.max(properties.getPrefetch(), properties.getBatchSize()));
+            container.setConcurrentConsumers(properties.getConcurrentConsumers());
+            container.setMaxConcurrentConsumers(
+                    Math.max(properties.getConcurrentConsumers(), properties.getMaxConcurrentConsumers()));
+            container.setConsumerBatchEnabled(true);
+            container.setBatchSize(properties.getBatchSize());
+            container.setReceiveTimeout(properties.getReceiveTimeout().toMillis());
+            container.setMissingQueuesFatal(false);
+            container.setMessageListener(new OrderEventBatchListener(queue.getKey(), subscribed, processedEventIds,
+                    objectMapper, properties.isRequeueOnFailure(), meterRegistry));
+            container.afterPropertiesSet();
+            containers.add(container);
+        }
+        return new OrderEventListenerContainers(containers);
+    }
+}
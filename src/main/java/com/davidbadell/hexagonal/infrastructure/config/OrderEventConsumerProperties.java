@@ -0,0 +1,45 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Order Event Consumer Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.messaging.consumer} prefix. A batch is handed
+ * to the handlers when it holds {@code batchSize} messages or when no
+ * message arrived for {@code receiveTimeout}. A message a handler keeps
+ * failing on is dead-lettered, or put back on its queue with
+ * {@code requeueOnFailure}.
+ */
+@ConfigurationProperties(prefix = "app.messaging.consumer")
+public class OrderEventConsumerProperties {
+
+    private boolean enabled = true;
+    private int prefetch = 250;
+    private int concurrentConsumers = 1;
+    private int maxConcurrentConsumers = 4;
+    private int batchSize = 100;
+    private Duration receiveTimeout = Duration.ofMillis(200);
+    private int dedupCapacity = 100_000;
+    private boolean requeueOnFailure = false;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getPrefetch() { return prefetch; }
+    public void setPrefetch(int prefetch) { this.prefetch = prefetch; }
+    public int getConcurrentConsumers() { return concurrentConsumers; }
+    public void setConcurrentConsumers(int concurrentConsumers) { this.concurrentConsumers = concurrentConsumers; }
+    public int getMaxConcurrentConsumers() { return maxConcurrentConsumers; }
+    public void setMaxConcurrentConsumers(int maxConcurrentConsumers) { this.maxConcurrentConsumers = maxConcurrentConsumers; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public Duration getReceiveTimeout() { return receiveTimeout; }
+    public void setReceiveTimeout(Duration receiveTimeout) { this.receiveTimeout = receiveTimeout; }
+    public int getDedupCapacity() { return dedupCapacity; }
+    public void setDedupCapacity(int dedupCapacity) { this.dedupCapacity = dedupCapacity; }
+    public boolean isRequeueOnFailure() { return requeueOnFailure; }
+    public void setRequeueOnFailure(boolean requeueOnFailure) { this.requeueOnFailure = requeueOnFailure; }
+}
@@ -0,0 +1,33 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.application.port.in.ImportOrdersUseCase;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing.OrderFileImporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulk Import Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Wires the file importer used by the {@code order import} CLI command.
+ */
+@Configuration
+@EnableConfigurationProperties(OrderImportProperties.class)
+public class OrderImportConfiguration {
+
+    @Bean
+    public OrderFileImporter orderFileImporter(ImportOrdersUseCase importOrdersUseCase,
+                                               ObjectMapper objectMapper,
+                                               OrderImportProperties properties) {
+        return new OrderFileImporter(
+                importOrdersUseCase,
+                objectMapper,
+                properties.resolvedWorkers(),
+                properties.getBatchSize(),
+                properties.resolvedMaxPendingBatches(),
+                properties.getProgressInterval());
+    }
+}
@@ -0,0 +1,39 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bulk Import Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.import} prefix. Memory use is roughly
+ * {@code batchSize * maxPendingBatches} records; a worker count of 0
+ * means one worker per available processor.
+ */
+@ConfigurationProperties(prefix = "app.import")
+public class OrderImportProperties {
+
+    private int workers = 0;
+    private int batchSize = 1000;
+    private int maxPendingBatches = 0;
+    private Duration progressInterval = Duration.ofSeconds(5);
+
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getMaxPendingBatches() { return maxPendingBatches; }
+    public void setMaxPendingBatches(int maxPendingBatches) { this.maxPendingBatches = maxPendingBatches; }
+    public Duration getProgressInterval() { return progressInterval; }
+    public void setProgressInterval(Duration progressInterval) { this.progressInterval = progressInterval; }
+
+    public int resolvedWorkers() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int resolvedMaxPendingBatches() {
+        return maxPendingBatches > 0 ? maxPendingBatches : resolvedWorkers() * 2;
+    }
+}
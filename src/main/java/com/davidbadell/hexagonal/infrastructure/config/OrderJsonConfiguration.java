@@ -0,0 +1,45 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.OrderJsonHttpMessageConverter;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.OrderJsonWriter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Order JSON Writer Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Puts the streaming order writer in front of Jackson for order
+ * responses. Disable it with {@code app.rest.order-json.enabled=false}
+ * to fall back to plain Jackson serialization; the bytes are the same.
+ */
+@Configuration
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "app.rest.order-json", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(OrderJsonProperties.class)
+public class OrderJsonConfiguration implements WebMvcConfigurer {
+
+    private final OrderJsonProperties properties;
+
+    public OrderJsonConfiguration(OrderJsonProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public OrderJsonWriter orderJsonWriter() {
+        return new OrderJsonWriter(properties.getBufferSize(), properties.getPooledBuffers());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new OrderJsonHttpMessageConverter(orderJsonWriter()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Order JSON Writer Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.rest.order-json} prefix. Each response in
+ * flight holds one buffer; up to {@code pooledBuffers} are kept for reuse.
+ */
+@ConfigurationProperties(prefix = "app.rest.order-json")
+public class OrderJsonProperties {
+
+    private boolean enabled = true;
+    private int bufferSize = 8192;
+    private int pooledBuffers = 64;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+    public int getPooledBuffers() { return pooledBuffers; }
+    public void setPooledBuffers(int pooledBuffers) { this.pooledBuffers = pooledBuffers; }
+}
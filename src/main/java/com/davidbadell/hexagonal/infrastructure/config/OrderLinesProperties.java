@@ -0,0 +1,30 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Order Lines Storage Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.persistence.order-lines} prefix. {@code storage}
+ * chooses between {@code order_lines} rows and one document per order;
+ * reads accept both. With {@code migrate}, document storage also moves the
+ * existing rows into documents in the background after startup,
+ * {@code migrationBatchSize} orders per transaction.
+ */
+@ConfigurationProperties(prefix = "app.persistence.order-lines")
+public class OrderLinesProperties {
+
+    private OrderLinesStorage storage = OrderLinesStorage.TABLE;
+    private boolean migrate = false;
+    private int migrationBatchSize = 500;
+
+    public OrderLinesStorage getStorage() { return storage; }
+    public void setStorage(OrderLinesStorage storage) { this.storage = storage; }
+    public boolean isMigrate() { return migrate; }
+    public void setMigrate(boolean migrate) { this.migrate = migrate; }
+    public int getMigrationBatchSize() { return migrationBatchSize; }
+    public void setMigrationBatchSize(int migrationBatchSize) { this.migrationBatchSize = migrationBatchSize; }
+}
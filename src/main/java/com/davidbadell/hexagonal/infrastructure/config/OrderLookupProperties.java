@@ -0,0 +1,29 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Order Lookup Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.persistence.lookup} prefix. Concurrent lookups
+ * by id on the query side share their loads; lookups of different ids are
+ * read together, waiting up to {@code window} for at most
+ * {@code maxBatchSize} ids.
+ */
+@ConfigurationProperties(prefix = "app.persistence.lookup")
+public class OrderLookupProperties {
+
+    private boolean enabled = true;
+    private Duration window = Duration.ofMillis(2);
+    private int maxBatchSize = 64;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+}
@@ -0,0 +1,57 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.application.port.out.OrderStatisticsRepository;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.stats.OrderStatsCounters;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Order Statistics Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Creates the live order counters, which subscribe to the local event bus
+ * and serve the statistics use case and the {@code orders.status.count}
+ * and {@code orders.today.*} gauges. Without the event bus they are only
+ * as fresh as the last reconciliation. When disabled, statistics are
+ * aggregated in the repository on every request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(OrderStatsProperties.class)
+public class OrderStatsConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public OrderStatsCounters orderStatsCounters(@Qualifier("readOrderStore") OrderStatisticsRepository statistics,
+                                                 OrderStatsProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        // Same zone as the LocalDateTime.now() timestamps of the orders
+        OrderStatsCounters counters = new OrderStatsCounters(statistics, properties.getRetention(),
+                Clock.systemDefaultZone());
+        for (OrderStatus status : OrderStatus.values()) {
+            Gauge.builder("orders.status.count", counters, c -> c.getCount(status))
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("orders.today.count", counters, OrderStatsCounters::getOrdersToday)
+                .description("Orders created since midnight")
+                .register(meterRegistry);
+        Gauge.builder("orders.today.revenue", counters, OrderStatsCounters::getRevenueToday)
+                .description("Total of the orders created since midnight, cancelled ones excluded")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.stats.corrections", counters, OrderStatsCounters::getCorrections)
+                .description("Counters corrected by reconciliation with the repository")
+                .register(meterRegistry);
+        counters.start(properties.getReconcileInterval());
+        return counters;
+    }
+}
@@ -0,0 +1,28 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Order Statistics Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.stats} prefix. Hourly revenue is kept for
+ * {@code retention}; counters are compared with the repository every
+ * {@code reconcileInterval}.
+ */
+@ConfigurationProperties(prefix = "app.stats")
+public class OrderStatsProperties {
+
+    private boolean enabled = true;
+    private Duration retention = Duration.ofHours(48);
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+    public Duration getReconcileInterval() { return reconcileInterval; }
+    public void setReconcileInterval(Duration reconcileInterval) { this.reconcileInterval = reconcileInterval; }
+}
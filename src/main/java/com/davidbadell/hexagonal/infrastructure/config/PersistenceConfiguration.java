@@ -0,0 +1,288 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.BatchInsertingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.CoalescingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.ConcurrencyLimitedOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.FlightRecordingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.GroupCommittingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.InvalidatingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.KnownIdsOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.NearCachingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderJpaRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesMigration;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderRepositoryAdapter;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.jdbc.JdbcOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.ShardedOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderInvalidations;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderNearCache;
+import com.davidbadell.hexagonal.infrastructure.knownids.KnownOrderIds;
+import com.davidbadell.hexagonal.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Persistence Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Assembles the OrderRepository decorators on top of the JPA adapter,
+ * the plain JDBC one with the {@code jdbc} profile, or the sharded
+ * repository when sharding is enabled. Bulk inserts on the JPA adapter go
+ * through JDBC batches.
+ * Two chains are exposed: the primary one for the command use cases and
+ * {@code readOrderRepository} for the query side (GetOrderUseCase). They
+ * start from {@code writeOrderStore} and {@code readOrderStore}, the store
+ * behind each bulkhead, which also answer the statistics and keyset ports
+ * directly. On the query chain concurrent lookups by id are coalesced in
+ * front of the bulkhead so that a batch of them takes a single permit. With known order ids enabled,
+ * both chains answer lookups of ids that do not exist from a bloom filter.
+ * With the near cache enabled, the query chain serves lookups by id from
+ * it and the primary chain invalidates the orders it changes. With group
+ * commit enabled, concurrent order creations on the primary chain are
+ * inserted together in one transaction. Order lines are stored as rows or
+ * as one document per order, see {@link OrderLinesProperties}. Calls
+ * reaching the store emit flight recorder events.
+ */
+@Configuration
+@EnableConfigurationProperties({ConcurrencyLimitProperties.class, OrderLookupProperties.class,
+        KnownOrderIdsProperties.class, GroupCommitProperties.class, OrderLinesProperties.class})
+public class PersistenceConfiguration {
+
+    /**
+     * JPA store at the base of both chains, bulk inserts going through JDBC batches
+     */
+    @Configuration
+    @Profile("!jdbc")
+    static class JpaStoreConfiguration {
+
+        @Bean
+        public OrderRepositoryAdapter orderRepositoryAdapter(OrderJpaRepository jpaRepository,
+                                                             OrderLinesProperties orderLines) {
+            return new OrderRepositoryAdapter(jpaRepository, orderLines.getStorage());
+        }
+
+        @Bean
+        public OrderStore orderStore(OrderRepositoryAdapter adapter,
+                                          JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager) {
+            return new BatchInsertingOrderRepository(adapter, jdbcTemplate, transactionManager,
+                    adapter.getLinesStorage());
+        }
+    }
+
+    /**
+     * Plain JDBC store at the base of both chains, selected with the jdbc profile
+     */
+    @Configuration
+    @Profile("jdbc")
+    static class JdbcStoreConfiguration {
+
+        @Bean
+        public OrderStore orderStore(JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          OrderLinesProperties orderLines) {
+            return new JdbcOrderRepository(jdbcTemplate, transactionManager, orderLines.getStorage());
+        }
+    }
+
+    /**
+     * Store behind the write bulkhead, at the base of the write-side chain
+     */
+    @Bean
+    public OrderStore writeOrderStore(@Qualifier("orderStore") OrderStore store,
+                                      ObjectProvider<ShardedOrderRepository> sharding,
+                                      ConcurrencyLimitProperties concurrency,
+                                      MeterRegistry meterRegistry) {
+        return withBulkhead(baseRepository(store, sharding), "write", concurrency, concurrency.getWrite(),
+                meterRegistry);
+    }
+
+    /**
+     * Store behind the read bulkhead, at the base of the read-side chain
+     */
+    @Bean
+    public OrderStore readOrderStore(@Qualifier("orderStore") OrderStore store,
+                                     ObjectProvider<ShardedOrderRepository> sharding,
+                                     ConcurrencyLimitProperties concurrency,
+                                     MeterRegistry meterRegistry) {
+        return withBulkhead(baseRepository(store, sharding), "read", concurrency, concurrency.getRead(),
+                meterRegistry);
+    }
+
+    /**
+     * Write-side repository used by the command use cases
+     */
+    @Bean
+    @Primary
+    public OrderRepository orderRepository(@Qualifier("writeOrderStore") OrderStore store,
+                                           ObjectProvider<KnownOrderIds> knownOrderIds,
+                                           ObjectProvider<OrderInvalidations> orderInvalidations,
+                                           GroupCommitProperties groupCommit,
+                                           MeterRegistry meterRegistry) {
+        OrderRepository repository = store;
+        KnownOrderIds knownIds = knownOrderIds.getIfAvailable();
+        if (knownIds != null) {
+            repository = new KnownIdsOrderRepository(repository, knownIds);
+        }
+        OrderInvalidations invalidations = orderInvalidations.getIfAvailable();
+        if (invalidations != null) {
+            repository = new InvalidatingOrderRepository(repository, invalidations);
+        }
+        return groupCommit.isEnabled() ? withGroupCommit(repository, groupCommit, meterRegistry) : repository;
+    }
+
+    /**
+     * Read-side repository used by the query use case
+     */
+    @Bean
+    public OrderRepository readOrderRepository(@Qualifier("readOrderStore") OrderStore store,
+                                               OrderLookupProperties lookup,
+                                               ObjectProvider<KnownOrderIds> knownOrderIds,
+                                               ObjectProvider<OrderNearCache> nearCache,
+                                               MeterRegistry meterRegistry) {
+        OrderRepository repository = store;
+        if (lookup.isEnabled()) {
+            repository = withCoalescing(repository, lookup, meterRegistry);
+        }
+        KnownOrderIds knownIds = knownOrderIds.getIfAvailable();
+        if (knownIds != null) {
+            repository = new KnownIdsOrderRepository(repository, knownIds);
+        }
+        OrderNearCache cache = nearCache.getIfAvailable();
+        return cache != null ? new NearCachingOrderRepository(repository, cache) : repository;
+    }
+
+    /**
+     * Bloom filter of the existing order ids, shared by both chains
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.persistence.known-ids", name = "enabled", havingValue = "true")
+    public KnownOrderIds knownOrderIds(@Qualifier("orderStore") OrderStore store,
+                                       ObjectProvider<ShardedOrderRepository> sharding,
+                                       KnownOrderIdsProperties properties,
+                                       MeterRegistry meterRegistry) {
+        KnownOrderIds knownIds = new KnownOrderIds(baseRepository(store, sharding), properties.getExpectedOrders(),
+                properties.getFalsePositiveRate(), properties.getScanBatchSize());
+        Gauge.builder("orders.known-ids.count", knownIds, KnownOrderIds::getCount)
+                .register(meterRegistry);
+        Gauge.builder("orders.known-ids.memory", knownIds, KnownOrderIds::getMemoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("orders.known-ids.false-positive.rate", knownIds, KnownOrderIds::getExpectedFalsePositiveRate)
+                .tag("source", "expected")
+                .register(meterRegistry);
+        Gauge.builder("orders.known-ids.false-positive.rate", knownIds, KnownOrderIds::getObservedFalsePositiveRate)
+                .tag("source", "observed")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.known-ids.lookups", knownIds, KnownOrderIds::getRejected)
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.known-ids.lookups", knownIds, KnownOrderIds::getPassed)
+                .tag("result", "passed")
+                .register(meterRegistry);
+        knownIds.start(properties.getRebuildInterval());
+        return knownIds;
+    }
+
+    /**
+     * Background move of existing order_lines rows into documents
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.persistence.order-lines", name = "migrate", havingValue = "true")
+    public OrderLinesMigration orderLinesMigration(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager,
+                                                   OrderLinesProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        if (properties.getStorage() != OrderLinesStorage.DOCUMENT) {
+            throw new IllegalStateException(
+                    "Migrating order lines requires app.persistence.order-lines.storage=document");
+        }
+        OrderLinesMigration migration = new OrderLinesMigration(jdbcTemplate, transactionManager,
+                properties.getMigrationBatchSize());
+        FunctionCounter.builder("orders.persistence.lines.migrated", migration, OrderLinesMigration::getMigrated)
+                .description("Orders whose lines were moved from rows into a document")
+                .register(meterRegistry);
+        migration.start();
+        return migration;
+    }
+
+    private OrderStore baseRepository(OrderStore store, ObjectProvider<ShardedOrderRepository> sharding) {
+        ShardedOrderRepository sharded = sharding.getIfAvailable();
+        return new FlightRecordingOrderRepository(sharded != null ? sharded : store);
+    }
+
+    private OrderRepository withCoalescing(OrderRepository delegate, OrderLookupProperties lookup,
+                                           MeterRegistry meterRegistry) {
+        CoalescingOrderRepository coalescing = new CoalescingOrderRepository(delegate, lookup.getWindow(),
+                lookup.getMaxBatchSize());
+        FunctionCounter.builder("orders.persistence.lookups", coalescing, CoalescingOrderRepository::getLoaded)
+                .tag("result", "loaded")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.persistence.lookups", coalescing, CoalescingOrderRepository::getJoined)
+                .tag("result", "joined")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.persistence.lookup.batches", coalescing, CoalescingOrderRepository::getBatches)
+                .description("Loads of one or more orders by id")
+                .register(meterRegistry);
+        return coalescing;
+    }
+
+    private OrderRepository withGroupCommit(OrderRepository delegate, GroupCommitProperties groupCommit,
+                                            MeterRegistry meterRegistry) {
+        GroupCommittingOrderRepository grouping = new GroupCommittingOrderRepository(delegate,
+                groupCommit.getMaxWait(), groupCommit.getMaxBatchSize());
+        FunctionCounter.builder("orders.persistence.group.commits", grouping, GroupCommittingOrderRepository::getCommits)
+                .description("Transactions inserting one or more new orders")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.persistence.group.orders", grouping,
+                        GroupCommittingOrderRepository::getCommitted)
+                .description("New orders committed, alone or in a group")
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.persistence.group.fallbacks", grouping,
+                        GroupCommittingOrderRepository::getFallbacks)
+                .description("Failed groups whose orders were then saved one by one")
+                .register(meterRegistry);
+        return grouping;
+    }
+
+    private OrderStore withBulkhead(OrderStore delegate, String name,
+                                    ConcurrencyLimitProperties concurrency,
+                                    ConcurrencyLimitProperties.Bulkhead bulkhead,
+                                    MeterRegistry meterRegistry) {
+        if (!concurrency.isEnabled()) {
+            return delegate;
+        }
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                name,
+                bulkhead.getInitialLimit(),
+                bulkhead.getMinLimit(),
+                bulkhead.getMaxLimit(),
+                concurrency.getTolerance(),
+                concurrency.getSmoothing());
+        Gauge.builder("orders.persistence.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("orders.persistence.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("orders.persistence.concurrency.rejected", limiter,
+                        AdaptiveConcurrencyLimiter::getRejectedCount)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        return new ConcurrencyLimitedOrderRepository(delegate, limiter);
+    }
+}
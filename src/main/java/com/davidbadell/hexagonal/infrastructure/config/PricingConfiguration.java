@@ -0,0 +1,34 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.domain.service.PricingRules;
+import com.davidbadell.hexagonal.domain.service.PricingService;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pricing Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Compiles the configured pricing rules once at startup; invalid rules
+ * (negative amounts, fractions of a cent, duplicate tiers) fail the start.
+ */
+@Configuration
+@EnableConfigurationProperties(PricingProperties.class)
+public class PricingConfiguration {
+
+    /**
+     * Domain Service: Pricing Service
+     */
+    @Bean
+    public PricingService pricingService(PricingProperties properties) {
+        PricingRules.Builder rules = PricingRules.builder()
+                .defaultTaxRate(properties.getDefaultTaxRate())
+                .minimumOrderAmount(properties.getMinimumOrderAmount());
+        properties.getRegionalTaxRates().forEach(rules::regionalTaxRate);
+        properties.getDiscountTiers().forEach(tier -> rules.discountTier(tier.getOver(), tier.getRate()));
+        properties.getShippingBands().forEach(band -> rules.shippingBand(band.getUpTo(), band.getCost()));
+        return new PricingService(rules.build().compile());
+    }
+}
@@ -0,0 +1,81 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pricing Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.pricing} prefix. Regions without a tax rate of
+ * their own use {@code defaultTaxRate}; a discount tier applies to orders
+ * over its amount and a shipping band to orders up to its amount. The
+ * defaults are the long-standing rules.
+ */
+@ConfigurationProperties(prefix = "app.pricing")
+public class PricingProperties {
+
+    private BigDecimal defaultTaxRate = new BigDecimal("0.21");
+    private Map<String, BigDecimal> regionalTaxRates = new LinkedHashMap<>();
+    private List<DiscountTier> discountTiers =
+            new ArrayList<>(List.of(new DiscountTier(new BigDecimal("100.00"), new BigDecimal("0.10"))));
+    private List<ShippingBand> shippingBands =
+            new ArrayList<>(List.of(new ShippingBand(new BigDecimal("50.00"), new BigDecimal("5.99"))));
+    private BigDecimal minimumOrderAmount = new BigDecimal("10.00");
+
+    public BigDecimal getDefaultTaxRate() { return defaultTaxRate; }
+    public void setDefaultTaxRate(BigDecimal defaultTaxRate) { this.defaultTaxRate = defaultTaxRate; }
+    public Map<String, BigDecimal> getRegionalTaxRates() { return regionalTaxRates; }
+    public void setRegionalTaxRates(Map<String, BigDecimal> regionalTaxRates) { this.regionalTaxRates = regionalTaxRates; }
+    public List<DiscountTier> getDiscountTiers() { return discountTiers; }
+    public void setDiscountTiers(List<DiscountTier> discountTiers) { this.discountTiers = discountTiers; }
+    public List<ShippingBand> getShippingBands() { return shippingBands; }
+    public void setShippingBands(List<ShippingBand> shippingBands) { this.shippingBands = shippingBands; }
+    public BigDecimal getMinimumOrderAmount() { return minimumOrderAmount; }
+    public void setMinimumOrderAmount(BigDecimal minimumOrderAmount) { this.minimumOrderAmount = minimumOrderAmount; }
+
+    /**
+     * Discount rate for orders over an amount
+     */
+    public static class DiscountTier {
+        private BigDecimal over;
+        private BigDecimal rate;
+
+        public DiscountTier() {}
+
+        public DiscountTier(BigDecimal over, BigDecimal rate) {
+            this.over = over;
+            this.rate = rate;
+        }
+
+        public BigDecimal getOver() { return over; }
+        public void setOver(BigDecimal over) { this.over = over; }
+        public BigDecimal getRate() { return rate; }
+        public void setRate(BigDecimal rate) { this.rate = rate; }
+    }
+
+    /**
+     * Shipping cost for orders up to an amount
+     */
+    public static class ShippingBand {
+        private BigDecimal upTo;
+        private BigDecimal cost;
+
+        public ShippingBand() {}
+
+        public ShippingBand(BigDecimal upTo, BigDecimal cost) {
+            this.upTo = upTo;
+            this.cost = cost;
+        }
+
+        public BigDecimal getUpTo() { return upTo; }
+        public void setUpTo(BigDecimal upTo) { this.upTo = upTo; }
+        public BigDecimal getCost() { return cost; }
+        public void setCost(BigDecimal cost) { this.cost = cost; }
+    }
+}
@@ -2,39 +2,79 @@ package com.davidbadell.hexagonal.infrastructure.config;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * RabbitMQ Configuration
  * Infrastructure Layer: Messaging Configuration
+ *
+ * Skipped with {@code app.messaging.enabled=false}, in which case events
+ * only reach local subscribers. Next to the order events, the order cache
+ * invalidations fanout exchange reaches every instance; each instance
+ * binds its own queue to it (see NearCacheConfiguration). Order events a
+ * consumer rejects are dead-lettered with their routing key to the
+ * {@code order.events.dlx} exchange and parked in one queue per event
+ * type until they are inspected or shovelled back.
  */
 @Configuration
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class RabbitMQConfiguration {
     
     public static final String ORDER_EVENTS_EXCHANGE = "order.events";
     public static final String ORDER_CREATED_QUEUE = "order.created.queue";
     public static final String ORDER_CANCELLED_QUEUE = "order.cancelled.queue";
+    public static final String ORDER_EVENTS_DEAD_LETTER_EXCHANGE = "order.events.dlx";
+    public static final String ORDER_CREATED_DEAD_LETTER_QUEUE = "order.created.queue.dlq";
+    public static final String ORDER_CANCELLED_DEAD_LETTER_QUEUE = "order.cancelled.queue.dlq";
+    public static final String ORDER_CACHE_INVALIDATIONS_EXCHANGE = "order.cache.invalidations";
 
     @Bean
     public TopicExchange orderEventsExchange() {
         return new TopicExchange(ORDER_EVENTS_EXCHANGE);
     }
 
+    @Bean
+    public TopicExchange orderEventsDeadLetterExchange() {
+        return new TopicExchange(ORDER_EVENTS_DEAD_LETTER_EXCHANGE);
+    }
+
+    @Bean
+    public FanoutExchange orderCacheInvalidationsExchange() {
+        return new FanoutExchange(ORDER_CACHE_INVALIDATIONS_EXCHANGE);
+    }
+
     @Bean
     public Queue orderCreatedQueue() {
-        return new Queue(ORDER_CREATED_QUEUE, true);
+        return QueueBuilder.durable(ORDER_CREATED_QUEUE)
+                .deadLetterExchange(ORDER_EVENTS_DEAD_LETTER_EXCHANGE)
+                .build();
     }
 
     @Bean
     public Queue orderCancelledQueue() {
-        return new Queue(ORDER_CANCELLED_QUEUE, true);
+        return QueueBuilder.durable(ORDER_CANCELLED_QUEUE)
+                .deadLetterExchange(ORDER_EVENTS_DEAD_LETTER_EXCHANGE)
+                .build();
+    }
+
+    @Bean
+    public Queue orderCreatedDeadLetterQueue() {
+        return new Queue(ORDER_CREATED_DEAD_LETTER_QUEUE, true);
+    }
+
+    @Bean
+    public Queue orderCancelledDeadLetterQueue() {
+        return new Queue(ORDER_CANCELLED_DEAD_LETTER_QUEUE, true);
     }
 
     @Bean
@@ -51,6 +91,22 @@ public class RabbitMQConfiguration {
                 .with("ordercancelled");
     }
 
+    @Bean
+    public Binding orderCreatedDeadLetterBinding(Queue orderCreatedDeadLetterQueue,
+                                                 TopicExchange orderEventsDeadLetterExchange) {
+        return BindingBuilder.bind(orderCreatedDeadLetterQueue)
+                .to(orderEventsDeadLetterExchange)
+                .with("ordercreated");
+    }
+
+    @Bean
+    public Binding orderCancelledDeadLetterBinding(Queue orderCancelledDeadLetterQueue,
+                                                   TopicExchange orderEventsDeadLetterExchange) {
+        return BindingBuilder.bind(orderCancelledDeadLetterQueue)
+                .to(orderEventsDeadLetterExchange)
+                .with("ordercancelled");
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -0,0 +1,48 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.RateLimitFilter;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.TokenBucketRegistry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Rate Limiting Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Registers the token-bucket filter ahead of Spring Security so that
+ * rejected requests are shed as cheaply as possible.
+ */
+@Configuration
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        TokenBucketRegistry readBuckets = new TokenBucketRegistry(
+                properties.getRead().getCapacity(),
+                properties.getRead().getRefillPerSecond(),
+                properties.getMaxTrackedClients());
+        TokenBucketRegistry writeBuckets = new TokenBucketRegistry(
+                properties.getWrite().getCapacity(),
+                properties.getWrite().getRefillPerSecond(),
+                properties.getMaxTrackedClients());
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(readBuckets, writeBuckets, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
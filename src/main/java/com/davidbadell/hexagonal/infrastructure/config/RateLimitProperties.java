@@ -0,0 +1,48 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate Limiting Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.rate-limit} prefix. Reads and writes have
+ * independent quotas; every API key and customer gets its own bucket.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxTrackedClients = 100_000;
+    private Quota read = new Quota(200, 100.0);
+    private Quota write = new Quota(20, 10.0);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxTrackedClients() { return maxTrackedClients; }
+    public void setMaxTrackedClients(int maxTrackedClients) { this.maxTrackedClients = maxTrackedClients; }
+    public Quota getRead() { return read; }
+    public void setRead(Quota read) { this.read = read; }
+    public Quota getWrite() { return write; }
+    public void setWrite(Quota write) { this.write = write; }
+
+    /**
+     * Bucket size and refill rate for one kind of request
+     */
+    public static class Quota {
+        private int capacity;
+        private double refillPerSecond;
+
+        public Quota() {}
+
+        public Quota(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+    }
+}
@@ -0,0 +1,51 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.application.port.in.RepriceOrdersUseCase;
+import com.davidbadell.hexagonal.application.port.out.RepricingCheckpointRepository;
+import com.davidbadell.hexagonal.application.service.RepriceOrdersService;
+import com.davidbadell.hexagonal.domain.service.PricingService;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Repricing Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * The repricing job reads and writes through the store behind the write
+ * bulkhead, so its scans and batched updates share it with the command use
+ * cases. It prices on its own fork-join pool rather than the common pool.
+ */
+@Configuration
+@EnableConfigurationProperties(RepricingProperties.class)
+public class RepricingConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool repricingPool(RepricingProperties properties) {
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("order-repricing-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    @Bean
+    public RepriceOrdersUseCase repriceOrdersUseCase(@Qualifier("writeOrderStore") OrderStore store,
+                                                     RepricingCheckpointRepository checkpointRepository,
+                                                     PricingService pricingService,
+                                                     ForkJoinPool repricingPool,
+                                                     RepricingProperties properties) {
+        return new RepriceOrdersService(store, store, checkpointRepository, pricingService,
+                repricingPool, properties.getChunkSize(), Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,23 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Repricing Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.repricing} prefix. Pending orders are read and
+ * checkpointed {@code chunkSize} at a time and priced by {@code parallelism}
+ * fork-join workers (0 for one per processor).
+ */
+@ConfigurationProperties(prefix = "app.repricing")
+public class RepricingProperties {
+
+    private int chunkSize = 1000;
+    private int parallelism = 0;
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+}
@@ -1,7 +1,9 @@
 package com.davidbadell.hexagonal.infrastructure.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -13,8 +15,12 @@ import org.springframework.security.web.SecurityFilterChain;
  * Infrastructure Layer: Configuration
  * 
  * Basic security configuration for the REST API.
+ * Only applies when running as a web application (not in the CLI).
+ * The order API is open; the admin endpoints under /api/admin need a
+ * user with the ADMIN role over HTTP Basic (see spring.security.user).
  */
 @Configuration
+@ConditionalOnWebApplication
 @EnableWebSecurity
 public class SecurityConfiguration {
     
@@ -24,7 +30,9 @@ public class SecurityConfiguration {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> 
                     session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
+                    .requestMatchers("/api/admin/**").hasRole("ADMIN")
                     .requestMatchers("/api/**").permitAll()
                     .requestMatchers("/actuator/**").permitAll()
                     .anyRequest().authenticated()
@@ -0,0 +1,50 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShardFactory;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.ShardedOrderRepository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order Sharding Configuration
+ * Infrastructure Layer: Configuration
+ *
+ * Builds one connection pool and JPA stack per configured shard and
+ * exposes the sharded repository, which PersistenceConfiguration then
+ * uses as the base of both repository chains. The sharded repository
+ * also generates order ids so that they carry their shard hint.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.persistence.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ShardedOrderRepository shardedOrderRepository(ShardingProperties properties,
+                                                         OrderLinesProperties orderLines) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("Sharding is enabled but no shards are configured");
+        }
+        List<OrderShard> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.add(OrderShardFactory.create(shard.getName(), dataSource,
+                    Map.of("hibernate.hbm2ddl.auto", properties.getDdlAuto()), orderLines.getStorage()));
+        }
+        return new ShardedOrderRepository(shards, properties.getVirtualNodes(), properties.getScatterTimeout());
+    }
+}
@@ -0,0 +1,57 @@
+package com.davidbadell.hexagonal.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order Sharding Properties
+ * Infrastructure Layer: Configuration
+ *
+ * Bound from the {@code app.persistence.sharding} prefix. The shard list
+ * is positional: new shards must be appended, never inserted or reordered.
+ */
+@ConfigurationProperties(prefix = "app.persistence.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+    private int virtualNodes = 128;
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+    private String ddlAuto = "update";
+    private List<Shard> shards = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getVirtualNodes() { return virtualNodes; }
+    public void setVirtualNodes(int virtualNodes) { this.virtualNodes = virtualNodes; }
+    public Duration getScatterTimeout() { return scatterTimeout; }
+    public void setScatterTimeout(Duration scatterTimeout) { this.scatterTimeout = scatterTimeout; }
+    public String getDdlAuto() { return ddlAuto; }
+    public void setDdlAuto(String ddlAuto) { this.ddlAuto = ddlAuto; }
+    public List<Shard> getShards() { return shards; }
+    public void setShards(List<Shard> shards) { this.shards = shards; }
+
+    /**
+     * Connection settings of one shard
+     */
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+}
@@ -0,0 +1,78 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository decorator storing idempotent responses as orders are saved
+ * Infrastructure Layer: Idempotency
+ *
+ * Used by the create order use case. A saved order is handed to
+ * {@link IdempotentRequests#saved(Order)}, which stores it as the response
+ * of the keyed request running on this thread, if any, before the use
+ * case goes on to publish its events.
+ */
+public class IdempotencyRecordingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final IdempotentRequests requests;
+
+    public IdempotencyRecordingOrderRepository(OrderRepository delegate, IdempotentRequests requests) {
+        this.delegate = delegate;
+        this.requests = requests;
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        requests.saved(saved);
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        delegate.insertAll(orders);
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId orderId) {
+        return delegate.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAllById(Collection<OrderId> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+
+    @Override
+    public boolean existsById(OrderId orderId) {
+        return delegate.existsById(orderId);
+    }
+
+    @Override
+    public List<Order> findByCustomerId(CustomerId customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> query(OrderQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public void deleteById(OrderId orderId) {
+        delegate.deleteById(orderId);
+    }
+}
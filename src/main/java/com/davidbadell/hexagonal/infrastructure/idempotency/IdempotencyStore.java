@@ -0,0 +1,21 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+/**
+ * Store of responses by idempotency key
+ * Infrastructure Layer: Idempotency
+ *
+ * Entries expire after the store's time to live; an expired entry is
+ * reported as absent.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * @return the live response stored under the key, or null
+     */
+    IdempotentResponse find(String key);
+
+    /**
+     * Store a response; a live entry under the key is kept, an expired one is replaced
+     */
+    void put(String key, IdempotentResponse response);
+}
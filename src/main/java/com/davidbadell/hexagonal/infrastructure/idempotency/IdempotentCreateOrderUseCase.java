@@ -0,0 +1,86 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Command use case decorator honouring idempotency keys
+ * Infrastructure Layer: Idempotency
+ *
+ * Commands without a key are passed through. Keys are scoped to the
+ * customer, so one customer's key can never replay another's order, and
+ * the request is fingerprinted so a key cannot be reused for a different
+ * order.
+ */
+public class IdempotentCreateOrderUseCase implements CreateOrderUseCase {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final CreateOrderUseCase delegate;
+    private final IdempotentRequests requests;
+
+    public IdempotentCreateOrderUseCase(CreateOrderUseCase delegate, IdempotentRequests requests) {
+        this.delegate = delegate;
+        this.requests = requests;
+    }
+
+    @Override
+    public OrderResponse createOrder(CreateOrderCommand command) {
+        String key = command.getIdempotencyKey();
+        if (key == null) {
+            return delegate.createOrder(command);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String scope = command.getCustomerId() != null ? command.getCustomerId() : "";
+        return requests.execute("create-order:" + scope + ":" + key, fingerprint(command),
+                () -> delegate.createOrder(command));
+    }
+
+    /**
+     * SHA-256 of the customer and the items; prices compare by value, so
+     * 10.0 and 10.00 are the same request
+     */
+    static String fingerprint(CreateOrderCommand command) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, command.getCustomerId());
+        if (command.getItems() != null) {
+            for (CreateOrderCommand.OrderItemCommand item : command.getItems()) {
+                update(digest, item.getProductId());
+                update(digest, item.getProductName());
+                update(digest, Integer.toString(item.getQuantity()));
+                BigDecimal price = item.getPrice();
+                update(digest, price != null ? price.stripTrailingZeros().toPlainString() : null);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        digest.update((byte) 1);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+}
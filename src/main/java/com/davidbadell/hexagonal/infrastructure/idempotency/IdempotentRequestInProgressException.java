@@ -0,0 +1,12 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+/**
+ * Thrown when a duplicate request gave up waiting for the original one
+ * to complete
+ */
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
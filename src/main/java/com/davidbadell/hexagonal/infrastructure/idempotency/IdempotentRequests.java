@@ -0,0 +1,185 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.domain.model.Order;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs each idempotent request at most once per key
+ * Infrastructure Layer: Idempotency
+ *
+ * A key already in the store is answered with the stored response. A key
+ * whose request is still running in this instance is answered by waiting
+ * for that request, up to {@code waitTimeout}, rather than running it
+ * again. A failed request hands its failure to the requests waiting on it.
+ *
+ * The response is stored as soon as the request's order is saved (see
+ * {@link #saved(Order)}), so a request that fails afterwards, e.g. while
+ * publishing its events, is replayed rather than run again on retry. A
+ * request that fails before the save stores nothing and the next retry
+ * runs afresh. A response that cannot be stored is logged and still
+ * returned: the order exists, and failing the request would invite the
+ * retry that creates it twice.
+ */
+public class IdempotentRequests {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentRequests.class);
+
+    private final IdempotencyStore store;
+    private final Duration waitTimeout;
+    private final Clock clock;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ThreadLocal<Pending> running = new ThreadLocal<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder storeFailures = new LongAdder();
+
+    public IdempotentRequests(IdempotencyStore store, Duration waitTimeout, Clock clock) {
+        this.store = store;
+        this.waitTimeout = waitTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Run a request once for its key
+     *
+     * @param key The scoped idempotency key
+     * @param fingerprint Digest of the request, to detect a key reused for another request
+     * @param request Runs the request
+     * @throws InvalidIdempotencyKeyException if the key belongs to a different request
+     * @throws IdempotentRequestInProgressException if the original request did not finish in time
+     */
+    public OrderResponse execute(String key, String fingerprint, Supplier<OrderResponse> request) {
+        IdempotentResponse stored = store.find(key);
+        if (stored != null) {
+            replayed.increment();
+            return check(stored.getFingerprint(), fingerprint, stored.getResponse());
+        }
+
+        InFlight mine = new InFlight(fingerprint);
+        InFlight other = inFlight.putIfAbsent(key, mine);
+        if (other != null) {
+            joined.increment();
+            return check(other.fingerprint, fingerprint, await(other));
+        }
+        try {
+            // The original may have completed between the lookup and the claim
+            stored = store.find(key);
+            if (stored != null) {
+                replayed.increment();
+                mine.result.complete(stored.getResponse());
+                return check(stored.getFingerprint(), fingerprint, stored.getResponse());
+            }
+            OrderResponse response = run(key, fingerprint, request);
+            executed.increment();
+            mine.result.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Store the response of the request running on this thread once its
+     * order is saved, before anything after the save can fail. Does nothing
+     * when no request runs on this thread.
+     */
+    public void saved(Order order) {
+        Pending pending = running.get();
+        if (pending != null && !pending.stored) {
+            pending.stored = store(pending.key, pending.fingerprint, OrderResponse.fromDomain(order));
+        }
+    }
+
+    public long getExecuted() { return executed.sum(); }
+    public long getReplayed() { return replayed.sum(); }
+    public long getJoined() { return joined.sum(); }
+    public long getStoreFailures() { return storeFailures.sum(); }
+
+    private OrderResponse run(String key, String fingerprint, Supplier<OrderResponse> request) {
+        Pending pending = new Pending(key, fingerprint);
+        running.set(pending);
+        OrderResponse response;
+        try {
+            response = request.get();
+        } finally {
+            running.remove();
+        }
+        if (!pending.stored) {
+            store(key, fingerprint, response);
+        }
+        return response;
+    }
+
+    private boolean store(String key, String fingerprint, OrderResponse response) {
+        try {
+            store.put(key, new IdempotentResponse(fingerprint, response, clock.millis()));
+            return true;
+        } catch (RuntimeException e) {
+            storeFailures.increment();
+            logger.warn("Could not store the response for idempotency key {}, a retry would run it again", key, e);
+            return false;
+        }
+    }
+
+    private OrderResponse await(InFlight other) {
+        try {
+            return other.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException("A request with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("The original request failed", e.getCause());
+        }
+    }
+
+    private static OrderResponse check(String expected, String actual, OrderResponse response) {
+        if (!expected.equals(actual)) {
+            throw new InvalidIdempotencyKeyException("Idempotency key was already used for a different request");
+        }
+        return response;
+    }
+
+    private static final class Pending {
+        final String key;
+        final String fingerprint;
+        boolean stored;
+
+        Pending(String key, String fingerprint) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static final class InFlight {
+        final String fingerprint;
+        final CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+
+        InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+
+/**
+ * The response stored under an idempotency key
+ * Infrastructure Layer: Idempotency
+ *
+ * Kept with a fingerprint of the request that produced it, so that a key
+ * reused for a different request is refused rather than answered.
+ */
+public class IdempotentResponse {
+
+    private final String fingerprint;
+    private final OrderResponse response;
+    private final long storedAtMillis;
+
+    public IdempotentResponse(String fingerprint, OrderResponse response, long storedAtMillis) {
+        this.fingerprint = fingerprint;
+        this.response = response;
+        this.storedAtMillis = storedAtMillis;
+    }
+
+    public String getFingerprint() { return fingerprint; }
+    public OrderResponse getResponse() { return response; }
+    public long getStoredAtMillis() { return storedAtMillis; }
+}
@@ -0,0 +1,77 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bounded in-memory idempotency store
+ * Infrastructure Layer: Idempotency
+ *
+ * Keys are forgotten in insertion order, once they expire or once the
+ * capacity is reached, whichever comes first. Insertion order is also
+ * expiry order, so expired keys are always at the head of the queue.
+ * A key reused after it expired gets a new entry at the tail; the queue
+ * holds each response with its key, so the entry it replaced can no
+ * longer evict it.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotentResponse> responses = new ConcurrentHashMap<>();
+    private final Queue<Map.Entry<String, IdempotentResponse>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        IdempotentResponse response = responses.get(key);
+        if (response == null || isExpired(response, clock.millis())) {
+            return null;
+        }
+        return response;
+    }
+
+    @Override
+    public void put(String key, IdempotentResponse response) {
+        long now = clock.millis();
+        IdempotentResponse stored = responses.compute(key,
+                (k, current) -> current == null || isExpired(current, now) ? response : current);
+        if (stored != response) {
+            return;
+        }
+        insertionOrder.add(Map.entry(key, response));
+        Map.Entry<String, IdempotentResponse> oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            IdempotentResponse head = responses.get(oldest.getKey());
+            // A head whose key was replaced or removed since is dropped without evicting anything
+            if (head == oldest.getValue() && responses.size() <= maxEntries && !isExpired(head, now)) {
+                break;
+            }
+            Map.Entry<String, IdempotentResponse> polled = insertionOrder.poll();
+            if (polled != null) {
+                responses.remove(polled.getKey(), polled.getValue());
+            }
+        }
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    private boolean isExpired(IdempotentResponse response, long now) {
+        return now - response.getStoredAtMillis() >= ttlMillis;
+    }
+}
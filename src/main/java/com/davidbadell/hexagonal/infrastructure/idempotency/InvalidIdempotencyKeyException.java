@@ -0,0 +1,12 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+/**
+ * Thrown when an idempotency key is malformed or was already used for a
+ * different request
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.davidbadell.hexagonal.infrastructure.idempotency;
+
+/**
+ * In-memory idempotency store backed by a persistent one
+ * Infrastructure Layer: Idempotency
+ *
+ * Writes go to both; reads that miss in memory fall through to the
+ * persistent store, so keys outlive a restart and are shared between
+ * instances. A hit from the persistent store is copied into memory.
+ */
+public class TieredIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyStore near;
+    private final IdempotencyStore far;
+
+    public TieredIdempotencyStore(IdempotencyStore near, IdempotencyStore far) {
+        this.near = near;
+        this.far = far;
+    }
+
+    @Override
+    public IdempotentResponse find(String key) {
+        IdempotentResponse response = near.find(key);
+        if (response == null) {
+            response = far.find(key);
+            if (response != null) {
+                near.put(key, response);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public void put(String key, IdempotentResponse response) {
+        far.put(key, response);
+        near.put(key, response);
+    }
+}
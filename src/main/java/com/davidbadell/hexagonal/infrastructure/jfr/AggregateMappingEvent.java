@@ -0,0 +1,47 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.domain.model.Order;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of one order mapped between aggregate and storage form
+ * Infrastructure Layer: Flight Recording
+ *
+ * One event per order, so the settings in {@code jfr/orders.jfc} only
+ * keep the slow ones.
+ */
+@Name("com.davidbadell.hexagonal.AggregateMapping")
+@Label("Aggregate Mapping")
+@Category({"Orders", "Persistence"})
+@Description("One order mapped to or from its entity or rows")
+@StackTrace(false)
+public class AggregateMappingEvent extends jdk.jfr.Event {
+
+    public static final String ENTITY_TO_AGGREGATE = "entity-to-aggregate";
+    public static final String AGGREGATE_TO_ENTITY = "aggregate-to-entity";
+    public static final String ROWS_TO_AGGREGATE = "rows-to-aggregate";
+
+    @Label("Mapping")
+    private String mapping;
+
+    @Label("Order Id")
+    private String orderId;
+
+    @Label("Line Count")
+    private int lineCount;
+
+    public void finish(String mapping, Order order) {
+        end();
+        if (shouldCommit()) {
+            this.mapping = mapping;
+            this.orderId = order.getId().getValue();
+            this.lineCount = order.getOrderLines().size();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flight recorder event of one domain event published to the broker
+ * Infrastructure Layer: Flight Recording
+ *
+ * Covers serialization and the hand-off to the channel; without publisher
+ * confirms the broker's acknowledgement is not part of it.
+ */
+@Name("com.davidbadell.hexagonal.EventPublication")
+@Label("Event Publication")
+@Category({"Orders", "Messaging"})
+@Description("One domain event serialized and sent to an exchange")
+@StackTrace(false)
+public class EventPublicationEvent extends jdk.jfr.Event {
+
+    @Label("Event Type")
+    private String eventType;
+
+    @Label("Exchange")
+    private String exchange;
+
+    @Label("Order Id")
+    private String orderId;
+
+    @Label("Message Size")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    @Label("Failed")
+    private boolean failed;
+
+    /**
+     * Finish a publication; the message is null when serialization failed
+     */
+    public void finish(DomainEvent event, String exchange, String message, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.eventType = event.getEventType();
+            this.exchange = exchange;
+            this.orderId = orderId(event);
+            this.bytes = message != null ? message.getBytes(StandardCharsets.UTF_8).length : 0;
+            this.failed = failed;
+            commit();
+        }
+    }
+
+    private static String orderId(DomainEvent event) {
+        if (event instanceof OrderCreatedEvent created) {
+            return created.getOrderId().getValue();
+        }
+        if (event instanceof OrderCancelledEvent cancelled) {
+            return cancelled.getOrderId().getValue();
+        }
+        if (event instanceof OrderStatusChangedEvent changed) {
+            return changed.getOrderId().getValue();
+        }
+        return null;
+    }
+}
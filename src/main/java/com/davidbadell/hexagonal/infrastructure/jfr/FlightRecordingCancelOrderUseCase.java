@@ -0,0 +1,35 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
+
+/**
+ * Cancel use case decorator emitting a flight recorder event per call
+ * Infrastructure Layer: Flight Recording
+ */
+public class FlightRecordingCancelOrderUseCase implements CancelOrderUseCase {
+
+    private final CancelOrderUseCase delegate;
+
+    public FlightRecordingCancelOrderUseCase(CancelOrderUseCase delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId) {
+        return cancelOrder(orderId, null);
+    }
+
+    @Override
+    public OrderResponse cancelOrder(String orderId, String reason) {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        OrderResponse response = null;
+        try {
+            response = delegate.cancelOrder(orderId, reason);
+            return response;
+        } finally {
+            event.finish("cancelOrder", orderId, response, response == null);
+        }
+    }
+}
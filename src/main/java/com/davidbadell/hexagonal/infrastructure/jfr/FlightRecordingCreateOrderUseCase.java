@@ -0,0 +1,31 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+
+/**
+ * Create use case decorator emitting a flight recorder event per call
+ * Infrastructure Layer: Flight Recording
+ */
+public class FlightRecordingCreateOrderUseCase implements CreateOrderUseCase {
+
+    private final CreateOrderUseCase delegate;
+
+    public FlightRecordingCreateOrderUseCase(CreateOrderUseCase delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public OrderResponse createOrder(CreateOrderCommand command) {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        OrderResponse response = null;
+        try {
+            response = delegate.createOrder(command);
+            return response;
+        } finally {
+            event.finish("createOrder", null, response, response == null);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
+
+/**
+ * Statistics use case decorator emitting a flight recorder event per call
+ * Infrastructure Layer: Flight Recording
+ */
+public class FlightRecordingGetOrderStatisticsUseCase implements GetOrderStatisticsUseCase {
+
+    private final GetOrderStatisticsUseCase delegate;
+
+    public FlightRecordingGetOrderStatisticsUseCase(GetOrderStatisticsUseCase delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public OrderStatistics getStatistics() {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        OrderStatistics statistics = null;
+        try {
+            statistics = delegate.getStatistics();
+            return statistics;
+        } finally {
+            event.finish("getStatistics", 0, 0, statistics == null);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query use case decorator emitting a flight recorder event per call
+ * Infrastructure Layer: Flight Recording
+ *
+ * Summaries carry no lines and are recorded with a line count of 0.
+ */
+public class FlightRecordingGetOrderUseCase implements GetOrderUseCase {
+
+    private final GetOrderUseCase delegate;
+
+    public FlightRecordingGetOrderUseCase(GetOrderUseCase delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<OrderResponse> getOrderById(String orderId) {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        Optional<OrderResponse> order = null;
+        try {
+            order = delegate.getOrderById(orderId);
+            return order;
+        } finally {
+            event.finish("getOrderById", orderId, order != null ? order.orElse(null) : null, order == null);
+        }
+    }
+
+    @Override
+    public List<OrderResponse> getOrdersByCustomerId(String customerId) {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        List<OrderResponse> orders = null;
+        try {
+            orders = delegate.getOrdersByCustomerId(customerId);
+            return orders;
+        } finally {
+            event.finish("getOrdersByCustomerId", orders);
+        }
+    }
+
+    @Override
+    public List<OrderSummary> getOrderSummariesByCustomerId(String customerId, int page, int size) {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        List<OrderSummary> summaries = null;
+        try {
+            summaries = delegate.getOrderSummariesByCustomerId(customerId, page, size);
+            return summaries;
+        } finally {
+            event.finish("getOrderSummariesByCustomerId", summaries != null ? summaries.size() : 0, 0,
+                    summaries == null);
+        }
+    }
+
+    @Override
+    public List<OrderResponse> queryOrders(OrderQuery query) {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        List<OrderResponse> orders = null;
+        try {
+            orders = delegate.queryOrders(query);
+            return orders;
+        } finally {
+            event.finish("queryOrders", orders);
+        }
+    }
+}
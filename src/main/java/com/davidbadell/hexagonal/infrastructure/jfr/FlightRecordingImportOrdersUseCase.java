@@ -0,0 +1,43 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.application.dto.ImportOrderCommand;
+import com.davidbadell.hexagonal.application.dto.ImportResult;
+import com.davidbadell.hexagonal.application.port.in.ImportOrdersUseCase;
+
+import java.util.List;
+
+/**
+ * Import use case decorator emitting a flight recorder event per batch
+ * Infrastructure Layer: Flight Recording
+ *
+ * Counts the orders and lines of the whole batch, rejected ones included.
+ */
+public class FlightRecordingImportOrdersUseCase implements ImportOrdersUseCase {
+
+    private final ImportOrdersUseCase delegate;
+
+    public FlightRecordingImportOrdersUseCase(ImportOrdersUseCase delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ImportResult importOrders(List<ImportOrderCommand> commands) {
+        UseCaseExecutionEvent event = new UseCaseExecutionEvent();
+        event.begin();
+        ImportResult result = null;
+        try {
+            result = delegate.importOrders(commands);
+            return result;
+        } finally {
+            event.finish("importOrders", commands.size(), event.isEnabled() ? lines(commands) : 0, result == null);
+        }
+    }
+
+    private static int lines(List<ImportOrderCommand> commands) {
+        int lines = 0;
+        for (ImportOrderCommand command : commands) {
+            lines += command.getItems() != null ? command.getItems().size() : 0;
+        }
+        return lines;
+    }
+}
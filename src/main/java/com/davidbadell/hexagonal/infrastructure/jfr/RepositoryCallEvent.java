@@ -0,0 +1,91 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.domain.model.Order;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+
+/**
+ * Flight recorder event of one OrderRepository call reaching the store
+ * Infrastructure Layer: Flight Recording
+ *
+ * Used like {@link UseCaseExecutionEvent}. The row count is the number
+ * of orders, ids or aggregates returned or written, or -1 when the port
+ * does not report it.
+ */
+@Name("com.davidbadell.hexagonal.RepositoryCall")
+@Label("Repository Call")
+@Category({"Orders", "Persistence"})
+@Description("One call of the order store, below the caches and bulkheads")
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Order Id")
+    private String orderId;
+
+    @Label("Row Count")
+    private int rowCount;
+
+    @Label("Line Count")
+    @Description("Order lines of all the orders read or written")
+    private int lineCount;
+
+    @Label("Failed")
+    private boolean failed;
+
+    /**
+     * Finish a call about one order; a null order was not found or failed
+     */
+    public void finish(String operation, String orderId, Order order, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.orderId = orderId != null || order == null ? orderId : order.getId().getValue();
+            this.rowCount = order != null ? 1 : 0;
+            this.lineCount = order != null ? order.getOrderLines().size() : 0;
+            this.failed = failed;
+            commit();
+        }
+    }
+
+    /**
+     * Finish a call reading or writing orders; a null collection means the call failed
+     */
+    public void finish(String operation, Collection<Order> orders, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.failed = failed || orders == null;
+            if (orders != null) {
+                this.rowCount = orders.size();
+                for (Order order : orders) {
+                    this.lineCount += order.getOrderLines().size();
+                }
+                this.orderId = orders.size() == 1 ? orders.iterator().next().getId().getValue() : null;
+            }
+            commit();
+        }
+    }
+
+    /**
+     * Finish a call that returns no aggregates
+     */
+    public void finish(String operation, String orderId, int rowCount, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.orderId = orderId;
+            this.rowCount = rowCount;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.davidbadell.hexagonal.infrastructure.jfr;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * Flight recorder event of one use case call
+ * Infrastructure Layer: Flight Recording
+ *
+ * Create it, call {@code begin()} and then one of the {@code finish}
+ * methods; fields are only filled in when the event is recorded, so an
+ * event costs next to nothing while no recording is running.
+ */
+@Name("com.davidbadell.hexagonal.UseCaseExecution")
+@Label("Use Case Execution")
+@Category({"Orders", "Application"})
+@Description("One call of an input port")
+@StackTrace(false)
+public class UseCaseExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Use Case")
+    private String useCase;
+
+    @Label("Order Id")
+    @Description("Order the call was about, if it was about one")
+    private String orderId;
+
+    @Label("Orders")
+    private int orderCount;
+
+    @Label("Line Count")
+    @Description("Order lines of all the orders returned or written")
+    private int lineCount;
+
+    @Label("Failed")
+    private boolean failed;
+
+    /**
+     * Finish a call about one order; the order id defaults to the response's
+     */
+    public void finish(String useCase, String orderId, OrderResponse order, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.useCase = useCase;
+            this.orderId = orderId != null || order == null ? orderId : order.getOrderId();
+            this.orderCount = order != null ? 1 : 0;
+            this.lineCount = order != null ? order.getItems().size() : 0;
+            this.failed = failed;
+            commit();
+        }
+    }
+
+    /**
+     * Finish a call returning orders; a null list means the call failed
+     */
+    public void finish(String useCase, List<OrderResponse> orders) {
+        end();
+        if (shouldCommit()) {
+            this.useCase = useCase;
+            this.failed = orders == null;
+            if (orders != null) {
+                this.orderCount = orders.size();
+                for (OrderResponse order : orders) {
+                    this.lineCount += order.getItems().size();
+                }
+                this.orderId = orders.size() == 1 ? orders.get(0).getOrderId() : null;
+            }
+            commit();
+        }
+    }
+
+    /**
+     * Finish a call with counts worked out by the caller
+     */
+    public void finish(String useCase, int orderCount, int lineCount, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.useCase = useCase;
+            this.orderCount = orderCount;
+            this.lineCount = lineCount;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
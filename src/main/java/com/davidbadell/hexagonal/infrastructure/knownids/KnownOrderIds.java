@@ -0,0 +1,187 @@
+package com.davidbadell.hexagonal.infrastructure.knownids;
+
+import com.davidbadell.hexagonal.application.port.out.OrderKeysetRepository;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The set of order ids known to exist, as a scalable bloom filter
+ * Infrastructure Layer: Known Order Ids
+ *
+ * Built by scanning all ids in chunks and rebuilt every interval, so that
+ * deleted orders and orders written by other instances are eventually
+ * accounted for; ids saved through this instance are added right away.
+ * Ids added while a rebuild runs go to both the old and the new filter.
+ * An id a filter already reports is not added again, so the filters
+ * only grow with distinct ids.
+ * Until the first build completes every id is reported as possibly known.
+ */
+public class KnownOrderIds implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownOrderIds.class);
+
+    private final OrderKeysetRepository repository;
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private final int scanBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile ScalableBloomFilter current;
+    private volatile ScalableBloomFilter rebuilding;
+
+    public KnownOrderIds(OrderKeysetRepository repository, long initialCapacity, double falsePositiveRate,
+                         int scanBatchSize) {
+        this.repository = repository;
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.scanBatchSize = scanBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-known-ids");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Build the filter now, in the background, and rebuild it every interval
+     */
+    public void start(Duration rebuildInterval) {
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, 0, rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Scan all order ids into a new filter and swap it in
+     *
+     * @return the number of ids scanned
+     */
+    public synchronized long rebuild() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(
+                Math.max(initialCapacity, current != null ? current.count() : 0), falsePositiveRate);
+        rebuilding = filter;
+        try {
+            long scanned = 0;
+            String after = null;
+            List<OrderId> chunk;
+            do {
+                chunk = repository.findIdsAfter(after, scanBatchSize);
+                for (OrderId orderId : chunk) {
+                    filter.add(orderId.getValue());
+                }
+                scanned += chunk.size();
+                if (!chunk.isEmpty()) {
+                    after = chunk.get(chunk.size() - 1).getValue();
+                }
+            } while (chunk.size() == scanBatchSize);
+            current = filter;
+            return scanned;
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * Record an id being stored
+     *
+     * Called both before the order is stored, so that it is never reported
+     * missing once visible, and after, so that a rebuild whose scan ran
+     * before the commit still gets it. The rebuilding filter is read first:
+     * when it is already gone, the rebuilt one is current.
+     */
+    public void add(OrderId orderId) {
+        String id = orderId.getValue();
+        ScalableBloomFilter next = rebuilding;
+        if (next != null && !next.mightContain(id)) {
+            next.add(id);
+        }
+        ScalableBloomFilter filter = current;
+        if (filter != null && !filter.mightContain(id)) {
+            filter.add(id);
+        }
+    }
+
+    /**
+     * @return false if the order definitely does not exist
+     */
+    public boolean mightExist(OrderId orderId) {
+        ScalableBloomFilter filter = current;
+        if (filter == null) {
+            return true;
+        }
+        if (filter.mightContain(orderId.getValue())) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Record that an id let through was not found
+     */
+    public void recordMiss() {
+        if (current != null) {
+            falsePositives.increment();
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public long getCount() {
+        ScalableBloomFilter filter = current;
+        return filter != null ? filter.count() : 0;
+    }
+
+    public long getMemoryBytes() {
+        ScalableBloomFilter filter = current;
+        ScalableBloomFilter next = rebuilding;
+        return (filter != null ? filter.memoryBytes() : 0) + (next != null ? next.memoryBytes() : 0);
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        ScalableBloomFilter filter = current;
+        return filter != null ? filter.expectedFalsePositiveRate() : 0;
+    }
+
+    /**
+     * False positives among the lookups the filter let through
+     */
+    public double getObservedFalsePositiveRate() {
+        long through = passed.sum();
+        return through == 0 ? 0 : falsePositives.sum() / (double) through;
+    }
+
+    public long getRejected() { return rejected.sum(); }
+    public long getPassed() { return passed.sum(); }
+    public long getFalsePositives() { return falsePositives.sum(); }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void rebuildQuietly() {
+        try {
+            long started = System.nanoTime();
+            long scanned = rebuild();
+            logger.info("Known order ids rebuilt from {} ids in {} ms, {} bytes", scanned,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), getMemoryBytes());
+        } catch (RuntimeException e) {
+            logger.warn("Cannot rebuild the known order ids", e);
+        }
+    }
+}
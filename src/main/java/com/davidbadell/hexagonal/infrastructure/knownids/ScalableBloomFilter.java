@@ -0,0 +1,199 @@
+package com.davidbadell.hexagonal.infrastructure.knownids;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable bloom filter of strings
+ * Infrastructure Layer: Known Order Ids
+ *
+ * A chain of bloom filters (Almeida et al., "Scalable Bloom Filters"):
+ * when the last one holds its capacity, a new one twice as large and with
+ * half the false positive rate is added, so the overall false positive
+ * rate stays under the target however many keys are added. Adds are
+ * lock-free except when a filter is added; lookups never lock.
+ */
+public class ScalableBloomFilter {
+
+    private static final double TIGHTENING = 0.5;
+    private static final int GROWTH = 2;
+
+    private final List<Slice> slices = new CopyOnWriteArrayList<>();
+    private final double targetRate;
+
+    /**
+     * @param initialCapacity Keys the first filter holds
+     * @param falsePositiveRate Overall false positive rate to stay under
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        this.targetRate = falsePositiveRate;
+        // The rates of the chain, p0 * r^i, sum up to p0 / (1 - r)
+        slices.add(new Slice(initialCapacity, falsePositiveRate * (1 - TIGHTENING)));
+    }
+
+    public void add(String key) {
+        long hash1 = hash(key, 0);
+        long hash2 = hash(key, 0x9E3779B97F4A7C15L) | 1;
+        Slice last = slices.get(slices.size() - 1);
+        if (!last.tryAdd(hash1, hash2)) {
+            synchronized (slices) {
+                last = slices.get(slices.size() - 1);
+                if (last.isFull()) {
+                    last = new Slice(last.capacity * GROWTH, last.rate * TIGHTENING);
+                    slices.add(last);
+                }
+            }
+            last.add(hash1, hash2);
+        }
+    }
+
+    /**
+     * @return false if the key was definitely never added
+     */
+    public boolean mightContain(String key) {
+        long hash1 = hash(key, 0);
+        long hash2 = hash(key, 0x9E3779B97F4A7C15L) | 1;
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keys added so far; a key added twice counts twice
+     */
+    public long count() {
+        long count = 0;
+        for (Slice slice : slices) {
+            count += slice.count.get();
+        }
+        return count;
+    }
+
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Slice slice : slices) {
+            bytes += slice.bits.length() * (long) Long.BYTES;
+        }
+        return bytes;
+    }
+
+    public int sliceCount() {
+        return slices.size();
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * The false positive rate expected from the keys added so far
+     */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1;
+        for (Slice slice : slices) {
+            allNegative *= 1 - slice.expectedRate();
+        }
+        return 1 - allNegative;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer
+     */
+    private static long hash(String key, long seed) {
+        long hash = 0xCBF29CE484222325L ^ seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * One bloom filter sized for a capacity and a false positive rate
+     */
+    private static final class Slice {
+        final long capacity;
+        final double rate;
+        final long bitCount;
+        final int hashCount;
+        final AtomicLongArray bits;
+        final AtomicLong count = new AtomicLong();
+
+        Slice(long capacity, double rate) {
+            this.capacity = capacity;
+            this.rate = rate;
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(rate) / (ln2 * ln2));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64L;
+            this.hashCount = Math.max(1, (int) Math.round(bitCount / (double) capacity * ln2));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        /**
+         * Add unless the slice is full
+         */
+        boolean tryAdd(long hash1, long hash2) {
+            long taken;
+            do {
+                taken = count.get();
+                if (taken >= capacity) {
+                    return false;
+                }
+            } while (!count.compareAndSet(taken, taken + 1));
+            set(hash1, hash2);
+            return true;
+        }
+
+        void add(long hash1, long hash2) {
+            count.incrementAndGet();
+            set(hash1, hash2);
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedRate() {
+            return Math.pow(1 - Math.exp(-hashCount * (double) count.get() / bitCount), hashCount);
+        }
+
+        private void set(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((bits.get(word) & mask) == 0) {
+                    bits.getAndAccumulate(word, mask, (current, set) -> current | set);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.davidbadell.hexagonal.infrastructure.projection;
+
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.LocalEventSubscriber;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Materialized lists of each customer's most recent orders
+ * Infrastructure Layer: Projection
+ *
+ * A customer's list is loaded from the database on the first request,
+ * then kept up to date from the local event bus: new orders are inserted,
+ * status changes and cancellations patch the summary in place. Each list
+ * holds at most {@code maxOrdersPerCustomer} summaries and the lists of at
+ * most {@code maxCustomers} customers are kept, the least recently active
+ * customer (request or new order) being evicted first. A list is reloaded
+ * after {@code ttl}, which bounds how stale orders written by other
+ * instances can get.
+ *
+ * Events that arrive while a list is loading are queued and replayed on
+ * the loaded list; a patch older than the summary it applies to is
+ * ignored.
+ */
+public class CustomerOrderSummaries implements LocalEventSubscriber {
+
+    /**
+     * Reads a page of a customer's summaries from the database
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+        List<OrderSummary> load(String customerId, int page, int size);
+    }
+
+    private final int maxOrdersPerCustomer;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private final LinkedHashMap<String, CustomerOrders> customers;
+    private final Map<String, String> customerByOrder = new HashMap<>();
+    private final List<CustomerOrders> loading = new ArrayList<>();
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CustomerOrderSummaries(int maxCustomers, int maxOrdersPerCustomer, Duration ttl, Clock clock) {
+        if (maxCustomers <= 0 || maxOrdersPerCustomer <= 0) {
+            throw new IllegalArgumentException("Max customers and max orders per customer must be positive");
+        }
+        this.maxOrdersPerCustomer = maxOrdersPerCustomer;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.customers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CustomerOrders> eldest) {
+                if (size() <= maxCustomers) {
+                    return false;
+                }
+                unindex(eldest.getValue().recent);
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * One page of a customer's orders, most recent first
+     *
+     * Served from the customer's list when the page is within it, otherwise
+     * read with the loader.
+     */
+    public List<OrderSummary> getPage(String customerId, int page, int size, PageLoader loader) {
+        if (page < 0 || size <= 0) {
+            return loader.load(customerId, page, size);
+        }
+        long offset = (long) page * size;
+        CustomerOrders orders;
+        boolean load = false;
+        synchronized (lock) {
+            orders = customers.get(customerId);
+            if (orders != null && orders.isLoaded() && clock.millis() - orders.loadedAt >= ttlMillis) {
+                customers.remove(customerId);
+                unindex(orders.recent);
+                orders = null;
+            }
+            if (orders == null && offset < maxOrdersPerCustomer) {
+                orders = new CustomerOrders(customerId);
+                customers.put(customerId, orders);
+                loading.add(orders);
+                load = true;
+            }
+            List<OrderSummary> slice = slice(orders, offset, size);
+            if (slice != null) {
+                served.increment();
+                return slice;
+            }
+        }
+        if (load) {
+            this.load(orders, loader);
+            synchronized (lock) {
+                List<OrderSummary> slice = slice(orders, offset, size);
+                if (slice != null) {
+                    served.increment();
+                    return slice;
+                }
+            }
+        }
+        fallbacks.increment();
+        return loader.load(customerId, page, size);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, long sequence, boolean endOfBatch) {
+        synchronized (lock) {
+            if (event instanceof OrderCreatedEvent created) {
+                CustomerOrders orders = customers.get(created.getCustomerId().getValue());
+                if (orders != null) {
+                    apply(orders, event);
+                }
+            } else if (event instanceof OrderStatusChangedEvent || event instanceof OrderCancelledEvent) {
+                String customerId = customerByOrder.get(orderIdOf(event));
+                CustomerOrders orders = customerId != null ? customers.get(customerId) : null;
+                if (orders != null) {
+                    apply(orders, event);
+                }
+                // The order may be on a list being loaded, not yet indexed
+                for (CustomerOrders pending : loading) {
+                    pending.pending.add(event);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "customer-orders";
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return customers.size();
+        }
+    }
+
+    public long getServed() { return served.sum(); }
+    public long getLoads() { return loads.sum(); }
+    public long getFallbacks() { return fallbacks.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    private void load(CustomerOrders orders, PageLoader loader) {
+        List<OrderSummary> loaded;
+        try {
+            // One more than kept tells whether the list holds all orders
+            loaded = loader.load(orders.customerId, 0, maxOrdersPerCustomer + 1);
+        } catch (RuntimeException | Error e) {
+            synchronized (lock) {
+                loading.remove(orders);
+                customers.remove(orders.customerId, orders);
+            }
+            throw e;
+        }
+        loads.increment();
+        synchronized (lock) {
+            loading.remove(orders);
+            orders.complete = loaded.size() <= maxOrdersPerCustomer;
+            orders.recent.addAll(loaded.subList(0, Math.min(loaded.size(), maxOrdersPerCustomer)));
+            List<DomainEvent> pending = orders.pending;
+            orders.pending = null;
+            orders.loadedAt = clock.millis();
+            boolean kept = customers.get(orders.customerId) == orders;
+            if (kept) {
+                orders.recent.forEach(summary -> customerByOrder.put(summary.getOrderId(), orders.customerId));
+            }
+            for (DomainEvent event : pending) {
+                apply(orders, event);
+            }
+            if (!kept) {
+                unindex(orders.recent);
+            }
+        }
+    }
+
+    /**
+     * Apply an event to a list; queued while the list is loading
+     */
+    private void apply(CustomerOrders orders, DomainEvent event) {
+        if (!orders.isLoaded()) {
+            orders.pending.add(event);
+            return;
+        }
+        if (event instanceof OrderCreatedEvent created) {
+            String orderId = created.getOrderId().getValue();
+            if (indexOf(orders, orderId) >= 0) {
+                return;
+            }
+            OrderSummary summary = new OrderSummary(orderId, orders.customerId, OrderStatus.PENDING.name(),
+                    created.getTotal().getAmount(), created.getOccurredOn(), created.getOccurredOn());
+            int position = 0;
+            while (position < orders.recent.size()
+                    && OrderSummary.RESULT_ORDER.compare(orders.recent.get(position), summary) < 0) {
+                position++;
+            }
+            orders.recent.add(position, summary);
+            customerByOrder.put(orderId, orders.customerId);
+            if (orders.recent.size() > maxOrdersPerCustomer) {
+                OrderSummary dropped = orders.recent.remove(orders.recent.size() - 1);
+                customerByOrder.remove(dropped.getOrderId());
+                orders.complete = false;
+            }
+        } else if (event instanceof OrderStatusChangedEvent changed) {
+            patch(orders, changed.getOrderId().getValue(), changed.getNewStatus(), changed.getOccurredOn());
+        } else if (event instanceof OrderCancelledEvent cancelled) {
+            patch(orders, cancelled.getOrderId().getValue(), OrderStatus.CANCELLED, cancelled.getOccurredOn());
+        }
+    }
+
+    private void patch(CustomerOrders orders, String orderId, OrderStatus status, LocalDateTime at) {
+        int index = indexOf(orders, orderId);
+        if (index < 0) {
+            return;
+        }
+        OrderSummary summary = orders.recent.get(index);
+        if (summary.getUpdatedAt() == null || !at.isBefore(summary.getUpdatedAt())) {
+            orders.recent.set(index, summary.withStatus(status.name(), at));
+        }
+    }
+
+    /**
+     * The requested page if the list can answer it, otherwise null
+     */
+    private static List<OrderSummary> slice(CustomerOrders orders, long offset, int size) {
+        if (orders == null || !orders.isLoaded()) {
+            return null;
+        }
+        int held = orders.recent.size();
+        if (!orders.complete && offset + size > held) {
+            return null;
+        }
+        int from = (int) Math.min(offset, held);
+        int to = (int) Math.min(offset + size, held);
+        return new ArrayList<>(orders.recent.subList(from, to));
+    }
+
+    private static int indexOf(CustomerOrders orders, String orderId) {
+        for (int i = 0; i < orders.recent.size(); i++) {
+            if (orders.recent.get(i).getOrderId().equals(orderId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void unindex(List<OrderSummary> summaries) {
+        summaries.forEach(summary -> customerByOrder.remove(summary.getOrderId()));
+    }
+
+    private static String orderIdOf(DomainEvent event) {
+        if (event instanceof OrderStatusChangedEvent changed) {
+            return changed.getOrderId().getValue();
+        }
+        return ((OrderCancelledEvent) event).getOrderId().getValue();
+    }
+
+    private static final class CustomerOrders {
+        final String customerId;
+        // Most recent first
+        final List<OrderSummary> recent = new ArrayList<>();
+        boolean complete;
+        long loadedAt;
+        // Events received while loading; null once loaded
+        List<DomainEvent> pending = new ArrayList<>();
+
+        CustomerOrders(String customerId) {
+            this.customerId = customerId;
+        }
+
+        boolean isLoaded() {
+            return pending == null;
+        }
+    }
+}
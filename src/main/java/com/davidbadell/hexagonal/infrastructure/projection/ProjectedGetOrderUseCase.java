@@ -0,0 +1,47 @@
+package com.davidbadell.hexagonal.infrastructure.projection;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query use case decorator serving customer order lists from the projection
+ * Infrastructure Layer: Projection
+ *
+ * Pages within a customer's materialized list are served from memory;
+ * older pages, and everything else, reach the delegate.
+ */
+public class ProjectedGetOrderUseCase implements GetOrderUseCase {
+
+    private final GetOrderUseCase delegate;
+    private final CustomerOrderSummaries summaries;
+
+    public ProjectedGetOrderUseCase(GetOrderUseCase delegate, CustomerOrderSummaries summaries) {
+        this.delegate = delegate;
+        this.summaries = summaries;
+    }
+
+    @Override
+    public Optional<OrderResponse> getOrderById(String orderId) {
+        return delegate.getOrderById(orderId);
+    }
+
+    @Override
+    public List<OrderResponse> getOrdersByCustomerId(String customerId) {
+        return delegate.getOrdersByCustomerId(customerId);
+    }
+
+    @Override
+    public List<OrderSummary> getOrderSummariesByCustomerId(String customerId, int page, int size) {
+        return summaries.getPage(customerId, page, size, delegate::getOrderSummariesByCustomerId);
+    }
+
+    @Override
+    public List<OrderResponse> queryOrders(OrderQuery query) {
+        return delegate.queryOrders(query);
+    }
+}
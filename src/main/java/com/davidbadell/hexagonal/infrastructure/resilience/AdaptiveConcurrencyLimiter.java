@@ -0,0 +1,145 @@
+package com.davidbadell.hexagonal.infrastructure.resilience;
+
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.sql.SQLTransientException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limiter (gradient algorithm)
+ * Infrastructure Layer: Resilience
+ *
+ * Keeps an in-flight limit that follows observed latency: while calls
+ * run close to the long-term average latency the limit grows by a small
+ * queue allowance, and when latency rises above the tolerated ratio the
+ * limit shrinks proportionally. Acquiring a permit never blocks; callers
+ * over the limit fail fast with {@link ConcurrencyLimitExceededException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int LONG_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Run the operation if a permit is available, recording its latency
+     */
+    public <T> T execute(Supplier<T> operation) {
+        int startInFlight = acquire();
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            dropped = isOverloadSignal(e);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - start, startInFlight, dropped);
+        }
+    }
+
+    public void execute(Runnable operation) {
+        execute(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private int acquire() {
+        while (true) {
+            int current = inFlight.get();
+            int currentLimit = getLimit();
+            if (current >= currentLimit) {
+                rejected.increment();
+                throw new ConcurrencyLimitExceededException(name, currentLimit);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int startInFlight, boolean dropped) {
+        double current = limit;
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+
+        double newLimit;
+        if (dropped) {
+            newLimit = current * MIN_GRADIENT;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / Math.max(1L, rttNanos)));
+            newLimit = current * gradient + Math.sqrt(current);
+            // Do not grow while the limit is not actually being used
+            if (startInFlight < current / 2) {
+                newLimit = Math.min(newLimit, current);
+            }
+        }
+
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Timeouts and transient failures of the store, e.g. QueryTimeoutException,
+     * and running out of pool connections
+     */
+    private boolean isOverloadSignal(RuntimeException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TransientDataAccessException
+                    || t instanceof CannotGetJdbcConnectionException
+                    || t instanceof SQLTransientException
+                    || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,27 @@
+package com.davidbadell.hexagonal.infrastructure.resilience;
+
+/**
+ * Exception thrown when a bulkhead has no free permits
+ *
+ * Callers are rejected immediately instead of queueing on the
+ * connection pool, so the adapters can answer with a retryable error.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final String bulkhead;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String bulkhead, int limit) {
+        super(String.format("Bulkhead '%s' is at its concurrency limit of %d", bulkhead, limit));
+        this.bulkhead = bulkhead;
+        this.limit = limit;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,128 @@
+package com.davidbadell.hexagonal.infrastructure.startup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Training run for the class-data-sharing archive
+ * Infrastructure Layer: Startup
+ *
+ * Once the application accepts traffic, drives the REST API the way real
+ * traffic does (create, read, query, cancel, a not-found error and the
+ * health probe) from a separate thread, so that the controller, Jackson, Hibernate and the SQL paths
+ * load their classes. Then it exits the JVM, which writes the archive
+ * requested with -XX:ArchiveClassesAtExit. A failing request exits with
+ * status 1 so that an image build with a broken application stops here.
+ */
+public class CdsTrainingWorkload implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CdsTrainingWorkload.class);
+
+    private final ObjectMapper objectMapper;
+    private final int iterations;
+    private final int customers;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+
+    public CdsTrainingWorkload(ObjectMapper objectMapper, int iterations, int customers) {
+        this.objectMapper = objectMapper;
+        this.iterations = iterations;
+        this.customers = Math.max(1, customers);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port", "8080");
+        // Readiness only switches to ACCEPTING_TRAFFIC after this event
+        Thread thread = new Thread(() -> run(context), "cds-training");
+        thread.start();
+    }
+
+    private void run(ConfigurableApplicationContext context) {
+        ApplicationAvailability availability = context.getBean(ApplicationAvailability.class);
+        long start = System.nanoTime();
+        int exitCode = 0;
+        try {
+            while (availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+                Thread.sleep(10);
+            }
+            for (int i = 0; i < iterations; i++) {
+                runIteration(i);
+            }
+            logger.info("CDS training finished: {} iterations in {} ms", iterations,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (IOException | RuntimeException e) {
+            logger.error("CDS training request failed", e);
+            exitCode = 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    private void runIteration(int iteration) throws IOException, InterruptedException {
+        String customerId = "training-customer-" + (iteration % customers);
+        String body = String.format(Locale.ROOT,
+                "{\"customerId\":\"%s\",\"items\":[" +
+                        "{\"productId\":\"product-%d\",\"productName\":\"Product %d\",\"quantity\":%d,\"price\":%d.99}," +
+                        "{\"productId\":\"product-%d\",\"productName\":\"Product %d\",\"quantity\":1,\"price\":5.00}]}",
+                customerId, iteration % 7, iteration % 7, 1 + iteration % 3, 10 + iteration % 50,
+                100 + iteration % 11, 100 + iteration % 11);
+        JsonNode created = objectMapper.readTree(send("POST", "/api/orders", body, 201));
+        String orderId = created.get("orderId").asText();
+
+        send("GET", "/api/orders/" + orderId, null, 200);
+        send("GET", "/api/orders?customerId=" + customerId + "&page=0&size=20", null, 200);
+        send("GET", "/api/orders/customer/" + customerId, null, 200);
+        if (iteration % 3 == 0) {
+            send("POST", "/api/orders/" + orderId + "/cancel", "{\"reason\":\"training\"}", 200);
+            // Cancelling twice takes the domain error path
+            send("POST", "/api/orders/" + orderId + "/cancel", null, 400);
+        }
+        if (iteration % 10 == 0) {
+            send("GET", "/api/orders?status=PENDING", null, 200);
+            send("GET", "/api/orders/unknown-" + iteration, null, 404);
+            send("GET", "/actuator/health", null, 200);
+        }
+    }
+
+    private String send(String method, String path, String body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode()
+                    + " instead of " + expectedStatus + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,291 @@
+package com.davidbadell.hexagonal.infrastructure.stats;
+
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
+import com.davidbadell.hexagonal.application.port.out.OrderStatisticsRepository;
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.LocalEventSubscriber;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live order counts by status and revenue by hour
+ * Infrastructure Layer: Statistics
+ *
+ * Kept up to date from the local event bus: creations, status changes and
+ * cancellations each touch a few striped LongAdders, and reading the
+ * statistics costs the same whatever the number of orders. Revenue is kept
+ * in cents per hour of order creation in a ring of {@code retention} hours,
+ * so a cancellation is taken out of the hour its order was placed in.
+ *
+ * Orders changed without an event (imports, other instances, a full bus)
+ * are caught by the periodic reconciliation with the repository. The first
+ * pass loads the counters; later passes only correct a difference that two
+ * consecutive passes found identical, so events still on the bus are not
+ * counted twice.
+ */
+public class OrderStatsCounters implements GetOrderStatisticsUseCase, LocalEventSubscriber, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatsCounters.class);
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final OrderStatisticsRepository repository;
+    private final Clock clock;
+    private final int retentionHours;
+    private final LongAdder[] byStatus = new LongAdder[STATUSES.length];
+    private final AtomicReferenceArray<HourBucket> hours;
+    private final LongAdder corrections = new LongAdder();
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this, only touched by reconcile()
+    private Map<String, Long> lastDrift = new HashMap<>();
+    private boolean loaded;
+    private volatile LocalDateTime lastReconciled;
+
+    public OrderStatsCounters(OrderStatisticsRepository repository, Duration retention, Clock clock) {
+        if (retention.toHours() < 24) {
+            throw new IllegalArgumentException("Retention must cover at least one day");
+        }
+        this.repository = repository;
+        this.clock = clock;
+        this.retentionHours = (int) retention.toHours();
+        this.hours = new AtomicReferenceArray<>(retentionHours);
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new LongAdder();
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load the counters now and reconcile them every interval
+     */
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, long sequence, boolean endOfBatch) {
+        if (event instanceof OrderCreatedEvent created) {
+            byStatus[OrderStatus.PENDING.ordinal()].increment();
+            HourBucket bucket = bucket(hourOf(created.getOccurredOn()), true);
+            if (bucket != null) {
+                bucket.orders.increment();
+                bucket.revenueCents.add(cents(created.getTotal()));
+            }
+        } else if (event instanceof OrderStatusChangedEvent changed) {
+            move(changed.getPreviousStatus(), changed.getNewStatus());
+        } else if (event instanceof OrderCancelledEvent cancelled) {
+            move(cancelled.getPreviousStatus(), OrderStatus.CANCELLED);
+            if (cancelled.getTotal() != null && cancelled.getOrderCreatedAt() != null) {
+                HourBucket bucket = bucket(hourOf(cancelled.getOrderCreatedAt()), false);
+                if (bucket != null) {
+                    bucket.revenueCents.add(-cents(cancelled.getTotal()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "order-stats";
+    }
+
+    @Override
+    public OrderStatistics getStatistics() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            counts.put(status, getCount(status));
+        }
+        List<OrderStatistics.HourlyTotals> today = new ArrayList<>();
+        long current = hourOf(now);
+        for (long hour = hourOf(now.toLocalDate().atStartOfDay()); hour <= current; hour++) {
+            HourBucket bucket = bucket(hour, false);
+            if (bucket != null && bucket.orders.sum() > 0) {
+                today.add(new OrderStatistics.HourlyTotals(timeOf(hour), bucket.orders.sum(),
+                        BigDecimal.valueOf(bucket.revenueCents.sum(), 2)));
+            }
+        }
+        return OrderStatistics.of(now, counts, today);
+    }
+
+    public long getCount(OrderStatus status) {
+        return byStatus[status.ordinal()].sum();
+    }
+
+    public long getOrdersToday() {
+        return sumToday(false);
+    }
+
+    public double getRevenueToday() {
+        return sumToday(true) / 100.0;
+    }
+
+    public long getCorrections() {
+        return corrections.sum();
+    }
+
+    public LocalDateTime getLastReconciled() {
+        return lastReconciled;
+    }
+
+    /**
+     * Compare the counters with the repository and correct lasting differences
+     *
+     * @return the number of counters corrected
+     */
+    public synchronized int reconcile() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long first = hourOf(now) - retentionHours + 1;
+        Map<OrderStatus, Long> counts = repository.countByStatus();
+        Map<Long, OrderStatistics.HourlyTotals> totals = new HashMap<>();
+        for (OrderStatistics.HourlyTotals hour : repository.totalsByCreatedHour(timeOf(first))) {
+            totals.put(hourOf(hour.getHour()), hour);
+        }
+
+        Map<String, Long> drift = new HashMap<>();
+        int corrected = 0;
+        for (OrderStatus status : STATUSES) {
+            corrected += correct(status.name(), byStatus[status.ordinal()], counts.getOrDefault(status, 0L), drift);
+        }
+        for (long hour = first; hour <= hourOf(now); hour++) {
+            OrderStatistics.HourlyTotals expected = totals.get(hour);
+            HourBucket bucket = bucket(hour, expected != null);
+            if (bucket == null) {
+                continue;
+            }
+            corrected += correct("orders@" + hour, bucket.orders, expected != null ? expected.getOrders() : 0, drift);
+            corrected += correct("revenue@" + hour, bucket.revenueCents,
+                    expected != null ? expected.getRevenue().movePointRight(2).longValueExact() : 0, drift);
+        }
+
+        if (loaded && corrected > 0) {
+            logger.info("Corrected {} order counters that drifted from the repository", corrected);
+            corrections.add(corrected);
+        }
+        lastDrift = drift;
+        loaded = true;
+        lastReconciled = now;
+        return corrected;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Cannot reconcile order counters with the repository", e);
+        }
+    }
+
+    private int correct(String key, LongAdder counter, long expected, Map<String, Long> drift) {
+        long difference = expected - counter.sum();
+        if (difference == 0) {
+            return 0;
+        }
+        if (!loaded || Long.valueOf(difference).equals(lastDrift.get(key))) {
+            counter.add(difference);
+            return 1;
+        }
+        drift.put(key, difference);
+        return 0;
+    }
+
+    private void move(OrderStatus from, OrderStatus to) {
+        if (from != null) {
+            byStatus[from.ordinal()].decrement();
+        }
+        byStatus[to.ordinal()].increment();
+    }
+
+    private long sumToday(boolean revenue) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long sum = 0;
+        long current = hourOf(now);
+        for (long hour = hourOf(now.toLocalDate().atStartOfDay()); hour <= current; hour++) {
+            HourBucket bucket = bucket(hour, false);
+            if (bucket != null) {
+                sum += revenue ? bucket.revenueCents.sum() : bucket.orders.sum();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * The bucket of an hour within the retention, created if asked to;
+     * null for hours that are out of range or not yet seen
+     */
+    private HourBucket bucket(long hour, boolean create) {
+        long current = hourOf(LocalDateTime.now(clock));
+        if (hour <= current - retentionHours || hour > current + 1) {
+            return null;
+        }
+        int slot = (int) Math.floorMod(hour, (long) retentionHours);
+        while (true) {
+            HourBucket bucket = hours.get(slot);
+            if (bucket != null && bucket.hour == hour) {
+                return bucket;
+            }
+            if (!create || (bucket != null && bucket.hour > hour)) {
+                return null;
+            }
+            // The slot holds an hour that fell out of the retention
+            HourBucket created = new HourBucket(hour);
+            if (hours.compareAndSet(slot, bucket, created)) {
+                return created;
+            }
+        }
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static LocalDateTime timeOf(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    private static long cents(Money money) {
+        return money == null ? 0 : money.getAmount().movePointRight(2).longValueExact();
+    }
+
+    private static final class HourBucket {
+        final long hour;
+        final LongAdder orders = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+
+        HourBucket(long hour) {
+            this.hour = hour;
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.davidbadell.hexagonal.application;
 import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
 import com.davidbadell.hexagonal.application.dto.OrderResponse;
 import com.davidbadell.hexagonal.application.port.out.EventPublisher;
+import com.davidbadell.hexagonal.application.port.out.OrderIdGenerator;
 import com.davidbadell.hexagonal.application.port.out.OrderRepository;
 import com.davidbadell.hexagonal.application.service.CreateOrderService;
 import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
 import com.davidbadell.hexagonal.domain.model.Order;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -94,6 +97,29 @@ class CreateOrderServiceTest {
         verify(eventPublisher, atLeastOnce()).publish(any(DomainEvent.class));
     }
 
+    @Test
+    @DisplayName("Should dispatch raised events to the local event bus")
+    void shouldDispatchToLocalEventBus() {
+        // Given
+        List<DomainEvent> dispatched = new ArrayList<>();
+        CreateOrderService service = new CreateOrderService(orderRepository, eventPublisher,
+                OrderIdGenerator.RANDOM, dispatched::addAll);
+        // The persisted copy comes back without the events, as from the database
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            return Order.reconstitute(order.getId(), order.getCustomerId(), order.getOrderLines(),
+                    order.getStatus(), order.getCreatedAt(), order.getUpdatedAt());
+        });
+
+        // When
+        OrderResponse response = service.createOrder(createSampleCommand());
+
+        // Then
+        assertThat(dispatched).singleElement()
+                .isInstanceOfSatisfying(OrderCreatedEvent.class,
+                        event -> assertThat(event.getOrderId().getValue()).isEqualTo(response.getOrderId()));
+    }
+
     @Test
     @DisplayName("Should calculate order total correctly")
     void shouldCalculateOrderTotalCorrectly() {
@@ -0,0 +1,99 @@
+package com.davidbadell.hexagonal.application;
+
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.application.dto.RepricingCheckpoint;
+import com.davidbadell.hexagonal.application.port.out.OrderKeysetRepository;
+import com.davidbadell.hexagonal.application.port.out.QuotedTotalsRepository;
+import com.davidbadell.hexagonal.application.port.out.RepricingCheckpointRepository;
+import com.davidbadell.hexagonal.application.service.RepriceOrdersService;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.service.PricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for RepriceOrdersService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reprice Orders Service Tests")
+class RepriceOrdersServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private OrderKeysetRepository keysetRepository;
+
+    @Mock
+    private QuotedTotalsRepository quotedTotalsRepository;
+
+    @Mock
+    private RepricingCheckpointRepository checkpointRepository;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpoint and only write changed totals")
+    void shouldResumeAndWriteChangedTotals() {
+        LocalDateTime started = LocalDateTime.of(2024, 1, 1, 11, 0);
+        when(checkpointRepository.findLatest()).thenReturn(
+                Optional.of(new RepricingCheckpoint("order-2", 2, 1, started, started, null)));
+        // $20.00: 21% tax and $5.99 shipping, already quoted; $200.00: 10% off, never quoted
+        when(keysetRepository.findPendingTotalsAfter("order-2", 2)).thenReturn(List.of(
+                new PendingOrderTotal(OrderId.of("order-3"), Money.of("20.00"), Money.of("30.19")),
+                new PendingOrderTotal(OrderId.of("order-4"), Money.of("200.00"), null)));
+        when(keysetRepository.findPendingTotalsAfter("order-4", 2)).thenReturn(List.of());
+
+        RepriceOrdersService service = new RepriceOrdersService(keysetRepository, quotedTotalsRepository,
+                checkpointRepository, new PricingService(), pool, 2, CLOCK);
+        RepricingCheckpoint result = service.repriceOrders(false);
+
+        verify(quotedTotalsRepository).updateQuotedTotals(Map.of(OrderId.of("order-4"), Money.of("217.80")));
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getScanned()).isEqualTo(4);
+        assertThat(result.getRepriced()).isEqualTo(2);
+        assertThat(result.getStartedAt()).isEqualTo(started);
+
+        ArgumentCaptor<RepricingCheckpoint> saved = ArgumentCaptor.forClass(RepricingCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues().get(0).getLastOrderId()).isEqualTo("order-4");
+        assertThat(saved.getAllValues().get(0).isCompleted()).isFalse();
+        assertThat(service.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should list the stored quotes of pending orders a chunk at most")
+    void shouldListQuotedTotals() {
+        List<PendingOrderTotal> quotes = List.of(
+                new PendingOrderTotal(OrderId.of("order-3"), Money.of("20.00"), Money.of("30.19")));
+        when(keysetRepository.findPendingTotalsAfter("order-2", 2)).thenReturn(quotes);
+
+        RepriceOrdersService service = new RepriceOrdersService(keysetRepository, quotedTotalsRepository,
+                checkpointRepository, new PricingService(), pool, 2, CLOCK);
+
+        assertThat(service.getQuotedTotals("order-2", 500)).isSameAs(quotes);
+        verifyNoInteractions(quotedTotalsRepository);
+    }
+}
@@ -0,0 +1,134 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.GroupCommittingOrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Order creation throughput and latency with and without group commit
+ *
+ * Creations are saved against a simulated store whose commits are
+ * serialized and take {@code commitMicros}, like a write-ahead log flushed
+ * on every commit, plus a few microseconds per inserted order. Throughput
+ * mode gives creations per millisecond over all threads, sample time mode
+ * the latency distribution of a single creation. Run it at several thread
+ * counts to get the curves:
+ *
+ * for t in 1 4 16 64; do
+ *   mvn -Pbenchmark verify -Dbenchmark.args="GroupCommitBenchmark -t $t -rf json -rff target/group-commit-$t.json"
+ * done
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+    private static final CustomerId CUSTOMER = CustomerId.of("customer-1");
+
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        @Param({"false", "true"})
+        public boolean groupCommit;
+
+        @Param({"1000"})
+        public long commitMicros;
+
+        OrderRepository repository;
+
+        @Setup
+        public void setUp() {
+            SimulatedStore store = new SimulatedStore(TimeUnit.MICROSECONDS.toNanos(commitMicros));
+            repository = groupCommit ? new GroupCommittingOrderRepository(store, Duration.ofMillis(2), 64) : store;
+        }
+    }
+
+    @Benchmark
+    public Order createOrder(Store store) {
+        return store.repository.save(new Order(OrderId.generate(), CUSTOMER));
+    }
+
+    /**
+     * One commit at a time, each costing a flush and a little per order
+     */
+    static final class SimulatedStore implements OrderRepository {
+
+        private static final long ROW_NANOS = 5_000;
+
+        private final long commitNanos;
+
+        SimulatedStore(long commitNanos) {
+            this.commitNanos = commitNanos;
+        }
+
+        @Override
+        public Order save(Order order) {
+            commit(1);
+            return order;
+        }
+
+        @Override
+        public void insertAll(List<Order> orders) {
+            commit(orders.size());
+        }
+
+        private synchronized void commit(int rows) {
+            long deadline = System.nanoTime() + commitNanos + rows * ROW_NANOS;
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+
+        @Override
+        public Optional<Order> findById(OrderId orderId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Order> findByCustomerId(CustomerId customerId) {
+            return List.of();
+        }
+
+        @Override
+        public List<Order> findAll() {
+            return List.of();
+        }
+
+        @Override
+        public List<Order> query(OrderQuery query) {
+            return List.of();
+        }
+
+        @Override
+        public void deleteById(OrderId orderId) {
+        }
+
+        @Override
+        public boolean existsById(OrderId orderId) {
+            return false;
+        }
+    }
+}
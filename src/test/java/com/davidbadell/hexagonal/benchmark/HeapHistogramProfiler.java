@@ -0,0 +1,88 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMH profiler reporting the live heap after every iteration
+ *
+ * Takes a class histogram through the DiagnosticCommand MBean (the same
+ * as {@code jcmd <pid> GC.class_histogram}, which runs a full GC first), so
+ * the numbers are what the objects retained by the benchmark state cost.
+ * Reports the total live bytes and, for the domain value objects, strings
+ * and their byte arrays, the instance count and bytes. With an "orders"
+ * parameter the total is also given per order.
+ *
+ * Use with: -prof com.davidbadell.hexagonal.benchmark.HeapHistogramProfiler
+ */
+public class HeapHistogramProfiler implements InternalProfiler {
+
+    private static final Map<String, String> TRACKED = Map.of(
+            "com.davidbadell.hexagonal.domain.model.CustomerId", "CustomerId",
+            "com.davidbadell.hexagonal.domain.model.ProductId", "ProductId",
+            "com.davidbadell.hexagonal.domain.model.Quantity", "Quantity",
+            "com.davidbadell.hexagonal.domain.model.OrderLine", "OrderLine",
+            "java.lang.String", "String",
+            "[B", "byteArray");
+
+    @Override
+    public String getDescription() {
+        return "Live heap class histogram after each iteration";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    }
+
+    @Override
+    public Collection<? extends Result<?>> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams,
+                                                       IterationResult result) {
+        String histogram;
+        try {
+            histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "gcClassHistogram",
+                    new Object[] {new String[0]},
+                    new String[] {String[].class.getName()});
+        } catch (Exception e) {
+            return Collections.emptyList();
+        }
+
+        List<Result<?>> results = new ArrayList<>();
+        for (String line : histogram.split("\n")) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length >= 3 && columns[0].equals("Total")) {
+                double total = Double.parseDouble(columns[2]);
+                results.add(new ScalarResult("heap.live", total, "bytes", AggregationPolicy.AVG));
+                String orders = benchmarkParams.getParam("orders");
+                if (orders != null) {
+                    results.add(new ScalarResult("heap.live.perOrder", total / Integer.parseInt(orders),
+                            "bytes", AggregationPolicy.AVG));
+                }
+            } else if (columns.length >= 4 && columns[0].endsWith(":")) {
+                String name = TRACKED.get(columns[3]);
+                if (name != null) {
+                    results.add(new ScalarResult("heap.count." + name, Double.parseDouble(columns[1]),
+                            "objects", AggregationPolicy.AVG));
+                    results.add(new ScalarResult("heap.live." + name, Double.parseDouble(columns[2]),
+                            "bytes", AggregationPolicy.AVG));
+                }
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,148 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.LocalEventSubscriber;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.RingBufferEventBus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.WaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the ring buffer event bus against a plain blocking queue
+ *
+ * Each invocation dispatches {@link #BATCH} single-event lists from the
+ * benchmark thread and waits until one subscriber has handled all of them,
+ * so the score is end-to-end events per second. The queue variant is what
+ * a hand-rolled bus would do: an ArrayBlockingQueue of the same capacity
+ * drained by one consumer thread.
+ *
+ * Run with: mvn -Pbenchmark verify -Dbenchmark.args="LocalEventBusBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalEventBusBenchmark {
+
+    private static final int BATCH = 1_000;
+    private static final int CAPACITY = 4096;
+
+    @State(Scope.Benchmark)
+    public static class Events {
+        final List<List<DomainEvent>> singletons = new ArrayList<>(BATCH);
+
+        @Setup
+        public void setUp() {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < BATCH; i++) {
+                singletons.add(List.of(new OrderCreatedEvent(OrderId.generate(), CustomerId.of("c-" + i), now)));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RingBuffer {
+
+        @Param({"BLOCKING", "YIELDING", "BUSY_SPIN"})
+        public WaitStrategy.Kind waitStrategy;
+
+        final AtomicLong handled = new AtomicLong();
+        long expected;
+        RingBufferEventBus bus;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            LocalEventSubscriber counter = (event, sequence, endOfBatch) -> handled.lazySet(sequence + 1);
+            bus = new RingBufferEventBus(CAPACITY, waitStrategy.create(), Duration.ofSeconds(30), List.of(counter));
+            bus.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            bus.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Queue {
+
+        final AtomicLong handled = new AtomicLong();
+        final BlockingQueue<DomainEvent> queue = new ArrayBlockingQueue<>(CAPACITY);
+        long expected;
+        volatile boolean running = true;
+        Thread consumer;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            consumer = new Thread(() -> {
+                try {
+                    while (running) {
+                        DomainEvent event = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (event != null) {
+                            handled.lazySet(handled.get() + 1);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "queue-consumer");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            consumer.join();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void ringBuffer(RingBuffer state, Events events) {
+        for (List<DomainEvent> event : events.singletons) {
+            state.bus.dispatch(event);
+        }
+        state.expected += BATCH;
+        while (state.handled.get() < state.expected) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void blockingQueue(Queue state, Events events) throws InterruptedException {
+        for (List<DomainEvent> event : events.singletons) {
+            state.queue.put(event.get(0));
+        }
+        state.expected += BATCH;
+        while (state.handled.get() < state.expected) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.OrderJsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing order responses with Jackson and with OrderJsonWriter
+ *
+ * The Jackson path is what the REST adapter did before: map the aggregate
+ * to an OrderResponse and let the ObjectMapper reflect over it. The writer
+ * is measured from the same OrderResponse (the REST path) and straight from
+ * the aggregate. The output stream is reset and reused, like a servlet
+ * response buffer, so allocations are the serializers' own.
+ *
+ * Run with: mvn -Pbenchmark verify -Dbenchmark.args="OrderJsonBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "20"})
+    public int orders;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final OrderJsonWriter writer = new OrderJsonWriter(8192, 4);
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+    private List<Order> aggregates;
+
+    @Setup
+    public void setUp() {
+        aggregates = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order(OrderId.generate(), CustomerId.of("customer-" + i));
+            for (int line = 0; line < 3; line++) {
+                order.addOrderLine(new OrderLine(ProductId.of("product-" + line), "Product " + line,
+                        Quantity.of(1 + line), Money.of(new BigDecimal("19.99"))));
+            }
+            aggregates.add(order);
+        }
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        out.reset();
+        if (orders == 1) {
+            objectMapper.writeValue(out, OrderResponse.fromDomain(aggregates.get(0)));
+        } else {
+            objectMapper.writeValue(out, aggregates.stream().map(OrderResponse::fromDomain).toList());
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int writerFromResponse() throws IOException {
+        out.reset();
+        if (orders == 1) {
+            writer.write(OrderResponse.fromDomain(aggregates.get(0)), out);
+        } else {
+            writer.writeAll(aggregates.stream().map(OrderResponse::fromDomain).toList(), out);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int writerFromAggregate() throws IOException {
+        out.reset();
+        if (orders == 1) {
+            writer.write(aggregates.get(0), out);
+        } else {
+            out.write('[');
+            for (int i = 0; i < aggregates.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writer.write(aggregates.get(i), out);
+            }
+            out.write(']');
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,121 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShardFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order read and write throughput with lines stored as rows or as a document
+ *
+ * Runs the regular JPA adapter and batch inserts over an in-memory H2
+ * database, so the figures leave out the network round trips a real
+ * database adds per statement, which only widens the gap in favour of the
+ * document. {@code read} loads one order by id, {@code save} saves a new
+ * order through JPA and {@code insertAll} inserts one through the JDBC
+ * batches; written orders are deleted after each iteration.
+ *
+ * Run with: mvn -Pbenchmark verify -Dbenchmark.args="OrderLinesStorageBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderLinesStorageBenchmark {
+
+    private static final CustomerId CUSTOMER = CustomerId.of("customer-1");
+    private static final OrderId STORED = OrderId.of("stored");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Param({"10", "100", "10000"})
+    public int lines;
+
+    @Param({"TABLE", "DOCUMENT"})
+    public OrderLinesStorage storage;
+
+    private OrderShard shard;
+    private OrderRepository repository;
+    private JdbcTemplate jdbcTemplate;
+    private List<OrderLine> orderLines;
+    private long written;
+
+    @Setup
+    public void setUp() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:order_lines_benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        shard = OrderShardFactory.create("benchmark", dataSource, Map.of("hibernate.hbm2ddl.auto", "create"),
+                storage);
+        repository = shard.getRepository();
+        orderLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            orderLines.add(new OrderLine(ProductId.of("PROD-" + i), "Product " + i, Quantity.of(1 + i % 5),
+                    Money.ofCents(199 + i % 1000)));
+        }
+        repository.insertAll(List.of(newOrder(STORED)));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteWritten() {
+        jdbcTemplate.update("DELETE FROM order_lines WHERE order_id <> ?", STORED.getValue());
+        jdbcTemplate.update("DELETE FROM orders WHERE id <> ?", STORED.getValue());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        shard.close();
+    }
+
+    @Benchmark
+    public Optional<Order> read() {
+        return repository.findById(STORED);
+    }
+
+    @Benchmark
+    public Order save() {
+        return repository.save(newOrder(OrderId.of("order-" + written++)));
+    }
+
+    @Benchmark
+    public void insertAll() {
+        repository.insertAll(List.of(newOrder(OrderId.of("order-" + written++))));
+    }
+
+    private Order newOrder(OrderId id) {
+        return Order.reconstitute(id, CUSTOMER, orderLines, OrderStatus.PENDING, CREATED_AT, CREATED_AT);
+    }
+}
@@ -0,0 +1,124 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rehydrating a large order result set with and without canonical pools
+ *
+ * Mirrors OrderRepositoryAdapter.toDomain over rows shaped like a busy
+ * store: few customers, a few hundred products, small quantities. Every
+ * row gets fresh strings, as the JDBC driver returns them. The last result
+ * set stays reachable, so the heap histogram taken after each iteration
+ * shows what holding it costs. The unpooled variant forks
+ * with -Ddomain.canonical-pools=false.
+ *
+ * Run with: mvn -Pbenchmark verify -Dbenchmark.args="OrderRehydrationBenchmark
+ *   -prof com.davidbadell.hexagonal.benchmark.HeapHistogramProfiler"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class OrderRehydrationBenchmark {
+
+    private static final int CUSTOMERS = 50;
+    private static final int PRODUCTS = 300;
+    private static final int LINES_PER_ORDER = 3;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Param({"10000", "100000"})
+    public int orders;
+
+    private int[] customers;
+    private int[] products;
+    private int[] quantities;
+    private long[] prices;
+
+    // Static: JMH releases the state before the profiler sees the last iteration
+    private static volatile List<Order> retained;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        customers = new int[orders];
+        products = new int[orders * LINES_PER_ORDER];
+        quantities = new int[orders * LINES_PER_ORDER];
+        prices = new long[orders * LINES_PER_ORDER];
+        for (int i = 0; i < orders; i++) {
+            customers[i] = random.nextInt(CUSTOMERS);
+        }
+        for (int i = 0; i < products.length; i++) {
+            products[i] = random.nextInt(PRODUCTS);
+            quantities[i] = 1 + random.nextInt(5);
+            prices[i] = 100 + products[i] * 37L;
+        }
+    }
+
+    @Benchmark
+    @Fork(1)
+    public List<Order> pooled() {
+        return rehydrate();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Ddomain.canonical-pools=false")
+    public List<Order> unpooled() {
+        return rehydrate();
+    }
+
+    private List<Order> rehydrate() {
+        List<Order> result = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            List<OrderLine> lines = new ArrayList<>(LINES_PER_ORDER);
+            for (int l = i * LINES_PER_ORDER; l < (i + 1) * LINES_PER_ORDER; l++) {
+                lines.add(new OrderLine(
+                        ProductId.of(row("product-", products[l])),
+                        row("Product name ", products[l]),
+                        Quantity.of(quantities[l]),
+                        Money.of(BigDecimal.valueOf(prices[l], 2))));
+            }
+            result.add(Order.reconstitute(
+                    OrderId.of(row("order-", i)),
+                    CustomerId.of(row("customer-", customers[i])),
+                    lines,
+                    OrderStatus.PENDING,
+                    CREATED_AT,
+                    CREATED_AT));
+        }
+        retained = result;
+        return result;
+    }
+
+    /**
+     * A new String per column value, like a result set
+     */
+    private static String row(String prefix, int value) {
+        return new StringBuilder(prefix.length() + 8).append(prefix).append(value).toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.jdbc.JdbcOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShardFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JPA adapter against the plain JDBC one on the same tables
+ *
+ * Both run over one in-memory H2 database behind a connection pool, so the
+ * figures show the cost of each adapter rather than of the database.
+ * {@code findById} loads one order, {@code findByCustomerId} the
+ * {@value #CUSTOMER_ORDERS} orders of a customer and {@code save} saves a
+ * new order; written orders are deleted after each iteration.
+ *
+ * Run with: mvn -Pbenchmark verify -Dbenchmark.args="OrderRepositoryAdapterBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderRepositoryAdapterBenchmark {
+
+    private static final int CUSTOMER_ORDERS = 20;
+    private static final CustomerId CUSTOMER = CustomerId.of("customer-1");
+    private static final CustomerId WRITER = CustomerId.of("customer-2");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Param({"JPA", "JDBC"})
+    public String adapter;
+
+    @Param({"3", "30"})
+    public int lines;
+
+    private OrderShard shard;
+    private OrderRepository repository;
+    private JdbcTemplate jdbcTemplate;
+    private List<OrderLine> orderLines;
+    private long written;
+
+    @Setup
+    public void setUp() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:order_repository_benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        shard = OrderShardFactory.create("benchmark", dataSource, Map.of("hibernate.hbm2ddl.auto", "create"),
+                OrderLinesStorage.TABLE);
+        repository = adapter.equals("JDBC")
+                ? new JdbcOrderRepository(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                        OrderLinesStorage.TABLE)
+                : shard.getRepository();
+        orderLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            orderLines.add(new OrderLine(ProductId.of("PROD-" + i), "Product " + i, Quantity.of(1 + i % 5),
+                    Money.ofCents(199 + i)));
+        }
+        List<Order> stored = new ArrayList<>();
+        for (int i = 0; i < CUSTOMER_ORDERS; i++) {
+            stored.add(newOrder(OrderId.of("stored-" + i), CUSTOMER));
+        }
+        repository.insertAll(stored);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteWritten() {
+        jdbcTemplate.update("DELETE FROM order_lines WHERE order_id IN "
+                + "(SELECT id FROM orders WHERE customer_id = ?)", WRITER.getValue());
+        jdbcTemplate.update("DELETE FROM orders WHERE customer_id = ?", WRITER.getValue());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        shard.close();
+    }
+
+    @Benchmark
+    public Optional<Order> findById() {
+        return repository.findById(OrderId.of("stored-7"));
+    }
+
+    @Benchmark
+    public List<Order> findByCustomerId() {
+        return repository.findByCustomerId(CUSTOMER);
+    }
+
+    @Benchmark
+    public Order save() {
+        return repository.save(newOrder(OrderId.of("order-" + written++), WRITER));
+    }
+
+    private Order newOrder(OrderId id, CustomerId customer) {
+        return Order.reconstitute(id, customer, orderLines, OrderStatus.PENDING, CREATED_AT, CREATED_AT);
+    }
+}
@@ -0,0 +1,103 @@
+package com.davidbadell.hexagonal.benchmark;
+
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.domain.service.PriceQuotes;
+import com.davidbadell.hexagonal.domain.service.PricingPipeline;
+import com.davidbadell.hexagonal.domain.service.PricingRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing orders with Money arithmetic and with the compiled pipeline
+ *
+ * The Money path is what PricingService did before: final price, shipping
+ * and the minimum check through BigDecimal, with the shipping constants
+ * built on every call. The pipeline is measured one quote at a time and
+ * as one batch of {@value #BATCH} orders. Scores are quotes per millisecond.
+ *
+ * Run with: mvn -Pbenchmark verify -Dbenchmark.args="PricingBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingBenchmark {
+
+    static final int BATCH = 1000;
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.21");
+    private static final BigDecimal DISCOUNT_THRESHOLD = new BigDecimal("100.00");
+    private static final BigDecimal DISCOUNT_RATE = new BigDecimal("0.10");
+
+    private final PricingPipeline pipeline = PricingRules.defaults().compile();
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        orders = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            Order order = new Order(OrderId.generate(), CustomerId.of("customer-" + i));
+            order.addOrderLine(new OrderLine(ProductId.of("product-" + i), "Product " + i,
+                    Quantity.of(1 + random.nextInt(5)), Money.ofCents(100 + random.nextInt(10_000))));
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long money() {
+        long sum = 0;
+        for (Order order : orders) {
+            Money subtotal = order.getTotal();
+            Money discount = subtotal.getAmount().compareTo(DISCOUNT_THRESHOLD) > 0
+                    ? subtotal.multiply(DISCOUNT_RATE) : Money.ZERO;
+            Money afterDiscount = subtotal.subtract(discount);
+            Money finalPrice = afterDiscount.add(afterDiscount.multiply(TAX_RATE));
+            Money shipping = subtotal.isGreaterThan(Money.of(50.00)) ? Money.ZERO : Money.of(5.99);
+            boolean minimum = subtotal.isGreaterThan(Money.of(10.00)) || subtotal.equals(Money.of(10.00));
+            sum += finalPrice.add(shipping).getAmount().unscaledValue().longValue() + (minimum ? 1 : 0);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long pipelineQuote() {
+        long sum = 0;
+        for (Order order : orders) {
+            sum += pipeline.quote(order).getTotalCents();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long pipelineBatch() {
+        PriceQuotes quotes = pipeline.quoteAll(orders, null);
+        return quotes.sumTotalCents();
+    }
+}
@@ -0,0 +1,58 @@
+package com.davidbadell.hexagonal.domain;
+
+import com.davidbadell.hexagonal.domain.model.CanonicalPool;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests for the canonical value pools
+ */
+@DisplayName("Canonical Pool Tests")
+class CanonicalPoolTest {
+
+    @Test
+    @DisplayName("Should return the same instance for equal identifiers")
+    void shouldShareEqualIdentifiers() {
+        CustomerId first = CustomerId.of(new String("customer-1"));
+        CustomerId second = CustomerId.of(new String("customer-1"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(ProductId.of(new String("product-1"))).isSameAs(ProductId.of(new String("product-1")));
+        assertThat(CustomerId.of("customer-2")).isNotEqualTo(first);
+        assertThatThrownBy(() -> CustomerId.of(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should share small quantities and product names")
+    void shouldShareQuantitiesAndNames() {
+        assertThat(Quantity.of(3)).isSameAs(Quantity.of(1).add(Quantity.of(2)));
+        assertThat(Quantity.of(1_000)).isEqualTo(Quantity.of(1_000)).isNotSameAs(Quantity.of(1_000));
+
+        OrderLine first = new OrderLine(ProductId.of("p"), new String("Widget"), Quantity.of(1), Money.of(1.0));
+        OrderLine second = new OrderLine(ProductId.of("p"), new String("Widget"), Quantity.of(1), Money.of(1.0));
+        assertThat(second.getProductName()).isSameAs(first.getProductName());
+    }
+
+    @Test
+    @DisplayName("Should replace a slot on collision instead of growing")
+    void shouldStayBounded() {
+        CanonicalPool<String, String> pool = new CanonicalPool<>(2, Function.identity(), Function.identity());
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(pool.get(new String("value-" + i))).isEqualTo("value-" + i);
+        }
+
+        assertThat(pool.capacity()).isEqualTo(2);
+        String kept = pool.get("value-999");
+        assertThat(pool.get(new String("value-999"))).isSameAs(kept);
+    }
+}
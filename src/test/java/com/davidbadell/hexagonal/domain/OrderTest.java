@@ -1,5 +1,8 @@
 package com.davidbadell.hexagonal.domain;
 
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
 import com.davidbadell.hexagonal.domain.exception.DomainException;
 import com.davidbadell.hexagonal.domain.model.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,6 +61,43 @@ class OrderTest {
             assertThat(order.getDomainEvents()).hasSize(1);
             assertThat(order.getDomainEvents().get(0).getEventType()).isEqualTo("OrderCreated");
         }
+
+        @Test
+        @DisplayName("Should carry the current total in the unpublished OrderCreatedEvent")
+        void shouldCarryTotalInCreatedEvent() {
+            String eventId = order.getDomainEvents().get(0).getEventId();
+
+            addItemToOrder();
+
+            assertThat(order.getDomainEvents()).singleElement()
+                    .isInstanceOfSatisfying(OrderCreatedEvent.class, event -> {
+                        assertThat(event.getEventId()).isEqualTo(eventId);
+                        assertThat(event.getTotal()).isEqualTo(order.getTotal());
+                    });
+        }
+
+        @Test
+        @DisplayName("Should reconstitute order without events")
+        void shouldReconstituteOrderWithoutEvents() {
+            java.time.LocalDateTime createdAt = java.time.LocalDateTime.of(2024, 1, 15, 10, 30);
+            OrderLine line = new OrderLine(ProductId.of("product-1"), "Product 1",
+                    Quantity.of(2), Money.of(new BigDecimal("10.00")));
+
+            Order restored = Order.reconstitute(orderId, customerId, java.util.List.of(line),
+                    OrderStatus.SHIPPED, createdAt, createdAt.plusHours(1));
+
+            assertThat(restored.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+            assertThat(restored.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(restored.getTotal()).isEqualTo(Money.of(new BigDecimal("20.00")));
+            assertThat(restored.getDomainEvents()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should read shard hint from generated id")
+        void shouldReadShardHint() {
+            assertThat(OrderId.generate(7).shardHint()).hasValue(7);
+            assertThat(orderId.shardHint()).isEmpty();
+        }
     }
 
     @Nested
@@ -207,6 +247,25 @@ class OrderTest {
             // Then
             assertThat(order.getStatus()).isEqualTo(OrderStatus.DELIVERED);
         }
+
+        @Test
+        @DisplayName("Should register an OrderStatusChangedEvent per transition")
+        void shouldRegisterStatusChangedEvents() {
+            // Given
+            addItemToOrder();
+            order.clearDomainEvents();
+
+            // When
+            order.confirm();
+            order.ship();
+
+            // Then
+            assertThat(order.getDomainEvents())
+                    .extracting(event -> ((OrderStatusChangedEvent) event).getNewStatus())
+                    .containsExactly(OrderStatus.CONFIRMED, OrderStatus.SHIPPED);
+            assertThat(((OrderStatusChangedEvent) order.getDomainEvents().get(1)).getPreviousStatus())
+                    .isEqualTo(OrderStatus.CONFIRMED);
+        }
     }
 
     @Nested
@@ -264,6 +323,9 @@ class OrderTest {
             // Then
             assertThat(order.getDomainEvents()).hasSize(1);
             assertThat(order.getDomainEvents().get(0).getEventType()).isEqualTo("OrderCancelled");
+            OrderCancelledEvent event = (OrderCancelledEvent) order.getDomainEvents().get(0);
+            assertThat(event.getPreviousStatus()).isEqualTo(OrderStatus.PENDING);
+            assertThat(event.getOrderCreatedAt()).isEqualTo(order.getCreatedAt());
         }
     }
 
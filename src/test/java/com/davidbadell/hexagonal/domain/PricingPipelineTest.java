@@ -0,0 +1,101 @@
+package com.davidbadell.hexagonal.domain;
+
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.service.PriceQuote;
+import com.davidbadell.hexagonal.domain.service.PriceQuotes;
+import com.davidbadell.hexagonal.domain.service.PricingPipeline;
+import com.davidbadell.hexagonal.domain.service.PricingRules;
+import com.davidbadell.hexagonal.domain.service.PricingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests for the compiled pricing rules
+ */
+@DisplayName("Pricing Pipeline Tests")
+class PricingPipelineTest {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.21");
+
+    @Test
+    @DisplayName("Should price exactly like Money arithmetic with the default rules")
+    void shouldMatchMoneyArithmetic() {
+        PricingPipeline pipeline = PricingRules.defaults().compile();
+        Random random = new Random(42);
+        long[] subtotals = new long[10_000];
+        for (int i = 0; i < subtotals.length; i++) {
+            // Every cent up to the thresholds, then random amounts up to $10,000
+            subtotals[i] = i % 2 == 0 ? i : random.nextInt(1_000_000);
+        }
+        PriceQuotes batch = pipeline.quoteAll(subtotals, null);
+
+        for (int i = 0; i < subtotals.length; i++) {
+            Money subtotal = Money.ofCents(subtotals[i]);
+            Money discount = subtotal.isGreaterThan(Money.of("100.00"))
+                    ? subtotal.multiply(new BigDecimal("0.10")) : Money.ZERO;
+            Money afterDiscount = subtotal.subtract(discount);
+            Money finalPrice = afterDiscount.add(afterDiscount.multiply(TAX_RATE));
+            Money shipping = subtotal.isGreaterThan(Money.of("50.00")) ? Money.ZERO : Money.of("5.99");
+
+            PriceQuote quote = pipeline.quote(subtotals[i], pipeline.regionIndex(null));
+            assertThat(quote.getDiscount()).isEqualTo(discount);
+            assertThat(quote.getFinalPrice()).isEqualTo(finalPrice);
+            assertThat(quote.getShipping()).isEqualTo(shipping);
+            assertThat(quote.meetsMinimum()).isEqualTo(subtotals[i] >= 1000);
+            assertThat(batch.getTotalCents(i)).isEqualTo(quote.getTotalCents());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the currency of the amount it prices")
+    void shouldKeepCurrency() {
+        Currency euro = Currency.getInstance("EUR");
+
+        Money tax = new PricingService().calculateTax(new Money(new BigDecimal("100.00"), euro));
+
+        assertThat(tax).isEqualTo(new Money(new BigDecimal("21.00"), euro));
+        assertThat(tax.getCurrency()).isEqualTo(euro);
+    }
+
+    @Test
+    @DisplayName("Should apply regional tax, the highest tier reached and the first band within")
+    void shouldApplyRegionsTiersAndBands() {
+        PricingPipeline pipeline = PricingRules.builder()
+                .defaultTaxRate(new BigDecimal("0.20"))
+                .regionalTaxRate("PT", new BigDecimal("0.23"))
+                .discountTier(new BigDecimal("500.00"), new BigDecimal("0.15"))
+                .discountTier(new BigDecimal("100.00"), new BigDecimal("0.05"))
+                .shippingBand(new BigDecimal("100.00"), new BigDecimal("4.00"))
+                .shippingBand(new BigDecimal("20.00"), new BigDecimal("8.00"))
+                .build()
+                .compile();
+
+        PriceQuote small = pipeline.quote(1_500, pipeline.regionIndex("PT"));
+        assertThat(small.getDiscountCents()).isZero();
+        assertThat(small.getTaxCents()).isEqualTo(345);
+        assertThat(small.getShippingCents()).isEqualTo(800);
+
+        PriceQuote medium = pipeline.quote(20_000, pipeline.regionIndex("ES"));
+        assertThat(medium.getDiscountCents()).isEqualTo(1_000);
+        assertThat(medium.getTaxCents()).isEqualTo(3_800);
+        assertThat(medium.getShippingCents()).isZero();
+
+        assertThat(pipeline.quote(60_000, 0).getDiscountCents()).isEqualTo(9_000);
+    }
+
+    @Test
+    @DisplayName("Should reject rules that cannot be priced in whole cents")
+    void shouldRejectInvalidRules() {
+        assertThatThrownBy(() -> PricingRules.builder().shippingBand(new BigDecimal("50.001"), BigDecimal.ONE)
+                .build().compile()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PricingRules.builder().discountTier(BigDecimal.TEN, new BigDecimal("1.5"))
+                .build().compile()).isInstanceOf(IllegalArgumentException.class);
+    }
+}
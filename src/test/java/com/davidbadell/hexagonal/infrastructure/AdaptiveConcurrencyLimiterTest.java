@@ -0,0 +1,105 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.davidbadell.hexagonal.infrastructure.resilience.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests for the adaptive concurrency limiter
+ */
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Should fail fast when all permits are in use")
+    void shouldFailFastWhenSaturated() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1.5, 0.2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThatThrownBy(() -> limiter.execute(() -> "second"))
+                    .isInstanceOf(ConcurrencyLimitExceededException.class)
+                    .hasMessageContaining("test");
+            assertThat(limiter.getRejectedCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release permits after each call")
+    void shouldReleasePermits() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 1.5, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.execute(() -> "ok");
+        }
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises")
+    void shouldShrinkLimitWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 40, 2, 80, 1.5, 0.5);
+        for (int i = 0; i < 50; i++) {
+            limiter.execute(() -> LockSupport.parkNanos(100_000));
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.execute(() -> LockSupport.parkNanos(20_000_000));
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Should halve the limit on store timeouts only")
+    void shouldShrinkLimitOnOverloadSignals() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 40, 2, 80, 1.5, 1.0);
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new IllegalStateException("Payment gateway timeout");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(limiter.getLimit()).isEqualTo(40);
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new QueryTimeoutException("Statement cancelled");
+        })).isInstanceOf(QueryTimeoutException.class);
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new CannotGetJdbcConnectionException("Pool exhausted");
+        })).isInstanceOf(CannotGetJdbcConnectionException.class);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.AllocationRecordingInterceptor;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecorder;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecordingCreateOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.allocation.AllocationRecordingGetOrderStatisticsUseCase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for allocation accounting of endpoints and use cases
+ */
+@DisplayName("Allocation Recorder Tests")
+class AllocationRecorderTest {
+
+    private static final int ALLOCATED = 1 << 20;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AllocationRecorder recorder = new AllocationRecorder(meterRegistry, false);
+    private byte[] allocated;
+
+    @BeforeEach
+    void requireAllocationAccounting() {
+        assumeTrue(recorder.isSupported(), "thread allocation accounting not available");
+    }
+
+    @Test
+    @DisplayName("Should bucket an endpoint by the lines of the use cases it called")
+    void shouldRecordEndpointAndUseCase() throws Exception {
+        CreateOrderUseCase useCase = new AllocationRecordingCreateOrderUseCase(command -> {
+            allocated = new byte[ALLOCATED];
+            return response(12);
+        }, recorder);
+        AllocationRecordingInterceptor interceptor = new AllocationRecordingInterceptor(recorder);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders");
+        HandlerMethod handler = new HandlerMethod(this,
+                getClass().getDeclaredMethod("shouldRecordEndpointAndUseCase"));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        useCase.createOrder(new CreateOrderCommand("CUST-1", List.of()));
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+        DistributionSummary useCaseBytes = summary("use-case", "createOrder", "10-99");
+        DistributionSummary endpointBytes = summary("endpoint", "POST /api/orders", "10-99");
+        assertThat(useCaseBytes.count()).isEqualTo(1);
+        assertThat(useCaseBytes.totalAmount()).isGreaterThanOrEqualTo(ALLOCATED);
+        assertThat(endpointBytes.count()).isEqualTo(1);
+        assertThat(endpointBytes.totalAmount()).isGreaterThanOrEqualTo(useCaseBytes.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should record calls without order lines in their own bucket")
+    void shouldRecordCallsWithoutLines() {
+        GetOrderStatisticsUseCase useCase = new AllocationRecordingGetOrderStatisticsUseCase(
+                () -> new OrderStatistics(LocalDateTime.now(), Map.of(), 0, BigDecimal.ZERO, List.of()), recorder);
+
+        useCase.getStatistics();
+        useCase.getStatistics();
+
+        assertThat(summary("use-case", "getStatistics", "none").count()).isEqualTo(2);
+        assertThat(meterRegistry.find(AllocationRecorder.METER).summaries()).hasSize(1);
+
+        // Lines noted outside any sample do not carry over into the next one
+        recorder.noteOrderLines(500);
+        useCase.getStatistics();
+        assertThat(summary("use-case", "getStatistics", "none").count()).isEqualTo(3);
+    }
+
+    private DistributionSummary summary(String kind, String name, String size) {
+        return meterRegistry.get(AllocationRecorder.METER)
+                .tags("kind", kind, "name", name, "size", size)
+                .summary();
+    }
+
+    private static OrderResponse response(int lines) {
+        Order order = new Order(OrderId.of("order-1"), CustomerId.of("CUST-1"));
+        for (int i = 1; i <= lines; i++) {
+            order.addOrderLine(new OrderLine(ProductId.of("PROD-" + i), "Product " + i, Quantity.of(1),
+                    Money.of("1.00")));
+        }
+        return OrderResponse.fromDomain(order);
+    }
+}
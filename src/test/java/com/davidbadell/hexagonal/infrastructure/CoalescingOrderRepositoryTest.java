@@ -0,0 +1,136 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.CoalescingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.DataSourceRole;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.DataSourceRoutingContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for the coalescing of lookups by id
+ */
+@DisplayName("Coalescing Order Repository Tests")
+class CoalescingOrderRepositoryTest {
+
+    private final OrderRepository delegate = mock(OrderRepository.class);
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    @DisplayName("Should share one load between concurrent lookups of the same id")
+    void shouldShareLoadOfSameId() throws Exception {
+        CoalescingOrderRepository repository = new CoalescingOrderRepository(delegate, Duration.ofMillis(2), 64);
+        Order order = order("order-1");
+        when(delegate.findById(OrderId.of("order-1"))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(order);
+        });
+
+        CompletableFuture<Optional<Order>> first = CompletableFuture.supplyAsync(
+                () -> repository.findById(OrderId.of("order-1")));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Optional<Order>> second = CompletableFuture.supplyAsync(
+                () -> repository.findById(OrderId.of("order-1")));
+        while (repository.getJoined() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsSame(order);
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsSame(order);
+        verify(delegate, times(1)).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should read lookups of different ids arriving during a load in one query")
+    void shouldBatchDifferentIds() throws Exception {
+        CoalescingOrderRepository repository = new CoalescingOrderRepository(delegate, Duration.ofSeconds(5), 2);
+        when(delegate.findById(OrderId.of("order-1"))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(order("order-1"));
+        });
+        when(delegate.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<OrderId> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(id -> !id.getValue().equals("order-404"))
+                    .map(id -> order(id.getValue()))
+                    .toList();
+        });
+
+        CompletableFuture<Optional<Order>> first = CompletableFuture.supplyAsync(
+                () -> repository.findById(OrderId.of("order-1")));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // Another load is running, so these two wait for each other
+        CompletableFuture<Optional<Order>> second = CompletableFuture.supplyAsync(
+                () -> repository.findById(OrderId.of("order-2")));
+        CompletableFuture<Optional<Order>> missing = CompletableFuture.supplyAsync(
+                () -> repository.findById(OrderId.of("order-404")));
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).hasValueSatisfying(
+                order -> assertThat(order.getId()).isEqualTo(OrderId.of("order-2")));
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isEmpty();
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+        verify(delegate, times(1)).findAllById(anyCollection());
+        assertThat(repository.getBatches()).isEqualTo(2);
+        assertThat(repository.getLoaded()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not let a primary lookup join a replica load of the same id")
+    void shouldKeepRoutesApart() throws Exception {
+        CoalescingOrderRepository repository = new CoalescingOrderRepository(delegate, Duration.ofSeconds(5), 64);
+        Order stale = order("order-1");
+        Order fresh = order("order-1");
+        when(delegate.findById(OrderId.of("order-1"))).thenAnswer(invocation -> {
+            if (DataSourceRoutingContext.current() == DataSourceRole.PRIMARY) {
+                return Optional.of(fresh);
+            }
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(stale);
+        });
+
+        CompletableFuture<Optional<Order>> replica = CompletableFuture.supplyAsync(
+                () -> DataSourceRoutingContext.callOn(DataSourceRole.REPLICA,
+                        () -> repository.findById(OrderId.of("order-1"))));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // Loaded on its own while the replica load is still running
+        Optional<Order> primary = CompletableFuture.supplyAsync(
+                () -> DataSourceRoutingContext.callOn(DataSourceRole.PRIMARY,
+                        () -> repository.findById(OrderId.of("order-1"))))
+                .get(5, TimeUnit.SECONDS);
+        assertThat(primary).containsSame(fresh);
+        assertThat(repository.getJoined()).isZero();
+
+        release.countDown();
+        assertThat(replica.get(5, TimeUnit.SECONDS)).containsSame(stale);
+        verify(delegate, times(2)).findById(any());
+    }
+
+    private static Order order(String id) {
+        return new Order(OrderId.of(id), CustomerId.of("customer-1"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderSummary;
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.projection.CustomerOrderSummaries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for the per-customer order lists
+ */
+@DisplayName("Customer Order Summaries Tests")
+class CustomerOrderSummariesTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime AT_NOON = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final CustomerOrderSummaries summaries = new CustomerOrderSummaries(2, 3, Duration.ofMinutes(5), CLOCK);
+    private final List<OrderSummary> database = new ArrayList<>();
+    private final List<String> reads = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should keep a loaded list up to date from events")
+    void shouldApplyEvents() {
+        store("order-1", 1);
+        store("order-2", 2);
+
+        assertThat(ids(page("customer-1", 0, 10))).containsExactly("order-2", "order-1");
+        assertThat(reads).containsExactly("0x4");
+
+        summaries.onEvent(new OrderCreatedEvent(OrderId.of("order-3"), CustomerId.of("customer-1"),
+                AT_NOON.plusMinutes(3), Money.of("30.00")), 0, true);
+        summaries.onEvent(new OrderStatusChangedEvent(OrderId.of("order-1"), OrderStatus.PENDING,
+                OrderStatus.CONFIRMED, AT_NOON.plusMinutes(4)), 1, true);
+        summaries.onEvent(new OrderCancelledEvent(OrderId.of("order-2"), AT_NOON.plusMinutes(5), null,
+                OrderStatus.PENDING, Money.of("20.00"), AT_NOON.plusMinutes(2)), 2, true);
+
+        List<OrderSummary> orders = page("customer-1", 0, 10);
+        assertThat(ids(orders)).containsExactly("order-3", "order-2", "order-1");
+        assertThat(orders).extracting(OrderSummary::getStatus).containsExactly("PENDING", "CANCELLED", "CONFIRMED");
+        assertThat(reads).hasSize(1);
+        assertThat(summaries.getServed()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read pages past the kept orders from the database")
+    void shouldFallBackForOlderPages() {
+        for (int i = 1; i <= 5; i++) {
+            store("order-" + i, i);
+        }
+
+        assertThat(ids(page("customer-1", 0, 2))).containsExactly("order-5", "order-4");
+        assertThat(ids(page("customer-1", 1, 2))).containsExactly("order-3", "order-2");
+        assertThat(reads).containsExactly("0x4", "1x2");
+        assertThat(summaries.getFallbacks()).isEqualTo(1);
+
+        // A new order pushes the oldest kept one out: the list no longer holds all orders
+        summaries.onEvent(new OrderCreatedEvent(OrderId.of("order-6"), CustomerId.of("customer-1"),
+                AT_NOON.plusMinutes(6), Money.of("60.00")), 0, true);
+        assertThat(ids(page("customer-1", 0, 3))).containsExactly("order-6", "order-5", "order-4");
+        assertThat(reads).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently active customer")
+    void shouldEvictLeastRecentlyActive() {
+        page("customer-1", 0, 10);
+        page("customer-2", 0, 10);
+        summaries.onEvent(new OrderCreatedEvent(OrderId.of("order-1"), CustomerId.of("customer-1"),
+                AT_NOON, Money.of("10.00")), 0, true);
+        page("customer-3", 0, 10);
+
+        assertThat(summaries.size()).isEqualTo(2);
+        assertThat(summaries.getEvictions()).isEqualTo(1);
+        assertThat(ids(page("customer-1", 0, 10))).containsExactly("order-1");
+        assertThat(summaries.getLoads()).isEqualTo(3);
+    }
+
+    private List<OrderSummary> page(String customerId, int page, int size) {
+        return summaries.getPage(customerId, page, size, (customer, p, s) -> {
+            reads.add(p + "x" + s);
+            return database.stream()
+                    .filter(summary -> summary.getCustomerId().equals(customer))
+                    .sorted(OrderSummary.RESULT_ORDER)
+                    .skip((long) p * s)
+                    .limit(s)
+                    .toList();
+        });
+    }
+
+    private void store(String orderId, int minutes) {
+        database.add(new OrderSummary(orderId, "customer-1", "PENDING", BigDecimal.TEN,
+                AT_NOON.plusMinutes(minutes), AT_NOON.plusMinutes(minutes)));
+    }
+
+    private static List<String> ids(List<OrderSummary> orders) {
+        return orders.stream().map(OrderSummary::getOrderId).toList();
+    }
+}
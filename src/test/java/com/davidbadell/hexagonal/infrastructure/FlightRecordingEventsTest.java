@@ -0,0 +1,122 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.FlightRecordingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+import com.davidbadell.hexagonal.infrastructure.jfr.FlightRecordingGetOrderUseCase;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the flight recorder events of use cases and repository calls
+ */
+@DisplayName("Flight Recording Events Tests")
+class FlightRecordingEventsTest {
+
+    private static final String USE_CASE_EVENT = "com.davidbadell.hexagonal.UseCaseExecution";
+    private static final String REPOSITORY_EVENT = "com.davidbadell.hexagonal.RepositoryCall";
+
+    private final OrderStore delegate = mock(OrderStore.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should record the order and line count of a repository call and its use case")
+    void shouldRecordRepositoryCallAndUseCase() throws Exception {
+        OrderRepository repository = new FlightRecordingOrderRepository(delegate);
+        when(delegate.findById(OrderId.of("order-1"))).thenReturn(Optional.of(order("order-1", 3)));
+        GetOrderUseCase useCase = new FlightRecordingGetOrderUseCase(stub(repository));
+
+        List<RecordedEvent> events = record(() -> useCase.getOrderById("order-1"));
+
+        RecordedEvent call = only(events, REPOSITORY_EVENT);
+        assertThat(call.getString("operation")).isEqualTo("findById");
+        assertThat(call.getString("orderId")).isEqualTo("order-1");
+        assertThat(call.getInt("rowCount")).isEqualTo(1);
+        assertThat(call.getInt("lineCount")).isEqualTo(3);
+        assertThat(call.getBoolean("failed")).isFalse();
+
+        RecordedEvent execution = only(events, USE_CASE_EVENT);
+        assertThat(execution.getString("useCase")).isEqualTo("getOrderById");
+        assertThat(execution.getString("orderId")).isEqualTo("order-1");
+        assertThat(execution.getInt("lineCount")).isEqualTo(3);
+        assertThat(execution.getDuration()).isGreaterThanOrEqualTo(call.getDuration());
+    }
+
+    @Test
+    @DisplayName("Should record a failed repository call")
+    void shouldRecordFailedCall() throws Exception {
+        OrderRepository repository = new FlightRecordingOrderRepository(delegate);
+        when(delegate.findById(OrderId.of("order-2"))).thenThrow(new IllegalStateException("connection lost"));
+
+        List<RecordedEvent> events = record(() -> assertThatThrownBy(() -> repository.findById(OrderId.of("order-2")))
+                .isInstanceOf(IllegalStateException.class));
+
+        RecordedEvent call = only(events, REPOSITORY_EVENT);
+        assertThat(call.getString("orderId")).isEqualTo("order-2");
+        assertThat(call.getInt("rowCount")).isZero();
+        assertThat(call.getBoolean("failed")).isTrue();
+    }
+
+    private List<RecordedEvent> record(Runnable work) throws Exception {
+        Path file = directory.resolve("orders.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(USE_CASE_EVENT);
+            recording.enable(REPOSITORY_EVENT);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+
+    private static GetOrderUseCase stub(OrderRepository repository) {
+        GetOrderUseCase useCase = mock(GetOrderUseCase.class);
+        when(useCase.getOrderById(anyString())).thenAnswer(invocation ->
+                repository.findById(OrderId.of(invocation.getArgument(0))).map(OrderResponse::fromDomain));
+        return useCase;
+    }
+
+    private static Order order(String id, int lines) {
+        Order order = new Order(OrderId.of(id), CustomerId.of("CUST-1"));
+        for (int i = 1; i <= lines; i++) {
+            order.addOrderLine(new OrderLine(ProductId.of("PROD-" + i), "Product " + i, Quantity.of(1),
+                    Money.of("1.00")));
+        }
+        return order;
+    }
+}
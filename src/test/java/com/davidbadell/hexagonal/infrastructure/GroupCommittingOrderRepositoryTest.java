@@ -0,0 +1,121 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.GroupCommittingOrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for the group commit of new orders
+ */
+@DisplayName("Group Committing Order Repository Tests")
+class GroupCommittingOrderRepositoryTest {
+
+    private final OrderRepository delegate = mock(OrderRepository.class);
+    private final GroupCommittingOrderRepository repository =
+            new GroupCommittingOrderRepository(delegate, Duration.ofSeconds(5), 3);
+    private final CountDownLatch committing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    @DisplayName("Should insert orders created during a commit in one transaction")
+    void shouldGroupConcurrentCreations() throws Exception {
+        Order first = order("order-1");
+        blockWhileSaving(first);
+
+        CompletableFuture<Order> alone = CompletableFuture.supplyAsync(() -> repository.save(first));
+        assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Order>> grouped = List.of("order-2", "order-3", "order-4").stream()
+                .map(id -> CompletableFuture.supplyAsync(() -> repository.save(order(id))))
+                .toList();
+        for (CompletableFuture<Order> creation : grouped) {
+            Order saved = creation.get(5, TimeUnit.SECONDS);
+            assertThat(saved.getId().getValue()).startsWith("order-");
+            assertThat(saved.getDomainEvents()).isEmpty();
+            assertThat(saved.getVersion()).isZero();
+        }
+        release.countDown();
+
+        assertThat(alone.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        verify(delegate, times(1)).insertAll(anyList());
+        verify(delegate, times(1)).save(any());
+        assertThat(repository.getCommits()).isEqualTo(2);
+        assertThat(repository.getCommitted()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should give each order of a failed group its own outcome")
+    void shouldSaveOneByOneWhenGroupFails() throws Exception {
+        Order first = order("order-1");
+        blockWhileSaving(first);
+        doThrow(new IllegalStateException("Duplicate key")).when(delegate).insertAll(anyList());
+        Order failing = order("order-3");
+        when(delegate.save(failing)).thenThrow(new IllegalStateException("Duplicate key"));
+        Order passing = order("order-2");
+        when(delegate.save(passing)).thenReturn(passing);
+        Order other = order("order-4");
+        when(delegate.save(other)).thenReturn(other);
+
+        CompletableFuture<Order> alone = CompletableFuture.supplyAsync(() -> repository.save(first));
+        assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Order> ok = CompletableFuture.supplyAsync(() -> repository.save(passing));
+        CompletableFuture<Order> ko = CompletableFuture.supplyAsync(() -> repository.save(failing));
+        CompletableFuture<Order> alsoOk = CompletableFuture.supplyAsync(() -> repository.save(other));
+
+        assertThat(ok.get(5, TimeUnit.SECONDS)).isSameAs(passing);
+        assertThat(alsoOk.get(5, TimeUnit.SECONDS)).isSameAs(other);
+        assertThatThrownBy(() -> ko.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Duplicate key");
+        release.countDown();
+        alone.get(5, TimeUnit.SECONDS);
+        assertThat(repository.getFallbacks()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should save updates of stored orders directly")
+    void shouldNotGroupUpdates() {
+        Order stored = Order.reconstitute(OrderId.of("order-1"), CustomerId.of("customer-1"), List.of(),
+                OrderStatus.CANCELLED, LocalDateTime.now(), LocalDateTime.now());
+        when(delegate.save(stored)).thenReturn(stored);
+
+        assertThat(repository.save(stored)).isSameAs(stored);
+        assertThat(repository.getCommits()).isZero();
+        verify(delegate, never()).insertAll(anyList());
+    }
+
+    private void blockWhileSaving(Order order) {
+        when(delegate.save(order)).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return order;
+        });
+    }
+
+    private static Order order(String orderId) {
+        return new Order(OrderId.of(orderId), CustomerId.of("customer-1"));
+    }
+}
@@ -0,0 +1,185 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.CreateOrderCommand;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+import com.davidbadell.hexagonal.application.port.out.EventPublisher;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.application.service.CreateOrderService;
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotencyRecordingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotencyStore;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotentCreateOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.idempotency.IdempotentRequests;
+import com.davidbadell.hexagonal.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.davidbadell.hexagonal.infrastructure.idempotency.InvalidIdempotencyKeyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for idempotent order creation
+ */
+@DisplayName("Idempotent Create Order Use Case Tests")
+class IdempotentCreateOrderUseCaseTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final IdempotentRequests requests = new IdempotentRequests(
+            new InMemoryIdempotencyStore(100, Duration.ofHours(1), Clock.systemUTC()),
+            Duration.ofSeconds(5), Clock.systemUTC());
+
+    @Test
+    @DisplayName("Should replay the stored response for a repeated key")
+    void shouldReplayRepeatedKey() {
+        CreateOrderUseCase useCase = new IdempotentCreateOrderUseCase(this::create, requests);
+
+        OrderResponse first = useCase.createOrder(command("key-1", "29.99"));
+        OrderResponse retry = useCase.createOrder(command("key-1", "29.990"));
+        OrderResponse other = useCase.createOrder(command("key-2", "29.99"));
+        OrderResponse unkeyed = useCase.createOrder(command(null, "29.99"));
+
+        assertThat(retry.getOrderId()).isEqualTo(first.getOrderId());
+        assertThat(other.getOrderId()).isNotEqualTo(first.getOrderId());
+        assertThat(unkeyed.getOrderId()).isNotEqualTo(first.getOrderId());
+        assertThat(created).hasValue(3);
+        assertThat(requests.getReplayed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the original request")
+    void shouldJoinRequestInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CreateOrderUseCase useCase = new IdempotentCreateOrderUseCase(command -> {
+            started.countDown();
+            await(release);
+            return create(command);
+        }, requests);
+
+        CompletableFuture<OrderResponse> original = CompletableFuture.supplyAsync(
+                () -> useCase.createOrder(command("key-1", "29.99")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<OrderResponse> duplicate = CompletableFuture.supplyAsync(
+                () -> useCase.createOrder(command("key-1", "29.99")));
+        while (requests.getJoined() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getOrderId())
+                .isEqualTo(original.get(5, TimeUnit.SECONDS).getOrderId());
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse a key reused for a different order")
+    void shouldRefuseKeyReusedForAnotherOrder() {
+        CreateOrderUseCase useCase = new IdempotentCreateOrderUseCase(this::create, requests);
+        useCase.createOrder(command("key-1", "29.99"));
+
+        assertThatThrownBy(() -> useCase.createOrder(command("key-1", "19.99")))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        assertThatThrownBy(() -> useCase.createOrder(command(" ", "19.99")))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should replace an expired key and replay the replacement")
+    void shouldReplaceExpiredKey() {
+        AtomicLong now = new AtomicLong();
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        IdempotentRequests expiring = new IdempotentRequests(
+                new InMemoryIdempotencyStore(100, Duration.ofMinutes(1), clock), Duration.ofSeconds(5), clock);
+        CreateOrderUseCase useCase = new IdempotentCreateOrderUseCase(this::create, expiring);
+
+        OrderResponse first = useCase.createOrder(command("key-1", "29.99"));
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+        OrderResponse afterExpiry = useCase.createOrder(command("key-1", "29.99"));
+        OrderResponse retry = useCase.createOrder(command("key-1", "29.99"));
+        useCase.createOrder(command("key-2", "29.99"));
+        OrderResponse retryAfterPurge = useCase.createOrder(command("key-1", "29.99"));
+
+        assertThat(afterExpiry.getOrderId()).isNotEqualTo(first.getOrderId());
+        assertThat(retry.getOrderId()).isEqualTo(afterExpiry.getOrderId());
+        assertThat(retryAfterPurge.getOrderId()).isEqualTo(afterExpiry.getOrderId());
+        assertThat(created).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should replay a saved order whose event publication failed instead of creating it again")
+    void shouldReplayOrderSavedBeforeFailure() {
+        OrderRepository repository = mock(OrderRepository.class);
+        when(repository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        EventPublisher publisher = mock(EventPublisher.class);
+        doThrow(new IllegalStateException("Broker unavailable")).when(publisher).publish(any(DomainEvent.class));
+        CreateOrderUseCase useCase = new IdempotentCreateOrderUseCase(new CreateOrderService(
+                new IdempotencyRecordingOrderRepository(repository, requests), publisher), requests);
+
+        assertThatThrownBy(() -> useCase.createOrder(command("key-1", "29.99")))
+                .isInstanceOf(IllegalStateException.class);
+        OrderResponse retry = useCase.createOrder(command("key-1", "29.99"));
+
+        verify(repository, times(1)).save(any(Order.class));
+        assertThat(retry.getCustomerId()).isEqualTo("customer-1");
+        assertThat(requests.getReplayed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return the response of a created order even if it cannot be stored")
+    void shouldReturnResponseWhenStoreFails() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        doThrow(new IllegalStateException("Store unavailable")).when(store).put(anyString(), any());
+        IdempotentRequests failing = new IdempotentRequests(store, Duration.ofSeconds(5), Clock.systemUTC());
+        CreateOrderUseCase useCase = new IdempotentCreateOrderUseCase(this::create, failing);
+
+        OrderResponse response = useCase.createOrder(command("key-1", "29.99"));
+
+        assertThat(response.getOrderId()).isEqualTo("order-1");
+        assertThat(failing.getStoreFailures()).isEqualTo(1);
+    }
+
+    private OrderResponse create(CreateOrderCommand command) {
+        return OrderResponse.builder()
+                .orderId("order-" + created.incrementAndGet())
+                .customerId(command.getCustomerId())
+                .status("PENDING")
+                .total(new BigDecimal("29.99"))
+                .items(List.of())
+                .build();
+    }
+
+    private static CreateOrderCommand command(String idempotencyKey, String price) {
+        return new CreateOrderCommand("customer-1", List.of(new CreateOrderCommand.OrderItemCommand(
+                "product-1", "Test Product", 1, new BigDecimal(price))), idempotencyKey);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.jdbc.JdbcOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The repository contract on the plain JDBC adapter
+ */
+@DisplayName("JDBC Order Repository Contract Tests")
+class JdbcOrderRepositoryContractTest extends OrderRepositoryContractTest {
+
+    private DataSource dataSource;
+    private OrderShard schema;
+
+    @Override
+    protected OrderStore createRepository(DataSource dataSource, OrderShard schema) {
+        this.dataSource = dataSource;
+        this.schema = schema;
+        return new JdbcOrderRepository(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                OrderLinesStorage.TABLE);
+    }
+
+    @Test
+    @DisplayName("Should split lines over several multi-row inserts")
+    void shouldInsertManyLines() {
+        Order order = order("order-1", "CUST-1", OrderStatus.PENDING, LocalDateTime.of(2024, 1, 1, 12, 0), 600);
+
+        repository.save(order);
+
+        assertThat(repository.findById(order.getId())).hasValueSatisfying(found -> assertSameOrder(found, order));
+    }
+
+    @Test
+    @DisplayName("Should read what the JPA adapter writes and the other way round")
+    void shouldReadWhatJpaWrites() {
+        LocalDateTime noon = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Order> orders = new ArrayList<>(List.of(order("order-1", "CUST-1", OrderStatus.PENDING, noon, 3)));
+        schema.getRepository().save(orders.get(0));
+        JdbcOrderRepository documents = new JdbcOrderRepository(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), OrderLinesStorage.DOCUMENT);
+        orders.add(order("order-2", "CUST-1", OrderStatus.PENDING, noon, 2));
+        documents.save(orders.get(1));
+
+        assertThat(repository.findByCustomerId(orders.get(0).getCustomerId())).hasSize(2)
+                .satisfiesExactly(first -> assertSameOrder(first, orders.get(0)),
+                        second -> assertSameOrder(second, orders.get(1)));
+        assertThat(schema.getRepository().findById(orders.get(1).getId()))
+                .hasValueSatisfying(found -> assertSameOrder(found, orders.get(1)));
+    }
+}
@@ -0,0 +1,19 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import org.junit.jupiter.api.DisplayName;
+
+import javax.sql.DataSource;
+
+/**
+ * The repository contract on the JPA adapter, with JDBC batched inserts and a transaction per call
+ */
+@DisplayName("JPA Order Repository Contract Tests")
+class JpaOrderRepositoryContractTest extends OrderRepositoryContractTest {
+
+    @Override
+    protected OrderStore createRepository(DataSource dataSource, OrderShard schema) {
+        return schema.getRepository();
+    }
+}
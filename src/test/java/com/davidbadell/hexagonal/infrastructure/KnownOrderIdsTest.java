@@ -0,0 +1,86 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.KnownIdsOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+import com.davidbadell.hexagonal.infrastructure.knownids.KnownOrderIds;
+import com.davidbadell.hexagonal.infrastructure.knownids.ScalableBloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for the bloom filter of known order ids
+ */
+@DisplayName("Known Order Ids Tests")
+class KnownOrderIdsTest {
+
+    @Test
+    @DisplayName("Should grow past its capacity and stay under the false positive rate")
+    void shouldScaleWithinFalsePositiveRate() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.add("order-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("order-" + i)).isTrue();
+            if (filter.mightContain("unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(filter.sliceCount()).isGreaterThan(1);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.01);
+        assertThat(falsePositives / 20_000.0).isLessThan(0.015);
+    }
+
+    @Test
+    @DisplayName("Should answer lookups of unknown ids without the repository once built")
+    void shouldSkipRepositoryForUnknownIds() {
+        OrderStore delegate = mock(OrderStore.class);
+        List<OrderId> existing = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            existing.add(OrderId.of(String.format("order-%03d", i)));
+        }
+        when(delegate.findIdsAfter(isNull(), anyInt())).thenReturn(existing.subList(0, 100));
+        when(delegate.findIdsAfter(any(String.class), anyInt())).thenAnswer(invocation -> {
+            int from = existing.indexOf(OrderId.of(invocation.getArgument(0))) + 1;
+            return existing.subList(from, Math.min(from + 100, existing.size()));
+        });
+        when(delegate.existsById(any())).thenReturn(true);
+        KnownOrderIds knownIds = new KnownOrderIds(delegate, 100, 0.001, 100);
+        OrderRepository repository = new KnownIdsOrderRepository(delegate, knownIds);
+
+        // Not built yet: everything goes through
+        repository.findById(OrderId.of("scanner-probe"));
+        verify(delegate).findById(OrderId.of("scanner-probe"));
+
+        assertThat(knownIds.rebuild()).isEqualTo(250);
+        assertThat(repository.findById(OrderId.of("scanner-probe-2"))).isEmpty();
+        assertThat(repository.existsById(OrderId.of("scanner-probe-2"))).isFalse();
+        verify(delegate, never()).findById(OrderId.of("scanner-probe-2"));
+        assertThat(repository.existsById(existing.get(249))).isTrue();
+
+        when(delegate.findById(OrderId.of("order-new"))).thenReturn(Optional.empty());
+        repository.save(new Order(OrderId.of("order-new"), CustomerId.of("customer-1")));
+        repository.findById(OrderId.of("order-new"));
+        verify(delegate).findById(OrderId.of("order-new"));
+        assertThat(knownIds.getRejected()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,137 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.InvalidatingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.NearCachingOrderRepository;
+import com.davidbadell.hexagonal.infrastructure.cache.InMemoryInvalidationBroker;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderInvalidationBatch;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderInvalidations;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderNearCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for the near cache and its invalidation across instances
+ */
+@DisplayName("Near Cache Invalidation Tests")
+class NearCacheInvalidationTest {
+
+    private static final LocalDateTime AT_NOON = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final Map<String, Order> database = new ConcurrentHashMap<>();
+    private final OrderRepository storage = mock(OrderRepository.class);
+    private final InMemoryInvalidationBroker broker = new InMemoryInvalidationBroker();
+    private final Node first = new Node("node-1");
+    private final Node second = new Node("node-2");
+
+    NearCacheInvalidationTest() {
+        when(storage.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(database.get(invocation.<OrderId>getArgument(0).getValue())));
+        // Versions as the database increments them
+        when(storage.save(any())).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            Order stored = database.get(order.getId().getValue());
+            Order saved = order(order.getId().getValue(), order.getStatus(), order.getUpdatedAt(),
+                    stored != null ? stored.getVersion() + 1 : 0);
+            database.put(saved.getId().getValue(), saved);
+            return saved;
+        });
+    }
+
+    @AfterEach
+    void closeNodes() {
+        first.invalidations.close();
+        second.invalidations.close();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the other instance's copy once the batch is sent")
+    void shouldInvalidateOtherInstances() {
+        database.put("order-1", order("order-1", OrderStatus.PENDING, AT_NOON, 0));
+        assertThat(second.reads.findById(OrderId.of("order-1"))).hasValueSatisfying(
+                order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING));
+
+        // Written by an instance whose clock is behind: the version still moves forward
+        first.writes.save(order("order-1", OrderStatus.CANCELLED, AT_NOON.minusMinutes(1), 0));
+        // Not sent yet: the other instance still serves its copy
+        assertThat(second.reads.findById(OrderId.of("order-1"))).hasValueSatisfying(
+                order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING));
+
+        assertThat(first.invalidations.flush()).isEqualTo(1);
+        assertThat(second.reads.findById(OrderId.of("order-1"))).hasValueSatisfying(
+                order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED));
+        assertThat(second.invalidations.getReceived()).isEqualTo(1);
+        assertThat(first.invalidations.getReceived()).isZero();
+        verify(storage, times(2)).findById(OrderId.of("order-1"));
+    }
+
+    @Test
+    @DisplayName("Should coalesce invalidations of the same order into one message")
+    void shouldCoalesceInvalidations() {
+        first.writes.save(order("order-1", OrderStatus.PENDING, AT_NOON, 0));
+        first.writes.save(order("order-1", OrderStatus.CONFIRMED, AT_NOON.plusMinutes(1), 0));
+        first.writes.save(order("order-1", OrderStatus.SHIPPED, AT_NOON.plusMinutes(2), 1));
+        first.writes.save(order("order-2", OrderStatus.PENDING, AT_NOON, 0));
+
+        assertThat(first.invalidations.flush()).isEqualTo(2);
+        assertThat(first.invalidations.getPublished()).isEqualTo(4);
+        assertThat(first.invalidations.getSentBatches()).isEqualTo(1);
+        assertThat(second.invalidations.getReceived()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should ignore late invalidations and loads older than an invalidated version")
+    void shouldCheckVersions() {
+        // A load from a lagging replica after the invalidation of version 2
+        second.cache.invalidate("order-1", 2);
+        second.cache.put(order("order-1", OrderStatus.PENDING, AT_NOON, 1));
+        assertThat(second.cache.get(OrderId.of("order-1"))).isNull();
+        assertThat(second.cache.getStaleLoads()).isEqualTo(1);
+
+        // Version 2 is cached, then the invalidation of version 1 arrives late
+        second.cache.put(order("order-1", OrderStatus.CANCELLED, AT_NOON.plusMinutes(1), 2));
+        second.invalidations.receive(new OrderInvalidationBatch("node-1", List.of("order-1"), new long[]{1}));
+        assertThat(second.cache.get(OrderId.of("order-1"))).isNotNull()
+                .satisfies(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED));
+    }
+
+    private static Order order(String orderId, OrderStatus status, LocalDateTime updatedAt, long version) {
+        return Order.reconstitute(OrderId.of(orderId), CustomerId.of("customer-1"), List.of(), status,
+                AT_NOON, updatedAt, version);
+    }
+
+    private final class Node {
+        final OrderNearCache cache = new OrderNearCache(100, Duration.ofMinutes(1), Clock.systemUTC());
+        final OrderInvalidations invalidations;
+        final OrderRepository reads;
+        final OrderRepository writes;
+
+        Node(String nodeId) {
+            invalidations = new OrderInvalidations(nodeId, broker, 256);
+            invalidations.addListener(cache);
+            invalidations.start(Duration.ofHours(1));
+            reads = new NearCachingOrderRepository(storage, cache);
+            writes = new InvalidatingOrderRepository(storage, invalidations);
+        }
+    }
+}
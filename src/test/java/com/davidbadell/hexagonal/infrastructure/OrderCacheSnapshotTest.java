@@ -0,0 +1,197 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderCacheSnapshot;
+import com.davidbadell.hexagonal.infrastructure.cache.OrderResponseCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for the order cache and its hot-set snapshot
+ */
+@DisplayName("Order Cache Snapshot Tests")
+class OrderCacheSnapshotTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final Map<String, OrderResponse> database = new HashMap<>();
+
+    @Test
+    @DisplayName("Should restore the hottest orders with identical payloads")
+    void shouldRestoreHotSet() throws Exception {
+        OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        for (int i = 0; i < 10; i++) {
+            cache.put(order("order-" + i));
+            database.put("order-" + i, order("order-" + i));
+        }
+        for (int hit = 0; hit < 5; hit++) {
+            cache.get("order-7");
+            cache.get("order-3");
+        }
+        cache.get("order-7");
+        Path file = directory.resolve("orders.snapshot");
+
+        assertThat(new OrderCacheSnapshot(cache, this::current, file, 2, 2).write()).isEqualTo(2);
+
+        OrderResponseCache restored = new OrderResponseCache(100, Duration.ofMinutes(5),
+                Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        OrderCacheSnapshot.WarmUpResult result = new OrderCacheSnapshot(restored, this::current, file, 2, 2).load();
+
+        assertThat(result.getLoaded()).isEqualTo(2);
+        assertThat(restored.size()).isEqualTo(2);
+        OrderResponse original = order("order-7");
+        OrderResponse copy = restored.get("order-7");
+        assertThat(copy).usingRecursiveComparison().isEqualTo(original);
+        assertThat(restored.get("order-3")).isNotNull();
+        assertThat(restored.get("order-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip snapshot entries that would already have expired")
+    void shouldSkipExpiredEntries() throws Exception {
+        OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put(order("order-1"));
+        Path file = directory.resolve("orders.snapshot");
+        new OrderCacheSnapshot(cache, this::current, file, 10, 1).write();
+
+        OrderResponseCache later = new OrderResponseCache(100, Duration.ofMinutes(5),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+        OrderCacheSnapshot.WarmUpResult result = new OrderCacheSnapshot(later, this::current, file, 10, 1).load();
+
+        assertThat(result.getLoaded()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not replace a cached order with an older version")
+    void shouldKeepNewerVersion() {
+        OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        OrderResponse cancelled = OrderResponse.builder().orderId("order-1").status("CANCELLED")
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 12, 0, 5)).version(1).build();
+        OrderResponse stale = OrderResponse.builder().orderId("order-1").status("PENDING")
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 12, 0, 0)).version(0).build();
+
+        cache.put(cancelled);
+        cache.put(stale);
+
+        assertThat(cache.get("order-1").getStatus()).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    @DisplayName("Should replace changed orders and skip deleted ones when restoring")
+    void shouldRevalidateRestoredEntries() throws Exception {
+        OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        for (String id : List.of("order-1", "order-2", "order-3")) {
+            cache.put(order(id));
+        }
+        Path file = directory.resolve("orders.snapshot");
+        new OrderCacheSnapshot(cache, this::current, file, 10, 1).write();
+        database.put("order-1", order("order-1"));
+        database.put("order-2", OrderResponse.builder().orderId("order-2").status("CANCELLED")
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 12, 0, 30)).version(1).build());
+
+        OrderResponseCache restored = new OrderResponseCache(100, Duration.ofMinutes(5),
+                Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        OrderCacheSnapshot.WarmUpResult result = new OrderCacheSnapshot(restored, this::current, file, 10, 1).load();
+
+        assertThat(result.getLoaded()).isEqualTo(2);
+        assertThat(result.getChanged()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(restored.get("order-1").getStatus()).isEqualTo("PENDING");
+        assertThat(restored.get("order-2").getStatus()).isEqualTo("CANCELLED");
+        assertThat(restored.get("order-3")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that started before the order was evicted")
+    void shouldRejectLoadOlderThanEviction() {
+        OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(5), Duration.ofSeconds(30),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        long before = cache.beginLoad();
+        cache.evict("order-1");
+        long after = cache.beginLoad();
+
+        cache.put(order("order-1"), before);
+        assertThat(cache.get("order-1")).isNull();
+        assertThat(cache.getStaleLoads()).isEqualTo(1);
+
+        cache.put(order("order-1"), after);
+        assertThat(cache.get("order-1")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not cache a version older than an invalidated one, however late the load started")
+    void shouldRejectVersionOlderThanInvalidation() {
+        OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(5), Duration.ofSeconds(30),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put(order("order-1"));
+        cache.invalidate("order-1", 1);
+        assertThat(cache.get("order-1")).isNull();
+
+        // Started after the invalidation, but read from a replica that has not seen it yet
+        cache.put(order("order-1"), cache.beginLoad());
+        assertThat(cache.get("order-1")).isNull();
+        assertThat(cache.getStaleLoads()).isEqualTo(1);
+
+        OrderResponse changed = OrderResponse.builder().orderId("order-1").status("CANCELLED").version(1).build();
+        cache.put(changed, cache.beginLoad());
+        assertThat(cache.get("order-1").getStatus()).isEqualTo("CANCELLED");
+
+        // A late invalidation of an older version keeps the newer entry
+        cache.invalidate("order-1", 0);
+        assertThat(cache.get("order-1")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not restore a snapshot entry from a replica behind an invalidation")
+    void shouldRejectRestoredEntryBehindInvalidation() throws Exception {
+        OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put(order("order-1"));
+        Path file = directory.resolve("orders.snapshot");
+        new OrderCacheSnapshot(cache, this::current, file, 10, 1).write();
+        database.put("order-1", order("order-1"));
+
+        OrderResponseCache restored = new OrderResponseCache(100, Duration.ofMinutes(5),
+                Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        restored.invalidate("order-1", 1);
+        new OrderCacheSnapshot(restored, this::current, file, 10, 1).load();
+
+        assertThat(restored.get("order-1")).isNull();
+        assertThat(restored.getStaleLoads()).isEqualTo(1);
+    }
+
+    private List<OrderResponse> current(List<String> orderIds) {
+        return orderIds.stream().map(database::get).filter(Objects::nonNull).toList();
+    }
+
+    private static OrderResponse order(String id) {
+        return OrderResponse.builder()
+                .orderId(id)
+                .customerId("customer-1")
+                .status("PENDING")
+                .total(new BigDecimal("59.98"))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 11, 59, 30, 123_456_789))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 11, 59, 30, 123_456_789))
+                .items(List.of(new OrderResponse.OrderLineResponse(
+                        "product-1", "Test Product", 2, new BigDecimal("29.99"), new BigDecimal("59.98"))))
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.port.in.CancelOrderUseCase;
+import com.davidbadell.hexagonal.application.port.in.CreateOrderUseCase;
+import com.davidbadell.hexagonal.application.port.in.GetOrderStatisticsUseCase;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.OrderController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit Tests for the error mapping of the REST adapter
+ */
+@DisplayName("Order Controller Tests")
+class OrderControllerTest {
+
+    private final CancelOrderUseCase cancelOrderUseCase = mock(CancelOrderUseCase.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new OrderController(
+            mock(CreateOrderUseCase.class),
+            mock(GetOrderUseCase.class),
+            cancelOrderUseCase,
+            mock(GetOrderStatisticsUseCase.class))).build();
+
+    @Test
+    @DisplayName("Should answer 409 Conflict when a concurrent update wins the version check")
+    void shouldReturnConflictOnStaleVersion() throws Exception {
+        when(cancelOrderUseCase.cancelOrder(eq("order-1"), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException("OrderEntity", "order-1"));
+
+        mvc.perform(post("/api/orders/order-1/cancel"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("CONCURRENT_MODIFICATION"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventBatchHandler;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventBatchListener;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventMessage;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.OrderEventMetricsHandler;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.messaging.ProcessedEventIds;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for the batching order event listener
+ */
+@DisplayName("Order Event Batch Listener Tests")
+class OrderEventBatchListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<OrderEventMessage> handled = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Channel channel;
+    private OrderEventBatchListener listener;
+    private String poisonOrderId;
+    private long deliveryTag;
+
+    @BeforeEach
+    void setUp() {
+        channel = mock(Channel.class);
+        OrderEventBatchHandler handler = new OrderEventBatchHandler() {
+            @Override
+            public Set<String> getEventTypes() {
+                return Set.of("OrderCreated", "OrderCancelled");
+            }
+
+            @Override
+            public void handleBatch(List<OrderEventMessage> events) {
+                if (events.stream().anyMatch(event -> event.getOrderId().equals(poisonOrderId))) {
+                    throw new IllegalStateException("boom");
+                }
+                handled.addAll(events);
+            }
+        };
+        listener = new OrderEventBatchListener("order.created.queue", List.of(handler),
+                new ProcessedEventIds(1000), objectMapper, false, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should parse published events, drop duplicates and ack the batch once")
+    void shouldDeduplicateAndAckInBulk() throws Exception {
+        OrderCreatedEvent created = new OrderCreatedEvent(OrderId.of("ORD-1"), CustomerId.of("C1"),
+                LocalDateTime.now().minusSeconds(2));
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(OrderId.of("ORD-2"), LocalDateTime.now(), "late");
+        Message malformed = new Message("oops".getBytes(StandardCharsets.UTF_8), properties());
+
+        listener.onMessageBatch(List.of(published(created), published(cancelled), published(created), malformed),
+                channel);
+
+        assertThat(handled).extracting(OrderEventMessage::getEventId)
+                .containsExactly(created.getEventId(), cancelled.getEventId());
+        assertThat(handled.get(0).getOrderId()).isEqualTo("ORD-1");
+        assertThat(handled.get(0).getCustomerId()).isEqualTo("C1");
+        assertThat(handled.get(1).getReason()).isEqualTo("late");
+        verify(channel).basicAck(4L, true);
+        assertThat(meterRegistry.get("orders.events.consumer.lag").timer().count()).isEqualTo(2);
+
+        listener.onMessageBatch(List.of(published(created)), channel);
+        assertThat(handled).hasSize(2);
+        verify(channel).basicAck(5L, true);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter only the failing event of a batch and allow its redelivery")
+    void shouldRejectPoisonMessageAlone() throws Exception {
+        OrderCreatedEvent good = new OrderCreatedEvent(OrderId.of("ORD-3"), CustomerId.of("C3"),
+                LocalDateTime.now());
+        OrderCreatedEvent poison = new OrderCreatedEvent(OrderId.of("ORD-4"), CustomerId.of("C4"),
+                LocalDateTime.now());
+
+        poisonOrderId = "ORD-4";
+        listener.onMessageBatch(List.of(published(good), published(poison)), channel);
+        assertThat(handled).extracting(OrderEventMessage::getOrderId).containsExactly("ORD-3");
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicNack(2L, false, false);
+        verify(channel, never()).basicAck(2L, true);
+        assertThat(meterRegistry.get("orders.events.consumer.rejected").counter().count()).isEqualTo(1);
+
+        poisonOrderId = null;
+        listener.onMessageBatch(List.of(published(poison)), channel);
+        assertThat(handled).extracting(OrderEventMessage::getOrderId).containsExactly("ORD-3", "ORD-4");
+        verify(channel).basicAck(3L, true);
+    }
+
+    @Test
+    @DisplayName("Should count consumed events by type")
+    void shouldCountConsumedEvents() throws Exception {
+        OrderEventBatchListener counting = new OrderEventBatchListener("order.cancelled.queue",
+                List.of(new OrderEventMetricsHandler(meterRegistry)), new ProcessedEventIds(1000), objectMapper,
+                false, meterRegistry);
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(OrderId.of("ORD-5"), LocalDateTime.now(), "late");
+
+        counting.onMessageBatch(List.of(published(cancelled), published(cancelled)), channel);
+
+        assertThat(meterRegistry.get("orders.events.consumed").tag("type", "OrderCancelled").counter().count())
+                .isEqualTo(1);
+        verify(channel).basicAck(2L, true);
+    }
+
+    /**
+     * Same encoding as EventPublisherAdapter: event JSON sent as a string
+     */
+    private Message published(DomainEvent event) throws Exception {
+        MessageProperties properties = properties();
+        properties.setMessageId(event.getEventId());
+        return new Jackson2JsonMessageConverter().toMessage(objectMapper.writeValueAsString(event), properties);
+    }
+
+    private MessageProperties properties() {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(++deliveryTag);
+        return properties;
+    }
+}
@@ -0,0 +1,171 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.port.out.OrderIdGenerator;
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.application.service.ImportOrdersService;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing.ImportReport;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing.MappedLineReader;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.cli.importing.OrderFileImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the streaming order file importer
+ */
+@DisplayName("Order File Importer Tests")
+class OrderFileImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private final Map<OrderId, Order> store = new ConcurrentHashMap<>();
+    private OrderFileImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        OrderRepository repository = new OrderRepository() {
+            @Override
+            public Order save(Order order) {
+                store.put(order.getId(), order);
+                return order;
+            }
+
+            @Override
+            public synchronized void insertAll(List<Order> orders) {
+                Set<OrderId> ids = new HashSet<>();
+                for (Order order : orders) {
+                    if (store.containsKey(order.getId()) || !ids.add(order.getId())) {
+                        throw new IllegalStateException("Duplicate order id " + order.getId());
+                    }
+                }
+                orders.forEach(order -> store.put(order.getId(), order));
+            }
+
+            @Override
+            public Optional<Order> findById(OrderId orderId) {
+                return Optional.ofNullable(store.get(orderId));
+            }
+
+            @Override
+            public List<Order> findByCustomerId(CustomerId customerId) {
+                return store.values().stream().filter(o -> o.getCustomerId().equals(customerId)).toList();
+            }
+
+            @Override
+            public List<Order> findAll() {
+                return new ArrayList<>(store.values());
+            }
+
+            @Override
+            public List<Order> query(OrderQuery query) {
+                return store.values().stream().filter(query::matches).sorted(OrderQuery.RESULT_ORDER)
+                        .skip(query.getOffset()).limit(query.getSize()).toList();
+            }
+
+            @Override
+            public void deleteById(OrderId orderId) {
+                store.remove(orderId);
+            }
+
+            @Override
+            public boolean existsById(OrderId orderId) {
+                return store.containsKey(orderId);
+            }
+        };
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        importer = new OrderFileImporter(new ImportOrdersService(repository, OrderIdGenerator.RANDOM),
+                objectMapper, 3, 2, 4, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should import valid NDJSON records and report rejected ones")
+    void shouldImportNdjson() throws Exception {
+        Path file = dir.resolve("orders.ndjson");
+        Files.writeString(file, String.join("\n",
+                "{\"orderId\":\"ORD-1\",\"customerId\":\"C1\",\"createdAt\":\"2023-05-01T10:00:00\","
+                        + "\"status\":\"DELIVERED\",\"items\":[{\"productId\":\"P1\",\"quantity\":2,\"price\":9.99}]}",
+                "{\"customerId\":\"C2\",\"items\":[{\"productId\":\"P2\",\"quantity\":0,\"price\":1.00}]}",
+                "not json",
+                "",
+                "{\"customerId\":\"C3\",\"items\":[{\"productId\":\"P3\",\"quantity\":1,\"price\":5}]}",
+                "{\"orderId\":\"ORD-2\",\"customerId\":\"C1\",\"items\":[{\"productId\":\"P1\",\"quantity\":1,\"price\":1}]}",
+                "{\"orderId\":\"ORD-2\",\"customerId\":\"C4\",\"items\":[{\"productId\":\"P1\",\"quantity\":1,\"price\":1}]}"));
+        Path errors = dir.resolve("orders.errors");
+
+        ImportReport report = importer.importFile(file, errors);
+
+        assertThat(report.getRecords()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(3);
+        Order historical = store.get(OrderId.of("ORD-1"));
+        assertThat(historical.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(historical.getCreatedAt()).isEqualTo(LocalDateTime.of(2023, 5, 1, 10, 0));
+        assertThat(Files.readString(errors))
+                .contains("line 2: Quantity must be positive")
+                .contains("line 3: Invalid JSON")
+                .contains("Duplicate order id ORD-2");
+    }
+
+    @Test
+    @DisplayName("Should group adjacent CSV rows of the same order")
+    void shouldImportCsv() throws Exception {
+        Path file = dir.resolve("orders.csv");
+        Files.writeString(file, String.join("\r\n",
+                "order_id,customer_id,product_id,product_name,quantity,price",
+                "ORD-A,C1,P1,\"Widget, large\",1,10.00",
+                "ORD-A,C1,P2,Gadget,2,5.00",
+                ",C2,P3,Thing,1,3.50",
+                "ORD-B,C3,P4,Other,x,1.00"));
+        Path errors = dir.resolve("orders.csv.errors");
+
+        ImportReport report = importer.importFile(file, errors);
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(1);
+        Order grouped = store.get(OrderId.of("ORD-A"));
+        assertThat(grouped.getOrderLines()).hasSize(2);
+        assertThat(grouped.getOrderLines().get(0).getProductName()).isEqualTo("Widget, large");
+        assertThat(grouped.getTotal().getAmount()).isEqualByComparingTo("20.00");
+        assertThat(Files.readString(errors)).contains("line 5: Invalid quantity: x");
+    }
+
+    @Test
+    @DisplayName("Should read lines spanning mapped regions")
+    void shouldReadAcrossRegions() throws Exception {
+        Path file = dir.resolve("lines.txt");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add("line-" + i + "-é");
+        }
+        Files.writeString(file, String.join("\n", expected) + "\n");
+
+        List<String> lines = new ArrayList<>();
+        long count = new MappedLineReader(16).read(file, (number, line) -> lines.add(line));
+
+        assertThat(count).isEqualTo(50);
+        assertThat(lines).containsExactlyElementsOf(expected);
+    }
+}
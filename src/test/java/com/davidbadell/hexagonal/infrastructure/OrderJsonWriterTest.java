@@ -0,0 +1,113 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.OrderJsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for the streaming order JSON writer
+ */
+@DisplayName("Order JSON Writer Tests")
+class OrderJsonWriterTest {
+
+    // Configured like Spring Boot's auto-configured ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    // The smallest buffer, so that every value crosses buffer boundaries
+    private final OrderJsonWriter writer = new OrderJsonWriter(64, 2);
+
+    @Test
+    @DisplayName("Should write the same bytes as Jackson for a response")
+    void shouldMatchJacksonForResponse() throws Exception {
+        for (OrderResponse response : responses()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.write(response, out);
+
+            // The HTTP converter writes to a stream, i.e. with the UTF-8 generator
+            assertThat(out.toString(StandardCharsets.UTF_8))
+                    .isEqualTo(new String(objectMapper.writeValueAsBytes(response), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the same bytes as Jackson for a list of responses")
+    void shouldMatchJacksonForList() throws Exception {
+        List<OrderResponse> responses = responses();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeAll(responses, out);
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo(new String(objectMapper.writeValueAsBytes(responses), StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        writer.writeAll(List.of(), empty);
+        assertThat(empty.toString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Should write an aggregate like its OrderResponse")
+    void shouldMatchJacksonForAggregate() throws Exception {
+        Order order = new Order(OrderId.of("order-1"), CustomerId.of("customer-1"));
+        order.addOrderLine(new OrderLine(ProductId.of("p-1"), "Café \"Crema\" 😀",
+                Quantity.of(3), Money.of(new BigDecimal("4.10"))));
+        order.addOrderLine(new OrderLine(ProductId.of("p-2"), "Tab\tand\nnewline\u0001",
+                Quantity.of(1_000), Money.of(new BigDecimal("0.005"))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(order, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(new String(
+                objectMapper.writeValueAsBytes(OrderResponse.fromDomain(order)), StandardCharsets.UTF_8));
+    }
+
+    private static List<OrderResponse> responses() {
+        List<OrderResponse> responses = new ArrayList<>();
+        responses.add(OrderResponse.builder()
+                .orderId("order-1")
+                .customerId("customer-ü中")
+                .status("PENDING")
+                .total(new BigDecimal("59.98"))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 11, 59, 30, 123_456_789))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .items(List.of(
+                        new OrderResponse.OrderLineResponse("p-1", "Quote \" slash \\ / ctrl \u001f \u007f lone \ud800",
+                                2, new BigDecimal("29.99"), new BigDecimal("59.98")),
+                        new OrderResponse.OrderLineResponse("p-2", "\b\f\r  emoji 📦",
+                                -7, new BigDecimal("1E+3"), new BigDecimal("-0.00001"))))
+                .build());
+        responses.add(OrderResponse.builder()
+                .orderId("order-2")
+                .createdAt(LocalDateTime.of(999, 12, 31, 23, 59, 59, 100_000_000))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 0, 0, 0, 1_000))
+                .items(List.of(new OrderResponse.OrderLineResponse(null, "", Integer.MIN_VALUE, null, null)))
+                .build());
+        responses.add(OrderResponse.builder()
+                .orderId("order-3")
+                .status("CANCELLED")
+                .total(new BigDecimal("123456789012345678901234567890.5"))
+                .createdAt(LocalDateTime.of(12024, 1, 1, 0, 0))
+                .build());
+        return responses;
+    }
+}
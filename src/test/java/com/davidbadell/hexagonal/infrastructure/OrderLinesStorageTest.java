@@ -0,0 +1,145 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.port.out.OrderRepository;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesCodec;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesMigration;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShardFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for order lines stored as rows or as documents over an embedded H2 database
+ */
+@DisplayName("Order Lines Storage Tests")
+class OrderLinesStorageTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OrderShard tables;
+    private OrderShard documents;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:order_lines_test;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        tables = OrderShardFactory.create("tables", dataSource, Map.of("hibernate.hbm2ddl.auto", "create"),
+                OrderLinesStorage.TABLE);
+        documents = OrderShardFactory.create("documents", dataSource, Map.of("hibernate.hbm2ddl.auto", "none"),
+                OrderLinesStorage.DOCUMENT);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tables.close();
+        documents.close();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should round-trip lines through the binary document")
+    void shouldRoundTripDocuments() {
+        List<OrderLine> lines = List.of(
+                new OrderLine(ProductId.of("PROD-1"), "Café crème", Quantity.of(3), Money.of("4.50")),
+                new OrderLine(ProductId.of("PROD-2"), "Widget", Quantity.of(1_000_000), Money.of("123456789.99")),
+                new OrderLine(ProductId.of("PROD-3"), "", Quantity.of(1), Money.of("0.00")));
+
+        byte[] document = OrderLinesCodec.encode(lines);
+
+        assertThat(OrderLinesCodec.decode(document))
+                .extracting(line -> line.getProductId().getValue(), OrderLine::getProductName,
+                        line -> line.getQuantity().getValue(), OrderLine::getUnitPrice)
+                .containsExactly(
+                        tuple("PROD-1", "Café crème", 3, Money.of("4.50")),
+                        tuple("PROD-2", "Widget", 1_000_000, Money.of("123456789.99")),
+                        tuple("PROD-3", "", 1, Money.of("0.00")));
+        assertThatThrownBy(() -> OrderLinesCodec.decode(Arrays.copyOf(document, document.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should read both forms in either mode and rewrite lines in the current one")
+    void shouldReadBothForms() {
+        Order stored = tables.getRepository().save(newOrder("order-1", 3));
+        assertThat(lineRows()).isEqualTo(3);
+        assertThat(documents.getRepository().findById(stored.getId()))
+                .hasValueSatisfying(order -> assertSameLines(order, stored));
+
+        Order document = documents.getRepository().save(newOrder("order-2", 2));
+        assertThat(lineRows()).isEqualTo(3);
+        assertThat(tables.getRepository().findById(document.getId()))
+                .hasValueSatisfying(order -> assertSameLines(order, document));
+
+        // Saving in document mode replaces the rows of an order
+        documents.getRepository().save(stored);
+        assertThat(lineRows()).isZero();
+        assertThat(tables.getRepository().findById(stored.getId()))
+                .hasValueSatisfying(order -> assertSameLines(order, stored));
+    }
+
+    @Test
+    @DisplayName("Should move existing rows into documents in resumable batches")
+    void shouldMigrateRows() {
+        OrderRepository tableRepository = tables.getRepository();
+        tableRepository.insertAll(List.of(newOrder("order-1", 2), newOrder("order-2", 1), newOrder("order-3", 4)));
+        documents.getRepository().insertAll(List.of(newOrder("order-4", 5)));
+        assertThat(lineRows()).isEqualTo(7);
+
+        OrderLinesMigration migration = new OrderLinesMigration(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), 2);
+        assertThat(migration.migrate()).isEqualTo(3);
+        assertThat(migration.migrate()).isZero();
+
+        assertThat(lineRows()).isZero();
+        assertThat(documents.getRepository().findById(OrderId.of("order-3")))
+                .hasValueSatisfying(order -> assertSameLines(order, newOrder("order-3", 4)));
+        assertThat(documents.getRepository().findById(OrderId.of("order-4")))
+                .hasValueSatisfying(order -> assertSameLines(order, newOrder("order-4", 5)));
+        migration.close();
+    }
+
+    private int lineRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_lines", Integer.class);
+    }
+
+    private static Order newOrder(String id, int lines) {
+        Order order = new Order(OrderId.of(id), CustomerId.of("CUST-1"));
+        for (int i = 1; i <= lines; i++) {
+            order.addOrderLine(new OrderLine(ProductId.of("PROD-" + i), i % 2 == 0 ? null : "Product " + i,
+                    Quantity.of(i), Money.of(i + ".25")));
+        }
+        return order;
+    }
+
+    private static void assertSameLines(Order actual, Order expected) {
+        assertThat(actual.getOrderLines())
+                .extracting(line -> line.getProductId().getValue(), OrderLine::getProductName,
+                        line -> line.getQuantity().getValue(), OrderLine::getUnitPrice)
+                .containsExactlyElementsOf(expected.getOrderLines().stream()
+                        .map(line -> tuple(line.getProductId().getValue(), line.getProductName(),
+                                line.getQuantity().getValue(), line.getUnitPrice()))
+                        .toList());
+        assertThat(actual.getTotal()).isEqualTo(expected.getTotal());
+    }
+}
@@ -0,0 +1,246 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.dto.PendingOrderTotal;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderLinesStorage;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.OrderStore;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShardFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Behaviour every OrderRepository adapter must have, over an embedded H2 database
+ *
+ * The schema is created by Hibernate, as in the application; subclasses
+ * provide the adapter under test on the same database.
+ */
+abstract class OrderRepositoryContractTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private OrderShard schema;
+    protected JdbcTemplate jdbcTemplate;
+    protected OrderStore repository;
+
+    protected abstract OrderStore createRepository(DataSource dataSource, OrderShard schema);
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:contract_" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        schema = OrderShardFactory.create("schema", dataSource, Map.of("hibernate.hbm2ddl.auto", "create"),
+                OrderLinesStorage.TABLE);
+        repository = createRepository(dataSource, schema);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        schema.close();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should save an order and find it by id with its lines")
+    void shouldSaveAndFindById() {
+        Order order = order("order-1", "CUST-1", OrderStatus.PENDING, NOON, 3);
+
+        Order saved = repository.save(order);
+
+        assertSameOrder(saved, order);
+        assertThat(repository.findById(order.getId())).hasValueSatisfying(found -> assertSameOrder(found, order));
+        assertThat(repository.existsById(order.getId())).isTrue();
+        assertThat(repository.findById(OrderId.of("unknown"))).isEmpty();
+        assertThat(repository.existsById(OrderId.of("unknown"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should replace the status and lines of an order saved again")
+    void shouldUpdateExistingOrder() {
+        Order order = repository.save(order("order-1", "CUST-1", OrderStatus.PENDING, NOON, 3));
+        order.removeOrderLine(order.getOrderLines().get(0));
+        order.addOrderLine(new OrderLine(ProductId.of("PROD-9"), "Added", Quantity.of(2), Money.of("1.10")));
+        order.confirm();
+
+        repository.save(order);
+
+        assertThat(repository.findById(order.getId())).hasValueSatisfying(found -> {
+            assertSameOrder(found, order);
+            assertThat(found.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_lines", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should increment the version on every update and refuse stale saves")
+    void shouldVersionUpdates() {
+        Order created = repository.save(order("order-1", "CUST-1", OrderStatus.PENDING, NOON, 1));
+        Order confirmed = repository.findById(created.getId()).orElseThrow();
+        confirmed.confirm();
+        Order saved = repository.save(confirmed);
+
+        assertThat(created.getVersion()).isZero();
+        assertThat(saved.getVersion()).isEqualTo(1);
+        assertThat(repository.findById(created.getId())).hasValueSatisfying(
+                found -> assertThat(found.getVersion()).isEqualTo(1));
+        assertThat(repository.findAllById(List.of(created.getId()))).singleElement()
+                .satisfies(found -> assertThat(found.getVersion()).isEqualTo(1));
+
+        saved.ship();
+        repository.save(saved);
+        assertThatThrownBy(() -> repository.save(saved)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Should insert orders in bulk, all or none")
+    void shouldInsertAll() {
+        List<Order> orders = List.of(order("order-1", "CUST-1", OrderStatus.PENDING, NOON, 2),
+                order("order-2", "CUST-2", OrderStatus.PENDING, NOON, 1),
+                order("order-3", "CUST-1", OrderStatus.SHIPPED, NOON, 4));
+
+        repository.insertAll(orders);
+
+        assertThat(repository.findAllById(List.of(OrderId.of("order-1"), OrderId.of("order-3"),
+                OrderId.of("unknown")))).extracting(order -> order.getId().getValue())
+                .containsExactlyInAnyOrder("order-1", "order-3");
+        assertThat(repository.findByCustomerId(CustomerId.of("CUST-1"))).hasSize(2)
+                .allSatisfy(found -> assertSameOrder(found, orders.get(found.getId().getValue().equals("order-1")
+                        ? 0 : 2)));
+        assertThat(repository.findAll()).hasSize(3);
+
+        List<Order> clashing = List.of(order("order-4", "CUST-3", OrderStatus.PENDING, NOON, 1),
+                order("order-2", "CUST-3", OrderStatus.PENDING, NOON, 1));
+        assertThatThrownBy(() -> repository.insertAll(clashing)).isInstanceOf(RuntimeException.class);
+        assertThat(repository.existsById(OrderId.of("order-4"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should filter, sort and page queries, lines not counting against the page")
+    void shouldQueryPages() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            orders.add(order("order-" + i, i % 2 == 0 ? "CUST-1" : "CUST-2",
+                    i == 3 ? OrderStatus.CANCELLED : OrderStatus.PENDING, NOON.plusMinutes(i % 4), 1 + i));
+        }
+        repository.insertAll(orders);
+
+        List<String> firstPage = ids(repository.query(OrderQuery.builder().page(0).size(3).build()));
+        List<String> secondPage = ids(repository.query(OrderQuery.builder().page(1).size(3).build()));
+
+        assertThat(firstPage).containsExactly("order-3", "order-6", "order-2");
+        assertThat(secondPage).containsExactly("order-5", "order-1", "order-4");
+        assertThat(ids(repository.query(OrderQuery.builder().customerId("CUST-2").status("PENDING")
+                .fromDate(NOON.plusMinutes(1)).size(10).build()))).containsExactly("order-5", "order-1");
+        assertThat(repository.query(OrderQuery.builder().page(0).size(3).build()).get(0).getOrderLines())
+                .hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should count by status and sum up revenue by hour of creation")
+    void shouldAggregate() {
+        repository.insertAll(List.of(order("order-1", "CUST-1", OrderStatus.PENDING, NOON, 1),
+                order("order-2", "CUST-1", OrderStatus.CANCELLED, NOON.plusMinutes(30), 2),
+                order("order-3", "CUST-1", OrderStatus.PENDING, NOON.plusHours(1), 2),
+                order("order-4", "CUST-1", OrderStatus.PENDING, NOON.minusDays(1), 1)));
+
+        assertThat(repository.countByStatus()).containsOnly(Map.entry(OrderStatus.PENDING, 3L),
+                Map.entry(OrderStatus.CANCELLED, 1L));
+        assertThat(repository.totalsByCreatedHour(NOON))
+                .extracting(OrderStatistics.HourlyTotals::getHour, OrderStatistics.HourlyTotals::getOrders,
+                        OrderStatistics.HourlyTotals::getRevenue)
+                .containsExactly(tuple(NOON, 2L, new BigDecimal("1.25")),
+                        tuple(NOON.plusHours(1), 1L, new BigDecimal("3.50")));
+    }
+
+    @Test
+    @DisplayName("Should walk ids and pending totals in order of id and store quoted totals")
+    void shouldWalkIdsAndQuoteTotals() {
+        repository.insertAll(List.of(order("order-1", "CUST-1", OrderStatus.PENDING, NOON, 1),
+                order("order-2", "CUST-1", OrderStatus.SHIPPED, NOON, 1),
+                order("order-3", "CUST-1", OrderStatus.PENDING, NOON, 2)));
+
+        assertThat(repository.findIdsAfter(null, 2)).extracting(OrderId::getValue)
+                .containsExactly("order-1", "order-2");
+        assertThat(repository.findIdsAfter("order-2", 2)).extracting(OrderId::getValue).containsExactly("order-3");
+
+        int updated = repository.updateQuotedTotals(Map.of(OrderId.of("order-1"), Money.of("9.99"),
+                OrderId.of("order-2"), Money.of("1.00")));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(repository.findPendingTotalsAfter(null, 10))
+                .extracting(total -> total.getOrderId().getValue(), PendingOrderTotal::getSubtotal,
+                        PendingOrderTotal::getQuotedTotal)
+                .containsExactly(tuple("order-1", Money.of("1.25"), Money.of("9.99")),
+                        tuple("order-3", Money.of("3.50"), null));
+    }
+
+    @Test
+    @DisplayName("Should delete an order with its lines")
+    void shouldDelete() {
+        Order order = repository.save(order("order-1", "CUST-1", OrderStatus.PENDING, NOON, 3));
+
+        repository.deleteById(order.getId());
+
+        assertThat(repository.existsById(order.getId())).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_lines", Integer.class)).isZero();
+    }
+
+    /**
+     * An order of lines PROD-1..n priced i + 0.25 each, quantity i
+     */
+    protected static Order order(String id, String customer, OrderStatus status, LocalDateTime createdAt,
+                                 int lines) {
+        List<OrderLine> orderLines = new ArrayList<>();
+        for (int i = 1; i <= lines; i++) {
+            orderLines.add(new OrderLine(ProductId.of("PROD-" + i), "Product " + i, Quantity.of(1),
+                    Money.of(i + ".25")));
+        }
+        return Order.reconstitute(OrderId.of(id), CustomerId.of(customer), orderLines, status, createdAt,
+                createdAt.plusSeconds(1));
+    }
+
+    protected static void assertSameOrder(Order actual, Order expected) {
+        assertThat(actual.getId()).isEqualTo(expected.getId());
+        assertThat(actual.getCustomerId()).isEqualTo(expected.getCustomerId());
+        assertThat(actual.getStatus()).isEqualTo(expected.getStatus());
+        assertThat(actual.getTotal()).isEqualTo(expected.getTotal());
+        assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+        assertThat(actual.getOrderLines())
+                .extracting(line -> line.getProductId().getValue(), OrderLine::getProductName,
+                        line -> line.getQuantity().getValue(), OrderLine::getUnitPrice)
+                .containsExactlyElementsOf(expected.getOrderLines().stream()
+                        .map(line -> tuple(line.getProductId().getValue(), line.getProductName(),
+                                line.getQuantity().getValue(), line.getUnitPrice()))
+                        .toList());
+    }
+
+    private static List<String> ids(List<Order> orders) {
+        return orders.stream().map(order -> order.getId().getValue()).toList();
+    }
+}
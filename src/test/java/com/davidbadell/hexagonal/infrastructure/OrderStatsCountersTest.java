@@ -0,0 +1,102 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderStatistics;
+import com.davidbadell.hexagonal.application.port.out.OrderStatisticsRepository;
+import com.davidbadell.hexagonal.domain.event.OrderCancelledEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.event.OrderStatusChangedEvent;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderStatus;
+import com.davidbadell.hexagonal.infrastructure.stats.OrderStatsCounters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests for the live order counters
+ */
+@DisplayName("Order Stats Counters Tests")
+class OrderStatsCountersTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T12:30:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime AT_NOON = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final OrderStatisticsRepository repository = mock(OrderStatisticsRepository.class);
+    private final OrderStatsCounters counters = new OrderStatsCounters(repository, Duration.ofHours(48), CLOCK);
+
+    @Test
+    @DisplayName("Should count orders and revenue from domain events")
+    void shouldCountFromEvents() {
+        counters.onEvent(created("order-1", "10.00", AT_NOON), 0, true);
+        counters.onEvent(created("order-2", "5.50", AT_NOON), 1, true);
+        counters.onEvent(created("order-3", "2.00", AT_NOON), 2, true);
+        counters.onEvent(changed("order-2", OrderStatus.PENDING, OrderStatus.CONFIRMED), 3, true);
+        counters.onEvent(changed("order-2", OrderStatus.CONFIRMED, OrderStatus.SHIPPED), 4, true);
+        counters.onEvent(new OrderCancelledEvent(OrderId.of("order-3"), AT_NOON.plusMinutes(5), null,
+                OrderStatus.PENDING, Money.of("2.00"), AT_NOON), 5, true);
+        // Created yesterday: not part of today's figures
+        counters.onEvent(created("order-4", "7.00", AT_NOON.minusDays(1)), 6, true);
+
+        OrderStatistics statistics = counters.getStatistics();
+        assertThat(statistics.getOrdersByStatus()).containsEntry("PENDING", 2L)
+                .containsEntry("SHIPPED", 1L)
+                .containsEntry("CONFIRMED", 0L)
+                .containsEntry("CANCELLED", 1L);
+        assertThat(statistics.getOrdersToday()).isEqualTo(3);
+        assertThat(statistics.getRevenueToday()).isEqualByComparingTo("15.50");
+        assertThat(statistics.getHourly()).singleElement()
+                .satisfies(hour -> assertThat(hour.getHour()).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 0)));
+    }
+
+    @Test
+    @DisplayName("Should load from the repository, then only correct lasting drift")
+    void shouldReconcileLastingDrift() {
+        LocalDateTime hour = LocalDateTime.of(2024, 1, 1, 11, 0);
+        when(repository.countByStatus()).thenReturn(Map.of(OrderStatus.PENDING, 4L));
+        when(repository.totalsByCreatedHour(any())).thenReturn(
+                List.of(new OrderStatistics.HourlyTotals(hour, 4, new BigDecimal("40.00"))));
+
+        assertThat(counters.reconcile()).isEqualTo(3);
+        assertThat(counters.getCount(OrderStatus.PENDING)).isEqualTo(4);
+        assertThat(counters.getRevenueToday()).isEqualTo(40.0);
+
+        // An order created meanwhile, its event still on the bus
+        when(repository.countByStatus()).thenReturn(Map.of(OrderStatus.PENDING, 5L));
+        when(repository.totalsByCreatedHour(any())).thenReturn(
+                List.of(new OrderStatistics.HourlyTotals(hour, 5, new BigDecimal("41.00"))));
+        assertThat(counters.reconcile()).isZero();
+        counters.onEvent(created("order-5", "1.00", hour.plusMinutes(59)), 0, true);
+        assertThat(counters.reconcile()).isZero();
+        assertThat(counters.getCount(OrderStatus.PENDING)).isEqualTo(5);
+
+        // An order imported without an event
+        when(repository.countByStatus()).thenReturn(Map.of(OrderStatus.PENDING, 5L, OrderStatus.DELIVERED, 1L));
+        assertThat(counters.reconcile()).isZero();
+        assertThat(counters.reconcile()).isEqualTo(1);
+        assertThat(counters.getCount(OrderStatus.DELIVERED)).isEqualTo(1);
+        assertThat(counters.getCorrections()).isEqualTo(1);
+    }
+
+    private static OrderCreatedEvent created(String orderId, String total, LocalDateTime at) {
+        return new OrderCreatedEvent(OrderId.of(orderId), CustomerId.of("customer-1"), at, Money.of(total));
+    }
+
+    private static OrderStatusChangedEvent changed(String orderId, OrderStatus from, OrderStatus to) {
+        return new OrderStatusChangedEvent(OrderId.of(orderId), from, to, AT_NOON.plusMinutes(1));
+    }
+}
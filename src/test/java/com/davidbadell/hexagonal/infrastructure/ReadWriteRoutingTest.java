@@ -0,0 +1,152 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.application.dto.OrderResponse;
+import com.davidbadell.hexagonal.application.port.in.GetOrderUseCase;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.DataSourceRole;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.DataSourceRoutingContext;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.LocalReplicaFeeder;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReadWriteRoutingDataSource;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReadYourWritesTracker;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReplicaLagMonitor;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.routing.ReplicaRoutingGetOrderUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for read/write routing using two embedded H2 databases
+ * standing in for the primary and the replica.
+ */
+@DisplayName("Read/Write Routing Tests")
+class ReadWriteRoutingTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary", "primary");
+        replica = h2("routing_replica", "replica");
+    }
+
+    @Test
+    @DisplayName("Should use the primary by default and the replica when requested")
+    void shouldRouteByContext() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0", Duration.ofSeconds(5));
+        monitor.probe();
+        JdbcTemplate routed = new JdbcTemplate(
+                new ReadWriteRoutingDataSource(primary, replica, monitor, new SimpleMeterRegistry()));
+
+        assertThat(whereAmI(routed)).isEqualTo("primary");
+        assertThat(DataSourceRoutingContext.callOn(DataSourceRole.REPLICA, () -> whereAmI(routed)))
+                .isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags")
+    void shouldFallBackWhenReplicaLags() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 30", Duration.ofSeconds(5));
+        monitor.probe();
+        JdbcTemplate routed = new JdbcTemplate(
+                new ReadWriteRoutingDataSource(primary, replica, monitor, new SimpleMeterRegistry()));
+
+        assertThat(monitor.isReplicaAvailable()).isFalse();
+        assertThat(DataSourceRoutingContext.callOn(DataSourceRole.REPLICA, () -> whereAmI(routed)))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary right after a write by the same customer")
+    void shouldStickToPrimaryAfterWrite() {
+        List<DataSourceRole> roles = new ArrayList<>();
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+        GetOrderUseCase routed = new ReplicaRoutingGetOrderUseCase(recordingUseCase(roles), tracker);
+
+        routed.getOrdersByCustomerId("customer-1");
+        tracker.recordWrite("customer-1", "order-1");
+        routed.getOrdersByCustomerId("customer-1");
+        routed.getOrderById("order-1");
+        routed.getOrdersByCustomerId("customer-2");
+
+        assertThat(roles).containsExactly(
+                DataSourceRole.REPLICA, DataSourceRole.PRIMARY, DataSourceRole.PRIMARY, DataSourceRole.REPLICA);
+    }
+
+    @Test
+    @DisplayName("Should feed a local replica that trails the primary")
+    void shouldFeedLocalReplica() throws Exception {
+        DataSource source = new DriverManagerDataSource("jdbc:h2:mem:feeder_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource target = new DriverManagerDataSource("jdbc:h2:mem:feeder_replica;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate onPrimary = new JdbcTemplate(source);
+        JdbcTemplate onReplica = new JdbcTemplate(target);
+        onPrimary.execute("CREATE TABLE orders (id VARCHAR(20) NOT NULL, status VARCHAR(20), PRIMARY KEY (id))");
+        onPrimary.update("INSERT INTO orders VALUES ('order-1', 'PENDING')");
+        LocalReplicaFeeder feeder = new LocalReplicaFeeder(source, target, Duration.ofSeconds(1));
+        feeder.getSchemaTarget().write(
+                "create table orders (id varchar(20) not null, status varchar(20), primary key (id));\n");
+
+        feeder.createSchema();
+        feeder.copy();
+        onPrimary.update("UPDATE orders SET status = 'CANCELLED'");
+
+        assertThat(onReplica.queryForObject("SELECT status FROM orders", String.class)).isEqualTo("PENDING");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(target, LocalReplicaFeeder.LAG_QUERY, Duration.ofSeconds(5));
+        monitor.probe();
+        assertThat(monitor.isReplicaAvailable()).isTrue();
+
+        feeder.copy();
+        assertThat(onReplica.queryForObject("SELECT status FROM orders", String.class)).isEqualTo("CANCELLED");
+
+        onReplica.update("UPDATE replica_heartbeat SET copied_at = DATEADD('SECOND', -30, copied_at)");
+        monitor.probe();
+        assertThat(monitor.isReplicaAvailable()).isFalse();
+    }
+
+    private static String whereAmI(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource h2(String database, String marker) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", marker);
+        return dataSource;
+    }
+
+    private static GetOrderUseCase recordingUseCase(List<DataSourceRole> roles) {
+        return new GetOrderUseCase() {
+            @Override
+            public Optional<OrderResponse> getOrderById(String orderId) {
+                roles.add(DataSourceRoutingContext.current());
+                return Optional.empty();
+            }
+
+            @Override
+            public List<OrderResponse> getOrdersByCustomerId(String customerId) {
+                roles.add(DataSourceRoutingContext.current());
+                return List.of();
+            }
+
+            @Override
+            public List<OrderResponse> queryOrders(OrderQuery query) {
+                roles.add(DataSourceRoutingContext.current());
+                return List.of();
+            }
+        };
+    }
+}
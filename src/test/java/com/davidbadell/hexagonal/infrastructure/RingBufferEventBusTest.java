@@ -0,0 +1,248 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.domain.event.DomainEvent;
+import com.davidbadell.hexagonal.domain.event.OrderCreatedEvent;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.LocalEventSubscriber;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.RingBufferEventBus;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.eventbus.WaitStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests for the ring buffer event bus
+ */
+@DisplayName("Ring Buffer Event Bus Tests")
+class RingBufferEventBusTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.Kind.class)
+    @DisplayName("Should deliver every event to every subscriber in producer order")
+    void shouldFanOutInOrder(WaitStrategy.Kind kind) throws Exception {
+        int producers = 4;
+        int perProducer = 2_000;
+        RecordingSubscriber first = new RecordingSubscriber("first", producers * perProducer);
+        RecordingSubscriber second = new RecordingSubscriber("second", producers * perProducer);
+        // A small ring forces many wrap-arounds and producer waits
+        RingBufferEventBus bus = new RingBufferEventBus(16, kind.create(), Duration.ofSeconds(10),
+                List.of(first, second));
+        bus.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            CustomerId customer = CustomerId.of("producer-" + p);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    bus.dispatch(List.of(new OrderCreatedEvent(OrderId.of(String.valueOf(i)), customer, NOW)));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(first.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.done.await(10, TimeUnit.SECONDS)).isTrue();
+        bus.close();
+
+        for (RecordingSubscriber subscriber : List.of(first, second)) {
+            Map<String, Integer> lastPerProducer = new HashMap<>();
+            for (DomainEvent event : subscriber.events) {
+                OrderCreatedEvent created = (OrderCreatedEvent) event;
+                int index = Integer.parseInt(created.getOrderId().getValue());
+                Integer previous = lastPerProducer.put(created.getCustomerId().getValue(), index);
+                assertThat(index).isEqualTo(previous == null ? 0 : previous + 1);
+            }
+            assertThat(subscriber.events).hasSize(producers * perProducer);
+            assertThat(subscriber.lastEndOfBatch).isTrue();
+        }
+        assertThat(bus.getDropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should mark only the last available event as end of batch")
+    void shouldMarkEndOfBatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Boolean> endOfBatch = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+        LocalEventSubscriber subscriber = (event, sequence, end) -> {
+            release.await();
+            endOfBatch.add(end);
+            done.countDown();
+        };
+        RingBufferEventBus bus = new RingBufferEventBus(8, WaitStrategy.Kind.BLOCKING.create(),
+                Duration.ofSeconds(1), List.of(subscriber));
+        bus.start();
+
+        // The first event is taken alone, the next three wait behind it
+        bus.dispatch(List.of(event("1")));
+        Thread.sleep(50);
+        bus.dispatch(List.of(event("2"), event("3"), event("4")));
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        bus.close();
+        assertThat(endOfBatch).containsExactly(true, false, false, true);
+    }
+
+    @Test
+    @DisplayName("Should keep delivering after a subscriber throws an exception or an error")
+    void shouldSurviveSubscriberFailure() throws Exception {
+        CountDownLatch done = new CountDownLatch(4);
+        LocalEventSubscriber subscriber = (event, sequence, end) -> {
+            done.countDown();
+            if (sequence == 0) {
+                throw new IllegalStateException("boom");
+            }
+            if (sequence == 1) {
+                throw new AssertionError("bang");
+            }
+        };
+        RingBufferEventBus bus = new RingBufferEventBus(4, WaitStrategy.Kind.SLEEPING.create(),
+                Duration.ofSeconds(1), List.of(subscriber));
+        bus.start();
+
+        bus.dispatch(List.of(event("1"), event("2"), event("3")));
+        bus.dispatch(List.of(event("4")));
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        bus.close();
+        assertThat(bus.getFailures(0)).isEqualTo(1);
+        assertThat(bus.getErrors(0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop events instead of blocking forever when a subscriber is stuck")
+    void shouldDropWhenFull() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+        LocalEventSubscriber subscriber = (event, sequence, end) -> stuck.await();
+        RingBufferEventBus bus = new RingBufferEventBus(2, WaitStrategy.Kind.BLOCKING.create(),
+                Duration.ofMillis(20), List.of(subscriber));
+        bus.start();
+
+        for (int i = 0; i < 5; i++) {
+            bus.dispatch(List.of(event(String.valueOf(i))));
+        }
+
+        assertThat(bus.getDropped()).isPositive();
+        stuck.countDown();
+        bus.close();
+    }
+
+    @Test
+    @DisplayName("Should not keep an event reachable once every subscriber has handled it")
+    void shouldReleaseHandledEvents() throws Exception {
+        CountDownLatch handled = new CountDownLatch(2);
+        LocalEventSubscriber first = (event, sequence, end) -> handled.countDown();
+        LocalEventSubscriber second = (event, sequence, end) -> handled.countDown();
+        RingBufferEventBus bus = new RingBufferEventBus(8, WaitStrategy.Kind.BLOCKING.create(),
+                Duration.ofSeconds(1), List.of(first, second));
+        bus.start();
+
+        WeakReference<DomainEvent> published = dispatchUnreferenced(bus);
+
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (published.get() != null && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        bus.close();
+        assertThat(published.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip the slots a failed producer claimed and keep delivering")
+    void shouldSkipSlotsOfFailedProducer() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<Boolean> endOfBatch = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        LocalEventSubscriber subscriber = (event, sequence, end) -> {
+            received.add(((OrderCreatedEvent) event).getOrderId().getValue());
+            endOfBatch.add(end);
+            done.countDown();
+        };
+        RingBufferEventBus bus = new RingBufferEventBus(8, WaitStrategy.Kind.BLOCKING.create(),
+                Duration.ofSeconds(1), List.of(subscriber));
+        bus.start();
+        List<DomainEvent> broken = new AbstractList<>() {
+            @Override
+            public DomainEvent get(int index) {
+                if (index == 1) {
+                    throw new IllegalStateException("broken event");
+                }
+                return event(String.valueOf(index + 1));
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+
+        assertThatThrownBy(() -> bus.dispatch(broken)).isInstanceOf(IllegalStateException.class);
+        bus.dispatch(List.of(event("4")));
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        bus.close();
+        assertThat(received).containsExactly("1", "4");
+        assertThat(endOfBatch.get(endOfBatch.size() - 1)).isTrue();
+        assertThat(bus.getBacklog(0)).isZero();
+    }
+
+    private static WeakReference<DomainEvent> dispatchUnreferenced(RingBufferEventBus bus) {
+        DomainEvent event = event("released");
+        bus.dispatch(List.of(event));
+        return new WeakReference<>(event);
+    }
+
+    private static DomainEvent event(String orderId) {
+        return new OrderCreatedEvent(OrderId.of(orderId), CustomerId.of("customer-1"), NOW);
+    }
+
+    private static final class RecordingSubscriber implements LocalEventSubscriber {
+
+        private final String name;
+        private final List<DomainEvent> events = new ArrayList<>();
+        private final CountDownLatch done;
+        private volatile boolean lastEndOfBatch;
+
+        RecordingSubscriber(String name, int expected) {
+            this.name = name;
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvent(DomainEvent event, long sequence, boolean endOfBatch) {
+            events.add(event);
+            lastEndOfBatch = endOfBatch;
+            done.countDown();
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
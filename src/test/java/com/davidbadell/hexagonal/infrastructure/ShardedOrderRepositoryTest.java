@@ -0,0 +1,118 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.application.dto.OrderQuery;
+import com.davidbadell.hexagonal.domain.model.CustomerId;
+import com.davidbadell.hexagonal.domain.model.Money;
+import com.davidbadell.hexagonal.domain.model.Order;
+import com.davidbadell.hexagonal.domain.model.OrderId;
+import com.davidbadell.hexagonal.domain.model.OrderLine;
+import com.davidbadell.hexagonal.domain.model.ProductId;
+import com.davidbadell.hexagonal.domain.model.Quantity;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShard;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.OrderShardFactory;
+import com.davidbadell.hexagonal.infrastructure.adapter.out.persistence.sharding.ShardedOrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the customer-sharded repository over three embedded H2 shards
+ */
+@DisplayName("Sharded Order Repository Tests")
+class ShardedOrderRepositoryTest {
+
+    private ShardedOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        List<OrderShard> shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:sharding_test_" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            shards.add(OrderShardFactory.create("shard-" + i, dataSource,
+                    Map.of("hibernate.hbm2ddl.auto", "create-drop")));
+        }
+        repository = new ShardedOrderRepository(shards, 64, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Should keep a customer's orders on the shard named in their ids")
+    void shouldRouteByCustomerAndHint() {
+        CustomerId customer = CustomerId.of("CUST-42");
+        Order first = repository.save(newOrder(repository.nextId(customer), customer));
+        Order second = repository.save(newOrder(repository.nextId(customer), customer));
+
+        int shard = repository.shardIndexFor(customer);
+        assertThat(first.getId().shardHint()).hasValue(shard);
+        assertThat(repository.findById(second.getId())).isPresent();
+        assertThat(repository.findByCustomerId(customer)).hasSize(2);
+        assertThat(repository.existsById(OrderId.generate(shard))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find orders without a shard hint by asking every shard")
+    void shouldScatterForLegacyIds() {
+        CustomerId customer = CustomerId.of("CUST-LEGACY");
+        Order legacy = repository.save(newOrder(OrderId.generate(), customer));
+
+        assertThat(legacy.getId().shardHint()).isEmpty();
+        assertThat(repository.findById(legacy.getId())).isPresent();
+        assertThat(repository.existsById(legacy.getId())).isTrue();
+
+        repository.deleteById(legacy.getId());
+        assertThat(repository.existsById(legacy.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should merge pages across shards in result order")
+    void shouldMergeSortedPages() {
+        Set<Integer> usedShards = new HashSet<>();
+        List<Order> saved = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            CustomerId customer = CustomerId.of("CUST-" + i);
+            usedShards.add(repository.shardIndexFor(customer));
+            saved.add(repository.save(newOrder(repository.nextId(customer), customer)));
+        }
+        assertThat(usedShards).hasSize(3);
+
+        List<String> expected = saved.stream()
+                .sorted(OrderQuery.RESULT_ORDER)
+                .map(order -> order.getId().getValue())
+                .toList();
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            repository.query(OrderQuery.builder().page(page).size(8).build())
+                    .forEach(order -> paged.add(order.getId().getValue()));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+        assertThat(repository.findAll()).hasSize(30);
+        assertThat(repository.findAllById(List.of(saved.get(0).getId(), saved.get(7).getId(), OrderId.generate())))
+                .extracting(Order::getId)
+                .containsExactlyInAnyOrder(saved.get(0).getId(), saved.get(7).getId());
+    }
+
+    private Order newOrder(OrderId id, CustomerId customer) {
+        Order order = new Order(id, customer);
+        order.addOrderLine(new OrderLine(ProductId.of("PROD-1"), "Product", Quantity.of(1),
+                Money.of(BigDecimal.TEN)));
+        return order;
+    }
+}
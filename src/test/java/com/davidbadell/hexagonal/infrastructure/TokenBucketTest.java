@@ -0,0 +1,137 @@
+package com.davidbadell.hexagonal.infrastructure;
+
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.RateLimitFilter;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.TokenBucket;
+import com.davidbadell.hexagonal.infrastructure.adapter.in.rest.TokenBucketRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests for the token bucket rate limiter
+ */
+@DisplayName("Token Bucket Tests")
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should allow a full burst and then reject")
+    void shouldAllowBurstThenReject() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0L);
+
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(1, 2.0, 0L);
+
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 4)).isPositive();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report idle once completely refilled")
+    void shouldReportIdleWhenRefilled() {
+        TokenBucket bucket = new TokenBucket(2, 1.0, 0L);
+        bucket.tryAcquire(0L);
+
+        assertThat(bucket.isIdle(0L)).isFalse();
+        assertThat(bucket.isIdle(SECOND)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep buckets independent per key")
+    void shouldKeepBucketsIndependentPerKey() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(1, 1.0, 10);
+
+        assertThat(registry.tryAcquire("customer:a", 0L)).isZero();
+        assertThat(registry.tryAcquire("customer:a", 0L)).isPositive();
+        assertThat(registry.tryAcquire("customer:b", 0L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give a refunded token back")
+    void shouldRefundToken() {
+        TokenBucket bucket = new TokenBucket(1, 1.0, 0L);
+
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        bucket.refund();
+
+        assertThat(bucket.tryAcquire(0L)).isZero();
+        assertThat(bucket.tryAcquire(0L)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should not charge the API key for requests the customer limit rejects")
+    void shouldNotChargeApiKeyWhenCustomerRejects() throws Exception {
+        TokenBucketRegistry reads = new TokenBucketRegistry(2, 0.001, 10);
+        RateLimitFilter filter = new RateLimitFilter(reads, new TokenBucketRegistry(2, 0.001, 10),
+                new ObjectMapper(), new SimpleMeterRegistry());
+        long now = System.nanoTime();
+        // The customer has used up its quota through other keys
+        reads.tryAcquire("customer:CUST-1", now);
+        reads.tryAcquire("customer:CUST-1", now);
+
+        assertThat(get(filter, "CUST-1").getStatus()).isEqualTo(429);
+        assertThat(get(filter, "CUST-1").getStatus()).isEqualTo(429);
+
+        assertThat(get(filter, "CUST-2").getStatus()).isEqualTo(200);
+        assertThat(get(filter, "CUST-3").getStatus()).isEqualTo(200);
+        assertThat(get(filter, "CUST-4").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should charge the client address whatever customer the request names")
+    void shouldChargeClientForEveryCustomer() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new TokenBucketRegistry(2, 0.001, 10),
+                new TokenBucketRegistry(2, 0.001, 10), new ObjectMapper(), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+            request.addHeader("X-Customer-Id", "CUST-" + i);
+            request.addParameter("customerId", "CUST-" + i);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("X-Customer-Id", "CUST-9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should not grow beyond the maximum number of tracked clients")
+    void shouldStayBounded() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(5, 1.0, 3);
+
+        for (int i = 0; i < 100; i++) {
+            registry.tryAcquire("client:" + i, 0L);
+        }
+
+        assertThat(registry.size()).isLessThanOrEqualTo(3);
+    }
+
+    private static MockHttpServletResponse get(RateLimitFilter filter, String customerId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/customer/" + customerId);
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, "key-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}